@@ -30,5 +30,33 @@ import java.lang.annotation.Target;
 @Target( { ElementType.METHOD } )
 public @interface Diffusive {
 	
+	/**
+	 * When true, the call to the diffusive method is issued without waiting for its result, and
+	 * the caller gets back a placeholder for the result. Independent calls (for example, calls made
+	 * in a loop) then run concurrently. The caller only waits for the result when it is first used.
+	 * Only methods whose return type is an interface can have their result deferred past the call
+	 * site; for primitive and class return types the caller waits for the result at the call site.
+	 * Deferral changes the contract of the call, and so it is off unless the method opts in:
+	 * <ul>
+	 * 	<li>the placeholder is never null, even when the method returns null, and calling the interface's 
+	 * 		methods on it then throws a {@link NullPointerException};</li>
+	 * 	<li>calling any of the placeholder's methods, including {@code equals}, {@code hashCode}, and 
+	 * 		{@code toString}, blocks until the result has returned;</li>
+	 * 	<li>a failure of the call is thrown from the first method called on the placeholder, rather
+	 * 		than from the call site.</li>
+	 * </ul>
+	 * @return true if the result of the diffusive method is deferred; false otherwise
+	 */
+	boolean deferred() default false;
+	
+	/**
+	 * The priority of the calls to the diffusive method, which is sent with each execute request. Servers 
+	 * run the waiting calls with greater priorities first (for example, interactive calls ahead of batch 
+	 * sweeps), and amongst calls of the same priority, the calls with the earliest deadlines first. Calls 
+	 * that have waited long enough run ahead of calls with greater priorities, so that they aren't starved.
+	 * @return the priority of the calls to the diffusive method; 0 by default
+	 */
+	int priority() default 0;
+	
 	public static class Null { } 
 }
@@ -20,13 +20,19 @@ import java.util.List;
 
 import javassist.CannotCompileException;
 import javassist.CtClass;
+import javassist.CtMethod;
 import javassist.NotFoundException;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.annotation.Annotation;
+import javassist.bytecode.annotation.BooleanMemberValue;
+import javassist.bytecode.annotation.MemberValue;
 import javassist.expr.ExprEditor;
 import javassist.expr.MethodCall;
 
 import org.apache.log4j.Logger;
 import org.microtitan.diffusive.Constants;
 import org.microtitan.diffusive.annotations.Diffusive;
+import org.microtitan.diffusive.diffuser.DeferredResult;
 import org.microtitan.diffusive.diffuser.Diffuser;
 import org.microtitan.diffusive.diffuser.KeyedDiffuserRepository;
 import org.microtitan.diffusive.diffuser.restful.DiffuserSignature;
@@ -37,7 +43,9 @@ import org.microtitan.diffusive.diffuser.restful.resources.RestfulDiffuserManage
  * used to replace and method calls to methods annotated with {@link Diffusive}. The replacement
  * code uses a {@link Diffuser} to run the method instead of it running directly. The {@link Diffuser}
  * is taken from the {@link KeyedDiffuserRepository}, and then its {@link Diffuser#runObject(double, Class, Object, String, Object...)}
- * method (or a derivative) is called with the appropriate information.
+ * method (or a derivative) is called with the appropriate information. For methods whose {@link Diffusive#deferred()}
+ * attribute is true, the {@link Diffuser#runObjectAsync(double, Class, Object, String, Class[], Object...)} method
+ * is called instead, and the caller gets back a {@link DeferredResult} placeholder.
  * 
  * @author Robert Philipp
  */
@@ -128,6 +136,12 @@ public class MethodIntercepterEditor extends ExprEditor {
 			// diffused as a nested diffusion.
 			if( methodCall.getMethod().getAnnotation( Diffusive.class ) != null && !isBaseMethod( className, methodName ) )
 			{
+				// when the result is deferred, the call is issued asynchronously, and the caller gets back a
+				// placeholder for the result (see the DeferredResult class), so that independent calls overlap.
+				// only interfaces can be replaced by a placeholder, and so for primitive and class return types
+				// the deferral is skipped, and the caller waits for the result at the call site
+				final boolean isDeferred = isDeferred( methodCall.getMethod() ) && isDeferrable( className, methodName, methodCall );
+				
 				// write the code to replace the method call with a Diffusive call
 				// TODO replace this with a logger, which will require adding a logger field
 				code.append( "    System.out.println( \"(diffused): " + className + "." + methodName + "\" );\n" );
@@ -175,8 +189,7 @@ public class MethodIntercepterEditor extends ExprEditor {
 					code.append( "    System.out.println( \"  Diffuser from Repository: \" + " + getDiffuser + " );\n" );
 					
 					// the actual Diffusive call
-					final String diffusiveCall = getDiffuser + ".runObject( " + Double.MAX_VALUE + ", $type, $0, \"" + methodName + "\", $sig, $args );";
-					code.append( "    $_ = ($r)" + diffusiveCall );
+					code.append( "    $_ = ($r)" + createDiffusiveCall( getDiffuser, methodName, isDeferred ) );
 				}
 				else
 				{
@@ -187,8 +200,7 @@ public class MethodIntercepterEditor extends ExprEditor {
 					code.append( "    System.out.println( \"  Diffuser from Repository: \" + " + getDiffuser + " );\n" );
 					
 					// the actual Diffusive call
-					final String diffusiveCall = getDiffuser + ".runObject( " + Double.MAX_VALUE + ", $type, $0, \"" + methodName + "\", $sig, $args );";
-					code.append( "    $_ = ($r)" + diffusiveCall );
+					code.append( "    $_ = ($r)" + createDiffusiveCall( getDiffuser, methodName, isDeferred ) );
 				}
 				
 				// make the call to replace the code in the method call
@@ -196,7 +208,7 @@ public class MethodIntercepterEditor extends ExprEditor {
 
 				if( LOGGER.isInfoEnabled() )
 				{
-					final String header = "Diffusive method intercepted and replaced.";
+					final String header = "Diffusive method intercepted and replaced" + ( isDeferred ? ", with its result deferred." : "." );
 					final String message = createMessage( header, className, methodName, methodCall, code.toString() );
 					LOGGER.info( message );
 				}
@@ -234,6 +246,64 @@ public class MethodIntercepterEditor extends ExprEditor {
 		}
 	}
 	
+	/**
+	 * Returns true if the {@link Diffusive} annotation on the specified method has its {@link Diffusive#deferred()}
+	 * attribute set to true. The attribute is read from the byte code, rather than through an annotation
+	 * instance, so that the result does not depend on the class loader that loaded the {@link Diffusive} class.
+	 * @param method The diffusive method
+	 * @return true if the result of the diffusive method is deferred; false otherwise
+	 */
+	private static boolean isDeferred( final CtMethod method )
+	{
+		final AnnotationsAttribute attribute = (AnnotationsAttribute)method.getMethodInfo().getAttribute( AnnotationsAttribute.visibleTag );
+		final Annotation annotation = (attribute == null ? null : attribute.getAnnotation( Diffusive.class.getName() ));
+		final MemberValue value = (annotation == null ? null : annotation.getMemberValue( "deferred" ));
+		return value instanceof BooleanMemberValue && ((BooleanMemberValue)value).getValue();
+	}
+	
+	/**
+	 * Returns true if the result of the diffusive method can be deferred, which requires that its return type
+	 * is an interface (see {@link DeferredResult#defer(Class, java.util.concurrent.Future)}). Otherwise, logs a 
+	 * warning that the deferral is skipped, and that the caller waits for the result at the call site.
+	 * @param className The name of the class containing the diffusive method
+	 * @param methodName The name of the diffusive method
+	 * @param methodCall The diffusive method call
+	 * @return true if the result of the diffusive method can be deferred; false otherwise
+	 * @throws NotFoundException if the method, or its return type, could not be found
+	 */
+	private static boolean isDeferrable( final String className, final String methodName, final MethodCall methodCall ) throws NotFoundException
+	{
+		final CtClass returnType = methodCall.getMethod().getReturnType();
+		if( returnType.isInterface() )
+		{
+			return true;
+		}
+		final String header = "The result of the diffusive method is marked as deferred, but its return type (" + 
+							  returnType.getName() + ") is not an interface, and so the caller waits for the result at the call site.";
+		LOGGER.warn( createMessage( header, className, methodName, methodCall ) );
+		return false;
+	}
+	
+	/**
+	 * Creates the source code for the call to the diffuser that replaces the diffusive method call. When
+	 * the result is deferred, the call is issued through the diffuser's {@code runObjectAsync(...)} method,
+	 * and the returned future is wrapped by {@link DeferredResult#defer(Class, java.util.concurrent.Future)}.
+	 * Otherwise, the call is made through the diffuser's (blocking) {@code runObject(...)} method.
+	 * @param getDiffuser The source code that retrieves the diffuser from the repository
+	 * @param methodName The name of the diffusive method
+	 * @param isDeferred true if the result of the diffusive method is deferred; false otherwise
+	 * @return The source code for the call to the diffuser
+	 */
+	private static String createDiffusiveCall( final String getDiffuser, final String methodName, final boolean isDeferred )
+	{
+		final String arguments = "( " + Double.MAX_VALUE + ", $type, $0, \"" + methodName + "\", $sig, $args )";
+		if( isDeferred )
+		{
+			return DeferredResult.class.getName() + ".defer( $type, " + getDiffuser + ".runObjectAsync" + arguments + " );";
+		}
+		return getDiffuser + ".runObject" + arguments + ";";
+	}
+	
 	/**
 	 * Creates a message for the process of instrumenting the method call.
 	 * @param header The explanation of the message
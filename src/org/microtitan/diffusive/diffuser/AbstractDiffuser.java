@@ -15,6 +15,7 @@
  */
 package org.microtitan.diffusive.diffuser;
 
+import java.util.concurrent.CompletableFuture;
 
 public abstract class AbstractDiffuser implements Diffuser {
 
@@ -37,4 +38,53 @@ public abstract class AbstractDiffuser implements Diffuser {
 	{
 		return runObject( load, returnType, object, methodName, new Class< ? >[] { argType }, new Object[] { argument } );
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.Diffuser#runObjectAsync(double, java.lang.Class, java.lang.Object, java.lang.String)
+	 */
+	@Override
+	public CompletableFuture< Object > runObjectAsync( final double load, final Class< ? > returnType, final Object object, final String methodName )
+	{
+		return runObjectAsync( load, returnType, object, methodName, (Class< ? >[])null, (Object[])null );
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.Diffuser#runObjectAsync(double, java.lang.Class, java.lang.Object, java.lang.String, java.lang.Class, java.lang.Object)
+	 */
+	@Override
+	public CompletableFuture< Object > runObjectAsync( final double load, final Class< ? > returnType, final Object object, final String methodName, final Class< ? > argType, final Object argument )
+	{
+		return runObjectAsync( load, returnType, object, methodName, new Class< ? >[] { argType }, new Object[] { argument } );
+	}
+
+	/**
+	 * Default implementation that runs the method on the calling thread, by calling the 
+	 * {@link #runObject(double, Class, Object, String, Class[], Object...)} method, and returns
+	 * the already-completed future. {@link Diffuser}s that can issue the call without blocking
+	 * should override this method.
+	 * @see org.microtitan.diffusive.diffuser.Diffuser#runObjectAsync(double, java.lang.Class, java.lang.Object, java.lang.String, java.lang.Class<?>[], java.lang.Object[])
+	 */
+	@Override
+	public CompletableFuture< Object > runObjectAsync( final double load, final Class< ? > returnType, final Object object, final String methodName, final Class< ? >[] argTypes, final Object... arguments )
+	{
+		final CompletableFuture< Object > result = new CompletableFuture<>();
+		try
+		{
+			result.complete( runObject( load, returnType, object, methodName, argTypes, arguments ) );
+		}
+		catch( RuntimeException e )
+		{
+			result.completeExceptionally( e );
+		}
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.Diffuser#shutdown()
+	 */
+	@Override
+	public void shutdown() {}
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.microtitan.diffusive.diffuser.restful.RestfulDiffuser;
+import org.microtitan.diffusive.diffuser.restful.request.ExecuteDiffuserRequest;
+
+/**
+ * The time by which the caller needs the result of a diffusive method call. The deadline travels with the
+ * call as it hops from diffuser to diffuser: the {@link RestfulDiffuser} forwards the time remaining until
+ * the deadline with each {@link ExecuteDiffuserRequest}, and the server that receives the request runs the
+ * task with the deadline set as the current deadline of the thread running it. In this way, a nested 
+ * diffusion passes on whatever is left of the budget, and servers drop work that the caller has abandoned.
+ * 
+ * The deadline is measured with {@link System#nanoTime()}, and is sent across the wire as the remaining 
+ * time, so that it doesn't depend on the clocks of the servers being synchronized.
+ * 
+ * To set a deadline for the calls made on a thread, use the {@link #setCurrent(Deadline)} method; for example,
+ * {@code Deadline.setCurrent( Deadline.after( 5, TimeUnit.SECONDS ) )}.
+ * 
+ * @author Robert Philipp
+ */
+public final class Deadline {
+	
+	// the deadline of the calls made from the current thread; null when the calls have no deadline
+	private static final ThreadLocal< Deadline > CURRENT = new ThreadLocal<>();
+	
+	// the deadline, as measured by System.nanoTime()
+	private final long expiresAt;
+
+	/**
+	 * Constructs a deadline that expires at the specified time
+	 * @param expiresAt The time, as measured by {@link System#nanoTime()}, that the deadline expires
+	 */
+	private Deadline( final long expiresAt )
+	{
+		this.expiresAt = expiresAt;
+	}
+	
+	/**
+	 * Creates a deadline that expires after the specified amount of time
+	 * @param time The amount of time, from now, after which the deadline expires
+	 * @param unit The units of the time
+	 * @return The deadline
+	 */
+	public static Deadline after( final long time, final TimeUnit unit )
+	{
+		return new Deadline( System.nanoTime() + unit.toNanos( time ) );
+	}
+	
+	/**
+	 * @return The deadline of the calls made from the current thread; or null if the calls have no deadline
+	 */
+	public static Deadline getCurrent()
+	{
+		return CURRENT.get();
+	}
+	
+	/**
+	 * Sets the deadline of the calls made from the current thread
+	 * @param deadline The deadline; or null to remove the deadline
+	 * @return The deadline that was previously set for the current thread; or null if there wasn't one
+	 */
+	public static Deadline setCurrent( final Deadline deadline )
+	{
+		final Deadline previous = CURRENT.get();
+		if( deadline == null )
+		{
+			CURRENT.remove();
+		}
+		else
+		{
+			CURRENT.set( deadline );
+		}
+		return previous;
+	}
+	
+	/**
+	 * Returns the later of the two deadlines. Because a call without a deadline waits for as long as it
+	 * takes, a null deadline is later than any deadline.
+	 * @param first A deadline; or null for no deadline
+	 * @param second A deadline; or null for no deadline
+	 * @return The later of the two deadlines; or null if either of the deadlines is null
+	 */
+	public static Deadline latest( final Deadline first, final Deadline second )
+	{
+		if( first == null || second == null )
+		{
+			return null;
+		}
+		return first.expiresAt - second.expiresAt >= 0 ? first : second;
+	}
+	
+	/**
+	 * @param unit The units of the remaining time
+	 * @return The time remaining until the deadline expires; 0 once the deadline has expired
+	 */
+	public long getRemaining( final TimeUnit unit )
+	{
+		return unit.convert( Math.max( expiresAt - System.nanoTime(), 0 ), TimeUnit.NANOSECONDS );
+	}
+	
+	/**
+	 * @return true if the deadline has expired; false otherwise
+	 */
+	public boolean isExpired()
+	{
+		return expiresAt - System.nanoTime() <= 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		return isExpired() ? "[expired]" : getRemaining( TimeUnit.MILLISECONDS ) + " ms remaining";
+	}
+}
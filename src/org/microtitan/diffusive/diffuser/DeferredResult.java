@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.annotations.Diffusive;
+import org.microtitan.diffusive.convertor.MethodIntercepterEditor;
+
+/**
+ * Placeholder for the result of a deferred diffusive method call. When a method annotated with
+ * {@link Diffusive#deferred()} is called, the {@link MethodIntercepterEditor} replaces the call with
+ * a call to the {@link Diffuser}'s {@link Diffuser#runObjectAsync(double, Class, Object, String, Class[], Object...)}
+ * method, and hands the returned {@link Future} to the {@link #defer(Class, Future)} method. When the method's
+ * return type is an interface, the caller gets back a lazy proxy that only waits for the result when one of
+ * its methods is first called. This allows independent diffusive calls made in a loop to run concurrently.
+ *
+ * Java can't proxy primitives or classes, and so for those return types, the caller waits for the
+ * result at the call site (as it would with a non-deferred call).
+ *
+ * The proxy is never null, even when the method returns null. Calling one of the interface's methods on 
+ * a proxy whose result is null throws a {@link NullPointerException}, while its {@link Object#equals(Object)},
+ * {@link Object#hashCode()}, and {@link Object#toString()} methods behave as they would for the proxy itself
+ * (identity, and "null"). For results that aren't null, those methods wait for, and are called on, the result.
+ *
+ * @author Robert Philipp
+ */
+public class DeferredResult implements InvocationHandler {
+
+	private static final Logger LOGGER = Logger.getLogger( DeferredResult.class );
+
+	private final Future< Object > result;
+
+	/**
+	 * Constructs the invocation handler for the lazy proxy
+	 * @param result The {@link Future} holding the result of the diffusive method call
+	 */
+	private DeferredResult( final Future< Object > result )
+	{
+		this.result = result;
+	}
+
+	/**
+	 * Returns a placeholder for the result of the diffusive method call. When the return type is an
+	 * interface, returns a lazy proxy that waits for the result when one of its methods is first called.
+	 * Otherwise waits for, and returns, the result.
+	 * @param returnType The return type of the diffusive method
+	 * @param result The {@link Future} holding the result of the diffusive method call
+	 * @return A placeholder for the result, or the result itself
+	 */
+	public static Object defer( final Class< ? > returnType, final Future< Object > result )
+	{
+		if( returnType != null && returnType.isInterface() )
+		{
+			return Proxy.newProxyInstance( returnType.getClassLoader(), new Class< ? >[] { returnType }, new DeferredResult( result ) );
+		}
+		return waitFor( result );
+	}
+
+	/**
+	 * Waits for the result of the diffusive method call, and returns it. Failures of the diffusive
+	 * method call are rethrown as unchecked exceptions.
+	 * @param result The {@link Future} holding the result of the diffusive method call
+	 * @return The result of the diffusive method call
+	 */
+	public static Object waitFor( final Future< Object > result )
+	{
+		try
+		{
+			return result.get();
+		}
+		catch( ExecutionException e )
+		{
+			if( e.getCause() instanceof RuntimeException )
+			{
+				throw (RuntimeException)e.getCause();
+			}
+			final String message = "The deferred diffusive method call failed.";
+			LOGGER.error( message, e.getCause() );
+			throw new IllegalStateException( message, e.getCause() );
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+			final String message = "Interrupted while waiting for the result of the deferred diffusive method call.";
+			LOGGER.error( message, e );
+			throw new IllegalStateException( message, e );
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+	 */
+	@Override
+	public Object invoke( final Object proxy, final Method method, final Object[] args ) throws Throwable
+	{
+		final Object value = waitFor( result );
+		if( value == null && method.getDeclaringClass() == Object.class )
+		{
+			// there is no result on which to call the object's methods, and so they apply to the proxy itself
+			switch( method.getName() )
+			{
+				case "equals":
+					return proxy == args[ 0 ];
+				
+				case "hashCode":
+					return System.identityHashCode( proxy );
+				
+				default:
+					return String.valueOf( value );
+			}
+		}
+		if( value == null )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The deferred diffusive method call returned null, and so the method can't be called on the result." + Constants.NEW_LINE );
+			message.append( "  Method Name: " + method.getName() + Constants.NEW_LINE );
+			message.append( "  Declaring Class: " + method.getDeclaringClass().getName() );
+			LOGGER.error( message.toString() );
+			throw new NullPointerException( message.toString() );
+		}
+
+		try
+		{
+			return method.invoke( value, args );
+		}
+		catch( InvocationTargetException e )
+		{
+			throw e.getCause();
+		}
+	}
+}
@@ -16,6 +16,7 @@
 package org.microtitan.diffusive.diffuser;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
 
 import org.microtitan.diffusive.diffuser.restful.RestfulDiffuser;
 import org.microtitan.diffusive.diffuser.serializer.Serializer;
@@ -116,4 +117,70 @@ public interface Diffuser {
 					  final String methodName, 
 					  final Class< ? >[] argTypes, 
 					  final Object...arguments );
+	
+	/**
+	 * Issues the specified no-arg method on the specified object without blocking the calling thread.
+	 * The returned {@link CompletableFuture} completes with the result of the method, or exceptionally 
+	 * if the method could not be run. Cancelling the returned future abandons the call.
+	 * @param load The CPU load. See {@link #runObject(double, Class, Object, String)}.
+	 * @param returnType The return type of the method
+	 * @param object The object on which to make the method call given by the specified method name
+	 * @param methodName The name of the method to call on the object
+	 * @return A {@link CompletableFuture} holding the result of the method on the specified object
+	 * @see #runObjectAsync(double, Class, Object, String, Class, Object)
+	 * @see #runObjectAsync(double, Class, Object, String, Class[], Object...)
+	 */
+	CompletableFuture< Object > runObjectAsync( final double load, final Class< ? > returnType, final Object object, final String methodName );
+	
+	/**
+	 * Issues the specified single-argument method on the specified object without blocking the calling
+	 * thread. The returned {@link CompletableFuture} completes with the result of the method, or exceptionally
+	 * if the method could not be run. Cancelling the returned future abandons the call.
+	 * @param load The CPU load. See {@link #runObject(double, Class, Object, String, Class, Object)}.
+	 * @param returnType The return type of the method
+	 * @param object The object on which to make the method call given by the specified method name
+	 * @param methodName The name of the method to call on the object
+	 * @param argType The type of the argument. This is necessary to preserve primitive arguments which
+	 * would otherwise be automatically autoboxed.
+	 * @param argument The argument to be passed to the method
+	 * @return A {@link CompletableFuture} holding the result of the method on the specified object
+	 * @see #runObjectAsync(double, Class, Object, String)
+	 * @see #runObjectAsync(double, Class, Object, String, Class[], Object...)
+	 */
+	CompletableFuture< Object > runObjectAsync( final double load, 
+												final Class< ? > returnType, 
+												final Object object, 
+												final String methodName, 
+												final Class< ? > argType, 
+												final Object argument );
+	
+	/**
+	 * Issues the specified method on the specified object without blocking the calling thread. The 
+	 * returned {@link CompletableFuture} completes with the result of the method, or exceptionally if
+	 * the method could not be run. Cancelling the returned future abandons the call.
+	 * @param load The CPU load. See {@link #runObject(double, Class, Object, String, Class[], Object...)}.
+	 * @param returnType The return type of the method
+	 * @param object The object on which to make the method call given by the specified method name
+	 * @param methodName The name of the method to call on the object
+	 * @param argTypes The types of the arguments. This is necessary to preserve primitive arguments which
+	 * would otherwise be automatically autoboxed.
+	 * @param arguments The arguments to be passed to the method
+	 * @return A {@link CompletableFuture} holding the result of the method on the specified object
+	 * @see #runObjectAsync(double, Class, Object, String)
+	 * @see #runObjectAsync(double, Class, Object, String, Class, Object)
+	 */
+	CompletableFuture< Object > runObjectAsync( final double load, 
+												final Class< ? > returnType, 
+												final Object object, 
+												final String methodName, 
+												final Class< ? >[] argTypes, 
+												final Object...arguments );
+	
+	/**
+	 * Releases any resources (for example, thread pools used to dispatch calls to remote 
+	 * {@link Diffuser}s) held by the {@link Diffuser}. Once shut down, the {@link Diffuser} should
+	 * no longer be used. Called by the {@link KeyedDiffuserRepository} when the {@link Diffuser}
+	 * is removed from, or replaced in, the repository.
+	 */
+	void shutdown();
 }
@@ -199,7 +199,14 @@ public class KeyedDiffuserRepository {
 	{
 		synchronized( instances )
 		{
-			return instances.remove( key );
+			final KeyedDiffuserRepository repository = instances.remove( key );
+			
+			// only shut down the diffusers if no other keys are associated with the repository
+			if( repository != null && !instances.containsValue( repository ) )
+			{
+				repository.shutdownDiffusers();
+			}
+			return repository;
 		}
 	}
 	
@@ -211,7 +218,7 @@ public class KeyedDiffuserRepository {
 	{
 		synchronized( instances )
 		{
-			return instances.remove( getKey() );
+			return deleteRepository( getKey() );
 		}
 	}
 	
@@ -297,6 +304,7 @@ public class KeyedDiffuserRepository {
 	/**
 	 * Adds a {@link Diffuser} to the repository that is associated with the specified key and
 	 * returns any {@link Diffuser} that might have been associated with the key prior to this call.
+	 * The replaced {@link Diffuser} is shut down (see {@link Diffuser#shutdown()}).
 	 * @param key The key associated with the specified {@link Diffuser}
 	 * @param diffuser The {@link Diffuser} to add to the repository
 	 * @return any {@link Diffuser} that might have been associated with the key prior to this call
@@ -305,11 +313,18 @@ public class KeyedDiffuserRepository {
 	{
 		final Diffuser oldDiffuser = diffusers.put( key, diffuser );
 		firePropertyChange( DIFFUSER_SET_PROPERTY, oldDiffuser, diffuser );
+		
+		// the replaced diffuser is no longer managed by the repository, so release its resources
+		if( oldDiffuser != null && oldDiffuser != diffuser && !diffusers.containsValue( oldDiffuser ) )
+		{
+			oldDiffuser.shutdown();
+		}
 		return oldDiffuser;
 	}
 	
 	/**
-	 * Removes the {@link Diffuser} associated with the specified key and returns it
+	 * Removes the {@link Diffuser} associated with the specified key and returns it. The removed 
+	 * {@link Diffuser} is shut down (see {@link Diffuser#shutdown()}), and should no longer be used.
 	 * @param key The key associated with the {@link Diffuser} to remove
 	 * @return the removed {@link Diffuser}; null the key was not found
 	 */
@@ -317,9 +332,26 @@ public class KeyedDiffuserRepository {
 	{
 		final Diffuser diffuser = diffusers.remove( key );
 		firePropertyChange( DIFFUSER_DELETE_PROPERTY, diffuser, diffuser );
+		
+		// the removed diffuser is no longer managed by the repository, so release its resources
+		if( diffuser != null && !diffusers.containsValue( diffuser ) )
+		{
+			diffuser.shutdown();
+		}
 		return diffuser;
 	}
 	
+	/**
+	 * Shuts down all the {@link Diffuser}s held in the repository, releasing their resources
+	 */
+	private synchronized void shutdownDiffusers()
+	{
+		for( Diffuser diffuser : diffusers.values() )
+		{
+			diffuser.shutdown();
+		}
+	}
+	
 	/**
 	 * Adds a listener to receive property change events (adding, removing, setting diffusers)
 	 * @param listener The {@link Listener}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.restful.client.RestfulDiffuserManagerClient;
+import org.microtitan.diffusive.diffuser.restful.request.BulkResultRequest;
+import org.microtitan.diffusive.diffuser.restful.resources.RestfulDiffuserManagerResource;
+import org.microtitan.diffusive.diffuser.restful.resources.ResultId;
+import org.microtitan.diffusive.diffuser.restful.response.BulkResultResponse;
+import org.microtitan.diffusive.diffuser.serializer.Serializer;
+
+/**
+ * Waits for the results of the execute requests sent to each end-point through the bulk result requests 
+ * (see {@link RestfulDiffuserManagerResource#getResults(javax.ws.rs.core.UriInfo, BulkResultRequest)}), 
+ * rather than through one long-poll for each result. The results that are waited on at the same time, from 
+ * the same end-point, are requested together, and each poll returns as soon as any of them has completed. 
+ * A poll covers the results that were waiting when it was sent, and keeps polling for them until they have 
+ * all completed; results that start waiting while a poll is in flight are covered by the next poll, so that 
+ * they aren't held back by the results of the earlier poll. Used by the {@link RestfulDiffuser} to cut the 
+ * number of result requests when many calls are in flight.
+ * 
+ * The polls are sent asynchronously (see {@link RestfulDiffuserManagerClient#getResultsAsync(List, long)}),
+ * and each poll is re-sent from the thread on which the previous response arrived, so the dispatcher only
+ * runs the start of each poll, and none of its threads waits out the server's long-poll. The long-poll does
+ * hold a thread of the Jersey client's pool, which sends the asynchronous requests over blocking connections.
+ *
+ * @author Robert Philipp
+ */
+public class BulkResultPoller {
+
+	private static final Logger LOGGER = Logger.getLogger( BulkResultPoller.class );
+
+	private final Executor dispatcher;
+	private final Serializer serializer;
+
+	// the results waiting on each end-point that aren't yet covered by a poll. an end-point is in the map
+	// only while a poll, which will pick up its waiting results, is scheduled
+	private final Map< URI, Map< ResultId, CompletableFuture< Object > > > waiting;
+
+	/**
+	 * Constructs the poller that starts its polls from the specified dispatcher
+	 * @param dispatcher The {@link Executor} on which the polls are started, so that the results that start 
+	 * waiting on an end-point in the meantime are covered by the same poll
+	 * @param serializer The {@link Serializer} with which to deserialize the results
+	 */
+	public BulkResultPoller( final Executor dispatcher, final Serializer serializer )
+	{
+		this.dispatcher = dispatcher;
+		this.serializer = serializer;
+		this.waiting = new HashMap<>();
+	}
+
+	/**
+	 * Adds the result to the results waited on from the end-point, and sends a poll for it unless one is
+	 * already about to be sent. Cancelling the returned future stops the polling for the result.
+	 * @param client The client for the remote diffuser manager at the end-point
+	 * @param endpoint The end-point of the remote diffuser manager
+	 * @param resultId The {@link ResultId} of the result
+	 * @param timeout The maximum time, in milliseconds, the server should hold open each poll
+	 * @return A {@link CompletableFuture} that completes with the result object
+	 */
+	public CompletableFuture< Object > waitForResult( final RestfulDiffuserManagerClient client,
+													  final URI endpoint,
+													  final ResultId resultId,
+													  final long timeout )
+	{
+		final CompletableFuture< Object > result = new CompletableFuture<>();
+		Poll poll = null;
+		synchronized( waiting )
+		{
+			Map< ResultId, CompletableFuture< Object > > results = waiting.get( endpoint );
+			if( results == null )
+			{
+				results = new LinkedHashMap<>();
+				waiting.put( endpoint, results );
+				poll = new Poll( client, endpoint, timeout );
+			}
+			results.put( resultId, result );
+		}
+
+		// the poll picks up all the results that are waiting on the end-point when it runs
+		if( poll != null )
+		{
+			try
+			{
+				dispatcher.execute( poll );
+			}
+			catch( RejectedExecutionException e )
+			{
+				// the diffuser has been shut down
+				poll.run( e );
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Removes, and returns, the results waiting on the end-point, so that they are covered by the poll that is
+	 * about to be sent. The next result to wait on the end-point schedules a new poll.
+	 * @param endpoint The end-point of the remote diffuser manager
+	 * @return The results waiting on the end-point
+	 */
+	private Map< ResultId, CompletableFuture< Object > > takeWaiting( final URI endpoint )
+	{
+		synchronized( waiting )
+		{
+			final Map< ResultId, CompletableFuture< Object > > results = waiting.remove( endpoint );
+			return results == null ? new LinkedHashMap< ResultId, CompletableFuture< Object > >() : results;
+		}
+	}
+
+	/**
+	 * Sends the bulk result requests for the results that were waiting on the end-point when the poll started,
+	 * until all of them have completed, or have been cancelled. Each request is sent when the response to the
+	 * previous one has arrived, without holding a thread while the server waits for the results.
+	 */
+	private final class Poll implements Runnable {
+
+		private final RestfulDiffuserManagerClient client;
+		private final URI endpoint;
+		private final long timeout;
+
+		/**
+		 * See {@link BulkResultPoller#waitForResult(RestfulDiffuserManagerClient, URI, ResultId, long)} for the parameters.
+		 */
+		public Poll( final RestfulDiffuserManagerClient client, final URI endpoint, final long timeout )
+		{
+			this.client = client;
+			this.endpoint = endpoint;
+			this.timeout = timeout;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run()
+		{
+			run( null );
+		}
+
+		/**
+		 * Polls for the results waiting on the end-point, or when the poll couldn't be sent, fails them
+		 * @param error The reason the poll couldn't be sent; or null to send the poll
+		 */
+		public void run( final Throwable error )
+		{
+			final Map< ResultId, CompletableFuture< Object > > results = takeWaiting( endpoint );
+			if( error != null )
+			{
+				fail( results, error );
+			}
+			else
+			{
+				send( results );
+			}
+		}
+		
+		/**
+		 * Sends the bulk result request for the results that are still waited on, and when the response arrives,
+		 * completes the results it holds, and sends the request again for the others
+		 * @param results The results covered by the poll
+		 */
+		private void send( final Map< ResultId, CompletableFuture< Object > > results )
+		{
+			if( !removeDone( results ) )
+			{
+				return;
+			}
+			try
+			{
+				client.getResultsAsync( new ArrayList<>( results.keySet() ), timeout ).whenComplete( new BiConsumer< BulkResultResponse, Throwable >() {
+
+					@Override
+					public void accept( final BulkResultResponse response, final Throwable error )
+					{
+						if( error != null )
+						{
+							fail( results, error );
+							return;
+						}
+						try
+						{
+							complete( results, response );
+						}
+						catch( RuntimeException e )
+						{
+							fail( results, e );
+							return;
+						}
+						send( results );
+					}
+				} );
+			}
+			catch( RuntimeException e )
+			{
+				fail( results, e );
+			}
+		}
+		
+		/**
+		 * Completes the results that the response holds, and removes them from the results covered by the poll 
+		 * @param results The results covered by the poll
+		 * @param response The response to the bulk result request
+		 */
+		private void complete( final Map< ResultId, CompletableFuture< Object > > results, final BulkResultResponse response )
+		{
+			for( Map.Entry< ResultId, Object > completed : response.getResults( serializer ).entrySet() )
+			{
+				final CompletableFuture< Object > result = results.remove( completed.getKey() );
+				if( result != null )
+				{
+					result.complete( completed.getValue() );
+				}
+			}
+			for( Map.Entry< ResultId, String > failed : response.getFailures().entrySet() )
+			{
+				final CompletableFuture< Object > result = results.remove( failed.getKey() );
+				if( result != null )
+				{
+					final StringBuilder message = new StringBuilder();
+					message.append( "Failed to retrieve the result." ).append( Constants.NEW_LINE )
+							.append( "  Client Endpoint: " ).append( endpoint.toString() ).append( Constants.NEW_LINE )
+							.append( "  Result ID: " ).append( failed.getKey().getResultId() ).append( Constants.NEW_LINE )
+							.append( "  Reason: " ).append( failed.getValue() );
+					LOGGER.error( message.toString() );
+					result.completeExceptionally( new IllegalStateException( message.toString() ) );
+				}
+			}
+		}
+		
+		/**
+		 * Fails the results covered by the poll
+		 * @param results The results covered by the poll
+		 * @param error The reason the poll failed
+		 */
+		private void fail( final Map< ResultId, CompletableFuture< Object > > results, final Throwable error )
+		{
+			for( CompletableFuture< Object > result : results.values() )
+			{
+				result.completeExceptionally( error );
+			}
+		}
+
+		/**
+		 * Removes the results that no one is waiting for anymore (for example, because another end-point
+		 * returned the result first)
+		 * @param results The results covered by the poll
+		 * @return true if there are results left to poll for; false otherwise
+		 */
+		private boolean removeDone( final Map< ResultId, CompletableFuture< Object > > results )
+		{
+			final Iterator< CompletableFuture< Object > > iterator = results.values().iterator();
+			while( iterator.hasNext() )
+			{
+				if( iterator.next().isDone() )
+				{
+					iterator.remove();
+				}
+			}
+			return !results.isEmpty();
+		}
+	}
+}
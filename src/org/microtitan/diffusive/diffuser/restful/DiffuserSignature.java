@@ -19,8 +19,10 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 import org.apache.abdera.model.Feed;
@@ -51,7 +53,9 @@ import org.microtitan.diffusive.utils.ReflectionUtils;
  * The {@link DiffuserSignature} can be instantiated through the constructors, or preferably, through one of the
  * four {@code create(...)} methods, or the {@link #parse(String)} method.
  * 
- * The {@link DiffuserSignature} objects are immutable.
+ * The {@link DiffuserSignature} objects are immutable. The signatures returned by {@link #parse(String)} are
+ * cached by their signature string, along with the {@link Class} objects they resolve, so that a signature
+ * is parsed and its classes resolved once.
  * 
  * @author Robert Philipp
  */
@@ -86,7 +90,15 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 											Pattern.quote( ARGUMENT_CLOSE ) + 
 											RETURN_TYPE_CLASS_NAME +
 										 "$";
-	private static final Pattern REGEX_PATTERN = Pattern.compile( REGEX );
+	
+	// the primitive types that can appear in a primitive array's class name
+	private static final String PRIMITIVE_ARRAY_TYPES = "ZBCDFIJS";
+	private static final char OBJECT_ARRAY_TYPE = 'L';
+	
+	// the parsed signatures, keyed by their signature string. the cache is cleared when it fills up, 
+	// which only happens when far more diffusive methods are in use than expected.
+	private static final int MAX_CACHED_SIGNATURES = 1024;
+	private static final ConcurrentMap< String, DiffuserSignature > SIGNATURES = new ConcurrentHashMap<>();
 
 	// for the hashCode method
 	private volatile int hashCode;
@@ -98,6 +110,11 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 	private final List< String > argumentTypes;
 	private final String signature;
 	
+	// the classes resolved from the class names, on the first request for them
+	private volatile Class< ? > clazz;
+	private volatile Class< ? > returnTypeClazz;
+	private volatile Class< ? >[] argumentClasses;
+	
 	/**
 	 * Constructs a {@link DiffuserSignature} based on the specified return type name, the name of the class containing the
 	 * diffusive method, the method to diffuse, and the list of argument type names. 
@@ -168,7 +185,13 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 	 */
 	public Class< ? > getReturnTypeClazz()
 	{
-		return ReflectionUtils.getClazz( decodeType( returnTypeClassName ) );
+		Class< ? > type = returnTypeClazz;
+		if( type == null )
+		{
+			type = ReflectionUtils.getClazz( decodeType( returnTypeClassName ) );
+			returnTypeClazz = type;
+		}
+		return type;
 	}
 	
 	/**
@@ -184,7 +207,13 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 	 */
 	public Class< ? > getClazz()
 	{
-		return ReflectionUtils.getClazz( decodeType( className ) );
+		Class< ? > type = clazz;
+		if( type == null )
+		{
+			type = ReflectionUtils.getClazz( decodeType( className ) );
+			clazz = type;
+		}
+		return type;
 	}
 	
 	/**
@@ -208,12 +237,17 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 	 */
 	public List< Class< ? > > getArgumentTypes()
 	{
-		final List< Class< ? > > types = new ArrayList<>();
-		for( String type : argumentTypes )
+		Class< ? >[] types = argumentClasses;
+		if( types == null )
 		{
-			types.add( ReflectionUtils.getClazz( decodeType( type ) ) );
+			types = new Class< ? >[ argumentTypes.size() ];
+			for( int i = 0; i < types.length; ++i )
+			{
+				types[ i ] = ReflectionUtils.getClazz( decodeType( argumentTypes.get( i ) ) );
+			}
+			argumentClasses = types;
 		}
-		return types;
+		return new ArrayList<>( Arrays.asList( types ) );
 	}
 	
 	/**
@@ -331,46 +365,108 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 	 */
 	private static String encodeType( final String className, final boolean encode )
 	{
-		final String arrayIdentifier = ( encode ? ARRAY_IDENTIFIER : ENCODED_ARRAY_IDENTIFIER );
-		final String encodedArrayIdentifier = ( encode ? ENCODED_ARRAY_IDENTIFIER : ARRAY_IDENTIFIER );
+		final char arrayIdentifier = ( encode ? ARRAY_IDENTIFIER : ENCODED_ARRAY_IDENTIFIER ).charAt( 0 );
+		final char encodedArrayIdentifier = ( encode ? ENCODED_ARRAY_IDENTIFIER : ARRAY_IDENTIFIER ).charAt( 0 );
 		
-		final StringBuffer buffer = new StringBuffer();
+		// class names that aren't valid are encoded as an empty string
+		if( scanType( className, 0, arrayIdentifier ) != className.length() )
+		{
+			return "";
+		}
 		
-		final String primitiveArray = createPrimitiveArray( arrayIdentifier );
-		final String objectArray = createObjectArray( arrayIdentifier, VALID_NAME );
+		// array identifiers only appear at the start of the class name, so that when this isn't an
+		// array the class name is returned as is
+		if( className.charAt( 0 ) != arrayIdentifier )
+		{
+			return className;
+		}
+		return className.replace( arrayIdentifier, encodedArrayIdentifier );
+	}
 
-		// if this is a primitive array, then we strip off the letter code at the end and encode
-		if( Pattern.matches( "^" + primitiveArray + "$", className ) )
+	/**
+	 * Scans the name ({@code [a-zA-Z]+[\w]*}) that starts at the specified index
+	 * @param string The string containing the name
+	 * @param start The index of the first character of the name
+	 * @return The index just past the end of the name; or -1 if there is no valid name at the index
+	 */
+	private static int scanName( final String string, final int start )
+	{
+		if( start >= string.length() || !isLetter( string.charAt( start ) ) )
 		{
-			final String primitiveType = className.substring( className.length()-1 );
-			final int arrayDimension = className.length()-1;
-			for( int i = 0; i < arrayDimension; ++i )
-			{
-				buffer.append( encodedArrayIdentifier );
-			}
-			buffer.append( primitiveType );
-			
+			return -1;
+		}
+		int index = start + 1;
+		while( index < string.length() && isWordCharacter( string.charAt( index ) ) )
+		{
+			++index;
+		}
+		return index;
+	}
+	
+	/**
+	 * Scans the (non-array) class name, which is a "."-separated list of names, that starts at the 
+	 * specified index
+	 * @param string The string containing the class name
+	 * @param start The index of the first character of the class name
+	 * @return The index just past the end of the class name; or -1 if there is no valid class name at the index
+	 */
+	private static int scanClassName( final String string, final int start )
+	{
+		int index = scanName( string, start );
+		while( index > 0 && index < string.length() && string.charAt( index ) == '.' )
+		{
+			index = scanName( string, index + 1 );
 		}
-		// next see if this is the more specific that an object array (i.e. valid class name for
-		// a non-object array class)
-		else if( Pattern.matches( "^" + createClassName( VALID_NAME ) + "$", className ) )
+		return index;
+	}
+	
+	/**
+	 * Scans the class name that starts at the specified index, which can be the name of a primitive array
+	 * (for example, {@code !!I}), an object array (for example, {@code !Ljava.lang.String}), or any other class.
+	 * @param string The string containing the class name
+	 * @param start The index of the first character of the class name
+	 * @param arrayIdentifier The character identifying each dimension of an array
+	 * @return The index just past the end of the class name; or -1 if there is no valid class name at the index
+	 */
+	private static int scanType( final String string, final int start, final char arrayIdentifier )
+	{
+		int index = start;
+		while( index < string.length() && string.charAt( index ) == arrayIdentifier )
 		{
-			buffer.append( className );
+			++index;
 		}
-		// it must be an object array
-		else if( Pattern.matches( "^" + objectArray + "$", className ) )
+		if( index == start )
 		{
-			final int arrayDimension = className.indexOf( "L" );
-			final String objectType = className.substring( arrayDimension );
-			for( int i = 0; i < arrayDimension; ++i )
-			{
-				buffer.append( encodedArrayIdentifier );
-			}
-			buffer.append( objectType );
+			return scanClassName( string, start );
 		}
-		return buffer.toString();
+		if( index < string.length() && PRIMITIVE_ARRAY_TYPES.indexOf( string.charAt( index ) ) >= 0 )
+		{
+			return index + 1;
+		}
+		if( index < string.length() && string.charAt( index ) == OBJECT_ARRAY_TYPE )
+		{
+			return scanClassName( string, index + 1 );
+		}
+		return -1;
+	}
+	
+	/**
+	 * @param character The character
+	 * @return true if the character is an ASCII letter; false otherwise
+	 */
+	private static boolean isLetter( final char character )
+	{
+		return ( character >= 'a' && character <= 'z' ) || ( character >= 'A' && character <= 'Z' );
+	}
+	
+	/**
+	 * @param character The character
+	 * @return true if the character is an ASCII letter, a digit, or an underscore; false otherwise
+	 */
+	private static boolean isWordCharacter( final char character )
+	{
+		return isLetter( character ) || ( character >= '0' && character <= '9' ) || character == '_';
 	}
-
 	
 	/**
 	 * @return The diffuser ID string
@@ -387,7 +483,7 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 	 * @param argumentTypes The {@link Class} objects of the arguments passed into the diffused method
 	 * @return a {@link DiffuserSignature} for a method that doesn't have a return value
 	 */
-	public static final synchronized DiffuserSignature create( final Class< ? > clazz, 
+	public static final DiffuserSignature create( final Class< ? > clazz, 
 														final String methodName, 
 														final Class< ? >...argumentTypes )
 	{
@@ -402,7 +498,7 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 	 * @param argumentTypes The {@link Class} objects of the arguments passed into the diffused method
 	 * @return a {@link DiffuserSignature}
 	 */
-	public static final synchronized DiffuserSignature create( final Class< ? > returnType, 
+	public static final DiffuserSignature create( final Class< ? > returnType, 
 														final Class< ? > clazz, 
 														final String methodName, 
 														final Class< ? >...argumentTypes )
@@ -424,7 +520,7 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 	 * @param argumentTypes The class names of the arguments passed to the method
 	 * @return the {@link DiffuserSignature} based on the specified values
 	 */
-	public static final synchronized DiffuserSignature create( final String containingClassName, 
+	public static final DiffuserSignature create( final String containingClassName, 
 														final String methodName, 
 														final List< String > argumentTypes )
 	{
@@ -439,7 +535,7 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 	 * @param argumentTypes The class names of the arguments passed to the method
 	 * @return the {@link DiffuserSignature} based on the specified values
 	 */
-	public static final synchronized DiffuserSignature create( final String returnType, 
+	public static final DiffuserSignature create( final String returnType, 
 														final String containingClassName, 
 														final String methodName, 
 														final List< String > argumentTypes )
@@ -462,7 +558,7 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 		boolean isValid = false;
 		if( signature != null && !signature.isEmpty() )
 		{
-			isValid = REGEX_PATTERN.matcher( signature ).matches();
+			isValid = SIGNATURES.containsKey( signature ) || parseSignature( signature ) != null;
 		}
 		return isValid;
 	}
@@ -474,12 +570,26 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 	 * where the "{@code class}" is the fully qualified class name; the method is the name of the method;
 	 * the arguments are all the fully qualified class names of the argument; and the {@code returnType}
 	 * is the fully qualified class name of the return type (which could be {@code void.class}.
+	 * The parsed signatures are cached, and so parsing a signature that has already been parsed returns 
+	 * the same (immutable) {@link DiffuserSignature}.
 	 * @param signature The diffuser ID string representing the signature
 	 * @return a {@link DiffuserSignature} object based on the specified diffuser ID string
 	 */
-	public static final synchronized DiffuserSignature parse( final String signature )
+	public static final DiffuserSignature parse( final String signature )
 	{
-		return parse( signature, true );
+		final DiffuserSignature cached = SIGNATURES.get( signature );
+		if( cached != null )
+		{
+			return cached;
+		}
+		
+		final DiffuserSignature parsed = parse( signature, true );
+		if( SIGNATURES.size() >= MAX_CACHED_SIGNATURES )
+		{
+			SIGNATURES.clear();
+		}
+		final DiffuserSignature previous = SIGNATURES.putIfAbsent( signature, parsed );
+		return previous == null ? parsed : previous;
 	}
 	
 	/**
@@ -493,56 +603,10 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 	 * @param isFirstPass true if this is first pass, which if fails, strips out the spaces and tries again
 	 * @return a {@link DiffuserSignature} object based on the specified diffuser ID string
 	 */
-	private static final synchronized DiffuserSignature parse( final String signature, boolean isFirstPass )
+	private static final DiffuserSignature parse( final String signature, boolean isFirstPass )
 	{
-		String className = null;
-		String methodName = null;
-		String returnClassName = null;
-		List< String > argumentTypes = null;
-		
-		// parse
-		Matcher matcher = REGEX_PATTERN.matcher( signature );
-		if( matcher.matches() )
-		{
-			// grab the class name
-			matcher = Pattern.compile( "^" + VALID_CLASS_NAME ).matcher( signature );
-			matcher.find();
-			className = matcher.group();
-			
-			// grab the method name (we know at this point that we have at least "class:method"
-			matcher = Pattern.compile( "^" + VALID_METHOD_NAME ).matcher( signature.split( Pattern.quote( CLASS_METHOD_SEPARATOR ) )[ 1 ] );
-			matcher.find();
-			methodName = matcher.group();
-			
-			// now parse out the argument types
-			final String argString = "^" + ARGUMENT_TYPE_LIST + Pattern.quote( ARGUMENT_CLOSE );
-			matcher = Pattern.compile( argString ).matcher( signature.split( Pattern.quote( ARGUMENT_OPEN ) )[ 1 ] );
-			matcher.find();
-			final String endString = matcher.group();
-			if( endString.equals( ARGUMENT_CLOSE ) )
-			{
-				argumentTypes = new ArrayList<>();
-			}
-			else
-			{
-				argumentTypes = Arrays.asList( endString.split( Pattern.quote( ARGUMENT_CLOSE ) )[ 0 ].split( Pattern.quote( ARGUMENT_SEPARATOR ) ) );
-			}
-			
-			// now parse out the return type
-			final String[] returnTypes = signature.split( Pattern.quote( RETURN_TYPE_SEPARATOR ) );
-			if( returnTypes != null && returnTypes.length > 1 )
-			{
-				final String returnTypeString = "^" + VALID_CLASS_NAME + "$";
-				matcher = Pattern.compile( returnTypeString ).matcher( returnTypes[ 1 ] );
-				matcher.find();
-				returnClassName = matcher.group();
-			}
-			else
-			{
-				returnClassName = void.class.getName();
-			}
-		}
-		else
+		final DiffuserSignature diffuserSignature = parseSignature( signature );
+		if( diffuserSignature == null )
 		{
 			final StringBuffer message = new StringBuffer();
 			message.append( "Failed to parse signature: Invalid DiffuserId" + Constants.NEW_LINE );
@@ -561,9 +625,82 @@ public class DiffuserSignature implements Copyable< DiffuserSignature > {
 			LOGGER.error( message.toString() );
 			throw new IllegalArgumentException( message.toString() );
 		}
+		return diffuserSignature;
+	}
+	
+	/**
+	 * Parses the signature in a single pass over its characters, without regular expressions.
+	 * @param signature The diffuser ID string representing the signature
+	 * @return a {@link DiffuserSignature} object based on the specified diffuser ID string; or null if the
+	 * signature isn't valid
+	 */
+	private static DiffuserSignature parseSignature( final String signature )
+	{
+		final char arrayIdentifier = ENCODED_ARRAY_IDENTIFIER.charAt( 0 );
+		final int length = signature.length();
+		
+		// grab the class name, which is followed by the class-method separator
+		int end = scanType( signature, 0, arrayIdentifier );
+		if( end < 0 || end >= length || signature.charAt( end ) != CLASS_METHOD_SEPARATOR.charAt( 0 ) )
+		{
+			return null;
+		}
+		final String className = signature.substring( 0, end );
+		
+		// grab the method name, which is followed by the opening of the argument list
+		int start = end + 1;
+		end = scanName( signature, start );
+		if( end < 0 || end >= length || signature.charAt( end ) != ARGUMENT_OPEN.charAt( 0 ) )
+		{
+			return null;
+		}
+		final String methodName = signature.substring( start, end );
+		
+		// grab the argument types up to the closing of the argument list
+		final List< String > argumentTypes = new ArrayList<>();
+		start = end + 1;
+		end = start;
+		if( start < length && signature.charAt( start ) != ARGUMENT_CLOSE.charAt( 0 ) )
+		{
+			while( true )
+			{
+				end = scanType( signature, start, arrayIdentifier );
+				if( end < 0 || end >= length )
+				{
+					return null;
+				}
+				argumentTypes.add( signature.substring( start, end ) );
+				
+				final char next = signature.charAt( end );
+				if( next == ARGUMENT_CLOSE.charAt( 0 ) )
+				{
+					break;
+				}
+				else if( next != ARGUMENT_SEPARATOR.charAt( 0 ) )
+				{
+					return null;
+				}
+				start = end + 1;
+			}
+		}
+		if( end >= length )
+		{
+			return null;
+		}
+		
+		// grab the (optional) return type, which must end the signature
+		String returnClassName = void.class.getName();
+		start = end + 1;
+		if( start < length )
+		{
+			if( signature.charAt( start ) != RETURN_TYPE_SEPARATOR.charAt( 0 ) || scanType( signature, start + 1, arrayIdentifier ) != length )
+			{
+				return null;
+			}
+			returnClassName = signature.substring( start + 1 );
+		}
 		
-		// return
-		return new DiffuserSignature( returnClassName, className, methodName, argumentTypes );
+		return new DiffuserSignature( returnClassName, className, methodName, Collections.unmodifiableList( argumentTypes ) );
 	}
 	
 	/*
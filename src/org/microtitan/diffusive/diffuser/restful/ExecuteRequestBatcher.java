@@ -0,0 +1,450 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.Deadline;
+import org.microtitan.diffusive.diffuser.restful.client.DeadlineExpiredException;
+import org.microtitan.diffusive.diffuser.restful.client.RestfulDiffuserManagerClient;
+import org.microtitan.diffusive.diffuser.restful.request.BatchExecuteDiffuserRequest.Invocation;
+import org.microtitan.diffusive.diffuser.restful.request.ExecuteDiffuserRequest;
+import org.microtitan.diffusive.diffuser.restful.resources.RestfulDiffuserManagerResource;
+import org.microtitan.diffusive.diffuser.restful.resources.ResultId;
+import org.microtitan.diffusive.diffuser.restful.response.BatchExecuteDiffuserResponse;
+
+/**
+ * Coalesces execute requests, for the same method on the same (serialized) object sent to the same end-point,
+ * into batches that are sent to the {@link RestfulDiffuserManagerResource#executeBatch(javax.ws.rs.core.UriInfo, String, org.microtitan.diffusive.diffuser.restful.request.BatchExecuteDiffuserRequest)}
+ * method. A batch is sent once it holds the maximum number of invocations, or once the batch window has
+ * elapsed since its first invocation was added, whichever comes first. An invocation whose caller is blocked 
+ * waiting on its result flushes its batch right away, so that the caller doesn't also wait out the window.
+ * Each invocation is sent with its own deadline and priority. Used by the {@link RestfulDiffuser} to cut the 
+ * HTTP and XML overhead of fine-grained work.
+ *
+ * @author Robert Philipp
+ */
+public class ExecuteRequestBatcher {
+
+	private static final Logger LOGGER = Logger.getLogger( ExecuteRequestBatcher.class );
+
+	private final int maxBatchSize;
+	private final long batchWindow;
+	private final Executor dispatcher;
+	private final ScheduledExecutorService timer;
+
+	private final Map< BatchKey, Batch > batches;
+
+	/**
+	 * Constructs the batcher that sends batches holding, at most, the specified number of invocations.
+	 * @param maxBatchSize The maximum number of invocations in a batch; a full batch is sent immediately
+	 * @param batchWindow The time, in milliseconds, after the first invocation is added to a batch, that
+	 * the batch is sent, whether or not it is full
+	 * @param dispatcher The {@link Executor} on which the batches are sent to the remote diffusers
+	 */
+	public ExecuteRequestBatcher( final int maxBatchSize, final long batchWindow, final Executor dispatcher )
+	{
+		if( maxBatchSize < 1 || batchWindow < 0 )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The maximum batch size must be positive, and the batch window must be non-negative." + Constants.NEW_LINE );
+			message.append( "  Maximum Batch Size: " + maxBatchSize + Constants.NEW_LINE );
+			message.append( "  Batch Window (ms): " + batchWindow );
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+
+		this.maxBatchSize = maxBatchSize;
+		this.batchWindow = batchWindow;
+		this.dispatcher = dispatcher;
+		this.batches = new HashMap<>();
+
+		final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor( 1, new ThreadFactory() {
+
+			@Override
+			public Thread newThread( final Runnable runnable )
+			{
+				final Thread thread = new Thread( runnable, "restful-diffuser-batch-timer" );
+				thread.setDaemon( true );
+				return thread;
+			}
+		} );
+		timer.setRemoveOnCancelPolicy( true );
+		this.timer = timer;
+	}
+
+	/**
+	 * Adds an invocation of the specified method to the batch for the end-point and object, creating
+	 * the batch if needed. When flushing, the batch is sent right away, along with any invocations that 
+	 * were already waiting in it.
+	 * @param client The client for the remote diffuser manager at the end-point, whose deadline (if any)
+	 * and priority apply to this invocation
+	 * @param endpoint The end-point of the remote diffuser manager
+	 * @param classPaths The class paths the remote diffuser uses to load classes, in case the diffuser must
+	 * be (re-)created on the server
+	 * @param returnType The return type of the method
+	 * @param clazz The {@link Class} of the object containing the method
+	 * @param methodName The name of the method
+	 * @param argTypes The types of the method's formal parameters
+	 * @param serializedObject The serialized object containing the method
+	 * @param serializedArgs The serialized arguments for this invocation
+	 * @param serializerName The name of the serializer used to serialize the object and arguments
+	 * @param isFlushing true if the batch should be sent right away (for example, because the caller is blocked
+	 * waiting on the result); false if the batch should wait for the batch window, or until it is full
+	 * @return A {@link CompletableFuture} that completes with the {@link ResultId} of the invocation once the
+	 * batch holding the invocation has been accepted by the server
+	 */
+	public CompletableFuture< ResultId > submit( final RestfulDiffuserManagerClient client,
+												 final URI endpoint,
+												 final List< URI > classPaths,
+												 final Class< ? > returnType,
+												 final Class< ? > clazz,
+												 final String methodName,
+												 final Class< ? >[] argTypes,
+												 final byte[] serializedObject,
+												 final List< byte[] > serializedArgs,
+												 final String serializerName,
+												 final boolean isFlushing )
+	{
+		final CompletableFuture< ResultId > result = new CompletableFuture<>();
+		final String id = endpoint.toString() + " " + serializerName + " " +
+						  DiffuserSignature.createId( returnType, clazz, methodName, argTypes == null ? new Class< ? >[ 0 ] : argTypes );
+		final BatchKey key = new BatchKey( id, serializedObject );
+
+		Batch fullBatch = null;
+		synchronized( batches )
+		{
+			Batch batch = batches.get( key );
+			if( batch == null )
+			{
+				batch = new Batch( client, endpoint, classPaths, returnType, clazz, methodName, argTypes, serializedObject, serializerName );
+			}
+			batch.add( serializedArgs, result, client.getDeadline(), client.getPriority() );
+
+			if( isFlushing || batch.size() >= maxBatchSize )
+			{
+				batches.remove( key );
+				fullBatch = batch;
+			}
+			else if( batch.size() == 1 )
+			{
+				batches.put( key, batch );
+
+				// send the batch once the window has elapsed, unless it has already been sent because it was full, or flushed
+				final Batch windowedBatch = batch;
+				timer.schedule( new Runnable() {
+
+					@Override
+					public void run()
+					{
+						synchronized( batches )
+						{
+							if( batches.get( key ) != windowedBatch )
+							{
+								return;
+							}
+							batches.remove( key );
+						}
+						send( windowedBatch );
+					}
+				}, batchWindow, TimeUnit.MILLISECONDS );
+			}
+		}
+
+		// the batch is full, or is being flushed, so send it now (the window timer finds it gone and does nothing)
+		if( fullBatch != null )
+		{
+			send( fullBatch );
+		}
+		return result;
+	}
+	
+	/**
+	 * Sends the batch from the dispatcher, or when the dispatcher rejects the batch (because it has been shut 
+	 * down, or its queue is full), fails the invocations in the batch
+	 * @param batch The batch to send
+	 */
+	private void send( final Batch batch )
+	{
+		try
+		{
+			dispatcher.execute( batch );
+		}
+		catch( RejectedExecutionException e )
+		{
+			batch.fail( e );
+		}
+	}
+
+	/**
+	 * @return The maximum number of invocations in a batch
+	 */
+	public int getMaxBatchSize()
+	{
+		return maxBatchSize;
+	}
+
+	/**
+	 * @return The time, in milliseconds, after the first invocation is added to a batch, that the batch is sent
+	 */
+	public long getBatchWindow()
+	{
+		return batchWindow;
+	}
+
+	/**
+	 * Stops the batch window timer, and fails the invocations in the batches that haven't yet been sent
+	 */
+	public void shutdown()
+	{
+		timer.shutdownNow();
+
+		final List< Batch > pending;
+		synchronized( batches )
+		{
+			pending = new ArrayList<>( batches.values() );
+			batches.clear();
+		}
+		for( Batch batch : pending )
+		{
+			batch.fail( new IllegalStateException( "The execute request batcher was shut down before the batch was sent." ) );
+		}
+	}
+
+	/**
+	 * Key identifying the batch into which an invocation is coalesced. Invocations are coalesced when
+	 * they are sent to the same end-point, for the same method, with the same serialized object.
+	 */
+	private static final class BatchKey {
+
+		private final String id;
+		private final byte[] serializedObject;
+		private final int hashCode;
+
+		/**
+		 * @param id The end-point, serializer, and diffuser signature
+		 * @param serializedObject The serialized object containing the method
+		 */
+		public BatchKey( final String id, final byte[] serializedObject )
+		{
+			this.id = id;
+			this.serializedObject = serializedObject;
+			this.hashCode = 31 * id.hashCode() + Arrays.hashCode( serializedObject );
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals( final Object object )
+		{
+			if( !(object instanceof BatchKey) )
+			{
+				return false;
+			}
+			final BatchKey key = (BatchKey)object;
+			return hashCode == key.hashCode && id.equals( key.id ) && Arrays.equals( serializedObject, key.serializedObject );
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode()
+		{
+			return hashCode;
+		}
+	}
+
+	/**
+	 * The invocations coalesced into one batch, and the task that sends them to the remote diffuser
+	 */
+	private static final class Batch implements Runnable {
+
+		private final RestfulDiffuserManagerClient client;
+		private final URI endpoint;
+		private final List< URI > classPaths;
+		private final Class< ? > returnType;
+		private final Class< ? > clazz;
+		private final String methodName;
+		private final Class< ? >[] argTypes;
+		private final byte[] serializedObject;
+		private final String serializerName;
+
+		private final List< List< byte[] > > invocations;
+		private final List< CompletableFuture< ResultId > > results;
+		private final List< Deadline > deadlines;
+		private final List< Integer > priorities;
+
+		/**
+		 * Constructs an empty batch. See {@link ExecuteRequestBatcher#submit(RestfulDiffuserManagerClient, URI, List, Class, Class, String, Class[], byte[], List, String, boolean)}
+		 * for the parameters.
+		 */
+		public Batch( final RestfulDiffuserManagerClient client,
+					  final URI endpoint,
+					  final List< URI > classPaths,
+					  final Class< ? > returnType,
+					  final Class< ? > clazz,
+					  final String methodName,
+					  final Class< ? >[] argTypes,
+					  final byte[] serializedObject,
+					  final String serializerName )
+		{
+			this.client = client;
+			this.endpoint = endpoint;
+			this.classPaths = classPaths;
+			this.returnType = returnType;
+			this.clazz = clazz;
+			this.methodName = methodName;
+			this.argTypes = argTypes;
+			this.serializedObject = serializedObject;
+			this.serializerName = serializerName;
+
+			this.invocations = new ArrayList<>();
+			this.results = new ArrayList<>();
+			this.deadlines = new ArrayList<>();
+			this.priorities = new ArrayList<>();
+		}
+
+		/**
+		 * Adds an invocation to the batch. Must be called while holding the lock on the batches.
+		 * @param serializedArgs The serialized arguments for the invocation
+		 * @param result The future that completes with the {@link ResultId} of the invocation
+		 * @param deadline The {@link Deadline} of the invocation; or null if the invocation has no deadline
+		 * @param priority The priority of the invocation
+		 */
+		public void add( final List< byte[] > serializedArgs, final CompletableFuture< ResultId > result, final Deadline deadline, final int priority )
+		{
+			invocations.add( serializedArgs );
+			results.add( result );
+			deadlines.add( deadline );
+			priorities.add( priority );
+		}
+
+		/**
+		 * @return The number of invocations in the batch
+		 */
+		public int size()
+		{
+			return invocations.size();
+		}
+
+		/**
+		 * Completes the futures of all the invocations in the batch exceptionally
+		 * @param error The reason the batch failed
+		 */
+		public void fail( final Throwable error )
+		{
+			for( CompletableFuture< ResultId > result : results )
+			{
+				result.completeExceptionally( error );
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run()
+		{
+			// the invocations whose deadline expired while they waited in the batch are failed here, rather than 
+			// sent, so that the server doesn't reject the whole batch. each of the others is sent with the time 
+			// remaining until its own deadline, and with its own priority
+			final List< Invocation > pending = new ArrayList<>( invocations.size() );
+			final List< CompletableFuture< ResultId > > pendingResults = new ArrayList<>( invocations.size() );
+			for( int i = 0; i < invocations.size(); ++i )
+			{
+				final Deadline deadline = deadlines.get( i );
+				if( deadline != null && deadline.isExpired() )
+				{
+					results.get( i ).completeExceptionally( new DeadlineExpiredException( "The deadline expired before the batch was sent.", endpoint ) );
+				}
+				else
+				{
+					final long timeBudget = (deadline == null ? ExecuteDiffuserRequest.NO_DEADLINE : deadline.getRemaining( TimeUnit.MILLISECONDS ));
+					pending.add( new Invocation( invocations.get( i ), timeBudget, priorities.get( i ) ) );
+					pendingResults.add( results.get( i ) );
+				}
+			}
+			if( pending.isEmpty() )
+			{
+				return;
+			}
+			
+			try
+			{
+				final List< Class< ? > > argTypeList = (argTypes == null ? new ArrayList< Class< ? > >() : Arrays.asList( argTypes ));
+				BatchExecuteDiffuserResponse response =
+						client.executeBatch( returnType, clazz, methodName, argTypeList, pending, serializedObject, serializerName );
+
+				// the diffuser wasn't found on the server (deleted, or the server restarted), so create
+				// it again and re-issue the batch
+				if( response == null )
+				{
+					client.createDiffuser( classPaths, returnType, clazz, methodName, argTypes );
+					response = client.executeBatch( returnType, clazz, methodName, argTypeList, pending, serializedObject, serializerName );
+				}
+				if( response == null || response.getResultIds().size() != pendingResults.size() )
+				{
+					final StringBuffer message = new StringBuffer();
+					message.append( "Unable to execute the batch on the remote diffuser." + Constants.NEW_LINE );
+					message.append( "  Client Endpoint: " + endpoint.toString() + Constants.NEW_LINE );
+					message.append( "  Method Name: " + methodName + Constants.NEW_LINE );
+					message.append( "  Containing Class: " + clazz.getName() + Constants.NEW_LINE );
+					message.append( "  Number of Invocations: " + pendingResults.size() + Constants.NEW_LINE );
+					message.append( "  Number of Result IDs: " + (response == null ? "[diffuser not found]" : response.getResultIds().size()) );
+					LOGGER.error( message.toString() );
+					throw new IllegalStateException( message.toString() );
+				}
+
+				final List< ResultId > resultIds = response.getResultIds();
+				for( int i = 0; i < pendingResults.size(); ++i )
+				{
+					pendingResults.get( i ).complete( resultIds.get( i ) );
+				}
+
+				if( LOGGER.isDebugEnabled() )
+				{
+					LOGGER.debug( "Sent batch of " + pendingResults.size() + " invocations to " + endpoint.toString() );
+				}
+			}
+			catch( RuntimeException e )
+			{
+				for( CompletableFuture< ResultId > result : pendingResults )
+				{
+					result.completeExceptionally( e );
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+
+/**
+ * An online histogram of latencies, in milliseconds, from which the latency percentiles are estimated.
+ * The buckets are log-linear: each power of two is split into {@link #SUB_BUCKETS} equal buckets, and so
+ * the percentiles are accurate to within about 12%, over the full range of latencies, using a fixed
+ * and small amount of memory. Recording is lock-free, so the histogram can be updated by many threads
+ * concurrently.
+ * 
+ * So that the percentiles follow changes in the latencies, the counts are halved once the histogram
+ * holds the maximum number of samples.
+ * 
+ * Used by the {@link RestfulDiffuser} to decide when to send a hedged (redundant) copy of a call.
+ * 
+ * @author Robert Philipp
+ */
+public class LatencyHistogram {
+	
+	private static final Logger LOGGER = Logger.getLogger( LatencyHistogram.class );
+
+	public static final long MAX_SAMPLES = 10_000;
+	
+	// the number of buckets that each power of two is split into (must be a power of two)
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+	
+	private final AtomicLongArray counts;
+	private final AtomicLong numSamples;
+	private final AtomicBoolean isDecaying;
+	private final long maxSamples;
+	
+	/**
+	 * Constructs an empty histogram that halves its counts once it holds the specified number of samples
+	 * @param maxSamples The number of samples after which the counts are halved; must be greater than 1
+	 */
+	public LatencyHistogram( final long maxSamples )
+	{
+		if( maxSamples < 2 )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The maximum number of samples in the latency histogram must be greater than 1" + Constants.NEW_LINE );
+			message.append( "  Specified Maximum Samples: " + maxSamples );
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		
+		this.maxSamples = maxSamples;
+		this.counts = new AtomicLongArray( NUM_BUCKETS );
+		this.numSamples = new AtomicLong( 0 );
+		this.isDecaying = new AtomicBoolean( false );
+	}
+	
+	/**
+	 * Constructs an empty histogram that halves its counts once it holds {@link #MAX_SAMPLES} samples
+	 */
+	public LatencyHistogram()
+	{
+		this( MAX_SAMPLES );
+	}
+	
+	/**
+	 * Records the latency
+	 * @param latency The latency in milliseconds; negative latencies are recorded as 0
+	 */
+	public void record( final long latency )
+	{
+		counts.incrementAndGet( bucketIndex( Math.max( latency, 0 ) ) );
+		if( numSamples.incrementAndGet() >= maxSamples )
+		{
+			decay();
+		}
+	}
+	
+	/**
+	 * Returns the estimated latency, in milliseconds, below which the specified fraction of the
+	 * recorded latencies fall. The estimate is the upper bound of the bucket holding the percentile.
+	 * @param percentile The percentile as a fraction in the interval {@code (0, 1]} (for example, 0.95 for p95)
+	 * @return the estimated latency at the specified percentile; or -1 if no latencies have been recorded
+	 */
+	public long getPercentile( final double percentile )
+	{
+		if( percentile <= 0 || percentile > 1 )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The percentile must be in the interval (0, 1]" + Constants.NEW_LINE );
+			message.append( "  Specified Percentile: " + percentile );
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		
+		// take a snapshot of the counts, because they may be updated while walking the buckets
+		final long[] snapshot = new long[ NUM_BUCKETS ];
+		long total = 0;
+		for( int i = 0; i < NUM_BUCKETS; ++i )
+		{
+			snapshot[ i ] = counts.get( i );
+			total += snapshot[ i ];
+		}
+		if( total == 0 )
+		{
+			return -1;
+		}
+		
+		final long rank = (long)Math.ceil( percentile * total );
+		long cumulative = 0;
+		for( int i = 0; i < NUM_BUCKETS; ++i )
+		{
+			cumulative += snapshot[ i ];
+			if( cumulative >= rank )
+			{
+				return bucketUpperBound( i );
+			}
+		}
+		return bucketUpperBound( NUM_BUCKETS - 1 );
+	}
+	
+	/**
+	 * @return The (approximate) number of samples in the histogram
+	 */
+	public long getCount()
+	{
+		return numSamples.get();
+	}
+	
+	/**
+	 * Halves the counts in each bucket so that older samples carry less weight. Only one thread
+	 * decays the histogram at a time, and the samples recorded while it decays may, or may not,
+	 * be halved.
+	 */
+	private void decay()
+	{
+		if( isDecaying.compareAndSet( false, true ) )
+		{
+			try
+			{
+				long total = 0;
+				for( int i = 0; i < NUM_BUCKETS; ++i )
+				{
+					long count;
+					do
+					{
+						count = counts.get( i );
+					}
+					while( !counts.compareAndSet( i, count, count / 2 ) );
+					total += count / 2;
+				}
+				numSamples.set( total );
+			}
+			finally
+			{
+				isDecaying.set( false );
+			}
+		}
+	}
+	
+	/**
+	 * Returns the index of the bucket holding the specified value. Values less than {@link #SUB_BUCKETS}
+	 * each have their own bucket. Larger values are placed in the bucket for their power of two, and then 
+	 * the next {@link #SUB_BUCKET_BITS} significant bits.
+	 * @param value The non-negative value
+	 * @return the index of the bucket holding the value
+	 */
+	private static int bucketIndex( final long value )
+	{
+		if( value < SUB_BUCKETS )
+		{
+			return (int)value;
+		}
+		final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros( value );
+		final int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+	
+	/**
+	 * @param index The index of the bucket
+	 * @return The largest value held in the bucket
+	 */
+	private static long bucketUpperBound( final int index )
+	{
+		if( index < SUB_BUCKETS )
+		{
+			return index;
+		}
+		final int shift = index / SUB_BUCKETS - 1;
+		final long lowerBound = (long)(SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lowerBound + (1L << shift) - 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		final StringBuffer buffer = new StringBuffer();
+		buffer.append( "Samples: " + getCount() );
+		if( getCount() > 0 )
+		{
+			buffer.append( Constants.NEW_LINE );
+			buffer.append( "p50 (ms): " + getPercentile( 0.50 ) + Constants.NEW_LINE );
+			buffer.append( "p95 (ms): " + getPercentile( 0.95 ) + Constants.NEW_LINE );
+			buffer.append( "p99 (ms): " + getPercentile( 0.99 ) );
+		}
+		return buffer.toString();
+	}
+}
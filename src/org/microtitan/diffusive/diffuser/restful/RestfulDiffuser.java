@@ -20,23 +20,45 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import javax.xml.bind.JAXBException;
 
-import org.apache.abdera.parser.ParseException;
 import org.apache.log4j.Logger;
 import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.annotations.Diffusive;
 import org.microtitan.diffusive.diffuser.AbstractDiffuser;
+import org.microtitan.diffusive.diffuser.Deadline;
+import org.microtitan.diffusive.diffuser.DeferredResult;
+import org.microtitan.diffusive.diffuser.KeyedDiffuserRepository;
 import org.microtitan.diffusive.diffuser.LocalDiffuser;
+import org.microtitan.diffusive.diffuser.restful.client.DeadlineExpiredException;
+import org.microtitan.diffusive.diffuser.restful.client.EndpointOverloadedException;
+import org.microtitan.diffusive.diffuser.restful.client.RestfulClientFactory;
 import org.microtitan.diffusive.diffuser.restful.client.RestfulDiffuserManagerClient;
+import org.microtitan.diffusive.diffuser.restful.frames.DiffuserFrames;
+import org.microtitan.diffusive.diffuser.restful.request.ExecuteDiffuserRequest;
+import org.microtitan.diffusive.diffuser.restful.resources.ResultId;
+import org.microtitan.diffusive.diffuser.restful.response.CreateDiffuserResponse;
 import org.microtitan.diffusive.diffuser.restful.response.ExecuteDiffuserResponse;
 import org.microtitan.diffusive.diffuser.serializer.Serializer;
 import org.microtitan.diffusive.diffuser.serializer.SerializerFactory;
@@ -48,6 +70,19 @@ import org.microtitan.diffusive.utils.CollectionUtils;
  * A diffuser that uses REST to diffuser methods to remote RESTful diffusers, or runs the task locally.
  * To diffuse to a remote diffuser, this diffuser instantiates a RESTful client 
  * ({@link RestfulDiffuserManagerClient}) that is then used to send the task to the remote server.
+ * 
+ * The create, execute, and result requests are sent through the asynchronous methods of the client, and 
+ * so the calls don't hold the calling thread, nor a thread of the diffuser, while they wait on the servers. 
+ * Jersey's client sends asynchronous requests over blocking connections, and so each request does hold one 
+ * of the client's own threads until the server responds. The work that still blocks (the batches of execute 
+ * requests, the start of the result polls, and running the method locally when the calls fail) runs on a 
+ * long-lived, fixed-size thread pool whose queue is bounded. The thread pool lives as long as the diffuser,
+ * and is released when the diffuser is shut down (see {@link #shutdown()}), which happens when the
+ * diffuser is removed from the {@link KeyedDiffuserRepository}.
+ * 
+ * When the strategy supplies more than one end-point, the call is either sent to all of them up front, or,
+ * when hedging is enabled (see {@link #setHedging(double)}), to the first one, with a copy sent to the next
+ * one only when the result is slower than a latency percentile of earlier calls to the method.
  *  
  * @author Robert Philipp
  */
@@ -56,8 +91,13 @@ public class RestfulDiffuser extends AbstractDiffuser {
 	private static final Logger LOGGER = Logger.getLogger( RestfulDiffuser.class );
 	
 	public static final int MAX_REDUNDANCY = 20;
-	public static final int POLLING_TIME_OUT = 50;
-	public static final TimeUnit POLLING_TIME_UNIT = TimeUnit.MILLISECONDS;
+	public static final int POLLING_TIME_OUT = 30;
+	public static final TimeUnit POLLING_TIME_UNIT = TimeUnit.SECONDS;
+	public static final long DISPATCH_THREAD_KEEP_ALIVE = 60;
+	public static final int DISPATCH_QUEUE_SIZE = 10000;
+	public static final long BATCH_WINDOW = 10;
+	public static final long HEDGE_MIN_SAMPLES = 20;
+	public static final int RETRY_BUDGET = 2;
 	
 	// used to serialize objects for making requests across the network
 	private final Serializer serializer;
@@ -65,12 +105,46 @@ public class RestfulDiffuser extends AbstractDiffuser {
 	private final List< URI > classPaths;
 	private final double loadThreshold;
 	
+	// the shared, long-lived thread pool that sends the batches, starts the result polls, and runs the local 
+	// fall-backs, and the single thread that sends the cancel orders, so that cancel orders don't wait on the dispatch threads
+	private final ThreadPoolExecutor executor;
+	private final ThreadPoolExecutor cancelExecutor;
+	
 	// the maximum number of threads in the thread pool (ExecutorService) to account 
 	// for redundant diffusion
-	private int maxRedundancy = MAX_REDUNDANCY;
+	private int maxRedundancy;
 	private int pollingTimeout = POLLING_TIME_OUT;
 	private TimeUnit pollingTimeUnit = POLLING_TIME_UNIT;
 	
+	// whether the warning, that the long-polls are shortened to fit within the clients' read time-out, was logged
+	private final AtomicBoolean isResultTimeoutWarned = new AtomicBoolean( false );
+	
+	// coalesces the execute requests into batches; null when batching is disabled (the default)
+	private volatile ExecuteRequestBatcher batcher;
+	
+	// when true, the execute requests and results are sent as binary frames rather than XML/Atom
+	private volatile boolean isUsingFrames;
+	
+	// waits for the results from each end-point through bulk result requests, rather than one long-poll
+	// for each result (results sent as binary frames are still requested one at a time)
+	private final BulkResultPoller resultPoller;
+	
+	// the latency percentile after which a hedged call is sent to the next end-point; 0 when hedging is
+	// disabled (the default), in which case the calls are sent to all the end-points up front
+	private volatile double hedgePercentile;
+	
+	// the latencies of the calls, by method signature, and the timer that sends the hedged asynchronous calls
+	private final ConcurrentMap< String, LatencyHistogram > latencies;
+	private final ScheduledThreadPoolExecutor hedgeTimer;
+	
+	// the priorities of the calls, by method signature, so that the method's annotation is looked up only once
+	private final ConcurrentMap< String, Integer > priorities;
+	
+	// the number of times a call is failed over to another end-point after the calls to the end-points
+	// selected by the strategy have failed, and whether the method is run locally when all the calls fail
+	private volatile int retryBudget = RETRY_BUDGET;
+	private volatile boolean isFallingBackToLocal = true;
+	
 	/**
 	 * Constructs the RESTful diffuser that runs methods either locally or sends them on to a remote
 	 * RESTful diffuser.
@@ -87,6 +161,29 @@ public class RestfulDiffuser extends AbstractDiffuser {
 							final DiffuserStrategy strategy, 
 							final List< URI > classPaths,
 							final double loadThreshold )
+	{
+		this( serializer, strategy, classPaths, loadThreshold, MAX_REDUNDANCY );
+	}
+
+	/**
+	 * Constructs the RESTful diffuser that runs methods either locally or sends them on to a remote
+	 * RESTful diffuser.
+	 * @param serializer The object that converts the object into and out of the form that is transmitted across
+	 * the wire.
+	 * @param strategy The diffuser strategy that determines which end-point will get called next
+	 * @param classPaths The class paths on a remote server needed for loading classes that aren't 
+	 * locally available 
+	 * @param loadThreshold The load threshold above which the {@link RestfulDiffuser} will forward execution
+	 * of the task to remote diffuser. The load threshold must be in the interval {@code (0.0, infinity]}
+	 * @param maxRedundancy The number of threads in the shared dispatch thread pool, which sends the batches,
+	 * starts the result polls, and runs the local fall-backs. Must be greater than 0.
+	 * @see DiffuserLoadCalc
+	 */
+	public RestfulDiffuser( final Serializer serializer, 
+							final DiffuserStrategy strategy, 
+							final List< URI > classPaths,
+							final double loadThreshold,
+							final int maxRedundancy )
 	{
 		this.serializer = serializer;
 		this.strategy = strategy;
@@ -100,6 +197,101 @@ public class RestfulDiffuser extends AbstractDiffuser {
 			throw new IllegalArgumentException( message.toString() );
 		}
 		this.loadThreshold = loadThreshold;
+		
+		if( maxRedundancy < 1 )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The maximum redundancy (number of dispatch threads) must be greater than 0" + Constants.NEW_LINE );
+			message.append( "  Specified Maximum Redundancy: " + maxRedundancy );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		this.maxRedundancy = maxRedundancy;
+		this.executor = createExecutor( maxRedundancy );
+		this.cancelExecutor = createCancelExecutor();
+		this.resultPoller = new BulkResultPoller( executor, serializer );
+		this.latencies = new ConcurrentHashMap<>();
+		this.hedgeTimer = createHedgeTimer();
+		this.priorities = new ConcurrentHashMap<>();
+	}
+	
+	/**
+	 * Creates the timer that sends the hedged copies of the asynchronous calls. The timer's thread is a
+	 * daemon thread that is only started once a hedged call is scheduled, and is released when idle.
+	 * @return The timer that sends the hedged copies of the asynchronous calls
+	 */
+	private static ScheduledThreadPoolExecutor createHedgeTimer()
+	{
+		final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor( 1, new ThreadFactory() {
+
+			@Override
+			public Thread newThread( final Runnable runnable )
+			{
+				final Thread thread = new Thread( runnable, "restful-diffuser-hedge-timer" );
+				thread.setDaemon( true );
+				return thread;
+			}
+		} );
+		timer.setKeepAliveTime( DISPATCH_THREAD_KEEP_ALIVE, TimeUnit.SECONDS );
+		timer.allowCoreThreadTimeOut( true );
+		return timer;
+	}
+	
+	/**
+	 * Creates the fixed-size thread pool used to send the batches of execute requests, start the result polls, 
+	 * and run the method locally when the calls fail. When all the threads are busy, the tasks wait in the 
+	 * queue, which holds at most {@link #DISPATCH_QUEUE_SIZE} tasks, rather than the pool adding threads. The
+	 * threads are daemon threads so that an application that doesn't shut down the diffuser can still exit, 
+	 * and idle threads are released after {@link #DISPATCH_THREAD_KEEP_ALIVE} seconds. The create, execute, and 
+	 * result requests don't run on the dispatch threads.
+	 * @param numThreads The number of threads in the thread pool
+	 * @return The thread pool of the dispatch threads
+	 */
+	private static ThreadPoolExecutor createExecutor( final int numThreads )
+	{
+		final ThreadFactory threadFactory = new ThreadFactory() {
+			
+			private final AtomicInteger threadCount = new AtomicInteger( 0 );
+
+			@Override
+			public Thread newThread( final Runnable runnable )
+			{
+				final Thread thread = new Thread( runnable, "restful-diffuser-dispatch-" + threadCount.incrementAndGet() );
+				thread.setDaemon( true );
+				return thread;
+			}
+		};
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor( numThreads, numThreads, 
+																	DISPATCH_THREAD_KEEP_ALIVE, TimeUnit.SECONDS, 
+																	new LinkedBlockingQueue< Runnable >( DISPATCH_QUEUE_SIZE ), threadFactory );
+		
+		// diffusers that are idle (for example, server-side diffusers for rarely called methods) 
+		// shouldn't hold on to their threads
+		executor.allowCoreThreadTimeOut( true );
+		return executor;
+	}
+	
+	/**
+	 * Creates the thread that sends the cancel orders to the remote diffusers whose results are no longer 
+	 * needed. The thread is a daemon thread that is only started once a cancel order is sent, and is released
+	 * when idle.
+	 * @return The thread pool, holding one thread, that sends the cancel orders
+	 */
+	private static ThreadPoolExecutor createCancelExecutor()
+	{
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor( 1, 1, 
+																	DISPATCH_THREAD_KEEP_ALIVE, TimeUnit.SECONDS, 
+																	new LinkedBlockingQueue< Runnable >(), new ThreadFactory() {
+
+			@Override
+			public Thread newThread( final Runnable runnable )
+			{
+				final Thread thread = new Thread( runnable, "restful-diffuser-cancel" );
+				thread.setDaemon( true );
+				return thread;
+			}
+		} );
+		executor.allowCoreThreadTimeOut( true );
+		return executor;
 	}
 
 	/*
@@ -111,32 +303,7 @@ public class RestfulDiffuser extends AbstractDiffuser {
 	{
 		// check to make sure that if argTypes and arguments aren't both empty or null, that they 
 		// have the same number of elements.
-		if( !CollectionUtils.sizesMatch( argTypes, arguments ) )
-		{
-			final StringBuffer message = new StringBuffer();
-			message.append( "The number of arguments and argument types for the method do not match." + Constants.NEW_LINE );
-			message.append( Constants.NEW_LINE );
-			message.append( "  Containing Class: " + object.getClass().getName() + Constants.NEW_LINE );
-			message.append( "  Method Name: " + methodName + Constants.NEW_LINE );
-			message.append( "  Arguments: " );
-			if( arguments.length > 0 )
-			{
-				for( int i = 0; i < arguments.length; ++i )
-				{
-					message.append( Constants.NEW_LINE + "    " + arguments[ i ].getClass().getName() );
-					if( argTypes[ i ].isPrimitive() )
-					{
-						message.append( " (primitive)" );
-					}
-				}
-			}
-			else
-			{
-				message.append( "[none]" );
-			}
-			LOGGER.error( message.toString() );
-			throw new IllegalArgumentException( message.toString() );
-		}
+		validateArguments( object, methodName, argTypes, arguments );
 		
 		// if the load is less than the threshold, then we can compute this task locally, or if there are no
 		// end-points to which to diffuse the task further. Otherwise, the task is diffused to an end-point
@@ -224,181 +391,1285 @@ public class RestfulDiffuser extends AbstractDiffuser {
 				LOGGER.info( message.toString() );
 			}
 			
-			// create the list of futures that are waiting for the task to return from 
-			// the first end point
-			final List< Future< ? > > futures = new ArrayList<>( endpoints.size() );
-			
-			// create the executor service for running the tasks.
-			final ExecutorService executor = Executors.newFixedThreadPool( maxRedundancy );
+			if( LOGGER.isDebugEnabled() )
+			{
+				final StringBuffer message = new StringBuffer();
+				message.append( "Dispatch thread pool state before submitting the tasks:" + Constants.NEW_LINE );
+				message.append( "  Active Threads: " + getActiveDispatchCount() + Constants.NEW_LINE );
+				message.append( "  Pool Size: " + executor.getPoolSize() + Constants.NEW_LINE );
+				message.append( "  Dispatch Queue Depth: " + getDispatchQueueDepth() + Constants.NEW_LINE );
+				message.append( "  Cancel Queue Depth: " + getCancelQueueDepth() );
+				LOGGER.debug( message.toString() );
+			}
 			
-			// diffuse to each of the end-points, adding the reference to the result in the list of futures.
-			// there are multiple end-points in case there is to be redundancy. usually, there is just one end-point
-			for( URI endpoint : endpoints )
+			// the blocking call waits on the asynchronous call, which sends the calls to the end-points whose 
+			// circuit breakers let them through, fails over to the other end-points when the calls fail, and
+			// completes with the first result. the calls carry whatever time is left until the deadline of the
+			// calling thread (for example, the deadline of the task that this diffuser is running on a server), 
+			// and no more calls are sent once it has expired. when batching is enabled, the call flushes its batch
+			// (along with any concurrent calls already waiting in it), so that it doesn't wait out the batch window.
+			final CompletableFuture< Object > call = diffuseAsync( true, endpoints, load, returnType, object, methodName, argTypes, arguments );
+			try
+			{
+				result = DeferredResult.waitFor( call );
+			}
+			finally
 			{
-				// create a client with which to interact with the remote diffuser manager (RestfulDiffuserManagerResource) 
-				final RestfulDiffuserManagerClient client = new RestfulDiffuserManagerClient( endpoint );
+				// when the calling thread was interrupted, the calls that are still waiting are cancelled
+				// (otherwise, the call has already completed, and this does nothing)
+				call.cancel( true );
+			}
+		}
+		return result;
+	}
 	
-				// create the diffuser on the server
-				final int numArguments = (arguments == null ? 0 : arguments.length);
-
-				/*final CreateDiffuserResponse response = */
-				client.createDiffuser( classPaths, returnType, object.getClass(), methodName, argTypes );
-				
-				// execute the method on the diffuser
-				ExecuteDiffuserResponse executeResponse = null;
-				try( final ByteArrayOutputStream out = new ByteArrayOutputStream() )
-				{
-					// serialize the object into the byte[] output stream and flush it
-					serializer.serialize( object, out );
-					out.flush();
+	/**
+	 * Issues the specified method on the specified object, and returns before the remote diffusers respond. 
+	 * The object and arguments are serialized on the calling thread. The create, execute, and result requests
+	 * are sent through Jersey's asynchronous client, whose callbacks issue the next request, and so neither the
+	 * calling thread nor a dispatch thread waits on the servers. Jersey's asynchronous client isn't backed by
+	 * non-blocking I/O, though: each request holds one of the client's threads while it waits on the server 
+	 * (see {@link RestfulClientFactory}). When the load is below the threshold, the method runs on the calling
+	 * thread, and the returned future is already complete.
+	 * @see org.microtitan.diffusive.diffuser.AbstractDiffuser#runObjectAsync(double, java.lang.Class, java.lang.Object, java.lang.String, java.lang.Class<?>[], java.lang.Object[])
+	 */
+	@Override
+	public CompletableFuture< Object > runObjectAsync( final double load, final Class< ? > returnType, final Object object, final String methodName, final Class< ? >[] argTypes, final Object... arguments )
+	{
+		// check to make sure that if argTypes and arguments aren't both empty or null, that they 
+		// have the same number of elements.
+		validateArguments( object, methodName, argTypes, arguments );
+		
+		// if the load is less than the threshold, or there are no end-points, then the task is
+		// computed locally (on the calling thread), and the future is already complete
+		if( load < loadThreshold || strategy.isEmpty() )
+		{
+			return new LocalDiffuser().runObjectAsync( load, returnType, object, methodName, argTypes, arguments );
+		}
+		
+		return diffuseAsync( false, strategy.getEndpoints(), load, returnType, object, methodName, argTypes, arguments );
+	}
+	
+	/**
+	 * Issues the calls to the remote diffusers without blocking the calling thread (see the 
+	 * {@link #runObjectAsync(double, Class, Object, String, Class[], Object...)} method). The caller has
+	 * already decided that the task is diffused, and asks the strategy for the end-points only once, so that
+	 * the end-points it logs are the ones that are called.
+	 * @param isBlocking true if the caller blocks waiting on the result, in which case the execute request 
+	 * isn't held back waiting for the batch window (see {@link #setBatching(int, long)}); false otherwise
+	 * @param endpoints The end-points selected by the strategy for this call
+	 * @param load The load of the task
+	 * @param returnType The return type of the method
+	 * @param object The object containing the method to execute
+	 * @param methodName The name of the method to execute
+	 * @param argTypes The types of the method's formal parameters
+	 * @param arguments The arguments passed to the method
+	 * @return A {@link CompletableFuture} that completes with the result of the method
+	 */
+	private CompletableFuture< Object > diffuseAsync( final boolean isBlocking, final List< URI > endpoints, final double load, final Class< ? > returnType, final Object object, final String methodName, final Class< ? >[] argTypes, final Object... arguments )
+	{
+		// serialize the object and its arguments once, to be shared by each of the (redundant) end-points
+		final byte[] serializedObject = serializeObject( returnType, object, methodName, argTypes );
+		final List< byte[] > sharedArgs = serializeArguments( returnType, object, methodName, argTypes, arguments );
+		final String serializerName = SerializerFactory.getSerializerName( serializer.getClass() );
+		final long resultTimeout = getResultTimeout();
+		
+		// the first end-point to return a result completes the future, and the remaining ones are
+		// cancelled. when hedging, the call is sent to the next end-point only when the result hasn't 
+		// returned within the latency percentile for the method, or when the call fails. when all the 
+		// end-points fail, the call is failed over to the healthy end-points, and then run locally.
+		final CompletableFuture< Object > result = new CompletableFuture<>();
+		final String signature = createSignature( returnType, object, methodName, argTypes );
+		final long hedgeDelay = getHedgeDelay( signature );
+		final List< URI > available = selectEndpoints( endpoints );
+		final HedgedCall call = new HedgedCall( result, available, hedgeDelay >= 0 && available.size() > 1 ? hedgeDelay : -1, 
+												Deadline.getCurrent(), signature, load, returnType, object, methodName, argTypes, arguments,
+												serializedObject, sharedArgs, serializerName, resultTimeout, isBlocking );
+		call.start();
+		return result;
+	}
+	
+	/**
+	 * Issues the asynchronous calls, for one invocation, to the end-points, one at a time when hedging or all 
+	 * at once otherwise. The first end-point to return a result completes the future, and the calls that are 
+	 * still waiting are cancelled. When calls fail, the call is failed over to the next healthy end-point, 
+	 * within the retry budget, and when all the calls have failed, the method is run locally (see 
+	 * {@link #setFailover(int, boolean)}). When the deadline expires, the future completes exceptionally,
+	 * and the calls that are still waiting are cancelled.
+	 */
+	private final class HedgedCall {
+		
+		private final CompletableFuture< Object > result;
+		private final List< URI > endpoints;
+		private final long hedgeDelay;
+		private final Deadline deadline;
+		private final String signature;
+		private final double load;
+		private final Class< ? > returnType;
+		private final Object object;
+		private final String methodName;
+		private final Class< ? >[] argTypes;
+		private final Object[] arguments;
+		private final byte[] serializedObject;
+		private final List< byte[] > serializedArgs;
+		private final String serializerName;
+		private final long resultTimeout;
+		private final boolean isBlocking;
+		
+		// the index of the next planned end-point to call, the end-points that have been called, the number
+		// of fail-overs, and the number of calls that are in flight (guarded by this)
+		private int next;
+		private final Set< URI > tried;
+		private int retries;
+		private final AtomicInteger inFlight;
+		private final AtomicBoolean isFallingBack;
+		
+		/**
+		 * Constructs the call to the end-points
+		 * @param result The future that completes with the first result
+		 * @param endpoints The end-points to call, in the order they are called
+		 * @param hedgeDelay The time, in milliseconds, to wait for a result before calling the next end-point; 
+		 * -1 to call all the end-points at once
+		 * @param deadline The deadline of the call; or null if the call has no deadline
+		 * @param signature The signature of the method, under which the latencies are recorded
+		 * @param load The load used when running the method locally
+		 * @param arguments The arguments passed to the method when running it locally
+		 * @param isBlocking true if the caller blocks waiting on the result, and so the call isn't held back
+		 * waiting for the batch window
+		 */
+		public HedgedCall( final CompletableFuture< Object > result,
+						   final List< URI > endpoints,
+						   final long hedgeDelay,
+						   final Deadline deadline,
+						   final String signature,
+						   final double load,
+						   final Class< ? > returnType,
+						   final Object object,
+						   final String methodName,
+						   final Class< ? >[] argTypes,
+						   final Object[] arguments,
+						   final byte[] serializedObject,
+						   final List< byte[] > serializedArgs,
+						   final String serializerName,
+						   final long resultTimeout,
+						   final boolean isBlocking )
+		{
+			this.result = result;
+			this.endpoints = endpoints;
+			this.hedgeDelay = hedgeDelay;
+			this.deadline = deadline;
+			this.signature = signature;
+			this.load = load;
+			this.returnType = returnType;
+			this.object = object;
+			this.methodName = methodName;
+			this.argTypes = argTypes;
+			this.arguments = arguments;
+			this.serializedObject = serializedObject;
+			this.serializedArgs = serializedArgs;
+			this.serializerName = serializerName;
+			this.resultTimeout = resultTimeout;
+			this.isBlocking = isBlocking;
+			this.next = 0;
+			this.tried = new HashSet<>( endpoints );
+			this.retries = 0;
+			this.inFlight = new AtomicInteger( 0 );
+			this.isFallingBack = new AtomicBoolean( false );
+		}
+		
+		/**
+		 * @return true if the end-points are called one at a time; false if they are called all at once
+		 */
+		public boolean isHedged()
+		{
+			return hedgeDelay >= 0;
+		}
+		
+		/**
+		 * Issues the call to the first end-point when hedging, or to all the end-points otherwise. When none 
+		 * of the end-points could be called, runs the method locally.
+		 */
+		public void start()
+		{
+			// fail the call when the deadline expires, which cancels the calls that are still waiting
+			if( deadline != null && !deadline.isExpired() )
+			{
+				final ScheduledFuture< ? > expiry = hedgeTimer.schedule( new Runnable() {
 					
-					//
-					// call the client to execute the method on the object
-					//
-					// we need to serialize the object containing the method we are calling, and then we need to serialize each
-					// of the arguments passed into the method.
-					if( numArguments == 0 )
-					{
-						executeResponse = client.executeMethod( returnType, object.getClass(), methodName, out.toByteArray(), serializer );
-					}
-					else
+					@Override
+					public void run()
 					{
-						// serialize the argument values
-						final List< byte[] > serializedArgs = new ArrayList<>();
-						for( Object argument : arguments )
+						if( result.completeExceptionally( new IllegalStateException( "The deadline expired while waiting on the diffused calls: " + signature ) ) )
 						{
-							try( final ByteArrayOutputStream outArg = new ByteArrayOutputStream() )
-							{
-								serializer.serialize( argument, outArg );
-								outArg.flush();
-								
-								// add the byte[] to the list of serialized arguments
-								serializedArgs.add( outArg.toByteArray() );
-							}
-							catch( IOException e )
-							{
-								final StringBuffer message = new StringBuffer();
-								message.append( "I/O error occured attempting to flush the byte[] output stream holding a serialized argument in" + Constants.NEW_LINE );
-								message.append( "preparation for calling the execute(...) method on the client." + Constants.NEW_LINE );
-								message.append( "  Client Endpoint: " + endpoint.toString() + Constants.NEW_LINE );
-								message.append( "  Method Name: " + methodName + Constants.NEW_LINE );
-								message.append( "  Argument Value: " + argument + Constants.NEW_LINE );
-								message.append( "  Argument Type: " + argument.getClass().getName() + Constants.NEW_LINE );
-								message.append( "  Argument Types: " + Constants.NEW_LINE );
-								for( int i = 0; i < numArguments; ++i )
-								{
-									message.append( "    " + argTypes[ i ].getName() + Constants.NEW_LINE );
-								}
-								message.append( "  Return Type: " + returnType.getName() + Constants.NEW_LINE );
-								message.append( "  Containing Class: " + object.getClass().getName() + Constants.NEW_LINE );
-								message.append( "  Serializer: " + serializer.getClass().getName() + Constants.NEW_LINE );
-								
-								LOGGER.error( message.toString(), e );
-								throw new IllegalArgumentException( message.toString(), e );
-							}
+							LOGGER.warn( "The deadline expired while waiting on the diffused calls: " + signature );
 						}
-						
-						final String serializerName = SerializerFactory.getSerializerName( serializer.getClass() );
-						executeResponse = client.executeMethod( returnType, object.getClass(), methodName, Arrays.asList( argTypes ), serializedArgs, out.toByteArray(), serializerName );
 					}
+				}, deadline.getRemaining( TimeUnit.MILLISECONDS ), TimeUnit.MILLISECONDS );
+				result.whenComplete( new BiConsumer< Object, Throwable >() {
+
+					@Override
+					public void accept( final Object value, final Throwable failure )
+					{
+						expiry.cancel( false );
+					}
+				} );
+			}
+			
+			if( isHedged() )
+			{
+				issueNext();
+			}
+			else
+			{
+				// issueNext() returns false, without taking the next planned end-point, once the result has returned
+				// or the deadline has expired, and so the loop stops there
+				while( hasPlanned() && issueNext() )
+				{
+					continue;
 				}
-				catch( IOException e )
+			}
+			
+			if( inFlight.get() == 0 && !result.isDone() )
+			{
+				fallBackAsync( null );
+			}
+		}
+		
+		/**
+		 * @return true if there are planned end-points that haven't yet been called
+		 */
+		private synchronized boolean hasPlanned()
+		{
+			return next < endpoints.size();
+		}
+		
+		/**
+		 * Returns the next planned end-point, or when all the planned end-points have been called, the next
+		 * healthy end-point to which to fail over the call, within the retry budget.
+		 * @return The next end-point to call; or null if there are no more end-points to call, or the deadline has expired
+		 */
+		private synchronized URI nextEndpoint()
+		{
+			if( isExpired( deadline ) )
+			{
+				return null;
+			}
+			if( next < endpoints.size() )
+			{
+				return endpoints.get( next++ );
+			}
+			
+			final URI endpoint = retries < retryBudget ? strategy.getFailoverEndpoint( tried ) : null;
+			if( endpoint != null )
+			{
+				++retries;
+				tried.add( endpoint );
+				if( LOGGER.isInfoEnabled() )
 				{
-					final StringBuffer message = new StringBuffer();
-					message.append( "I/O error occured attempting to flush the byte[] output stream holding the serialized object in" + Constants.NEW_LINE );
-					message.append( "preparation for calling the execute(...) method on the client." + Constants.NEW_LINE );
-					message.append( "  Client Endpoint: " + endpoint.toString() + Constants.NEW_LINE );
-					message.append( "  Method Name: " + methodName + Constants.NEW_LINE );
-					message.append( "  Argument Types: " + (numArguments == 0 ? "[none]" : "" ) + Constants.NEW_LINE );
-					for( int i = 0; i < numArguments; ++i )
+					LOGGER.info( "Failing over the call to end-point (retry " + retries + " of " + retryBudget + "): " + endpoint.toString() );
+				}
+			}
+			return endpoint;
+		}
+		
+		/**
+		 * Issues the call to the next end-point, unless there are no more end-points to call or the result 
+		 * has already returned. When hedging, schedules the call to the following end-point in case the
+		 * result doesn't return in time.
+		 * @return true if the call was issued; false otherwise
+		 */
+		public boolean issueNext()
+		{
+			if( result.isDone() )
+			{
+				return false;
+			}
+			final URI endpoint = nextEndpoint();
+			if( endpoint == null )
+			{
+				return false;
+			}
+			inFlight.incrementAndGet();
+			final long startTime = System.currentTimeMillis();
+			
+			if( isHedged() && hasPlanned() )
+			{
+				hedgeTimer.schedule( new Runnable() {
+					
+					@Override
+					public void run()
 					{
-						message.append( "    " + argTypes[ i ].getName() + Constants.NEW_LINE );
+						if( !result.isDone() )
+						{
+							if( LOGGER.isDebugEnabled() )
+							{
+								LOGGER.debug( "No result after " + hedgeDelay + " ms; sending hedged call for: " + signature );
+							}
+							issueNext();
+						}
 					}
-					message.append( "  Return Type: " + returnType.getName() + Constants.NEW_LINE );
-					message.append( "  Containing Class: " + object.getClass().getName() + Constants.NEW_LINE );
-					message.append( "  Serializer: " + serializer.getClass().getName() + Constants.NEW_LINE );
+				}, hedgeDelay, TimeUnit.MILLISECONDS );
+			}
+			
+			// the create and execute requests are sent asynchronously, and so the call is issued from this thread
+			// (the calling thread, the hedge timer's thread, or the client's response thread)
+			try
+			{
+				issue( endpoint, startTime );
+			}
+			catch( RuntimeException e )
+			{
+				fail( endpoint, e );
+			}
+			return true;
+		}
+		
+		/**
+		 * Records the failure of a call, and when hedging, or when no other calls are in flight, fails the
+		 * call over to the next end-point. When there are no more end-points to call, and no other calls are
+		 * in flight, runs the method locally.
+		 * @param endpoint The end-point of the call that failed
+		 * @param error The reason the call failed
+		 */
+		private void fail( final URI endpoint, final Throwable error )
+		{
+			final int pending = inFlight.decrementAndGet();
+			
+			// the result has already returned (and this call was cancelled), so there is nothing to do
+			if( result.isDone() )
+			{
+				return;
+			}
+			
+			recordFailure( endpoint, error );
+			LOGGER.warn( "Redundant diffused call failed; waiting on remaining calls: " + pending, error );
+			if( !isDeadlineExpired( error ) && ( isHedged() || pending == 0 ) && issueNext() )
+			{
+				return;
+			}
+			if( inFlight.get() == 0 )
+			{
+				fallBackAsync( error );
+			}
+		}
+		
+		/**
+		 * Runs the method locally, on a dispatch thread, and completes the future with its result. The 
+		 * method is run locally at most once.
+		 * @param cause The failure of the last call to an end-point; null if no end-points could be called
+		 */
+		private void fallBackAsync( final Throwable cause )
+		{
+			if( !isFallingBack.compareAndSet( false, true ) )
+			{
+				return;
+			}
+			try
+			{
+				executor.execute( new Runnable() {
 					
-					LOGGER.error( message.toString() );
-					throw new IllegalArgumentException( message.toString() );
-				}
-
-				// create a task that makes a blocking call to get the result of the calc, and then
-				// submit that task to the executor service to run it
-				final ExecuteDiffuserResponse executeResponseCopy = executeResponse;
-				final Callable< ? > task = new Callable< Object >() {
-
 					@Override
-					public Object call() throws Exception
+					public void run()
 					{
-						final DiffuserSignature diffuserId = DiffuserSignature.parse( executeResponseCopy.getSignature() );
-						final Class< ? > clazz = diffuserId.getClazz();
-						final List< Class< ? > > argumentTypes = diffuserId.getArgumentTypes();
-						if( argumentTypes != null && !argumentTypes.isEmpty() )
+						try
 						{
-							return client.getResult( returnType, clazz, methodName, argumentTypes, executeResponseCopy.getRequestId(), serializer );
+							result.complete( fallBack( cause, deadline, load, returnType, object, methodName, argTypes, arguments ) );
 						}
-						else
+						catch( RuntimeException e )
 						{
-							return client.getResult( returnType, clazz, methodName, executeResponseCopy.getRequestId(), serializer );
+							result.completeExceptionally( e );
 						}
 					}
-				};
-				futures.add( executor.submit( task ) );
+				} );
 			}
-			
-			// now that all the tasks have been submitted, we wait for the first result to return,
-			// and when it does, then we accept it, ignore the rest, and return
-			// TOOO issue a cancel order to the tasks that aren't yet finished.
-			boolean isDone = false;
-			int i = 0;
-			do
-			{
-				final int index = i % futures.size();
-				final Future< ? > future = futures.get( index );
-				try
-				{
-					result = future.get( pollingTimeout, pollingTimeUnit );
-					isDone = true;
-				}
-				catch( ParseException | InterruptedException | ExecutionException e )
-				{
-					// execution crapped out or was interrupted, so remove the future and keep checking the others
-					futures.remove( index );
-				}
-				catch( TimeoutException e )
-				{
-					// increment the index, timed out, get the next future and see if it is done.
-					++i;
-				}
+			catch( RejectedExecutionException e )
+			{
+				// the diffuser has been shut down, or the dispatch queue is full
+				result.completeExceptionally( e );
 			}
-			while( !isDone && !futures.isEmpty() );
-			
-			// shutdown the executor service
-			executor.shutdownNow();
 		}
-		return result;
-	}
-	
-	/**
-	 * @return The maximum threads in the thread-pool that account for redundant diffusion
-	 */
-	public int getMaxRedundancy()
-	{
-		return maxRedundancy;
-	}
+		
+		/**
+		 * Creates the diffuser on the end-point, unless it is already known to have been created, then issues
+		 * the execute request to the end-point, and when the server responds, issues the (long-poll) request
+		 * for the result. The requests are sent asynchronously, and so this doesn't wait on the server.
+		 * @param endpoint The end-point of the remote diffuser manager
+		 * @param startTime The time, in milliseconds, that the call was issued
+		 */
+		private void issue( final URI endpoint, final long startTime )
+		{
+			final RestfulDiffuserManagerClient client = new RestfulDiffuserManagerClient( endpoint, isUsingFrames )
+																.setDeadline( deadline )
+																.setPriority( getPriority( signature, object.getClass(), methodName, argTypes ) );
+			
+			// create the diffuser on the server, unless it is already known to have been created (in which case
+			// the future is already complete, and the execute request is issued right away)
+			client.createDiffuserIfAbsentAsync( classPaths, returnType, object.getClass(), methodName, argTypes )
+				  .whenComplete( new BiConsumer< Boolean, Throwable >() {
 
-	/**
-	 * Set the maximum threads in the thread-pool that account for redundant diffusion
-	 * @param maxRedundancy The maximum threads in the thread-pool that account for redundant diffusion
-	 */
-	public void setMaxRedundancy( final int maxRedundancy )
-	{
-		this.maxRedundancy = maxRedundancy;
-	}
+					@Override
+					public void accept( final Boolean isCreated, final Throwable error )
+					{
+						if( error != null )
+						{
+							fail( endpoint, error );
+							return;
+						}
+						try
+						{
+							execute( client, endpoint, startTime );
+						}
+						catch( RuntimeException e )
+						{
+							fail( endpoint, e );
+						}
+					}
+				} );
+		}
+		
+		/**
+		 * Issues the execute request to the end-point, and when the server responds, issues the 
+		 * (long-poll) request for the result
+		 * @param client The client for the remote diffuser manager, on which the diffuser has been created
+		 * @param endpoint The end-point of the remote diffuser manager
+		 * @param startTime The time, in milliseconds, that the call was issued
+		 */
+		private void execute( final RestfulDiffuserManagerClient client, final URI endpoint, final long startTime )
+		{
+			// issue the execute request (or add it to a batch), and when the server responds, issue 
+			// the (long-poll) request for the result
+			final CompletableFuture< ResultId > execute = 
+					issueExecute( client, endpoint, returnType, object, methodName, argTypes, serializedObject, serializedArgs, serializerName, isBlocking );
+			execute.whenComplete( new BiConsumer< ResultId, Throwable >() {
 
+				@Override
+				public void accept( final ResultId resultId, final Throwable error )
+				{
+					if( error != null )
+					{
+						fail( endpoint, error );
+						return;
+					}
+					
+					// another end-point already returned the result (or the caller cancelled), so cancel this one
+					final Runnable cancelTask = createCancelTask( client, endpoint, resultId );
+					if( result.isDone() )
+					{
+						inFlight.decrementAndGet();
+						cancelExecutor.execute( cancelTask );
+						return;
+					}
+					
+					// wait for the result, and when the call completes (with this result, or with another's) 
+					// cancel this request only if it is still waiting. calls that failed, or that never reached
+					// the server, have nothing to cancel. cancelling the wait doesn't unblock its long-poll read,
+					// and so the cancel order is sent as well, which ends the long-poll on the server. the results
+					// are requested in bulk, along with the other results waited on from the end-point, unless 
+					// they are sent as binary frames, which are requested one at a time
+					final CompletableFuture< Object > wait = isUsingFrames ?
+							client.waitForResultAsync( resultId.getSignature(), resultId.getRequestId(), serializer, resultTimeout ) :
+							resultPoller.waitForResult( client, endpoint, resultId, resultTimeout );
+					result.whenComplete( new BiConsumer< Object, Throwable >() {
+
+						@Override
+						public void accept( final Object value, final Throwable failure )
+						{
+							if( !wait.isDone() )
+							{
+								wait.cancel( true );
+								cancelExecutor.execute( cancelTask );
+							}
+						}
+					} );
+					wait.whenComplete( new BiConsumer< Object, Throwable >() {
+
+						@Override
+						public void accept( final Object value, final Throwable failure )
+						{
+							if( failure == null )
+							{
+								inFlight.decrementAndGet();
+								final long latency = System.currentTimeMillis() - startTime;
+								strategy.recordSuccess( endpoint, latency );
+								if( result.complete( value ) )
+								{
+									recordLatency( signature, latency );
+								}
+							}
+							else
+							{
+								fail( endpoint, failure );
+							}
+						}
+					} );
+				}
+			} );
+		}
+	}
+	
+	/**
+	 * Issues the execute request to the remote diffuser without blocking the calling thread. When batching
+	 * is enabled (see {@link #setBatching(int, long)}), the request is added to a batch for the end-point, 
+	 * which is sent when it is full, when the batch window has elapsed, or right away when the caller is 
+	 * blocked waiting on the result. Otherwise, the request is sent on its own.
+	 * @param client The client for the remote diffuser manager
+	 * @param endpoint The end-point of the remote diffuser manager
+	 * @param returnType The return type of the method
+	 * @param object The object containing the method to execute
+	 * @param methodName The name of the method to execute
+	 * @param argTypes The types of the method's formal parameters
+	 * @param serializedObject The serialized object
+	 * @param serializedArgs The serialized arguments; empty if the method has no parameters
+	 * @param serializerName The name of the serializer used to serialize the object and arguments
+	 * @param isBlocking true if the caller blocks waiting on the result, in which case the batch is sent right away
+	 * @return A {@link CompletableFuture} that completes with the {@link ResultId} of the execution
+	 */
+	private CompletableFuture< ResultId > issueExecute( final RestfulDiffuserManagerClient client,
+														final URI endpoint,
+														final Class< ? > returnType,
+														final Object object,
+														final String methodName,
+														final Class< ? >[] argTypes,
+														final byte[] serializedObject,
+														final List< byte[] > serializedArgs,
+														final String serializerName,
+														final boolean isBlocking )
+	{
+		final ExecuteRequestBatcher currentBatcher = batcher;
+		if( currentBatcher != null )
+		{
+			return currentBatcher.submit( client, endpoint, classPaths, returnType, object.getClass(), methodName, argTypes, serializedObject, serializedArgs, serializerName, isBlocking );
+		}
+		
+		final List< Class< ? > > argTypeList = serializedArgs.isEmpty() ? new ArrayList< Class< ? > >() : Arrays.asList( argTypes );
+		final CompletableFuture< ResultId > resultId = new CompletableFuture<>();
+		client.executeMethodAsync( returnType, object.getClass(), methodName, argTypeList, serializedArgs, serializedObject, serializerName )
+			  .whenComplete( new BiConsumer< ExecuteDiffuserResponse, Throwable >() {
+
+				@Override
+				public void accept( final ExecuteDiffuserResponse executeResponse, final Throwable error )
+				{
+					if( error != null )
+					{
+						resultId.completeExceptionally( error );
+					}
+					else if( executeResponse != null )
+					{
+						resultId.complete( new ResultId( executeResponse.getSignature(), executeResponse.getRequestId() ) );
+					}
+					else
+					{
+						// the diffuser wasn't found on the server (deleted, or the server restarted), so create it 
+						// again and re-issue the execute request
+						recreate( client, endpoint, returnType, object, methodName, argTypes, argTypeList, serializedObject, serializedArgs, serializerName, resultId );
+					}
+				}
+			} );
+		return resultId;
+	}
+	
+	/**
+	 * Creates the diffuser on the end-point again, after the server responded to the execute request that the
+	 * diffuser wasn't found, and then re-issues the execute request. Both requests are sent asynchronously.
+	 * @param client The client for the remote diffuser manager
+	 * @param endpoint The end-point of the remote diffuser manager
+	 * @param returnType The return type of the method
+	 * @param object The object containing the method to execute
+	 * @param methodName The name of the method to execute
+	 * @param argTypes The types of the method's formal parameters
+	 * @param argTypeList The types of the method's formal parameters sent with the execute request; empty if 
+	 * the method has no parameters
+	 * @param serializedObject The serialized object
+	 * @param serializedArgs The serialized arguments; empty if the method has no parameters
+	 * @param serializerName The name of the serializer used to serialize the object and arguments
+	 * @param resultId The future to complete with the {@link ResultId} of the execution
+	 */
+	private void recreate( final RestfulDiffuserManagerClient client,
+						   final URI endpoint,
+						   final Class< ? > returnType,
+						   final Object object,
+						   final String methodName,
+						   final Class< ? >[] argTypes,
+						   final List< Class< ? > > argTypeList,
+						   final byte[] serializedObject,
+						   final List< byte[] > serializedArgs,
+						   final String serializerName,
+						   final CompletableFuture< ResultId > resultId )
+	{
+		client.createDiffuserAsync( classPaths, returnType, object.getClass(), methodName, argTypes )
+			  .thenCompose( new Function< CreateDiffuserResponse, CompletionStage< ExecuteDiffuserResponse > >() {
+
+				@Override
+				public CompletionStage< ExecuteDiffuserResponse > apply( final CreateDiffuserResponse createResponse )
+				{
+					return client.executeMethodAsync( returnType, object.getClass(), methodName, argTypeList, serializedArgs, serializedObject, serializerName );
+				}
+			} )
+			  .whenComplete( new BiConsumer< ExecuteDiffuserResponse, Throwable >() {
+
+				@Override
+				public void accept( final ExecuteDiffuserResponse response, final Throwable error )
+				{
+					if( error != null )
+					{
+						resultId.completeExceptionally( error instanceof CompletionException && error.getCause() != null ? error.getCause() : error );
+					}
+					else if( response == null )
+					{
+						final StringBuffer message = new StringBuffer();
+						message.append( "Unable to execute the method because the diffuser could not be found on the server, even after creating it." + Constants.NEW_LINE );
+						message.append( "  Client Endpoint: " + endpoint.toString() + Constants.NEW_LINE );
+						message.append( "  Method Name: " + methodName + Constants.NEW_LINE );
+						message.append( "  Containing Class: " + object.getClass().getName() );
+						LOGGER.error( message.toString() );
+						resultId.completeExceptionally( new IllegalStateException( message.toString() ) );
+					}
+					else
+					{
+						resultId.complete( new ResultId( response.getSignature(), response.getRequestId() ) );
+					}
+				}
+			} );
+	}
+	
+	/**
+	 * Creates the signature of the method, under which the latencies of its calls are recorded
+	 * @param returnType The return type of the method
+	 * @param object The object containing the method to execute
+	 * @param methodName The name of the method to execute
+	 * @param argTypes The types of the method's formal parameters
+	 * @return The signature of the method
+	 */
+	private static String createSignature( final Class< ? > returnType, final Object object, final String methodName, final Class< ? >[] argTypes )
+	{
+		return DiffuserSignature.createId( returnType, object.getClass(), methodName, argTypes == null ? new Class< ? >[ 0 ] : argTypes );
+	}
+	
+	/**
+	 * Returns the time to wait for the result before sending a hedged copy of the call to the next end-point.
+	 * @param signature The signature of the method
+	 * @return The latency, in milliseconds, at the hedge percentile for the method; or -1 if hedging is
+	 * disabled, or if too few calls to the method have returned to estimate the percentile (in which case
+	 * the call is sent to all the end-points)
+	 */
+	private long getHedgeDelay( final String signature )
+	{
+		final double percentile = hedgePercentile;
+		if( percentile <= 0 )
+		{
+			return -1;
+		}
+		final LatencyHistogram histogram = latencies.get( signature );
+		if( histogram == null || histogram.getCount() < HEDGE_MIN_SAMPLES )
+		{
+			return -1;
+		}
+		return histogram.getPercentile( percentile );
+	}
+	
+	/**
+	 * Returns the priority of the calls to the method, from its {@link Diffusive#priority()} attribute, which
+	 * is sent with the execute requests so that the servers run calls with greater priorities first. The
+	 * priority is looked up the first time the method is called, and then cached under its signature.
+	 * @param signature The signature of the method, under which the priority is cached
+	 * @param clazz The {@link Class} of the object containing the method
+	 * @param methodName The name of the method
+	 * @param argTypes The types of the method's formal parameters
+	 * @return The priority of the calls to the method; or the default priority if the method isn't annotated
+	 */
+	private int getPriority( final String signature, final Class< ? > clazz, final String methodName, final Class< ? >[] argTypes )
+	{
+		Integer priority = priorities.get( signature );
+		if( priority == null )
+		{
+			final Diffusive diffusive = findAnnotation( clazz, methodName, argTypes );
+			priority = diffusive == null ? ExecuteDiffuserRequest.DEFAULT_PRIORITY : diffusive.priority();
+			priorities.putIfAbsent( signature, priority );
+		}
+		return priority;
+	}
+	
+	/**
+	 * Finds the {@link Diffusive} annotation of the method, which may be declared, with any access modifier,
+	 * by the class or by one of its super classes
+	 * @param clazz The {@link Class} of the object containing the method
+	 * @param methodName The name of the method
+	 * @param argTypes The types of the method's formal parameters
+	 * @return The {@link Diffusive} annotation of the method; or null if the method isn't found or isn't annotated
+	 */
+	private static Diffusive findAnnotation( final Class< ? > clazz, final String methodName, final Class< ? >[] argTypes )
+	{
+		for( Class< ? > current = clazz; current != null; current = current.getSuperclass() )
+		{
+			try
+			{
+				return current.getDeclaredMethod( methodName, argTypes ).getAnnotation( Diffusive.class );
+			}
+			catch( NoSuchMethodException e )
+			{
+				// the method is declared further up the class hierarchy
+			}
+			catch( SecurityException e )
+			{
+				return null;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Records a call to the end-point that failed with the strategy. When the end-point rejected the call because
+	 * it is overloaded, the end-point is healthy, and so the strategy steers calls away from it until its retry-after
+	 * time has passed, rather than counting the rejection as a failure. When the end-point rejected the call
+	 * because its deadline had expired, the end-point is healthy as well, and nothing is recorded.
+	 * @param endpoint The end-point of the call that failed
+	 * @param error The reason the call failed
+	 */
+	private void recordFailure( final URI endpoint, final Throwable error )
+	{
+		for( Throwable cause = error; cause != null; cause = cause.getCause() )
+		{
+			if( cause instanceof EndpointOverloadedException )
+			{
+				strategy.recordOverload( endpoint, ( (EndpointOverloadedException)cause ).getRetryAfter() );
+				return;
+			}
+			if( cause instanceof DeadlineExpiredException )
+			{
+				return;
+			}
+		}
+		strategy.recordFailure( endpoint );
+	}
+	
+	/**
+	 * @param error The reason a call failed
+	 * @return true if the end-point rejected the call because its deadline had expired, in which case the call 
+	 * must not be sent to another end-point, nor run locally; false otherwise
+	 */
+	private static boolean isDeadlineExpired( final Throwable error )
+	{
+		for( Throwable cause = error; cause != null; cause = cause.getCause() )
+		{
+			if( cause instanceof DeadlineExpiredException )
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	/**
-	 * @return The amount of time, in {@link TimeUnit}s, before the diffuser decides that 
-	 * the result isn't coming back.
+	 * Records the latency of a call that returned the result 
+	 * @param signature The signature of the method
+	 * @param latency The time, in milliseconds, from issuing the call to receiving the result
+	 */
+	private void recordLatency( final String signature, final long latency )
+	{
+		LatencyHistogram histogram = latencies.get( signature );
+		if( histogram == null )
+		{
+			final LatencyHistogram newHistogram = new LatencyHistogram();
+			histogram = latencies.putIfAbsent( signature, newHistogram );
+			if( histogram == null )
+			{
+				histogram = newHistogram;
+			}
+		}
+		histogram.record( latency );
+	}
+	
+	/**
+	 * Returns the end-points, from those selected by the strategy, whose circuit breakers let the call 
+	 * through. Each end-point whose circuit breaker is open is replaced by a healthy end-point, if there is one.
+	 * @param endpoints The end-points selected by the strategy
+	 * @return The end-points to call; empty if none of the end-points are healthy
+	 */
+	private List< URI > selectEndpoints( final List< URI > endpoints )
+	{
+		final List< URI > selected = new ArrayList<>( endpoints.size() );
+		final Set< URI > excluded = new HashSet<>( endpoints );
+		for( URI endpoint : endpoints )
+		{
+			URI healthy = strategy.allowRequest( endpoint ) ? endpoint : strategy.getFailoverEndpoint( excluded );
+			if( healthy != null && !selected.contains( healthy ) )
+			{
+				excluded.add( healthy );
+				selected.add( healthy );
+			}
+			if( healthy != endpoint && LOGGER.isInfoEnabled() )
+			{
+				LOGGER.info( "The circuit breaker for the end-point is open; replaced with: " + 
+							 ( healthy == null ? "[none]" : healthy.toString() ) + "; end-point: " + endpoint.toString() );
+			}
+		}
+		return selected;
+	}
+	
+	/**
+	 * Runs the method locally after all the calls to the remote diffusers have failed, or when none of the 
+	 * remote diffusers could be called. When the local fall-back is disabled, or the deadline has expired, 
+	 * throws an exception instead.
+	 * @param cause The failure of the last call to a remote diffuser; null if no remote diffuser could be called
+	 * @param deadline The deadline of the call; or null if the call has no deadline
+	 * @param load The load
+	 * @param returnType The return type of the method
+	 * @param object The object containing the method to execute
+	 * @param methodName The name of the method to execute
+	 * @param argTypes The types of the method's formal parameters
+	 * @param arguments The arguments passed to the method
+	 * @return The result of running the method locally
+	 * @throws IllegalStateException if the local fall-back is disabled, or the deadline has expired
+	 */
+	private Object fallBack( final Throwable cause, 
+							 final Deadline deadline,
+							 final double load, 
+							 final Class< ? > returnType, 
+							 final Object object, 
+							 final String methodName, 
+							 final Class< ? >[] argTypes, 
+							 final Object...arguments )
+	{
+		final boolean isExpired = isExpired( deadline ) || isDeadlineExpired( cause );
+		final StringBuffer message = new StringBuffer();
+		if( isExpired )
+		{
+			message.append( "The deadline expired before any of the remote diffusers returned the result" );
+		}
+		else
+		{
+			message.append( ( cause == null ? "None of the remote diffusers could be called" : "All the calls to the remote diffusers failed" ) );
+		}
+		message.append( Constants.NEW_LINE );
+		message.append( "  Containing Class: " + object.getClass().getName() + Constants.NEW_LINE );
+		message.append( "  Method Name: " + methodName );
+		if( !isFallingBackToLocal || isExpired )
+		{
+			LOGGER.error( message.toString(), cause );
+			throw new IllegalStateException( message.toString(), cause );
+		}
+		
+		message.append( Constants.NEW_LINE + "  Running the method on the local diffuser: " + LocalDiffuser.class.getName() );
+		LOGGER.warn( message.toString(), cause );
+		return new LocalDiffuser().runObject( load, returnType, object, methodName, argTypes, arguments );
+	}
+	
+	/**
+	 * @param deadline The deadline of a call; or null if the call has no deadline
+	 * @return true if the call has a deadline that has expired; false otherwise
+	 */
+	private static boolean isExpired( final Deadline deadline )
+	{
+		return deadline != null && deadline.isExpired();
+	}
+	
+	/**
+	 * Creates a task that cancels the execution on the remote diffuser, in case another end-point
+	 * returns the result first
+	 * @param client The client for the remote diffuser manager
+	 * @param endpoint The end-point of the remote diffuser manager
+	 * @param resultId The ID of the result of the execution that is to be cancelled
+	 * @return A task that issues the cancel order to the remote diffuser
+	 */
+	private static Runnable createCancelTask( final RestfulDiffuserManagerClient client, final URI endpoint, final ResultId resultId )
+	{
+		return new Runnable() {
+			
+			@Override
+			public void run()
+			{
+				try
+				{
+					client.cancelResult( resultId.getSignature(), resultId.getRequestId() );
+				}
+				catch( RuntimeException e )
+				{
+					final StringBuffer message = new StringBuffer();
+					message.append( "Failed to cancel the redundant execution on the remote diffuser" + Constants.NEW_LINE );
+					message.append( "  Client Endpoint: " + endpoint.toString() + Constants.NEW_LINE );
+					message.append( "  Result ID: " + resultId.getResultId() );
+					LOGGER.warn( message.toString(), e );
+				}
+			}
+		};
+	}
+	
+	/**
+	 * Ensures that if the argument types and the arguments aren't both empty or null, that they 
+	 * have the same number of elements.
+	 * @param object The object containing the method to execute
+	 * @param methodName The name of the method to execute
+	 * @param argTypes The types of the method's formal parameters
+	 * @param arguments The arguments passed to the method
+	 * @throws IllegalArgumentException if the number of arguments and argument types don't match
+	 */
+	private static void validateArguments( final Object object, final String methodName, final Class< ? >[] argTypes, final Object...arguments )
+	{
+		if( !CollectionUtils.sizesMatch( argTypes, arguments ) )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The number of arguments and argument types for the method do not match." + Constants.NEW_LINE );
+			message.append( Constants.NEW_LINE );
+			message.append( "  Containing Class: " + object.getClass().getName() + Constants.NEW_LINE );
+			message.append( "  Method Name: " + methodName + Constants.NEW_LINE );
+			message.append( "  Arguments: " );
+			if( arguments.length > 0 )
+			{
+				for( int i = 0; i < arguments.length; ++i )
+				{
+					message.append( Constants.NEW_LINE + "    " + arguments[ i ].getClass().getName() );
+					if( argTypes[ i ].isPrimitive() )
+					{
+						message.append( " (primitive)" );
+					}
+				}
+			}
+			else
+			{
+				message.append( "[none]" );
+			}
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+	}
+	
+	/**
+	 * Serializes the object containing the method to be executed remotely
+	 * @param returnType The return type of the method
+	 * @param object The object containing the method to execute
+	 * @param methodName The name of the method to execute
+	 * @param argTypes The types of the method's formal parameters
+	 * @return The serialized object
+	 */
+	private byte[] serializeObject( final Class< ? > returnType, final Object object, final String methodName, final Class< ? >[] argTypes )
+	{
+		final int numArguments = (argTypes == null ? 0 : argTypes.length);
+		final byte[] serializedObject;
+		try( final ByteArrayOutputStream out = new ByteArrayOutputStream() )
+		{
+			// serialize the object into the byte[] output stream and flush it
+			serializer.serialize( object, out );
+			out.flush();
+			serializedObject = out.toByteArray();
+		}
+		catch( IOException e )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "I/O error occured attempting to flush the byte[] output stream holding the serialized object in" + Constants.NEW_LINE );
+			message.append( "preparation for calling the execute(...) method on the client." + Constants.NEW_LINE );
+			message.append( "  Method Name: " + methodName + Constants.NEW_LINE );
+			message.append( "  Argument Types: " + (numArguments == 0 ? "[none]" : "" ) + Constants.NEW_LINE );
+			for( int i = 0; i < numArguments; ++i )
+			{
+				message.append( "    " + argTypes[ i ].getName() + Constants.NEW_LINE );
+			}
+			message.append( "  Return Type: " + returnType.getName() + Constants.NEW_LINE );
+			message.append( "  Containing Class: " + object.getClass().getName() + Constants.NEW_LINE );
+			message.append( "  Serializer: " + serializer.getClass().getName() + Constants.NEW_LINE );
+			
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		return serializedObject;
+	}
+	
+	/**
+	 * Serializes the arguments passed to the method to be executed remotely
+	 * @param returnType The return type of the method
+	 * @param object The object containing the method to execute
+	 * @param methodName The name of the method to execute
+	 * @param argTypes The types of the method's formal parameters
+	 * @param arguments The arguments passed to the method
+	 * @return An unmodifiable list of the serialized arguments; empty if the method has no parameters
+	 */
+	private List< byte[] > serializeArguments( final Class< ? > returnType, 
+											   final Object object, 
+											   final String methodName, 
+											   final Class< ? >[] argTypes, 
+											   final Object...arguments )
+	{
+		final int numArguments = (arguments == null ? 0 : arguments.length);
+		// serialize the argument values
+		final List< byte[] > serializedArgs = new ArrayList<>( numArguments );
+		for( int j = 0; j < numArguments; ++j )
+		{
+			final Object argument = arguments[ j ];
+			try( final ByteArrayOutputStream outArg = new ByteArrayOutputStream() )
+			{
+				serializer.serialize( argument, outArg );
+				outArg.flush();
+				
+				// add the byte[] to the list of serialized arguments
+				serializedArgs.add( outArg.toByteArray() );
+			}
+			catch( IOException e )
+			{
+				final StringBuffer message = new StringBuffer();
+				message.append( "I/O error occured attempting to flush the byte[] output stream holding a serialized argument in" + Constants.NEW_LINE );
+				message.append( "preparation for calling the execute(...) method on the client." + Constants.NEW_LINE );
+				message.append( "  Method Name: " + methodName + Constants.NEW_LINE );
+				message.append( "  Argument Value: " + argument + Constants.NEW_LINE );
+				message.append( "  Argument Type: " + argument.getClass().getName() + Constants.NEW_LINE );
+				message.append( "  Argument Types: " + Constants.NEW_LINE );
+				for( int i = 0; i < numArguments; ++i )
+				{
+					message.append( "    " + argTypes[ i ].getName() + Constants.NEW_LINE );
+				}
+				message.append( "  Return Type: " + returnType.getName() + Constants.NEW_LINE );
+				message.append( "  Containing Class: " + object.getClass().getName() + Constants.NEW_LINE );
+				message.append( "  Serializer: " + serializer.getClass().getName() + Constants.NEW_LINE );
+				
+				LOGGER.error( message.toString(), e );
+				throw new IllegalArgumentException( message.toString(), e );
+			}
+		}
+		return Collections.unmodifiableList( serializedArgs );
+	}
+	
+	/**
+	 * @return The maximum threads in the thread-pool that account for redundant diffusion
+	 */
+	public int getMaxRedundancy()
+	{
+		return maxRedundancy;
+	}
+
+	/**
+	 * Set the maximum threads in the thread-pool that account for redundant diffusion. Sets the number
+	 * of threads in the shared dispatch thread pool.
+	 * @param maxRedundancy The maximum threads in the thread-pool that account for redundant diffusion
+	 */
+	public synchronized void setMaxRedundancy( final int maxRedundancy )
+	{
+		if( maxRedundancy < 1 )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The maximum redundancy (number of dispatch threads) must be greater than 0" + Constants.NEW_LINE );
+			message.append( "  Specified Maximum Redundancy: " + maxRedundancy );
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		
+		// the core size can't exceed the maximum size, so the order in which they are set depends on whether the pool grows
+		if( maxRedundancy > executor.getMaximumPoolSize() )
+		{
+			executor.setMaximumPoolSize( maxRedundancy );
+			executor.setCorePoolSize( maxRedundancy );
+		}
+		else
+		{
+			executor.setCorePoolSize( maxRedundancy );
+			executor.setMaximumPoolSize( maxRedundancy );
+		}
+		this.maxRedundancy = maxRedundancy;
+	}
+	
+	/**
+	 * Enables, or disables, coalescing of the execute requests into batches. When enabled, the execute 
+	 * requests for the same method, on the same object, to the same end-point, are sent in one batch once 
+	 * the batch holds the maximum number of invocations, or once the batch window has elapsed since the 
+	 * first invocation was added to the batch. Batching pays off for fine-grained work issued concurrently,
+	 * for example through the {@link #runObjectAsync(double, Class, Object, String, Class[], Object...)} method.
+	 * The blocking {@link #runObject(double, Class, Object, String, Class[], Object...)} method sends its batch
+	 * right away, rather than waiting out the batch window.
+	 * @param maxBatchSize The maximum number of invocations in a batch. A value of 1 disables batching.
+	 * @param batchWindow The time, in milliseconds, after the first invocation is added to a batch, that the 
+	 * batch is sent, whether or not it is full
+	 */
+	public synchronized void setBatching( final int maxBatchSize, final long batchWindow )
+	{
+		final ExecuteRequestBatcher newBatcher = maxBatchSize > 1 ? new ExecuteRequestBatcher( maxBatchSize, batchWindow, executor ) : null;
+		final ExecuteRequestBatcher oldBatcher = batcher;
+		batcher = newBatcher;
+		if( oldBatcher != null )
+		{
+			oldBatcher.shutdown();
+		}
+	}
+	
+	/**
+	 * @return The maximum number of invocations in a batch of execute requests; 1 when batching is disabled
+	 */
+	public int getMaxBatchSize()
+	{
+		final ExecuteRequestBatcher currentBatcher = batcher;
+		return currentBatcher == null ? 1 : currentBatcher.getMaxBatchSize();
+	}
+	
+	/**
+	 * @return The time, in milliseconds, after the first invocation is added to a batch, that the batch is 
+	 * sent; 0 when batching is disabled
+	 */
+	public long getBatchWindow()
+	{
+		final ExecuteRequestBatcher currentBatcher = batcher;
+		return currentBatcher == null ? 0 : currentBatcher.getBatchWindow();
+	}
+	
+	/**
+	 * Sets whether the execute requests and the results are sent in the compact binary frame format
+	 * (see {@link DiffuserFrames}) rather than as XML and Atom feeds. The binary frames avoid the base64 
+	 * encoding of the serialized objects, and the XML parsing on both sides. Results sent as binary frames
+	 * are requested one at a time, rather than in bulk.
+	 * @param isUsingFrames true to use the binary frame format; false to use XML and Atom feeds (the default)
+	 */
+	public void setUsingFrames( final boolean isUsingFrames )
+	{
+		this.isUsingFrames = isUsingFrames;
+	}
+	
+	/**
+	 * @return true if the execute requests and the results are sent in the compact binary frame format; 
+	 * false if they are sent as XML and Atom feeds
+	 */
+	public boolean isUsingFrames()
+	{
+		return isUsingFrames;
+	}
+	
+	/**
+	 * Sets how failed calls are handled. When the calls to the end-points selected by the strategy fail (or
+	 * their circuit breakers are open), the call is failed over to the next healthy end-point, up to the retry 
+	 * budget. When all the calls have failed, the method is either run locally, or the call fails. 
+	 * @param retryBudget The maximum number of times a call is failed over to another end-point; 0 to never
+	 * fail over
+	 * @param isFallingBackToLocal true to run the method locally when all the calls fail (the default); 
+	 * false to fail the call
+	 */
+	public void setFailover( final int retryBudget, final boolean isFallingBackToLocal )
+	{
+		if( retryBudget < 0 )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The retry budget must be non-negative" + Constants.NEW_LINE );
+			message.append( "  Specified Retry Budget: " + retryBudget );
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		this.retryBudget = retryBudget;
+		this.isFallingBackToLocal = isFallingBackToLocal;
+	}
+	
+	/**
+	 * @return The maximum number of times a call is failed over to another end-point
+	 */
+	public int getRetryBudget()
+	{
+		return retryBudget;
+	}
+	
+	/**
+	 * @return true if the method is run locally when all the calls to the remote diffusers fail; false otherwise
+	 */
+	public boolean isFallingBackToLocal()
+	{
+		return isFallingBackToLocal;
+	}
+	
+	/**
+	 * Enables, or disables, hedged calls. When hedging, each call is sent to the first end-point supplied by
+	 * the strategy, and a (hedged) copy of the call is sent to the next end-point only when the result hasn't
+	 * returned within the specified latency percentile for the method, or when the call fails. This cuts the
+	 * tail latency for a few percent extra load, rather than the load of sending each call to all the 
+	 * end-points. Until {@link #HEDGE_MIN_SAMPLES} calls to a method have returned, its calls are sent to all 
+	 * the end-points.
+	 * @param percentile The latency percentile, as a fraction in the interval {@code (0, 1)} (for example, 0.95
+	 * for p95), after which the hedged call is sent; 0 disables hedging (the default)
+	 */
+	public void setHedging( final double percentile )
+	{
+		if( percentile < 0 || percentile >= 1 )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The hedge percentile must be in the interval [0, 1), where 0 disables hedging" + Constants.NEW_LINE );
+			message.append( "  Specified Hedge Percentile: " + percentile );
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		this.hedgePercentile = percentile;
+	}
+	
+	/**
+	 * @return The latency percentile after which a hedged call is sent; 0 when hedging is disabled
+	 */
+	public double getHedgePercentile()
+	{
+		return hedgePercentile;
+	}
+	
+	/**
+	 * @return true if the calls are hedged; false if the calls are sent to all the end-points up front
+	 */
+	public boolean isHedging()
+	{
+		return hedgePercentile > 0;
+	}
+	
+	/**
+	 * Returns the histogram of the latencies of the calls to the method with the specified signature
+	 * @param signature The signature of the method (see {@link DiffuserSignature})
+	 * @return The histogram of the latencies; or null if no calls to the method have returned
+	 */
+	public LatencyHistogram getLatencyHistogram( final String signature )
+	{
+		return latencies.get( signature );
+	}
+	
+	/**
+	 * @return The number of calls waiting in the queue of the shared dispatch thread pool for a thread
+	 */
+	public int getDispatchQueueDepth()
+	{
+		return executor.getQueue().size();
+	}
+	
+	/**
+	 * @return The number of cancel orders that are waiting for the cancel thread to send them
+	 */
+	public int getCancelQueueDepth()
+	{
+		return cancelExecutor.getQueue().size();
+	}
+	
+	/**
+	 * @return The approximate number of threads in the shared dispatch thread pool that are
+	 * currently running calls
+	 */
+	public int getActiveDispatchCount()
+	{
+		return executor.getActiveCount();
+	}
+	
+	/**
+	 * @return The approximate total number of dispatch tasks that have been completed by
+	 * the shared dispatch thread pool
+	 */
+	public long getCompletedDispatchCount()
+	{
+		return executor.getCompletedTaskCount();
+	}
+	
+	/**
+	 * Shuts down the shared dispatch thread pool, interrupting any tasks that are still waiting
+	 * on results. Once shut down, the diffuser should no longer be used to diffuse tasks to remote diffusers.
+	 */
+	@Override
+	public void shutdown()
+	{
+		final ExecuteRequestBatcher currentBatcher = batcher;
+		if( currentBatcher != null )
+		{
+			currentBatcher.shutdown();
+		}
+		hedgeTimer.shutdownNow();
+		executor.shutdownNow();
+		cancelExecutor.shutdown();
+	}
+
+	/**
+	 * @return The amount of time, in {@link TimeUnit}s, that the remote diffuser holds open
+	 * a result request (long-poll) before responding that the result isn't yet available, after
+	 * which the request is re-issued.
 	 */
 	public int getPollingTimeout()
 	{
@@ -406,16 +1677,46 @@ public class RestfulDiffuser extends AbstractDiffuser {
 	}
 
 	/**
-	 * Set the amount of time, in {@link TimeUnit}s, before the diffuser decides that 
-	 * the result isn't coming back.
-	 * @param pollingTimeout The amount of time, in {@link TimeUnit}s, before the diffuser decides that 
-	 * the result isn't coming back.
+	 * Set the amount of time, in {@link TimeUnit}s, that the remote diffuser holds open
+	 * a result request (long-poll) before responding that the result isn't yet available, after
+	 * which the request is re-issued.
+	 * @param pollingTimeout The amount of time, in {@link TimeUnit}s, that the remote diffuser holds open
+	 * a result request
+	 * @see #getResultTimeout()
 	 */
 	public void setPollingTimeout( final int pollingTimeout )
 	{
 		this.pollingTimeout = pollingTimeout;
 	}
 
+	/**
+	 * Returns the time, in milliseconds, that the remote diffusers are asked to hold open each result request 
+	 * (long-poll). This is the polling time-out, unless the clients' read time-out (see 
+	 * {@link RestfulClientFactory#configure(int, int, int)}) isn't longer, in which case the long-polls would 
+	 * time out on the client before the server responds, and so are shortened to half the read time-out.
+	 * @return The time, in milliseconds, that the remote diffusers hold open each result request
+	 */
+	public long getResultTimeout()
+	{
+		final long timeout = pollingTimeUnit.toMillis( pollingTimeout );
+		final int readTimeout = RestfulClientFactory.getReadTimeout();
+		if( readTimeout <= 0 || readTimeout > timeout )
+		{
+			return timeout;
+		}
+		
+		if( isResultTimeoutWarned.compareAndSet( false, true ) )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The clients' read time-out isn't longer than the long-poll time-out, and so the long-polls are shortened." + Constants.NEW_LINE );
+			message.append( "  Read Time-Out (ms): " + readTimeout + Constants.NEW_LINE );
+			message.append( "  Long-Poll Time-Out (ms): " + timeout + Constants.NEW_LINE );
+			message.append( "  Shortened Long-Poll Time-Out (ms): " + readTimeout / 2 );
+			LOGGER.warn( message.toString() );
+		}
+		return readTimeout / 2;
+	}
+	
 	/**
 	 * @return The {@link TimeUnit}s for the polling time-out
 	 */
@@ -427,6 +1728,7 @@ public class RestfulDiffuser extends AbstractDiffuser {
 	/**
 	 * Sets the {@link TimeUnit}s for the polling time-out
 	 * @param pollingTimeUnit The {@link TimeUnit}s for the polling time-out
+	 * @see #getResultTimeout()
 	 */
 	public void setPollingTimeUnit( final TimeUnit pollingTimeUnit )
 	{
@@ -477,7 +1779,15 @@ public class RestfulDiffuser extends AbstractDiffuser {
 		final StringBuffer buffer = new StringBuffer();
 		buffer.append( "Serializer: " + serializer.toString() + Constants.NEW_LINE );
 		buffer.append( "Strategy: " + strategy.getClass().getName() + Constants.NEW_LINE );
-		buffer.append( "  " + strategy.toString() );
+		buffer.append( "  " + strategy.toString() + Constants.NEW_LINE );
+		buffer.append( "Max Redundancy: " + maxRedundancy + Constants.NEW_LINE );
+		buffer.append( "Max Batch Size: " + getMaxBatchSize() + Constants.NEW_LINE );
+		buffer.append( "Binary Frames: " + isUsingFrames + Constants.NEW_LINE );
+		buffer.append( "Hedge Percentile: " + ( isHedging() ? hedgePercentile : "[disabled]" ) + Constants.NEW_LINE );
+		buffer.append( "Retry Budget: " + retryBudget + Constants.NEW_LINE );
+		buffer.append( "Local Fall-Back: " + isFallingBackToLocal + Constants.NEW_LINE );
+		buffer.append( "Dispatch Queue Depth: " + getDispatchQueueDepth() + Constants.NEW_LINE );
+		buffer.append( "Cancel Queue Depth: " + getCancelQueueDepth() );
 		return buffer.toString();
 	}
 	
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.client;
+
+import java.io.IOException;
+
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.restful.compression.CompressionCodec;
+import org.microtitan.diffusive.diffuser.restful.compression.CompressionCodecFactory;
+
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientRequest;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.filter.ClientFilter;
+
+/**
+ * Jersey client filter that negotiates the compression of the payloads with the RESTful diffuser servers.
+ * The filter advertises the registered codecs (see {@link CompressionCodecFactory}) in the 
+ * {@code Accept-Encoding} header of each request, and decompresses the responses that the server
+ * compressed. When a request codec is set, the filter also compresses the request entities that are 
+ * {@code byte[]} of at least the threshold size (for example, the execute requests), and sets the 
+ * {@code Content-Encoding} header so that the server can decompress them.
+ * 
+ * @author Robert Philipp
+ */
+public class CompressionClientFilter extends ClientFilter {
+
+	private static final Logger LOGGER = Logger.getLogger( CompressionClientFilter.class );
+	
+	private volatile CompressionCodec requestCodec;
+	private volatile int threshold;
+	
+	/**
+	 * Constructs a filter that decompresses the responses, but doesn't compress the requests
+	 */
+	public CompressionClientFilter()
+	{
+		this.requestCodec = null;
+		this.threshold = CompressionCodecFactory.DEFAULT_THRESHOLD;
+	}
+	
+	/**
+	 * Sets the codec used to compress the request entities, and the size below which the request
+	 * entities are sent uncompressed
+	 * @param codecName The content-coding name of the codec (see {@link CompressionCodecFactory}); or null
+	 * to send the request entities uncompressed
+	 * @param threshold The size, in bytes, below which the request entities are sent uncompressed
+	 */
+	public void setRequestCompression( final String codecName, final int threshold )
+	{
+		final CompressionCodec codec = CompressionCodecFactory.getCodec( codecName );
+		if( codecName != null && codec == null )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Unknown compression codec." + Constants.NEW_LINE );
+			message.append( "  Specified Codec: " + codecName + Constants.NEW_LINE );
+			message.append( "  Available Codecs: " + CompressionCodecFactory.getCodecNames() );
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		this.requestCodec = codec;
+		this.threshold = threshold;
+	}
+	
+	/**
+	 * @return true if the request entities are compressed; false otherwise
+	 */
+	public boolean isCompressingRequests()
+	{
+		return requestCodec != null;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see com.sun.jersey.api.client.ClientHandler#handle(com.sun.jersey.api.client.ClientRequest)
+	 */
+	@Override
+	public ClientResponse handle( final ClientRequest request ) throws ClientHandlerException
+	{
+		// let the server know which codecs we can decompress
+		if( !request.getHeaders().containsKey( CompressionCodecFactory.ACCEPT_ENCODING ) )
+		{
+			request.getHeaders().add( CompressionCodecFactory.ACCEPT_ENCODING, CompressionCodecFactory.createAcceptEncoding() );
+		}
+		
+		// compress the request entity if it is large enough to be worth it
+		final CompressionCodec codec = requestCodec;
+		final Object entity = request.getEntity();
+		if( codec != null && entity instanceof byte[] && ((byte[])entity).length >= threshold && 
+			!request.getHeaders().containsKey( CompressionCodecFactory.CONTENT_ENCODING ) )
+		{
+			request.setEntity( CompressionCodecFactory.compress( codec, (byte[])entity ) );
+			request.getHeaders().add( CompressionCodecFactory.CONTENT_ENCODING, codec.getName() );
+		}
+		
+		// decompress the response entity if the server compressed it
+		final ClientResponse response = getNext().handle( request );
+		final String encoding = response.getHeaders().getFirst( CompressionCodecFactory.CONTENT_ENCODING );
+		final CompressionCodec responseCodec = CompressionCodecFactory.getCodec( encoding );
+		if( responseCodec != null && response.hasEntity() )
+		{
+			try
+			{
+				response.setEntityInputStream( responseCodec.decompress( response.getEntityInputStream() ) );
+				response.getHeaders().remove( CompressionCodecFactory.CONTENT_ENCODING );
+			}
+			catch( IOException e )
+			{
+				final StringBuffer message = new StringBuffer();
+				message.append( "Failed to decompress the response entity." + Constants.NEW_LINE );
+				message.append( "  Content Encoding: " + encoding + Constants.NEW_LINE );
+				message.append( "  Request URI: " + request.getURI() );
+				LOGGER.error( message.toString(), e );
+				throw new ClientHandlerException( message.toString(), e );
+			}
+		}
+		return response;
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.client;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientRequest;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.filter.ClientFilter;
+
+/**
+ * Jersey client filter that limits the number of concurrent requests to each end-point (scheme, host,
+ * and port). This is a limit, rather than a pool: the connections themselves are pooled, and kept alive, 
+ * by the JDK's {@code HttpURLConnection} (see {@link RestfulClientFactory}). A request holds its permit 
+ * until its response has arrived and its entity has been read into memory, after which the connection is
+ * returned to the keep-alive pool. Requests beyond the limit wait for a permit, for at most the wait time.
+ * The requests for results that the server holds open until the result is available (long-polls) aren't 
+ * limited, because they hold their connections for as long as the server holds them, and would otherwise
+ * starve the execute, create, and cancel requests. The long-polls are marked by setting the 
+ * {@link #LONG_POLL_PROPERTY} on their web resource.
+ * 
+ * @author Robert Philipp
+ */
+public class ConnectionLimitClientFilter extends ClientFilter {
+
+	private static final Logger LOGGER = Logger.getLogger( ConnectionLimitClientFilter.class );
+	
+	/**
+	 * The request property that marks a request as a long-poll, which isn't limited. Set it to true on the
+	 * web resource of the request (for example, {@code resource.setProperty( LONG_POLL_PROPERTY, true )}).
+	 */
+	public static final String LONG_POLL_PROPERTY = ConnectionLimitClientFilter.class.getName() + ".longPoll";
+	
+	private final int maxConnectionsPerEndpoint;
+	private final long maxWait;
+	private final ConcurrentMap< String, Semaphore > connections;
+	
+	/**
+	 * Constructs the filter that limits the number of concurrent connections to each end-point
+	 * @param maxConnectionsPerEndpoint The maximum number of concurrent connections to each end-point
+	 * @param maxWait The maximum time, in milliseconds, that a request waits for a free connection
+	 */
+	public ConnectionLimitClientFilter( final int maxConnectionsPerEndpoint, final long maxWait )
+	{
+		this.maxConnectionsPerEndpoint = maxConnectionsPerEndpoint;
+		this.maxWait = maxWait;
+		this.connections = new ConcurrentHashMap<>();
+	}
+	
+	/**
+	 * @return The maximum number of concurrent connections to each end-point
+	 */
+	public int getMaxConnectionsPerEndpoint()
+	{
+		return maxConnectionsPerEndpoint;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see com.sun.jersey.api.client.ClientHandler#handle(com.sun.jersey.api.client.ClientRequest)
+	 */
+	@Override
+	public ClientResponse handle( final ClientRequest request ) throws ClientHandlerException
+	{
+		if( request.getPropertyAsFeature( LONG_POLL_PROPERTY ) )
+		{
+			return getNext().handle( request );
+		}
+		
+		final Semaphore permits = getPermits( request.getURI() );
+		acquire( permits, request.getURI() );
+		try
+		{
+			// read the response entity into memory, which returns the connection to the keep-alive pool, 
+			// so that the permit is released however the caller consumes (or abandons) the entity
+			final ClientResponse response = getNext().handle( request );
+			if( response.hasEntity() )
+			{
+				response.bufferEntity();
+			}
+			return response;
+		}
+		finally
+		{
+			permits.release();
+		}
+	}
+	
+	/*
+	 * Returns the permits for the end-point (scheme, host, port) of the specified URI, creating them if needed
+	 */
+	private Semaphore getPermits( final URI uri )
+	{
+		final String endpoint = uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+		Semaphore permits = connections.get( endpoint );
+		if( permits == null )
+		{
+			final Semaphore newPermits = new Semaphore( maxConnectionsPerEndpoint, true );
+			permits = connections.putIfAbsent( endpoint, newPermits );
+			if( permits == null )
+			{
+				permits = newPermits;
+			}
+		}
+		return permits;
+	}
+	
+	/*
+	 * Waits, at most, the maximum wait time for a free connection to the end-point
+	 */
+	private void acquire( final Semaphore permits, final URI uri )
+	{
+		try
+		{
+			if( !permits.tryAcquire( maxWait, TimeUnit.MILLISECONDS ) )
+			{
+				final StringBuffer message = new StringBuffer();
+				message.append( "Timed out waiting for a free connection to the end-point." + Constants.NEW_LINE );
+				message.append( "  Request URI: " + uri.toString() + Constants.NEW_LINE );
+				message.append( "  Max Connections per End-Point: " + maxConnectionsPerEndpoint + Constants.NEW_LINE );
+				message.append( "  Max Wait (ms): " + maxWait );
+				LOGGER.warn( message.toString() );
+				throw new ClientHandlerException( message.toString() );
+			}
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+			throw new ClientHandlerException( "Interrupted while waiting for a free connection to: " + uri.toString(), e );
+		}
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.client;
+
+import java.net.URI;
+
+/**
+ * Thrown when an end-point rejects an execute request because the caller's deadline has already expired.
+ * The end-point is healthy, and the request would fail on every other end-point as well, and so the caller 
+ * should neither count the rejection as a failure of the end-point nor send the request to another end-point.
+ * 
+ * @author Robert Philipp
+ */
+public class DeadlineExpiredException extends RuntimeException {
+
+	private static final long serialVersionUID = -2817356094425736162L;
+	
+	private final URI endpoint;
+	
+	/**
+	 * Constructs the exception reporting that the end-point rejected the request
+	 * @param message The message describing the rejected request
+	 * @param endpoint The end-point that rejected the request
+	 */
+	public DeadlineExpiredException( final String message, final URI endpoint )
+	{
+		super( message );
+		this.endpoint = endpoint;
+	}
+	
+	/**
+	 * @return The end-point that rejected the request
+	 */
+	public URI getEndpoint()
+	{
+		return endpoint;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.client;
+
+import java.net.URI;
+
+/**
+ * Thrown when an end-point rejects an execute request because it is overloaded (its task queue is full).
+ * The end-point is healthy, and so the caller should send the request to another end-point, and not send 
+ * requests to the overloaded end-point until the retry-after time has passed.
+ * 
+ * @author Robert Philipp
+ */
+public class EndpointOverloadedException extends RuntimeException {
+
+	private static final long serialVersionUID = 4710658211730462187L;
+	
+	private final URI endpoint;
+	private final long retryAfter;
+	
+	/**
+	 * Constructs the exception reporting that the end-point rejected the request
+	 * @param message The message describing the rejected request
+	 * @param endpoint The end-point that rejected the request
+	 * @param retryAfter The time, in milliseconds, after which the end-point may accept requests again
+	 */
+	public EndpointOverloadedException( final String message, final URI endpoint, final long retryAfter )
+	{
+		super( message );
+		this.endpoint = endpoint;
+		this.retryAfter = retryAfter;
+	}
+	
+	/**
+	 * @return The end-point that rejected the request
+	 */
+	public URI getEndpoint()
+	{
+		return endpoint;
+	}
+	
+	/**
+	 * @return The time, in milliseconds, after which the end-point may accept requests again
+	 */
+	public long getRetryAfter()
+	{
+		return retryAfter;
+	}
+}
@@ -16,17 +16,59 @@
 package org.microtitan.diffusive.diffuser.restful.client;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.log4j.xml.DOMConfigurator;
+import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.restful.compression.CompressionCodecFactory;
 
 import com.sun.jersey.api.client.Client;
 
+/**
+ * Creates and holds the Jersey client shared by the {@link RestfulDiffuserManagerClient}s and the
+ * {@link org.microtitan.diffusive.classloaders.RestfulClassReader}s. The client uses the JDK's
+ * {@code HttpURLConnection} transport, which keeps the connections to each end-point alive and pools
+ * them for reuse, so that the calls don't pay for setting up a TCP connection each time. The time-outs,
+ * and the maximum number of concurrent requests to each end-point, are set through the 
+ * {@link #configure(int, int, int)} method. The keep-alive pool itself is shared by every 
+ * {@code HttpURLConnection} in the JVM. It keeps at most {@code http.maxConnections} idle connections
+ * to each end-point (a system property the application can set when it is launched), and evicts an
+ * idle connection once the time-out that the server advertised in its {@code Keep-Alive} header has
+ * passed, or after 5 seconds when the server didn't advertise one. The servers set, and advertise,
+ * that time-out through their {@code idle-connection-timeout} option.
+ * 
+ * The asynchronous requests (the {@code ...Async} methods of the {@link RestfulDiffuserManagerClient}) don't
+ * block the calling thread, but the transport is still blocking: Jersey runs each asynchronous request on a
+ * thread of the client's own (cached) thread pool, which the request holds until the server responds. The
+ * pool's threads are daemon threads, so that an application with requests in flight can still exit.
+ * 
+ * @author Robert Philipp
+ */
 public class RestfulClientFactory {
 
+	private static final Logger LOGGER = Logger.getLogger( RestfulClientFactory.class );
+	
 	private static Client instance = null;
 	
+	// negotiates the compression of the requests and responses for all the clients
+	private static final CompressionClientFilter compressionFilter = new CompressionClientFilter();
+	
+	// the time a request waits for a free connection when there is no connect time-out
+	public static final long MAX_CONNECTION_WAIT = 30 * 1000;
+	
+	// connection settings (0 means not set, and the JDK defaults apply)
+	private static int maxConnectionsPerEndpoint = 0;
+	private static int connectTimeout = 0;
+	private static int readTimeout = 0;
+	
+	// limits the number of concurrent connections to each end-point; null when there is no limit
+	private static ConnectionLimitClientFilter connectionLimitFilter = null;
+	
 	private RestfulClientFactory() {}
 	
 	public static Client getInstance()
@@ -35,14 +77,132 @@ public class RestfulClientFactory {
 		{
 			if( instance == null )
 			{
-				// lazily create abdera
+				// lazily create the client, and apply the connection settings
 				instance = Client.create();
+				instance.setExecutorService( createAsyncExecutor() );
+				instance.addFilter( compressionFilter );
+				applySettings( instance );
 			}
 
 			return instance;
 		}
 	}
 	
+	/**
+	 * Creates the thread pool on which the shared client sends the asynchronous requests. Each request holds 
+	 * a thread until the server responds, and so the pool adds threads as needed, and releases them when idle.
+	 * @return The thread pool, of daemon threads, for the asynchronous requests
+	 */
+	private static ExecutorService createAsyncExecutor()
+	{
+		return Executors.newCachedThreadPool( new ThreadFactory() {
+			
+			private final AtomicInteger threadCount = new AtomicInteger( 0 );
+			
+			@Override
+			public Thread newThread( final Runnable runnable )
+			{
+				final Thread thread = new Thread( runnable, "restful-client-async-" + threadCount.incrementAndGet() );
+				thread.setDaemon( true );
+				return thread;
+			}
+		} );
+	}
+	
+	/**
+	 * Configures the connections of the shared client. The settings are applied to the client whenever 
+	 * this method is called.
+	 * @param maxConnectionsPerEndpoint The maximum number of concurrent requests to each end-point (scheme, 
+	 * host, and port), beyond which requests wait (for at most the connect time-out, or the 
+	 * {@link #MAX_CONNECTION_WAIT} when there is no connect time-out) for a connection to become free. The
+	 * requests for results, which the servers hold open until the result is available (long-polls), aren't
+	 * limited, so that they don't starve the other requests. A value of 0 doesn't limit the concurrent requests.
+	 * @param connectTimeout The time-out, in milliseconds, for establishing a connection; 0 for no time-out
+	 * @param readTimeout The time-out, in milliseconds, for reading a response; 0 for no time-out. The read
+	 * time-out should be longer than the long-poll time-out used to wait for results; otherwise, the diffusers
+	 * shorten their long-polls to fit within it.
+	 */
+	public static void configure( final int maxConnectionsPerEndpoint, 
+								  final int connectTimeout, 
+								  final int readTimeout )
+	{
+		synchronized( RestfulClientFactory.class )
+		{
+			RestfulClientFactory.maxConnectionsPerEndpoint = Math.max( maxConnectionsPerEndpoint, 0 );
+			RestfulClientFactory.connectTimeout = Math.max( connectTimeout, 0 );
+			RestfulClientFactory.readTimeout = Math.max( readTimeout, 0 );
+			
+			if( instance != null )
+			{
+				applySettings( instance );
+			}
+			
+			if( LOGGER.isInfoEnabled() )
+			{
+				final StringBuffer message = new StringBuffer();
+				message.append( "Configured the RESTful client connections." + Constants.NEW_LINE );
+				message.append( "  Max Connections per End-Point: " + RestfulClientFactory.maxConnectionsPerEndpoint + Constants.NEW_LINE );
+				message.append( "  Connect Time-Out (ms): " + RestfulClientFactory.connectTimeout + Constants.NEW_LINE );
+				message.append( "  Read Time-Out (ms): " + RestfulClientFactory.readTimeout );
+				LOGGER.info( message.toString() );
+			}
+		}
+	}
+	
+	/**
+	 * @return The time-out, in milliseconds, for reading a response; 0 for no time-out
+	 */
+	public static int getReadTimeout()
+	{
+		synchronized( RestfulClientFactory.class )
+		{
+			return readTimeout;
+		}
+	}
+	
+	/*
+	 * Applies the time-outs and the connection limit to the specified client. Must be called while
+	 * holding the lock on the factory class.
+	 */
+	private static void applySettings( final Client client )
+	{
+		client.setConnectTimeout( connectTimeout );
+		client.setReadTimeout( readTimeout );
+		
+		if( connectionLimitFilter != null )
+		{
+			client.removeFilter( connectionLimitFilter );
+			connectionLimitFilter = null;
+		}
+		if( maxConnectionsPerEndpoint > 0 )
+		{
+			// requests wait for a free connection for, at most, the connect time-out
+			final long maxWait = connectTimeout > 0 ? connectTimeout : MAX_CONNECTION_WAIT;
+			connectionLimitFilter = new ConnectionLimitClientFilter( maxConnectionsPerEndpoint, maxWait );
+			client.addFilter( connectionLimitFilter );
+		}
+	}
+	/**
+	 * Sets the codec used to compress the request entities sent by the clients, and the size below which 
+	 * the request entities are sent uncompressed. Responses are decompressed whether or not the requests 
+	 * are compressed.
+	 * @param codecName The content-coding name of the codec (see {@link CompressionCodecFactory}); or null
+	 * to send the request entities uncompressed
+	 * @param threshold The size, in bytes, below which the request entities are sent uncompressed
+	 */
+	public static void setRequestCompression( final String codecName, final int threshold )
+	{
+		compressionFilter.setRequestCompression( codecName, threshold );
+	}
+	
+	/**
+	 * @return true if the clients compress the request entities; false otherwise
+	 */
+	public static boolean isCompressingRequests()
+	{
+		return compressionFilter.isCompressingRequests();
+	}
+	
 	public static void main( String[] args ) throws IOException
 	{
 		DOMConfigurator.configure( "log4j.xml" );
@@ -21,9 +21,22 @@ import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import javax.ws.rs.core.MediaType;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
 import javax.ws.rs.core.UriBuilder;
 
 import org.apache.abdera.Abdera;
@@ -32,13 +45,22 @@ import org.apache.abdera.parser.ParseException;
 import org.apache.log4j.Logger;
 import org.apache.log4j.xml.DOMConfigurator;
 import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.Deadline;
 import org.microtitan.diffusive.diffuser.restful.DiffuserSignature;
 import org.microtitan.diffusive.diffuser.restful.atom.AbderaFactory;
+import org.microtitan.diffusive.diffuser.restful.frames.DiffuserFrames;
+import org.microtitan.diffusive.diffuser.restful.request.BatchExecuteDiffuserRequest;
+import org.microtitan.diffusive.diffuser.restful.request.BatchExecuteDiffuserRequest.Invocation;
+import org.microtitan.diffusive.diffuser.restful.request.BulkResultRequest;
 import org.microtitan.diffusive.diffuser.restful.request.CreateDiffuserRequest;
 import org.microtitan.diffusive.diffuser.restful.request.ExecuteDiffuserRequest;
+import org.microtitan.diffusive.diffuser.restful.response.BatchExecuteDiffuserResponse;
+import org.microtitan.diffusive.diffuser.restful.response.BulkResultResponse;
 import org.microtitan.diffusive.diffuser.restful.response.CreateDiffuserResponse;
 import org.microtitan.diffusive.diffuser.restful.response.DeleteDiffuserResponse;
 import org.microtitan.diffusive.diffuser.restful.response.ExecuteDiffuserResponse;
+import org.microtitan.diffusive.diffuser.restful.resources.RestfulDiffuserManagerResource;
+import org.microtitan.diffusive.diffuser.restful.resources.ResultId;
 import org.microtitan.diffusive.diffuser.restful.response.ListDiffuserResponse;
 import org.microtitan.diffusive.diffuser.restful.server.RestfulDiffuserServer;
 import org.microtitan.diffusive.diffuser.serializer.Serializer;
@@ -47,13 +69,21 @@ import org.microtitan.diffusive.diffuser.serializer.XmlPersistenceSerializer;
 import org.microtitan.diffusive.utils.ReflectionUtils;
 import org.microtitan.tests.Bean;
 
+import com.sun.jersey.api.client.AsyncWebResource;
 import com.sun.jersey.api.client.Client;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.ClientResponse.Status;
 import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.client.async.TypeListener;
 
 /**
  * Client that wraps the RESTful API for interacting with RESTful diffusers in a convenient Java wrapper.
+ * 
+ * The clients remember which diffusers (end-point and signature) they have created on the remote servers,
+ * so that the {@link #createDiffuserIfAbsent(List, Class, Class, String, Class...)} method only needs to
+ * make the create request the first time. The remembered diffuser is forgotten when it is deleted through
+ * the client, or when the server responds to an execute request that the diffuser wasn't found, in which
+ * case the diffuser must be created again.
  *   
  * @author Robert Philipp
  */
@@ -61,9 +91,26 @@ public class RestfulDiffuserManagerClient {
 
 	private static final Logger LOGGER = Logger.getLogger( RestfulDiffuserManagerClient.class );
 	
+	// the URI (end-point and signature) of the diffusers that are known to have been created on the
+	// remote servers. shared by all the clients, because the clients are created for each call.
+	private static final Set< URI > createdDiffusers = Collections.newSetFromMap( new ConcurrentHashMap< URI, Boolean >() );
+	
+	// the media types of the results accepted from the server, when not using frames. the raw serialized
+	// result is preferred, and the Atom feed is accepted from servers that don't stream the raw result.
+	private static final String[] RESULT_MEDIA_TYPES = { MediaType.APPLICATION_OCTET_STREAM, MediaType.APPLICATION_ATOM_XML + ";q=0.5" };
+	
+	// the status with which a server, or a proxy in front of it, rejects requests when it is overloaded (in 
+	// addition to the 503 returned by the diffuser manager), and the time, in milliseconds, to stay away from 
+	// the server when the response doesn't hold a retry-after hint
+	private static final int TOO_MANY_REQUESTS_STATUS = 429;
+	private static final long DEFAULT_RETRY_AFTER = 1000;
+	
 	private URI baseUri;
 	private final Abdera abdera;
 	private final Client client;
+	private final boolean isUsingFrames;
+	private Deadline deadline;
+	private int priority = ExecuteDiffuserRequest.DEFAULT_PRIORITY;
 	
 	/**
 	 * Constructs a {@link RestfulDiffuserManagerClient} that connects to a {@link RestfulDiffuserServer} with
@@ -72,8 +119,22 @@ public class RestfulDiffuserManagerClient {
 	 * @param baseUri The {@link RestfulDiffuserServer} end-point to which this client connects
 	 */
 	public RestfulDiffuserManagerClient( final URI baseUri )
+	{
+		this( baseUri, false );
+	}
+	
+	/**
+	 * Constructs a {@link RestfulDiffuserManagerClient} that connects to a {@link RestfulDiffuserServer} with
+	 * an end-point at the specified base URI. The base URI is the starting point to which diffuser-specific path
+	 * information is added.
+	 * @param baseUri The {@link RestfulDiffuserServer} end-point to which this client connects
+	 * @param isUsingFrames When true, the execute requests and the results are sent in the compact binary
+	 * frame format (see {@link DiffuserFrames}) rather than as XML and Atom feeds
+	 */
+	public RestfulDiffuserManagerClient( final URI baseUri, final boolean isUsingFrames )
 	{
 		this.baseUri = baseUri;
+		this.isUsingFrames = isUsingFrames;
 
 		// atom parser/create
 		this.abdera = AbderaFactory.getInstance();
@@ -92,6 +153,57 @@ public class RestfulDiffuserManagerClient {
 	{
 		this( URI.create( baseUri ) );
 	}
+	
+	/**
+	 * Sets the deadline of the caller, which is sent with each of the execute requests as the time remaining 
+	 * until the deadline. The server rejects requests whose deadline has passed, and forwards the remaining time 
+	 * with any nested diffusion.
+	 * @param deadline The {@link Deadline} of the caller; or null if the caller has no deadline
+	 * @return this client for chaining
+	 */
+	public RestfulDiffuserManagerClient setDeadline( final Deadline deadline )
+	{
+		this.deadline = deadline;
+		return this;
+	}
+	
+	/**
+	 * @return the deadline of the caller, which is sent with each of the execute requests; or null if
+	 * the caller has no deadline
+	 */
+	public Deadline getDeadline()
+	{
+		return deadline;
+	}
+	
+	/**
+	 * Sets the priority, which is sent with each of the execute requests. The server runs the waiting requests
+	 * with greater priorities first.
+	 * @param priority The priority of the execute requests
+	 * @return this client for chaining
+	 * @see ExecuteDiffuserRequest#setPriority(int)
+	 */
+	public RestfulDiffuserManagerClient setPriority( final int priority )
+	{
+		this.priority = priority;
+		return this;
+	}
+	
+	/**
+	 * @return the priority, which is sent with each of the execute requests
+	 */
+	public int getPriority()
+	{
+		return priority;
+	}
+	
+	/*
+	 * @return the time remaining, in milliseconds, until the deadline; or ExecuteDiffuserRequest.NO_DEADLINE
+	 */
+	private long getTimeBudget()
+	{
+		return deadline == null ? ExecuteDiffuserRequest.NO_DEADLINE : deadline.getRemaining( TimeUnit.MILLISECONDS );
+	}
 
 	/**
 	 * Requests that the server create a RESTful diffuser for a method that doesn't return any value. 
@@ -132,25 +244,111 @@ public class RestfulDiffuserManagerClient {
 	 */
 	public CreateDiffuserResponse createDiffuser( final List< URI > classPathUri, final Class< ? > returnTypeClazz, final Class< ? > clazz, final String methodName, final Class< ? >...argumentTypes )
 	{
-		// convert the argument types to argument type names
-		final String[] argumentTypeNames = convertArgumentTypes( argumentTypes );
-		
-		// convert the class path URI list into a list of string
-		final List< String > classPaths = convertClassPaths( classPathUri );
-		
 		// construct the request to create the diffuser for the specific signature (class, method, arguments)
-		final CreateDiffuserRequest request = CreateDiffuserRequest.create( classPaths, clazz.getName(), methodName, returnTypeClazz.getName(), argumentTypeNames );
+		final CreateDiffuserRequest request = createCreateRequest( classPathUri, returnTypeClazz, clazz, methodName, argumentTypes );
 		
 		// create the web resource for making the call, make the call to PUT the create-request to the server
 		final WebResource resource = client.resource( baseUri );
 		final ClientResponse createDiffuserResponse = resource.accept( MediaType.APPLICATION_ATOM_XML ).put( ClientResponse.class, request );
 		
+		return parseCreateResponse( createDiffuserResponse, returnTypeClazz, clazz, methodName, argumentTypes );
+	}
+	
+	/**
+	 * Requests, asynchronously, that the server create a RESTful diffuser for a method that returns a value.
+	 * The returned {@link CompletableFuture} completes from the thread on which the response arrives. Jersey's
+	 * client sends the asynchronous requests over blocking connections, on the threads of the client's own
+	 * pool (see {@link RestfulClientFactory}), and so the request doesn't block the calling thread, but does 
+	 * hold one of the client's threads until the server responds.
+	 * @param classPathUri The list of URI which to search for remote classes
+	 * @param returnTypeClazz The {@link Class} of the return type of the diffusive method
+	 * @param clazz The {@link Class} containing the diffusive method 
+	 * @param methodName The name of the diffusive method
+	 * @param argumentTypes The {@link Class} for each of the formal method parameters of the diffusive method
+	 * @return A {@link CompletableFuture} that completes with the Atom feed containing the result of the create 
+	 * request, and specifically, the URI of the newly created diffuser.
+	 * @see #createDiffuser(List, Class, Class, String, Class...)
+	 */
+	public CompletableFuture< CreateDiffuserResponse > createDiffuserAsync( final List< URI > classPathUri, 
+																			final Class< ? > returnTypeClazz, 
+																			final Class< ? > clazz, 
+																			final String methodName, 
+																			final Class< ? >...argumentTypes )
+	{
+		final CreateDiffuserRequest request = createCreateRequest( classPathUri, returnTypeClazz, clazz, methodName, argumentTypes );
+		
+		// make the call to PUT the create-request to the server, and complete the future from
+		// the thread on which the response arrives
+		final CompletableFuture< CreateDiffuserResponse > future = new CompletableFuture<>();
+		client.asyncResource( baseUri ).accept( MediaType.APPLICATION_ATOM_XML ).put( new TypeListener< ClientResponse >( ClientResponse.class ) {
+
+			@Override
+			public void onComplete( final Future< ClientResponse > response ) throws InterruptedException
+			{
+				try
+				{
+					future.complete( parseCreateResponse( response.get(), returnTypeClazz, clazz, methodName, argumentTypes ) );
+				}
+				catch( ExecutionException e )
+				{
+					future.completeExceptionally( e.getCause() );
+				}
+				catch( RuntimeException e )
+				{
+					future.completeExceptionally( e );
+				}
+			}
+		}, request );
+		return future;
+	}
+	
+	/**
+	 * Constructs the request to create the diffuser for the specific signature (class, method, arguments)
+	 * @param classPathUri The list of URI which to search for remote classes
+	 * @param returnTypeClazz The {@link Class} of the return type of the diffusive method
+	 * @param clazz The {@link Class} containing the diffusive method 
+	 * @param methodName The name of the diffusive method
+	 * @param argumentTypes The {@link Class} for each of the formal method parameters of the diffusive method
+	 * @return The {@link CreateDiffuserRequest}
+	 */
+	private static CreateDiffuserRequest createCreateRequest( final List< URI > classPathUri, final Class< ? > returnTypeClazz, final Class< ? > clazz, final String methodName, final Class< ? >...argumentTypes )
+	{
+		// convert the argument types to argument type names, and the class path URI list into a list of string
+		final String[] argumentTypeNames = convertArgumentTypes( argumentTypes );
+		final List< String > classPaths = convertClassPaths( classPathUri );
+		
+		return CreateDiffuserRequest.create( classPaths, clazz.getName(), methodName, returnTypeClazz.getName(), argumentTypeNames );
+	}
+	
+	/**
+	 * Parses the response to a create request into a {@link CreateDiffuserResponse}, and when the diffuser was 
+	 * created, remembers it so that subsequent calls don't need to create it
+	 * @param createDiffuserResponse The server's response to the create request
+	 * @param returnTypeClazz The {@link Class} of the return type of the diffusive method
+	 * @param clazz The {@link Class} containing the diffusive method 
+	 * @param methodName The name of the diffusive method
+	 * @param argumentTypes The {@link Class} for each of the formal method parameters of the diffusive method
+	 * @return An Atom feed containing the result of the create request
+	 */
+	private CreateDiffuserResponse parseCreateResponse( final ClientResponse createDiffuserResponse, 
+														final Class< ? > returnTypeClazz, 
+														final Class< ? > clazz, 
+														final String methodName, 
+														final Class< ? >...argumentTypes )
+	{
 		// parse the response into an Atom feed object and return it
 		CreateDiffuserResponse diffuserResponse;
 		try( InputStream response = createDiffuserResponse.getEntity( InputStream.class ) )
 		{
 			final Feed feed = abdera.getParser().< Feed >parse( response ).getRoot();
 			diffuserResponse = new CreateDiffuserResponse( feed );
+			
+			// remember that the diffuser has been created so that subsequent calls don't need to create it
+			if( createDiffuserResponse.getStatus() == Status.OK.getStatusCode() )
+			{
+				final String signature = DiffuserSignature.createId( returnTypeClazz, clazz, methodName, argumentTypes );
+				createdDiffusers.add( createDiffuserUri( signature ) );
+			}
 		}
 		catch( ParseException | IOException e )
 		{
@@ -159,7 +357,7 @@ public class RestfulDiffuserManagerClient {
                     .append( "  Class Name: " ).append( clazz.getName() ).append( Constants.NEW_LINE )
                     .append( "  Method Name: " ).append( methodName ).append( Constants.NEW_LINE )
                     .append( "  Argument Type Names: " );
-			for( String name : argumentTypeNames )
+			for( String name : convertArgumentTypes( argumentTypes ) )
 			{
 				message.append( Constants.NEW_LINE ).append( "    " ).append( name );
 			}
@@ -169,6 +367,76 @@ public class RestfulDiffuserManagerClient {
 		return diffuserResponse;
 	}
 	
+	/**
+	 * Requests that the server create a RESTful diffuser for a method that returns a value, but only if this
+	 * (or any other) client hasn't already created the diffuser on the server. The server's create is
+	 * idempotent, and so this saves a round trip for every call after the first. 
+	 * @param classPathUri The list of URI which to search for remote classes
+	 * @param returnTypeClazz The {@link Class} of the return type of the diffusive method
+	 * @param clazz The {@link Class} containing the diffusive method 
+	 * @param methodName The name of the diffusive method
+	 * @param argumentTypes The {@link Class} for each of the formal method parameters of the diffusive method
+	 * @return true if the create request was sent to the server; false if the diffuser was already known
+	 * to exist on the server
+	 * @see #createDiffuser(List, Class, Class, String, Class...)
+	 */
+	public boolean createDiffuserIfAbsent( final List< URI > classPathUri, final Class< ? > returnTypeClazz, final Class< ? > clazz, final String methodName, final Class< ? >...argumentTypes )
+	{
+		final String signature = DiffuserSignature.createId( returnTypeClazz, clazz, methodName, argumentTypes );
+		if( createdDiffusers.contains( createDiffuserUri( signature ) ) )
+		{
+			return false;
+		}
+		
+		createDiffuser( classPathUri, returnTypeClazz, clazz, methodName, argumentTypes );
+		return true;
+	}
+	
+	/**
+	 * Requests, asynchronously, that the server create a RESTful diffuser for a method that returns a value, but
+	 * only if this (or any other) client hasn't already created the diffuser on the server. When the diffuser
+	 * is already known to exist on the server, the returned {@link CompletableFuture} is already complete.
+	 * @param classPathUri The list of URI which to search for remote classes
+	 * @param returnTypeClazz The {@link Class} of the return type of the diffusive method
+	 * @param clazz The {@link Class} containing the diffusive method 
+	 * @param methodName The name of the diffusive method
+	 * @param argumentTypes The {@link Class} for each of the formal method parameters of the diffusive method
+	 * @return A {@link CompletableFuture} that completes with true if the create request was sent to the server; 
+	 * or with false if the diffuser was already known to exist on the server
+	 * @see #createDiffuserAsync(List, Class, Class, String, Class...)
+	 */
+	public CompletableFuture< Boolean > createDiffuserIfAbsentAsync( final List< URI > classPathUri, 
+																	 final Class< ? > returnTypeClazz, 
+																	 final Class< ? > clazz, 
+																	 final String methodName, 
+																	 final Class< ? >...argumentTypes )
+	{
+		final String signature = DiffuserSignature.createId( returnTypeClazz, clazz, methodName, argumentTypes );
+		if( createdDiffusers.contains( createDiffuserUri( signature ) ) )
+		{
+			return CompletableFuture.completedFuture( false );
+		}
+		
+		return createDiffuserAsync( classPathUri, returnTypeClazz, clazz, methodName, argumentTypes ).thenApply( new Function< CreateDiffuserResponse, Boolean >() {
+
+			@Override
+			public Boolean apply( final CreateDiffuserResponse response )
+			{
+				return true;
+			}
+		} );
+	}
+	
+	/**
+	 * Creates the {@link URI} of the diffuser with the specified signature on this client's end-point. 
+	 * @param signature a {@link DiffuserSignature} signature
+	 * @return the {@link URI} of the diffuser with the specified signature
+	 */
+	private URI createDiffuserUri( final String signature )
+	{
+		return UriBuilder.fromUri( baseUri ).path( signature ).build();
+	}
+	
 	/**
 	 * Converts a {@link List} of {@link URI} into a {@link List} of {@link String}s that represent the
 	 * {@link URI}. Effectively, iterates through the list of URI calling the {@link URI#toString()} method
@@ -256,7 +524,11 @@ public class RestfulDiffuserManagerClient {
 	public DeleteDiffuserResponse deleteDiffuser( final String signature )
 	{
 		// create the URI to the diffuser with the specified signature
-		final URI diffuserUri = UriBuilder.fromUri( baseUri ).path( signature ).build();
+		final URI diffuserUri = createDiffuserUri( signature );
+		
+		// forget that the diffuser was created, regardless of whether the delete succeeds, so that 
+		// the next create request goes to the server
+		createdDiffusers.remove( diffuserUri );
 		
 		// create the web resource for making the call
 		final WebResource resource = client.resource( diffuserUri );
@@ -298,7 +570,7 @@ public class RestfulDiffuserManagerClient {
 	 * the diffusive method being called
 	 * @param serializer The {@link Serializer} used to serialize and de-serialize the object
 	 * @return An {@link ExecuteDiffuserResponse} object containing the information about the result and the 
-	 * underlying Atom feed.
+	 * underlying Atom feed; or null if the server could not find the diffuser (which must then be created).
 	 */
 	public ExecuteDiffuserResponse executeMethod( final Class< ? > returnTypeClazz, 
 							   					  final Class< ? > clazz, 
@@ -341,7 +613,7 @@ public class RestfulDiffuserManagerClient {
 	 * the diffusive method being called
 	 * @param serializerType The name of the {@link Serializer} used to serialize and de-serialize the object
 	 * @return An {@link ExecuteDiffuserResponse} object containing the information about the result and the 
-	 * underlying Atom feed.
+	 * underlying Atom feed; or null if the server could not find the diffuser (which must then be created).
 	 */
 	public ExecuteDiffuserResponse executeMethod( final Class< ? > returnTypeClazz, 
 												  final Class< ? > clazz, 
@@ -365,7 +637,7 @@ public class RestfulDiffuserManagerClient {
 	 * @param serializedObjectType The {@link Class} of the serialized object that contains the diffusive method
 	 * @param serializerType The name of the {@link Serializer} used to serialize and deserialize the object
 	 * @return An {@link ExecuteDiffuserResponse} object containing the information about the result and the 
-	 * underlying Atom feed.
+	 * underlying Atom feed; or null if the server could not find the diffuser (which must then be created).
 	 */
 	private ExecuteDiffuserResponse executeMethod( final String signature, 
 							   					  final byte[] serializedObject,
@@ -395,7 +667,7 @@ public class RestfulDiffuserManagerClient {
 	 * the diffusive method being called
 	 * @param serializerType The name of the {@link Serializer} used to serialize and de-serialize the object
 	 * @return An {@link ExecuteDiffuserResponse} object containing the information about the result and the 
-	 * underlying Atom feed.
+	 * underlying Atom feed; or null if the server could not find the diffuser (which must then be created).
 	 */
 	public ExecuteDiffuserResponse executeMethod( final Class< ? > returnTypeClazz, 
 							   					  final Class< ? > clazz, 
@@ -427,7 +699,7 @@ public class RestfulDiffuserManagerClient {
 	 * @param serializedObjectType The {@link Class} of the serialized object that contains the diffusive method
 	 * @param serializerType The name of the {@link Serializer} used to serialize and deserialize the object
 	 * @return An {@link ExecuteDiffuserResponse} object containing the information about the result and the 
-	 * underlying Atom feed.
+	 * underlying Atom feed; or null if the server could not find the diffuser (which must then be created).
 	 */
 	private ExecuteDiffuserResponse executeMethod( final String signature, 
 							   					  final List< Class< ? > > argumentTypes, 
@@ -457,23 +729,371 @@ public class RestfulDiffuserManagerClient {
 	 * @param signature a {@link DiffuserSignature} signature (which is different from a Java signature because it includes
 	 * the return type) of the diffuser to use to execute the method
 	 * @param request The {@link ExecuteDiffuserRequest} object containing the information needed to execute a diffusive method
-	 * @return An Atom feed that contains a URI from which to obtain the result. 
+	 * @return An Atom feed that contains a URI from which to obtain the result; or null if the server could
+	 * not find the diffuser with the specified signature, in which case the diffuser must be created.
 	 */
 	private ExecuteDiffuserResponse executeMethod( final String signature, final ExecuteDiffuserRequest request )
 	{
 		// create the URI to the diffuser with the specified signature
-		final URI diffuserUri = UriBuilder.fromUri( baseUri ).path( signature ).build();
+		final URI diffuserUri = createDiffuserUri( signature );
+		request.setTimeBudget( getTimeBudget() ).setPriority( priority );
 		
 		// create the web resource for making the call, make the call to POST the create-request to the server
 		final WebResource resource = client.resource( diffuserUri );
-		final ClientResponse executeDiffuserResponse = resource.accept( MediaType.APPLICATION_ATOM_XML ).post( ClientResponse.class, request );
+		final ClientResponse executeDiffuserResponse = resource.type( getRequestMediaType() )
+															   .accept( getResponseMediaType() )
+															   .post( ClientResponse.class, createExecuteEntity( request ) );
+		
+		return parseExecuteResponse( signature, request, executeDiffuserResponse );
+	}
+	
+	/**
+	 * Executes the specified method once for each of the specified argument tuples (invocations), in one 
+	 * request to the server. The object containing the method is sent once for the whole batch. Invocations
+	 * without their own time budget and priority are sent with this client's deadline and priority.
+	 * @param returnTypeClazz The {@link Class} of the return type of the diffusive method
+	 * @param clazz The {@link Class} containing the diffusive method 
+	 * @param methodName The name of the diffusive method
+	 * @param argumentTypes The {@link Class} for each of the formal method parameters of the diffusive method
+	 * (empty for methods without parameters)
+	 * @param invocations The invocations in the batch, each holding the serialized value of each of the 
+	 * arguments passed to the diffusive method
+	 * @param serializedObject A {@code byte[]} representation of the object of the {@link Class} that contains 
+	 * the diffusive method being called
+	 * @param serializerType The name of the {@link Serializer} used to serialize and de-serialize the object
+	 * @return A {@link BatchExecuteDiffuserResponse} object containing the result IDs of the invocations, in the
+	 * order of the specified invocations; or null if the server could not find the diffuser (which must then be 
+	 * created).
+	 */
+	public BatchExecuteDiffuserResponse executeBatch( final Class< ? > returnTypeClazz, 
+													  final Class< ? > clazz, 
+													  final String methodName,
+													  final List< Class< ? > > argumentTypes, 
+													  final List< Invocation > invocations, 
+													  final byte[] serializedObject,
+													  final String serializerType )
+	{
+		// construct the signature from the specified parameters
+		final String signature = DiffuserSignature.createId(
+				returnTypeClazz,
+				clazz,
+				methodName,
+				argumentTypes.toArray( new Class< ? >[ argumentTypes.size() ] ) );
+
+		// create the batch request, adding each of the invocations
+		final BatchExecuteDiffuserRequest request = BatchExecuteDiffuserRequest.create( DiffuserSignature.parse( signature ).getReturnTypeClassName(),
+																						convertArgumentTypes( argumentTypes ),
+																						clazz.getName(),
+																						serializedObject,
+																						serializerType ).setTimeBudget( getTimeBudget() ).setPriority( priority );
+		for( Invocation invocation : invocations )
+		{
+			request.addInvocation( invocation );
+		}
+		
+		// create the URI to the batch resource of the diffuser with the specified signature, and POST the request
+		final URI diffuserUri = createDiffuserUri( signature );
+		final URI batchUri = UriBuilder.fromUri( diffuserUri ).path( RestfulDiffuserManagerResource.BATCH_PATH ).build();
+		final ClientResponse batchResponse = client.resource( batchUri ).accept( MediaType.APPLICATION_ATOM_XML ).post( ClientResponse.class, request );
+		checkOverloaded( signature, batchResponse );
+		checkDeadlineExpired( signature, batchResponse );
+		
+		// the diffuser doesn't exist on the server (for example, it was deleted, or the server restarted), 
+		// so forget that it was created, and let the caller create it again
+		if( batchResponse.getStatus() == Status.NOT_FOUND.getStatusCode() )
+		{
+			createdDiffusers.remove( diffuserUri );
+			batchResponse.close();
+			if( LOGGER.isInfoEnabled() )
+			{
+				final StringBuilder message = new StringBuilder();
+				message.append( "The diffuser was not found on the server; it must be created before executing the batch" ).append( Constants.NEW_LINE )
+						.append( "  Diffuser URI: " ).append( diffuserUri.toString() ).append( Constants.NEW_LINE )
+						.append( "  Number of Invocations: " ).append( request.getInvocationCount() );
+				LOGGER.info( message.toString() );
+			}
+			return null;
+		}
 		
 		// parse the response into an Atom feed object and return it
+		try( InputStream response = batchResponse.getEntity( InputStream.class ) )
+		{
+			final Feed feed = abdera.getParser().< Feed >parse( response ).getRoot();
+			return new BatchExecuteDiffuserResponse( feed );
+		}
+		catch( ParseException | IOException e )
+		{
+			final StringBuilder message = new StringBuilder();
+			message.append( "Failed to parse the batch-execute-diffuser response into an Atom feed" ).append( Constants.NEW_LINE )
+					.append( "  Signature: " ).append( signature ).append( Constants.NEW_LINE )
+					.append( "  Number of Invocations: " ).append( request.getInvocationCount() );
+			LOGGER.error( message.toString(), e );
+			throw new IllegalArgumentException( message.toString(), e );
+		}
+	}
+	
+	/**
+	 * Executes the specified method asynchronously. The returned {@link CompletableFuture} completes when the
+	 * server has responded to the execute request, without blocking the calling thread.
+	 * @param returnTypeClazz The {@link Class} of the return type of the diffusive method
+	 * @param clazz The {@link Class} containing the diffusive method 
+	 * @param methodName The name of the diffusive method
+	 * @param argumentTypes The {@link Class} for each of the formal method parameters of the diffusive method
+	 * (empty for methods without parameters)
+	 * @param argumentValues The serialized value of each of the arguments passed to the diffusive method
+	 * (empty for methods without parameters)
+	 * @param serializedObject A {@code byte[]} representation of the object of the {@link Class} that contains 
+	 * the diffusive method being called
+	 * @param serializerType The name of the {@link Serializer} used to serialize and de-serialize the object
+	 * @return A {@link CompletableFuture} that completes with the {@link ExecuteDiffuserResponse}; or with null if 
+	 * the server could not find the diffuser (which must then be created).
+	 */
+	public CompletableFuture< ExecuteDiffuserResponse > executeMethodAsync( final Class< ? > returnTypeClazz, 
+																			final Class< ? > clazz, 
+																			final String methodName,
+																			final List< Class< ? > > argumentTypes, 
+																			final List< byte[] > argumentValues, 
+																			final byte[] serializedObject,
+																			final String serializerType )
+	{
+		// construct the signature and the execute request from the specified parameters
+		final String signature = DiffuserSignature.createId(
+				returnTypeClazz,
+				clazz,
+				methodName,
+				argumentTypes.toArray( new Class< ? >[ argumentTypes.size() ] ) );
+		final ExecuteDiffuserRequest request = ExecuteDiffuserRequest.create( returnTypeClazz.getName(),
+																			  convertArgumentTypes( argumentTypes ), 
+																			  argumentValues, 
+																			  clazz.getName(), 
+																			  serializedObject, 
+																			  serializerType ).setTimeBudget( getTimeBudget() ).setPriority( priority );
+		
+		// make the call to POST the execute-request to the server, and complete the future from
+		// the thread on which the response arrives
+		final CompletableFuture< ExecuteDiffuserResponse > future = new CompletableFuture<>();
+		final AsyncWebResource resource = client.asyncResource( createDiffuserUri( signature ) );
+		resource.type( getRequestMediaType() ).accept( getResponseMediaType() ).post( new TypeListener< ClientResponse >( ClientResponse.class ) {
+
+			@Override
+			public void onComplete( final Future< ClientResponse > response ) throws InterruptedException
+			{
+				try
+				{
+					future.complete( parseExecuteResponse( signature, request, response.get() ) );
+				}
+				catch( ExecutionException e )
+				{
+					future.completeExceptionally( e.getCause() );
+				}
+				catch( RuntimeException e )
+				{
+					future.completeExceptionally( e );
+				}
+			}
+		}, createExecuteEntity( request ) );
+		
+		return future;
+	}
+	
+	/**
+	 * @return The media type of the execute requests sent to the server
+	 */
+	private String getRequestMediaType()
+	{
+		return isUsingFrames ? DiffuserFrames.APPLICATION_DIFFUSIVE_FRAMES : MediaType.APPLICATION_XML;
+	}
+	
+	/**
+	 * @return The media type of the execute responses and results accepted from the server
+	 */
+	private String getResponseMediaType()
+	{
+		return isUsingFrames ? DiffuserFrames.APPLICATION_DIFFUSIVE_FRAMES : MediaType.APPLICATION_ATOM_XML;
+	}
+	
+	/**
+	 * @return The media types of the results accepted from the server
+	 */
+	private String[] getResultMediaTypes()
+	{
+		return isUsingFrames ? new String[] { DiffuserFrames.APPLICATION_DIFFUSIVE_FRAMES } : RESULT_MEDIA_TYPES;
+	}
+	
+	/**
+	 * @param request The {@link ExecuteDiffuserRequest} to send to the server
+	 * @return The entity for the execute request, which is either the request itself (sent as XML), or
+	 * the request encoded into binary frames. When the requests are compressed, the XML is marshaled up
+	 * front so that the {@link CompressionClientFilter} knows its size.
+	 */
+	private Object createExecuteEntity( final ExecuteDiffuserRequest request )
+	{
+		if( isUsingFrames )
+		{
+			return DiffuserFrames.encodeExecuteRequest( request );
+		}
+		if( RestfulClientFactory.isCompressingRequests() )
+		{
+			return marshal( request );
+		}
+		return request;
+	}
+	
+	/**
+	 * Marshals the execute request into its XML representation
+	 * @param request The {@link ExecuteDiffuserRequest} to marshal
+	 * @return The XML representation of the request
+	 */
+	private static byte[] marshal( final ExecuteDiffuserRequest request )
+	{
+		try( final ByteArrayOutputStream output = new ByteArrayOutputStream() )
+		{
+			ExecuteRequestContextHolder.CONTEXT.createMarshaller().marshal( request, output );
+			return output.toByteArray();
+		}
+		catch( JAXBException | IOException e )
+		{
+			final StringBuilder message = new StringBuilder();
+			message.append( "Failed to marshal the execute request into XML" ).append( Constants.NEW_LINE )
+					.append( "  Request ID: " ).append( request.getRequestId() );
+			LOGGER.error( message.toString(), e );
+			throw new IllegalStateException( message.toString(), e );
+		}
+	}
+	
+	/**
+	 * Lazily creates the (thread-safe) JAXB context for the execute requests on first use
+	 */
+	private static class ExecuteRequestContextHolder {
+		
+		public static final JAXBContext CONTEXT = createContext();
+		
+		private static JAXBContext createContext()
+		{
+			try
+			{
+				return JAXBContext.newInstance( ExecuteDiffuserRequest.class );
+			}
+			catch( JAXBException e )
+			{
+				throw new IllegalStateException( "Failed to create the JAXB context for the execute requests", e );
+			}
+		}
+	}
+	
+	/**
+	 * Throws an {@link EndpointOverloadedException} when the server rejected the execute request because
+	 * it is overloaded (the server responds with a 503, or a 429, status and a {@code Retry-After} header). 
+	 * @param signature a {@link DiffuserSignature} signature of the diffuser used to execute the method
+	 * @param executeResponse The server's response to the execute request
+	 * @throws EndpointOverloadedException when the server rejected the execute request
+	 */
+	private void checkOverloaded( final String signature, final ClientResponse executeResponse )
+	{
+		final int status = executeResponse.getStatus();
+		if( status != RestfulDiffuserManagerResource.OVERLOADED_STATUS && status != TOO_MANY_REQUESTS_STATUS )
+		{
+			return;
+		}
+		
+		// the retry-after hint is in seconds (a retry-after date is treated as the default)
+		long retryAfter = DEFAULT_RETRY_AFTER;
+		final String retryAfterHeader = executeResponse.getHeaders().getFirst( RestfulDiffuserManagerResource.RETRY_AFTER_HEADER );
+		if( retryAfterHeader != null )
+		{
+			try
+			{
+				retryAfter = TimeUnit.SECONDS.toMillis( Long.parseLong( retryAfterHeader.trim() ) );
+			}
+			catch( NumberFormatException e )
+			{
+				retryAfter = DEFAULT_RETRY_AFTER;
+			}
+		}
+		executeResponse.close();
+		
+		final StringBuilder message = new StringBuilder();
+		message.append( "The server is overloaded and rejected the execute request" ).append( Constants.NEW_LINE )
+				.append( "  Server URI: " ).append( baseUri.toString() ).append( Constants.NEW_LINE )
+				.append( "  Signature: " ).append( signature ).append( Constants.NEW_LINE )
+				.append( "  Status: " ).append( status ).append( Constants.NEW_LINE )
+				.append( "  Retry After (ms): " ).append( retryAfter );
+		LOGGER.info( message.toString() );
+		throw new EndpointOverloadedException( message.toString(), baseUri, retryAfter );
+	}
+	
+	/**
+	 * Checks whether the server rejected the execute request because the caller's deadline had expired, 
+	 * and if so, throws a {@link DeadlineExpiredException}. The rejection is terminal: the request would 
+	 * be rejected by every other end-point as well.
+	 * @param signature The signature of the diffuser to which the execute request was sent
+	 * @param executeResponse The server's response to the execute request
+	 * @throws DeadlineExpiredException if the server rejected the request because the deadline had expired
+	 */
+	private void checkDeadlineExpired( final String signature, final ClientResponse executeResponse )
+	{
+		final int status = executeResponse.getStatus();
+		if( status != RestfulDiffuserManagerResource.DEADLINE_EXPIRED_STATUS )
+		{
+			return;
+		}
+		executeResponse.close();
+		
+		final StringBuilder message = new StringBuilder();
+		message.append( "The server rejected the execute request because its deadline had expired" ).append( Constants.NEW_LINE )
+				.append( "  Server URI: " ).append( baseUri.toString() ).append( Constants.NEW_LINE )
+				.append( "  Signature: " ).append( signature ).append( Constants.NEW_LINE )
+				.append( "  Status: " ).append( status );
+		LOGGER.info( message.toString() );
+		throw new DeadlineExpiredException( message.toString(), baseUri );
+	}
+	
+	/**
+	 * Parses the response to an execute request into an {@link ExecuteDiffuserResponse}
+	 * @param signature a {@link DiffuserSignature} signature of the diffuser used to execute the method
+	 * @param request The {@link ExecuteDiffuserRequest} object sent to the server
+	 * @param executeDiffuserResponse The server's response to the execute request
+	 * @return An {@link ExecuteDiffuserResponse}; or null if the server could not find the diffuser with the 
+	 * specified signature, in which case the diffuser must be created.
+	 */
+	private ExecuteDiffuserResponse parseExecuteResponse( final String signature, 
+														  final ExecuteDiffuserRequest request, 
+														  final ClientResponse executeDiffuserResponse )
+	{
+		final URI diffuserUri = createDiffuserUri( signature );
+		checkOverloaded( signature, executeDiffuserResponse );
+		checkDeadlineExpired( signature, executeDiffuserResponse );
+		
+		// the diffuser doesn't exist on the server (for example, it was deleted, or the server restarted), 
+		// so forget that it was created, and let the caller create it again
+		if( executeDiffuserResponse.getStatus() == Status.NOT_FOUND.getStatusCode() )
+		{
+			createdDiffusers.remove( diffuserUri );
+			executeDiffuserResponse.close();
+			if( LOGGER.isInfoEnabled() )
+			{
+				final StringBuilder message = new StringBuilder();
+				message.append( "The diffuser was not found on the server; it must be created before executing the method" ).append( Constants.NEW_LINE )
+						.append( "  Diffuser URI: " ).append( diffuserUri.toString() ).append( Constants.NEW_LINE )
+						.append( "  Request ID: " ).append( request.getRequestId() );
+				LOGGER.info( message.toString() );
+			}
+			return null;
+		}
+		
+		// parse the response, which is either binary frames, or an Atom feed, and return it
 		ExecuteDiffuserResponse diffuserResponse;
 		try( InputStream response = executeDiffuserResponse.getEntity( InputStream.class ) )
 		{
-			final Feed feed = abdera.getParser().< Feed >parse( response ).getRoot();
-			diffuserResponse = new ExecuteDiffuserResponse( feed );
+			if( DiffuserFrames.isFrames( executeDiffuserResponse.getType() ) )
+			{
+				diffuserResponse = DiffuserFrames.decodeExecuteResponse( response );
+			}
+			else
+			{
+				final Feed feed = abdera.getParser().< Feed >parse( response ).getRoot();
+				diffuserResponse = new ExecuteDiffuserResponse( feed );
+			}
 		}
 		catch( ParseException | IOException e )
 		{
@@ -553,20 +1173,199 @@ public class RestfulDiffuserManagerClient {
 	 */
 	public Object getResult( final String signature, final String requestId, final Serializer serializer )
 	{
-		final DiffuserSignature id = DiffuserSignature.parse( signature );
-		
 		// create the URI to the diffuser with the specified signature
 		final URI diffuserUri = UriBuilder.fromUri( baseUri ).path( signature ).path( requestId ).build();
 		
 		// create the web resource for making the call, make the call to GET the result from the server
 		final WebResource resource = client.resource( diffuserUri );
-		final ClientResponse resultResponse = resource.accept( MediaType.APPLICATION_ATOM_XML ).get( ClientResponse.class );
+		final ClientResponse resultResponse = resource.accept( getResultMediaTypes() ).get( ClientResponse.class );
 
 		if( resultResponse.getStatus() == Status.NO_CONTENT.getStatusCode() )
 		{
 			return null;
 		}
 		
+		return parseResult( signature, requestId, serializer, resultResponse );
+	}
+	
+	/**
+	 * Waits for the result of the {@code executeMethod(...)} request using a long-poll. The server holds
+	 * each result request open until the result is available, or until the specified time-out expires,
+	 * in which case the request is re-issued. When the result becomes available during a request, the 
+	 * result is returned immediately, so that each result costs one round trip (for results that take
+	 * less than the time-out to compute), and isn't delayed by a polling interval.
+	 * @param signature a {@link DiffuserSignature} signature (which is different from a Java signature because it includes
+	 * the return type) of the diffuser to use to execute the method
+	 * @param requestId The request ID generated and returned after the method was executed
+	 * @param serializer The {@link Serializer} used to serialize and deserialize the object
+	 * @param timeout The maximum time, in milliseconds, the server should hold open each result request.
+	 * @return The result object associated with the specified request ID
+	 * @throws InterruptedException if the calling thread is interrupted between result requests
+	 */
+	public Object waitForResult( final String signature, final String requestId, final Serializer serializer, final long timeout ) throws InterruptedException
+	{
+		// create the URI to the diffuser with the specified signature and add the long-poll time-out
+		final URI resultUri = UriBuilder.fromUri( baseUri )
+										.path( signature )
+										.path( requestId )
+										.queryParam( RestfulDiffuserManagerResource.TIMEOUT, timeout )
+										.build();
+		
+		// create the web resource for making the call, make the call to GET the result from the server
+		// until the server returns the result, or an error. the server holds the request open (long-poll)
+		final WebResource resource = client.resource( resultUri );
+		resource.setProperty( ConnectionLimitClientFilter.LONG_POLL_PROPERTY, true );
+		ClientResponse resultResponse = resource.accept( getResultMediaTypes() ).get( ClientResponse.class );
+		while( resultResponse.getStatus() == Status.NO_CONTENT.getStatusCode() )
+		{
+			resultResponse.close();
+			if( Thread.interrupted() )
+			{
+				final StringBuilder message = new StringBuilder();
+				message.append( "Interrupted while waiting for the result." ).append( Constants.NEW_LINE )
+						.append( "  Signature: " ).append( signature ).append( Constants.NEW_LINE )
+						.append( "  Request ID: " ).append( requestId );
+				throw new InterruptedException( message.toString() );
+			}
+			resultResponse = resource.accept( getResultMediaTypes() ).get( ClientResponse.class );
+		}
+		
+		return parseResult( signature, requestId, serializer, resultResponse );
+	}
+	
+	/**
+	 * Asynchronously waits for the result of the {@code executeMethod(...)} request using a long-poll (see
+	 * {@link #waitForResult(String, String, Serializer, long)}). The calling thread doesn't wait on the result;
+	 * each result request is re-issued from the thread on which the previous "no content" response arrived. 
+	 * Jersey sends the asynchronous requests over blocking connections, and so each result request holds a 
+	 * thread of the shared client's pool (see {@link RestfulClientFactory}) while the server holds it open.
+	 * Cancelling the returned future stops the re-issuing of result requests, cancels the request that is 
+	 * in flight, and closes its response if it arrives anyway. Cancelling doesn't unblock a read that is 
+	 * already waiting on the server, and so callers that abandon the result should also send the cancel
+	 * order (see {@link #cancelResult(String, String)}), which ends the server's long-poll; otherwise the 
+	 * read is bounded by the long-poll time-out, and by the client's read time-out.
+	 * @param signature a {@link DiffuserSignature} signature (which is different from a Java signature because it includes
+	 * the return type) of the diffuser to use to execute the method
+	 * @param requestId The request ID generated and returned after the method was executed
+	 * @param serializer The {@link Serializer} used to serialize and deserialize the object
+	 * @param timeout The maximum time, in milliseconds, the server should hold open each result request.
+	 * @return A {@link CompletableFuture} that completes with the result object associated with the specified request ID
+	 */
+	public CompletableFuture< Object > waitForResultAsync( final String signature, final String requestId, final Serializer serializer, final long timeout )
+	{
+		// create the URI to the diffuser with the specified signature and add the long-poll time-out
+		final URI resultUri = UriBuilder.fromUri( baseUri )
+										.path( signature )
+										.path( requestId )
+										.queryParam( RestfulDiffuserManagerResource.TIMEOUT, timeout )
+										.build();
+		
+		final CompletableFuture< Object > future = new CompletableFuture<>();
+		final AtomicReference< Future< ClientResponse > > pending = new AtomicReference<>();
+		future.whenComplete( new BiConsumer< Object, Throwable >() {
+
+			@Override
+			public void accept( final Object result, final Throwable error )
+			{
+				// the caller abandoned the result, so cancel the request that is in flight
+				final Future< ClientResponse > request = pending.get();
+				if( future.isCancelled() && request != null )
+				{
+					request.cancel( true );
+				}
+			}
+		} );
+		final AsyncWebResource resource = client.asyncResource( resultUri );
+		resource.setProperty( ConnectionLimitClientFilter.LONG_POLL_PROPERTY, true );
+		requestResultAsync( resource, signature, requestId, serializer, future, pending );
+		return future;
+	}
+	
+	/**
+	 * Issues an asynchronous request for the result, which re-issues itself when the server responds that
+	 * the result isn't yet available, and completes the specified future when the result has arrived.
+	 * @param resource The asynchronous web resource representing the result
+	 * @param signature a {@link DiffuserSignature} signature of the diffuser used to execute the method
+	 * @param requestId The request ID generated and returned after the method was executed
+	 * @param serializer The {@link Serializer} used to serialize and deserialize the object
+	 * @param future The future to complete with the result
+	 * @param pending Holds the result request that is in flight, so that it can be cancelled along with the future
+	 */
+	private void requestResultAsync( final AsyncWebResource resource, 
+									 final String signature, 
+									 final String requestId, 
+									 final Serializer serializer,
+									 final CompletableFuture< Object > future,
+									 final AtomicReference< Future< ClientResponse > > pending )
+	{
+		pending.set( resource.accept( getResultMediaTypes() ).get( new TypeListener< ClientResponse >( ClientResponse.class ) {
+
+			@Override
+			public void onComplete( final Future< ClientResponse > response ) throws InterruptedException
+			{
+				try
+				{
+					final ClientResponse resultResponse = response.get();
+					if( future.isDone() )
+					{
+						// no one is waiting for the result anymore, so release the connection
+						resultResponse.close();
+					}
+					else if( resultResponse.getStatus() == Status.NO_CONTENT.getStatusCode() )
+					{
+						// not done yet, ask again
+						resultResponse.close();
+						requestResultAsync( resource, signature, requestId, serializer, future, pending );
+					}
+					else
+					{
+						future.complete( parseResult( signature, requestId, serializer, resultResponse ) );
+					}
+				}
+				catch( ExecutionException e )
+				{
+					future.completeExceptionally( e.getCause() );
+				}
+				catch( CancellationException e )
+				{
+					// the request was cancelled along with the future
+				}
+				catch( RuntimeException e )
+				{
+					future.completeExceptionally( e );
+				}
+			}
+		} ) );
+	}
+	
+	/**
+	 * Parses the result response and deserializes the result object, which is either sent raw (see
+	 * {@link #parseResultStream(DiffuserSignature, ResultId, Serializer, ClientResponse)}), as binary frames, 
+	 * or held in the entry of an Atom feed
+	 * @param signature a {@link DiffuserSignature} signature (which is different from a Java signature because it includes
+	 * the return type) of the diffuser to use to execute the method
+	 * @param requestId The request ID generated and returned after the method was executed
+	 * @param serializer The {@link Serializer} used to serialize and deserialize the object
+	 * @param resultResponse The response to the result request
+	 * @return The result object associated with the specified request ID
+	 */
+	private Object parseResult( final String signature, final String requestId, final Serializer serializer, final ClientResponse resultResponse )
+	{
+		final DiffuserSignature id = DiffuserSignature.parse( signature );
+		
+		// the result was sent as binary frames
+		if( DiffuserFrames.isFrames( resultResponse.getType() ) || ( isUsingFrames && resultResponse.getStatus() != Status.OK.getStatusCode() ) )
+		{
+			return parseResultFrames( id, new ResultId( signature, requestId ), serializer, resultResponse );
+		}
+		
+		// the serialized result was sent as the raw response (errors are reported as plain text)
+		final MediaType type = resultResponse.getType();
+		if( type != null && ( type.isCompatible( MediaType.APPLICATION_OCTET_STREAM_TYPE ) || type.isCompatible( MediaType.TEXT_PLAIN_TYPE ) ) )
+		{
+			return parseResultStream( id, new ResultId( signature, requestId ), serializer, resultResponse );
+		}
+		
 		Object object;
 		Feed feed;
 		try( InputStream response = resultResponse.getEntity( InputStream.class ) )
@@ -624,6 +1423,216 @@ public class RestfulDiffuserManagerClient {
 		return object;
 	}
 	
+	/**
+	 * Retrieves the results for the specified result IDs in one round trip. The server waits, at most, for
+	 * the specified time-out for results that are still running, and returns all the results that have
+	 * completed. Results that are still running are not in the response, and must be requested again.
+	 * @param resultIds The IDs of the results to retrieve. The results may belong to different diffusers.
+	 * @param timeout The maximum time, in milliseconds, that the server waits for results that are still 
+	 * running. A time-out of 0 returns the results that have already completed.
+	 * @return A {@link BulkResultResponse} holding the completed results (use 
+	 * {@link BulkResultResponse#getResults(Serializer)} to deserialize them) and the failed results
+	 */
+	public BulkResultResponse getResults( final List< ResultId > resultIds, final long timeout )
+	{
+		// create the URI to the results resource, and POST the request
+		final URI resultsUri = UriBuilder.fromUri( baseUri ).path( RestfulDiffuserManagerResource.RESULTS_PATH ).build();
+		final BulkResultRequest request = BulkResultRequest.create( resultIds, timeout );
+		final WebResource resource = client.resource( resultsUri );
+		resource.setProperty( ConnectionLimitClientFilter.LONG_POLL_PROPERTY, timeout > 0 );
+		final ClientResponse resultsResponse = resource.accept( MediaType.APPLICATION_ATOM_XML ).post( ClientResponse.class, request );
+		return parseResultsResponse( resultsUri, resultIds, resultsResponse );
+	}
+	
+	/**
+	 * Retrieves the results for the specified result IDs in one round trip, without blocking the calling 
+	 * thread (see {@link #getResults(List, long)}). The request is sent, and its response is parsed, on the 
+	 * shared client's thread pool, and so no thread of the caller is held while the server waits for the results
+	 * (though the request does hold one of the client's threads, see {@link RestfulClientFactory}).
+	 * @param resultIds The IDs of the results to retrieve. The results may belong to different diffusers.
+	 * @param timeout The maximum time, in milliseconds, that the server waits for results that are still 
+	 * running. A time-out of 0 returns the results that have already completed.
+	 * @return A {@link CompletableFuture} that completes with the {@link BulkResultResponse} holding the 
+	 * completed results and the failed results
+	 */
+	public CompletableFuture< BulkResultResponse > getResultsAsync( final List< ResultId > resultIds, final long timeout )
+	{
+		// create the URI to the results resource, and POST the request
+		final URI resultsUri = UriBuilder.fromUri( baseUri ).path( RestfulDiffuserManagerResource.RESULTS_PATH ).build();
+		final BulkResultRequest request = BulkResultRequest.create( resultIds, timeout );
+		
+		final CompletableFuture< BulkResultResponse > future = new CompletableFuture<>();
+		final AsyncWebResource resource = client.asyncResource( resultsUri );
+		resource.setProperty( ConnectionLimitClientFilter.LONG_POLL_PROPERTY, timeout > 0 );
+		resource.accept( MediaType.APPLICATION_ATOM_XML ).post( new TypeListener< ClientResponse >( ClientResponse.class ) {
+
+			@Override
+			public void onComplete( final Future< ClientResponse > response ) throws InterruptedException
+			{
+				try
+				{
+					future.complete( parseResultsResponse( resultsUri, resultIds, response.get() ) );
+				}
+				catch( ExecutionException e )
+				{
+					future.completeExceptionally( e.getCause() );
+				}
+				catch( RuntimeException e )
+				{
+					future.completeExceptionally( e );
+				}
+			}
+		}, request );
+		return future;
+	}
+	
+	/**
+	 * Parses the response to a bulk result request into a {@link BulkResultResponse}
+	 * @param resultsUri The URI of the results resource
+	 * @param resultIds The IDs of the requested results
+	 * @param resultsResponse The response to the bulk result request
+	 * @return The {@link BulkResultResponse} holding the completed results and the failed results
+	 */
+	private BulkResultResponse parseResultsResponse( final URI resultsUri, final List< ResultId > resultIds, final ClientResponse resultsResponse )
+	{
+		// parse the response into an Atom feed object and return it
+		try( InputStream response = resultsResponse.getEntity( InputStream.class ) )
+		{
+			final Feed feed = abdera.getParser().< Feed >parse( response ).getRoot();
+			return new BulkResultResponse( feed );
+		}
+		catch( ParseException | IOException e )
+		{
+			final StringBuilder message = new StringBuilder();
+			message.append( "Failed to parse the get-results response into an Atom feed" ).append( Constants.NEW_LINE )
+					.append( "  Results URI: " ).append( resultsUri.toString() ).append( Constants.NEW_LINE )
+					.append( "  Number of Result IDs: " ).append( resultIds.size() );
+			LOGGER.error( message.toString(), e );
+			throw new IllegalArgumentException( message.toString(), e );
+		}
+	}
+	
+	/**
+	 * Parses the result response sent in the binary frame format, and deserializes the result object
+	 * @param id The {@link DiffuserSignature} of the diffuser used to execute the method
+	 * @param resultId The {@link ResultId} of the result
+	 * @param serializer The {@link Serializer} used to serialize and deserialize the object
+	 * @param resultResponse The response to the result request
+	 * @return The result object associated with the specified result ID
+	 */
+	private Object parseResultFrames( final DiffuserSignature id, final ResultId resultId, final Serializer serializer, final ClientResponse resultResponse )
+	{
+		// errors are reported as plain text
+		if( resultResponse.getStatus() != Status.OK.getStatusCode() )
+		{
+			throw createResultFailure( resultId, resultResponse );
+		}
+		
+		// the result is deserialized straight from the response, rather than read into an array first
+		try( InputStream response = resultResponse.getEntity( InputStream.class ) )
+		{
+			final InputStream serializedResult = DiffuserFrames.openResult( response, resultId );
+			final Class< ? > returnType = id.getReturnTypeClazz();
+			if( returnType.equals( void.class ) || serializedResult == null )
+			{
+				return null;
+			}
+			return serializer.deserialize( serializedResult, returnType );
+		}
+		catch( IOException e )
+		{
+			final StringBuilder message = new StringBuilder();
+			message.append( "Failed to decode the get-result response from the binary frames" ).append( Constants.NEW_LINE )
+					.append( "  Result ID: " ).append( resultId.getResultId() );
+			LOGGER.error( message.toString(), e );
+			throw new IllegalArgumentException( message.toString(), e );
+		}
+	}
+	
+	/**
+	 * Deserializes the result object straight from the response, which holds the raw serialized result, so
+	 * that the result isn't copied into an intermediate array.
+	 * @param id The {@link DiffuserSignature} of the diffuser used to execute the method
+	 * @param resultId The {@link ResultId} of the result
+	 * @param serializer The {@link Serializer} used to serialize and deserialize the object
+	 * @param resultResponse The response to the result request
+	 * @return The result object associated with the specified result ID
+	 */
+	private Object parseResultStream( final DiffuserSignature id, final ResultId resultId, final Serializer serializer, final ClientResponse resultResponse )
+	{
+		// errors are reported as plain text
+		if( resultResponse.getStatus() != Status.OK.getStatusCode() )
+		{
+			throw createResultFailure( resultId, resultResponse );
+		}
+		
+		try( InputStream response = resultResponse.getEntityInputStream() )
+		{
+			final Class< ? > returnType = id.getReturnTypeClazz();
+			if( returnType.equals( void.class ) )
+			{
+				return null;
+			}
+			return serializer.deserialize( response, returnType );
+		}
+		catch( IOException e )
+		{
+			final StringBuilder message = new StringBuilder();
+			message.append( "Failed to read the get-result response" ).append( Constants.NEW_LINE )
+					.append( "  Result ID: " ).append( resultId.getResultId() );
+			LOGGER.error( message.toString(), e );
+			throw new IllegalArgumentException( message.toString(), e );
+		}
+	}
+	
+	/**
+	 * Logs and returns the exception reporting that the server failed to return the result. The reason
+	 * for the failure is the plain text of the response.
+	 * @param resultId The {@link ResultId} of the result
+	 * @param resultResponse The response to the result request
+	 * @return The exception reporting the failure
+	 */
+	private static IllegalStateException createResultFailure( final ResultId resultId, final ClientResponse resultResponse )
+	{
+		final StringBuilder message = new StringBuilder();
+		message.append( "Failed to retrieve the result." ).append( Constants.NEW_LINE )
+				.append( "  Result ID: " ).append( resultId.getResultId() ).append( Constants.NEW_LINE )
+				.append( "  Status: " ).append( resultResponse.getStatus() ).append( Constants.NEW_LINE )
+				.append( "  Reason: " ).append( resultResponse.getEntity( String.class ) );
+		LOGGER.error( message.toString() );
+		return new IllegalStateException( message.toString() );
+	}
+	
+	/**
+	 * Requests that the server cancel the execution of the task associated with the specified signature and 
+	 * request ID, and discard its result. Used to cancel redundant executions whose results are no longer needed.
+	 * @param signature a {@link DiffuserSignature} signature (which is different from a Java signature because it includes
+	 * the return type) of the diffuser used to execute the method
+	 * @param requestId The request ID generated and returned after the method was executed
+	 * @return true if the server found and cancelled the task; false otherwise
+	 */
+	public boolean cancelResult( final String signature, final String requestId )
+	{
+		// create the URI to the result with the specified signature and request ID
+		final URI resultUri = UriBuilder.fromUri( baseUri ).path( signature ).path( requestId ).build();
+		
+		// create the web resource for making the call, and make the call to DELETE the result
+		final WebResource resource = client.resource( resultUri );
+		final ClientResponse cancelResponse = resource.accept( MediaType.APPLICATION_ATOM_XML ).delete( ClientResponse.class );
+		cancelResponse.close();
+		
+		final boolean isCancelled = cancelResponse.getStatus() == Status.OK.getStatusCode();
+		if( !isCancelled && LOGGER.isDebugEnabled() )
+		{
+			final StringBuilder message = new StringBuilder();
+			message.append( "Server did not cancel the result" ).append( Constants.NEW_LINE )
+					.append( "  Result URI: " ).append( resultUri.toString() ).append( Constants.NEW_LINE )
+					.append( "  Status: " ).append( cancelResponse.getStatus() );
+			LOGGER.debug( message.toString() );
+		}
+		return isCancelled;
+	}
+	
 	/**
 	 * Returns true if the task associated with the specified result code has completed; false otherwise
 	 * @param resultId The ID of the result that will be generated by the associated task
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Service provider interface for the codecs that compress the payloads (execute requests, results, and
+ * class bytes) sent between the RESTful diffusers. The codec's name is the HTTP content-coding token used
+ * in the {@code Content-Encoding} and {@code Accept-Encoding} headers through which the compression is
+ * negotiated for each request. Additional codecs are registered with the {@link CompressionCodecFactory},
+ * or listed in a {@code META-INF/services/org.microtitan.diffusive.diffuser.restful.compression.CompressionCodec}
+ * file so that they are found by the {@link java.util.ServiceLoader}.
+ * 
+ * @author Robert Philipp
+ */
+public interface CompressionCodec {
+
+	/**
+	 * @return The HTTP content-coding token of the codec (for example, "gzip")
+	 */
+	String getName();
+	
+	/**
+	 * Wraps the specified output stream in a stream that compresses the bytes written to it. Closing 
+	 * the returned stream finishes the compression and closes the specified output stream.
+	 * @param output The output stream to which to write the compressed bytes
+	 * @return The output stream to which to write the uncompressed bytes
+	 * @throws IOException
+	 */
+	OutputStream compress( final OutputStream output ) throws IOException;
+	
+	/**
+	 * Wraps the specified input stream in a stream that decompresses the bytes read from it
+	 * @param input The input stream from which to read the compressed bytes
+	 * @return The input stream from which to read the decompressed bytes
+	 * @throws IOException
+	 */
+	InputStream decompress( final InputStream input ) throws IOException;
+}
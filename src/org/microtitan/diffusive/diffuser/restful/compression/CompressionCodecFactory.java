@@ -0,0 +1,185 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+
+/**
+ * Registry of the {@link CompressionCodec}s, keyed by their content-coding names. The "gzip" and
+ * "deflate" codecs are always available. Additional codecs are found through the {@link ServiceLoader}
+ * when the factory is first used, or registered with the {@link #register(CompressionCodec)} method.
+ * Payloads smaller than a threshold (by default, {@link #DEFAULT_THRESHOLD} bytes) aren't worth compressing.
+ * 
+ * @author Robert Philipp
+ */
+public class CompressionCodecFactory {
+
+	private static final Logger LOGGER = Logger.getLogger( CompressionCodecFactory.class );
+	
+	public static final int DEFAULT_THRESHOLD = 1024;
+	
+	public static final String CONTENT_ENCODING = "Content-Encoding";
+	public static final String ACCEPT_ENCODING = "Accept-Encoding";
+	
+	/**
+	 * CompressionCodecFactoryHolder is loaded on the first execution of
+	 * CompressionCodecFactory.getInstance() or the first access to CompressionCodecFactoryHolder.INSTANCE,
+	 * not before.
+	 */
+	private static class CompressionCodecFactoryHolder {
+		
+		public static final CompressionCodecFactory INSTANCE = new CompressionCodecFactory();
+	}
+
+	/**
+	 * @return The singleton instance of the {@link CompressionCodecFactory}
+	 */
+	public static CompressionCodecFactory getInstance()
+	{
+		return CompressionCodecFactoryHolder.INSTANCE;
+	}
+	
+	private final Map< String, CompressionCodec > codecs;
+	
+	/**
+	 * Private constructor prevents instantiation from other classes
+	 */
+	private CompressionCodecFactory()
+	{
+		codecs = new LinkedHashMap<>();
+		addCodec( new GzipCompressionCodec() );
+		addCodec( new DeflateCompressionCodec() );
+		for( CompressionCodec codec : ServiceLoader.load( CompressionCodec.class ) )
+		{
+			addCodec( codec );
+		}
+	}
+	
+	/*
+	 * Adds the codec to the map of codecs under its lower-case name (content-codings are case-insensitive)
+	 */
+	private void addCodec( final CompressionCodec codec )
+	{
+		codecs.put( codec.getName().toLowerCase(), codec );
+	}
+	
+	/**
+	 * Registers the specified codec, replacing any codec with the same name
+	 * @param codec The {@link CompressionCodec} to register
+	 */
+	public synchronized static void register( final CompressionCodec codec )
+	{
+		getInstance().addCodec( codec );
+	}
+	
+	/**
+	 * @param name The content-coding name of the codec
+	 * @return The {@link CompressionCodec} with the specified name; or null if no codec with that name exists
+	 */
+	public synchronized static CompressionCodec getCodec( final String name )
+	{
+		return name == null ? null : getInstance().codecs.get( name.trim().toLowerCase() );
+	}
+	
+	/**
+	 * @return The content-coding names of the registered codecs
+	 */
+	public synchronized static Set< String > getCodecNames()
+	{
+		return new LinkedHashSet<>( getInstance().codecs.keySet() );
+	}
+	
+	/**
+	 * @return The value of the {@code Accept-Encoding} header that lists the registered codecs
+	 */
+	public synchronized static String createAcceptEncoding()
+	{
+		final StringBuilder acceptEncoding = new StringBuilder();
+		for( String name : getInstance().codecs.keySet() )
+		{
+			if( acceptEncoding.length() > 0 )
+			{
+				acceptEncoding.append( ", " );
+			}
+			acceptEncoding.append( name );
+		}
+		return acceptEncoding.toString();
+	}
+	
+	/**
+	 * Selects the first registered codec listed in the specified {@code Accept-Encoding} header. Codings
+	 * with a quality of 0 are not acceptable, and are skipped.
+	 * @param acceptEncoding The value of the {@code Accept-Encoding} header
+	 * @return The {@link CompressionCodec} to use; or null if the header is missing or doesn't list any registered codec
+	 */
+	public static CompressionCodec negotiate( final String acceptEncoding )
+	{
+		if( acceptEncoding == null || acceptEncoding.isEmpty() )
+		{
+			return null;
+		}
+		
+		for( String coding : acceptEncoding.split( "," ) )
+		{
+			final String[] parts = coding.split( ";" );
+			if( parts.length > 1 && parts[ 1 ].trim().matches( "q\\s*=\\s*0(\\.0*)?" ) )
+			{
+				continue;
+			}
+			final CompressionCodec codec = getCodec( parts[ 0 ] );
+			if( codec != null )
+			{
+				return codec;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Compresses the specified bytes with the specified codec
+	 * @param codec The {@link CompressionCodec} with which to compress the bytes
+	 * @param bytes The bytes to compress
+	 * @return The compressed bytes
+	 */
+	public static byte[] compress( final CompressionCodec codec, final byte[] bytes )
+	{
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream( Math.max( bytes.length / 4, 64 ) );
+		try( final OutputStream output = codec.compress( compressed ) )
+		{
+			output.write( bytes );
+		}
+		catch( IOException e )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Failed to compress the payload." + Constants.NEW_LINE );
+			message.append( "  Codec: " + codec.getName() + Constants.NEW_LINE );
+			message.append( "  Payload Size: " + bytes.length );
+			LOGGER.error( message.toString(), e );
+			throw new IllegalStateException( message.toString(), e );
+		}
+		return compressed.toByteArray();
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link CompressionCodec} for the "gzip" content-coding, using the {@code java.util.zip} streams
+ * 
+ * @author Robert Philipp
+ */
+public class GzipCompressionCodec implements CompressionCodec {
+
+	public static final String NAME = "gzip";
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.compression.CompressionCodec#getName()
+	 */
+	@Override
+	public String getName()
+	{
+		return NAME;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.compression.CompressionCodec#compress(java.io.OutputStream)
+	 */
+	@Override
+	public OutputStream compress( final OutputStream output ) throws IOException
+	{
+		return new GZIPOutputStream( output );
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.compression.CompressionCodec#decompress(java.io.InputStream)
+	 */
+	@Override
+	public InputStream decompress( final InputStream input ) throws IOException
+	{
+		return new GZIPInputStream( input );
+	}
+}
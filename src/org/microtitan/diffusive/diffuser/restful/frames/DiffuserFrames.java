@@ -0,0 +1,360 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.frames;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Calendar;
+
+import javax.ws.rs.core.MediaType;
+
+import org.apache.commons.io.input.BoundedInputStream;
+import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.restful.request.ExecuteDiffuserRequest;
+import org.microtitan.diffusive.diffuser.restful.resources.ResultId;
+import org.microtitan.diffusive.diffuser.restful.response.ExecuteDiffuserResponse;
+
+/**
+ * Compact binary wire format for the execute requests, the execute responses, and the results. This is an
+ * alternative to the Atom feeds and the JAXB XML, which base64 encode the serialized objects (inflating them 
+ * by about a third) and must be parsed as XML on both sides. The client selects the format through the
+ * {@code Content-Type} and {@code Accept} headers, and the server supports both formats.
+ * 
+ * A message is a version byte followed by a sequence of length-prefixed frames. Each frame is a 4-byte
+ * (big-endian) length followed by that many bytes. Strings are UTF-8 encoded, and a length of -1 
+ * represents a {@code null} value. The version is bumped whenever the layout of a message changes, so that a
+ * peer using a different layout fails fast rather than misreading the frames (version 2 appended the time 
+ * budget and the priority to the execute request).
+ * 
+ * @author Robert Philipp
+ */
+public final class DiffuserFrames {
+
+	public static final String APPLICATION_DIFFUSIVE_FRAMES = "application/x-diffusive-frames";
+	public static final MediaType APPLICATION_DIFFUSIVE_FRAMES_TYPE = MediaType.valueOf( APPLICATION_DIFFUSIVE_FRAMES );
+	
+	public static final byte VERSION = 2;
+	
+	private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+	private static final int NULL_LENGTH = -1;
+	private static final int READ_CHUNK_SIZE = 64 * 1024;
+	
+	private DiffuserFrames() {}
+	
+	/**
+	 * @param mediaType The media type of a request or response
+	 * @return true if the specified media type is the binary frame media type; false otherwise
+	 */
+	public static boolean isFrames( final MediaType mediaType )
+	{
+		return mediaType != null && APPLICATION_DIFFUSIVE_FRAMES_TYPE.isCompatible( mediaType );
+	}
+	
+	/**
+	 * Encodes the execute request into frames: the return type, the containing object's type, the serialized
+	 * object, the serializer type, the number of arguments, the type and serialized value of each argument, 
+	 * the time budget (8 bytes) remaining until the caller's deadline, and then the priority (4 bytes). The signature
+	 * is part of the URI, and the server creates the request ID.
+	 * @param request The {@link ExecuteDiffuserRequest} to encode
+	 * @return The encoded request
+	 */
+	public static byte[] encodeExecuteRequest( final ExecuteDiffuserRequest request )
+	{
+		try( final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			 final DataOutputStream output = new DataOutputStream( bytes ) )
+		{
+			output.writeByte( VERSION );
+			writeString( output, request.getReturnType() );
+			writeString( output, request.getObjectType() );
+			writeBytes( output, request.getObject() );
+			writeString( output, request.getSerializerType() );
+			
+			final int numArguments = request.getArgumentTypes().size();
+			output.writeInt( numArguments );
+			for( int i = 0; i < numArguments; ++i )
+			{
+				writeString( output, request.getArgumentTypes().get( i ) );
+				writeBytes( output, request.getArgumentValues().get( i ) );
+			}
+			output.writeLong( request.getTimeBudget() );
+			output.writeInt( request.getPriority() );
+			output.flush();
+			return bytes.toByteArray();
+		}
+		catch( IOException e )
+		{
+			throw new IllegalStateException( "Failed to encode the execute request into frames.", e );
+		}
+	}
+	
+	/**
+	 * Decodes the execute request from the frames written by the {@link #encodeExecuteRequest(ExecuteDiffuserRequest)} method
+	 * @param input The input stream holding the encoded request
+	 * @return The {@link ExecuteDiffuserRequest}
+	 * @throws IOException if the input stream ends before the request has been read
+	 */
+	public static ExecuteDiffuserRequest decodeExecuteRequest( final InputStream input ) throws IOException
+	{
+		final DataInputStream frames = readVersion( input );
+		final String returnType = readString( frames );
+		final String objectType = readString( frames );
+		final byte[] object = readBytes( frames );
+		final String serializerType = readString( frames );
+		
+		final ExecuteDiffuserRequest request = ExecuteDiffuserRequest.create( returnType, objectType, object, serializerType );
+		final int numArguments = frames.readInt();
+		for( int i = 0; i < numArguments; ++i )
+		{
+			request.addArgument( readString( frames ), readBytes( frames ) );
+		}
+		request.setTimeBudget( frames.readLong() );
+		request.setPriority( frames.readInt() );
+		return request;
+	}
+	
+	/**
+	 * Encodes the response to an execute request into frames: the signature, the request ID, and the URI of the result
+	 * @param resultId The {@link ResultId} of the submitted task
+	 * @param resultUri The URI from which to retrieve the result
+	 * @return The encoded response
+	 */
+	public static byte[] encodeExecuteResponse( final ResultId resultId, final URI resultUri )
+	{
+		try( final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			 final DataOutputStream output = new DataOutputStream( bytes ) )
+		{
+			output.writeByte( VERSION );
+			writeString( output, resultId.getSignature() );
+			writeString( output, resultId.getRequestId() );
+			writeString( output, resultUri.toString() );
+			output.flush();
+			return bytes.toByteArray();
+		}
+		catch( IOException e )
+		{
+			throw new IllegalStateException( "Failed to encode the execute response into frames.", e );
+		}
+	}
+	
+	/**
+	 * Decodes the response to an execute request from the frames written by the {@link #encodeExecuteResponse(ResultId, URI)} method
+	 * @param input The input stream holding the encoded response
+	 * @return The {@link ExecuteDiffuserResponse}, which has no underlying Atom feed
+	 * @throws IOException if the input stream ends before the response has been read
+	 */
+	public static ExecuteDiffuserResponse decodeExecuteResponse( final InputStream input ) throws IOException
+	{
+		final DataInputStream frames = readVersion( input );
+		final String signature = readString( frames );
+		final String requestId = readString( frames );
+		final URI resultUri = URI.create( readString( frames ) );
+		return new ExecuteDiffuserResponse( resultUri, ResultId.create( signature, requestId ), requestId, Calendar.getInstance() );
+	}
+	
+	/**
+	 * Encodes the result into frames: the result ID, and the serialized result object
+	 * @param resultId The {@link ResultId} of the result
+	 * @param serializedResult The serialized result object
+	 * @return The encoded result
+	 */
+	public static byte[] encodeResult( final ResultId resultId, final byte[] serializedResult )
+	{
+		try( final ByteArrayOutputStream bytes = new ByteArrayOutputStream( serializedResult.length + 256 );
+			 final DataOutputStream output = new DataOutputStream( bytes ) )
+		{
+			output.writeByte( VERSION );
+			writeString( output, resultId.getResultId() );
+			writeBytes( output, serializedResult );
+			output.flush();
+			return bytes.toByteArray();
+		}
+		catch( IOException e )
+		{
+			throw new IllegalStateException( "Failed to encode the result into frames.", e );
+		}
+	}
+	
+	/**
+	 * Writes the result, as frames, to the output stream: the result ID, and the serialized result object. 
+	 * The serialized result is written straight from the buffer, so that a result held in a memory-mapped 
+	 * region is sent without first being copied onto the heap. The frames are the same as those created by 
+	 * the {@link #encodeResult(ResultId, byte[])} method.
+	 * @param resultId The {@link ResultId} of the result
+	 * @param serializedResult The serialized result object
+	 * @param output The output stream to which to write the frames
+	 * @throws IOException if the frames could not be written to the output stream
+	 */
+	public static void writeResult( final ResultId resultId, final ByteBuffer serializedResult, final OutputStream output ) throws IOException
+	{
+		final DataOutputStream frames = new DataOutputStream( output );
+		frames.writeByte( VERSION );
+		writeString( frames, resultId.getResultId() );
+		frames.writeInt( serializedResult.remaining() );
+		frames.flush();
+		
+		final WritableByteChannel channel = Channels.newChannel( output );
+		final ByteBuffer buffer = serializedResult.duplicate();
+		while( buffer.hasRemaining() )
+		{
+			channel.write( buffer );
+		}
+		output.flush();
+	}
+	
+	/**
+	 * Decodes the serialized result object from the frames written by the {@link #encodeResult(ResultId, byte[])} method
+	 * @param input The input stream holding the encoded result
+	 * @param resultId The {@link ResultId} of the requested result, which must match the one in the frames
+	 * @return The serialized result object
+	 * @throws IOException if the input stream ends before the result has been read
+	 */
+	public static byte[] decodeResult( final InputStream input, final ResultId resultId ) throws IOException
+	{
+		return readBytes( readResultId( input, resultId ) );
+	}
+	
+	/**
+	 * Reads the frames written by the {@link #encodeResult(ResultId, byte[])} method up to the serialized result 
+	 * object, and returns a stream over the serialized result, so that the result can be deserialized straight
+	 * from the input stream without first reading it into an array.
+	 * @param input The input stream holding the encoded result
+	 * @param resultId The {@link ResultId} of the requested result, which must match the one in the frames
+	 * @return A stream over the serialized result object, which ends with the serialized result; or null if
+	 * the frames hold a {@code null} result
+	 * @throws IOException if the input stream ends before the frames preceding the result have been read
+	 */
+	public static InputStream openResult( final InputStream input, final ResultId resultId ) throws IOException
+	{
+		final DataInputStream frames = readResultId( input, resultId );
+		final int length = frames.readInt();
+		if( length == NULL_LENGTH )
+		{
+			return null;
+		}
+		if( length < 0 )
+		{
+			throw new IllegalArgumentException( "Invalid frame length: " + length );
+		}
+		return new BoundedInputStream( frames, length );
+	}
+	
+	/*
+	 * Reads the version byte and the result ID at the start of a result, and ensures that the result ID 
+	 * is the one requested
+	 */
+	private static DataInputStream readResultId( final InputStream input, final ResultId resultId ) throws IOException
+	{
+		final DataInputStream frames = readVersion( input );
+		final String id = readString( frames );
+		if( !resultId.getResultId().equals( id ) )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The result ID in the frames doesn't match the requested result ID." + Constants.NEW_LINE );
+			message.append( "  Requested Result ID: " + resultId.getResultId() + Constants.NEW_LINE );
+			message.append( "  Result ID in Frames: " + id );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		return frames;
+	}
+	
+	/*
+	 * Reads the version byte at the start of a message and ensures that it is supported
+	 */
+	private static DataInputStream readVersion( final InputStream input ) throws IOException
+	{
+		final DataInputStream frames = new DataInputStream( input );
+		final byte version = frames.readByte();
+		if( version != VERSION )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Unsupported frame version." + Constants.NEW_LINE );
+			message.append( "  Supported Version: " + VERSION + Constants.NEW_LINE );
+			message.append( "  Specified Version: " + version );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		return frames;
+	}
+	
+	private static void writeBytes( final DataOutputStream output, final byte[] value ) throws IOException
+	{
+		if( value == null )
+		{
+			output.writeInt( NULL_LENGTH );
+		}
+		else
+		{
+			output.writeInt( value.length );
+			output.write( value );
+		}
+	}
+	
+	private static void writeString( final DataOutputStream output, final String value ) throws IOException
+	{
+		writeBytes( output, value == null ? null : value.getBytes( UTF_8 ) );
+	}
+	
+	private static byte[] readBytes( final DataInputStream input ) throws IOException
+	{
+		final int length = input.readInt();
+		if( length == NULL_LENGTH )
+		{
+			return null;
+		}
+		if( length < 0 )
+		{
+			throw new IllegalArgumentException( "Invalid frame length: " + length );
+		}
+		if( length <= READ_CHUNK_SIZE )
+		{
+			final byte[] value = new byte[ length ];
+			input.readFully( value );
+			return value;
+		}
+		
+		// the length comes from the peer, and so the value grows as its bytes arrive, rather than
+		// allocating the whole length up front
+		final ByteArrayOutputStream value = new ByteArrayOutputStream( READ_CHUNK_SIZE );
+		final byte[] chunk = new byte[ READ_CHUNK_SIZE ];
+		int remaining = length;
+		while( remaining > 0 )
+		{
+			final int numRead = input.read( chunk, 0, Math.min( remaining, chunk.length ) );
+			if( numRead < 0 )
+			{
+				throw new EOFException( "The frame ended after " + ( length - remaining ) + " of its " + length + " bytes." );
+			}
+			value.write( chunk, 0, numRead );
+			remaining -= numRead;
+		}
+		return value.toByteArray();
+	}
+	
+	private static String readString( final DataInputStream input ) throws IOException
+	{
+		final byte[] value = readBytes( input );
+		return value == null ? null : new String( value, UTF_8 );
+	}
+}
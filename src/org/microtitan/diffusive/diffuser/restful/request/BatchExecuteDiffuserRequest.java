@@ -0,0 +1,315 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.request;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.serializer.Serializer;
+import org.microtitan.diffusive.diffuser.serializer.SerializerFactory;
+
+/**
+ * Represents the request issued to the RESTful service to execute the same method, on the same object,
+ * for a number of different argument tuples. The object containing the method is serialized once for the
+ * whole batch, and the request carries one list of serialized argument values for each invocation. The
+ * service treats each invocation as though it were sent in its own {@link ExecuteDiffuserRequest}, and
+ * so each invocation receives its own request ID. An invocation may carry its own time budget and priority,
+ * which override the ones shared by the batch.
+ *
+ * @author Robert Philipp
+ */
+@XmlRootElement
+@XmlAccessorType( XmlAccessType.FIELD )
+public class BatchExecuteDiffuserRequest {
+
+	@XmlElement
+	private String returnType;
+
+	@XmlElement
+	private List< String > argumentTypes;
+	@XmlElement
+	private List< Invocation > invocations;
+
+	@XmlElement
+	private String serializedObjectType;
+	@XmlElement
+	private byte[] serializedObject;
+	@XmlElement
+	private String serializerType;
+	@XmlElement
+	private long timeBudget;
+	@XmlElement
+	private int priority;
+
+	/**
+	 * Default constructor that sets the base defaults for the request
+	 */
+	public BatchExecuteDiffuserRequest()
+	{
+		this.returnType = void.class.getName();
+		this.argumentTypes = new ArrayList< String >();
+		this.invocations = new ArrayList< Invocation >();
+		this.timeBudget = ExecuteDiffuserRequest.NO_DEADLINE;
+		this.priority = ExecuteDiffuserRequest.DEFAULT_PRIORITY;
+	}
+
+	/**
+	 * Factory method for creating a request to execute a method for a batch of argument tuples. Add the
+	 * argument tuples with the {@link #addInvocation(List)} method.
+	 * @param returnType The return type class name of the method.
+	 * @param argumentTypes The class names of the methods formal parameters
+	 * @param serializedObjectType The class name of the object whose class holds the method to be executed
+	 * @param serializedObject The serialized object that contains the method
+	 * @param serializerType The serializer type name (see {@link SerializerFactory})
+	 * @return The request to execute the method
+	 */
+	public static final BatchExecuteDiffuserRequest create( final String returnType,
+															final List< String > argumentTypes,
+															final String serializedObjectType,
+															final byte[] serializedObject,
+															final String serializerType )
+	{
+		final BatchExecuteDiffuserRequest request = new BatchExecuteDiffuserRequest();
+		request.returnType = returnType;
+		request.argumentTypes.addAll( argumentTypes );
+		request.serializedObjectType = serializedObjectType;
+		request.serializedObject = serializedObject;
+		request.serializerType = serializerType;
+		return request;
+	}
+
+	/**
+	 * Adds an invocation of the method, with the specified serialized argument values, to the batch
+	 * @param argumentValues The serialized values of the actual parameters passed to the method
+	 * @return this object for chaining
+	 */
+	public BatchExecuteDiffuserRequest addInvocation( final List< byte[] > argumentValues )
+	{
+		return addInvocation( new Invocation( argumentValues ) );
+	}
+
+	/**
+	 * Adds the specified invocation of the method to the batch. The invocation's time budget and priority, 
+	 * when set, override the ones shared by the batch.
+	 * @param invocation The invocation holding the serialized values of the actual parameters passed to the method
+	 * @return this object for chaining
+	 */
+	public BatchExecuteDiffuserRequest addInvocation( final Invocation invocation )
+	{
+		final List< byte[] > argumentValues = invocation.getArgumentValues();
+		if( argumentValues.size() != argumentTypes.size() )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The number of method argument types must equal the number of method argument values" + Constants.NEW_LINE );
+			message.append( "  Number of Argument Types: " + argumentTypes.size() + Constants.NEW_LINE );
+			message.append( "  Number of Argument Values: " + argumentValues.size() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		invocations.add( invocation );
+		return this;
+	}
+
+	/**
+	 * Sets the time remaining until the caller's deadline, which is shared by the invocations in the batch
+	 * that don't have their own time budget
+	 * @param timeBudget The time remaining, in milliseconds, until the deadline; or {@link ExecuteDiffuserRequest#NO_DEADLINE}
+	 * @return this object for chaining
+	 * @see ExecuteDiffuserRequest#setTimeBudget(long)
+	 */
+	public BatchExecuteDiffuserRequest setTimeBudget( final long timeBudget )
+	{
+		this.timeBudget = timeBudget < 0 ? ExecuteDiffuserRequest.NO_DEADLINE : timeBudget;
+		return this;
+	}
+
+	/**
+	 * @return the time remaining, in milliseconds, until the caller's deadline, when the batch was sent;
+	 * or {@link ExecuteDiffuserRequest#NO_DEADLINE} if the caller has no deadline
+	 */
+	public long getTimeBudget()
+	{
+		return timeBudget;
+	}
+
+	/**
+	 * Sets the priority, which is shared by the invocations in the batch that don't have their own priority
+	 * @param priority The priority of the invocations
+	 * @return this object for chaining
+	 * @see ExecuteDiffuserRequest#setPriority(int)
+	 */
+	public BatchExecuteDiffuserRequest setPriority( final int priority )
+	{
+		this.priority = priority;
+		return this;
+	}
+
+	/**
+	 * @return the priority of the invocations in the batch
+	 */
+	public int getPriority()
+	{
+		return priority;
+	}
+
+	/**
+	 * @return the number of invocations in the batch
+	 */
+	public int getInvocationCount()
+	{
+		return invocations.size();
+	}
+
+	/**
+	 * Creates one {@link ExecuteDiffuserRequest} for each of the invocations in the batch, in the order
+	 * in which they were added. Each of the requests has its own request ID, and shares the serialized
+	 * object with the other requests. Each request has the invocation's time budget and priority, or when
+	 * the invocation doesn't have them, the ones shared by the batch.
+	 * @return A {@link List} of {@link ExecuteDiffuserRequest}s, one for each invocation in the batch
+	 */
+	public List< ExecuteDiffuserRequest > createExecuteRequests()
+	{
+		final List< ExecuteDiffuserRequest > requests = new ArrayList<>( invocations.size() );
+		for( Invocation invocation : invocations )
+		{
+			requests.add( ExecuteDiffuserRequest.create( returnType,
+														 argumentTypes,
+														 invocation.getArgumentValues(),
+														 serializedObjectType,
+														 serializedObject,
+														 serializerType )
+											  .setTimeBudget( invocation.getTimeBudget() == null ? timeBudget : invocation.getTimeBudget() )
+											  .setPriority( invocation.getPriority() == null ? priority : invocation.getPriority() ) );
+		}
+		return requests;
+	}
+
+	/**
+	 * @return the class name of the return type from the method to execute
+	 */
+	public String getReturnType()
+	{
+		return returnType;
+	}
+
+	/**
+	 * @return a {@link List} of the class names of the formal parameters in the order they appear in the signature
+	 */
+	public List< String > getArgumentTypes()
+	{
+		return argumentTypes;
+	}
+
+	/**
+	 * @return the serialized containing object
+	 */
+	public byte[] getObject()
+	{
+		return serializedObject;
+	}
+
+	/**
+	 * @return the object's fully qualified class name
+	 */
+	public String getObjectType()
+	{
+		return serializedObjectType;
+	}
+
+	/**
+	 * @return the {@link Serializer} name as it would appear in the {@link SerializerFactory}.
+	 */
+	public String getSerializerType()
+	{
+		return serializerType;
+	}
+
+	/**
+	 * Holds the serialized argument values for one invocation of the method in the batch, and optionally,
+	 * the invocation's own time budget and priority
+	 */
+	@XmlAccessorType( XmlAccessType.FIELD )
+	public static class Invocation {
+
+		@XmlElement
+		private List< byte[] > argumentValues;
+		@XmlElement
+		private Long timeBudget;
+		@XmlElement
+		private Integer priority;
+
+		/**
+		 * Default constructor needed for JAXB
+		 */
+		public Invocation()
+		{
+			this.argumentValues = new ArrayList< byte[] >();
+		}
+
+		/**
+		 * Constructs an invocation with the specified serialized argument values
+		 * @param argumentValues The serialized values of the actual parameters passed to the method
+		 */
+		public Invocation( final List< byte[] > argumentValues )
+		{
+			this.argumentValues = new ArrayList<>( argumentValues );
+		}
+
+		/**
+		 * Constructs an invocation with the specified serialized argument values, time budget, and priority
+		 * @param argumentValues The serialized values of the actual parameters passed to the method
+		 * @param timeBudget The time remaining, in milliseconds, until the invocation's deadline; or 
+		 * {@link ExecuteDiffuserRequest#NO_DEADLINE}
+		 * @param priority The priority of the invocation
+		 */
+		public Invocation( final List< byte[] > argumentValues, final long timeBudget, final int priority )
+		{
+			this( argumentValues );
+			this.timeBudget = timeBudget < 0 ? ExecuteDiffuserRequest.NO_DEADLINE : timeBudget;
+			this.priority = priority;
+		}
+
+		/**
+		 * @return a {@link List} of the actual parameter values in the order they appear in the signature
+		 */
+		public List< byte[] > getArgumentValues()
+		{
+			return argumentValues;
+		}
+
+		/**
+		 * @return the time remaining, in milliseconds, until the invocation's deadline; or null if the invocation
+		 * shares the time budget of the batch
+		 */
+		public Long getTimeBudget()
+		{
+			return timeBudget;
+		}
+
+		/**
+		 * @return the priority of the invocation; or null if the invocation shares the priority of the batch
+		 */
+		public Integer getPriority()
+		{
+			return priority;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.request;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.microtitan.diffusive.diffuser.restful.resources.ResultId;
+
+/**
+ * Represents the request issued to the RESTful service to retrieve the results for a number of result IDs
+ * in one round trip. The result IDs may belong to different diffusers (signatures).
+ * 
+ * @author Robert Philipp
+ */
+@XmlRootElement
+@XmlAccessorType( XmlAccessType.FIELD )
+public class BulkResultRequest {
+
+	@XmlElement
+	private List< String > resultIds;
+	
+	@XmlElement
+	private long timeout;
+	
+	/**
+	 * Default constructor that sets the base defaults for the request
+	 */
+	public BulkResultRequest()
+	{
+		this.resultIds = new ArrayList< String >();
+		this.timeout = 0;
+	}
+	
+	/**
+	 * Factory method for creating a request to retrieve the results for the specified result IDs
+	 * @param resultIds The IDs of the results to retrieve
+	 * @param timeout The maximum time, in milliseconds, that the service waits for the results that are 
+	 * still running to complete. A time-out of 0 returns the results that have already completed.
+	 * @return The request to retrieve the results
+	 */
+	public static final BulkResultRequest create( final List< ResultId > resultIds, final long timeout )
+	{
+		final BulkResultRequest request = new BulkResultRequest();
+		for( ResultId resultId : resultIds )
+		{
+			request.resultIds.add( resultId.getResultId() );
+		}
+		request.timeout = timeout;
+		return request;
+	}
+	
+	/**
+	 * @return The string representation of the IDs of the results to retrieve (see {@link ResultId#getResultId()})
+	 */
+	public List< String > getResultIds()
+	{
+		return resultIds;
+	}
+	
+	/**
+	 * @return The maximum time, in milliseconds, that the service waits for the results that are still 
+	 * running to complete
+	 */
+	public long getTimeout()
+	{
+		return timeout;
+	}
+}
@@ -299,7 +299,7 @@ public class CreateDiffuserRequest {
 	 */
 	public Serializer getSerializer()
 	{
-		return SerializerFactory.getInstance().createSerializer( serializerType );
+		return SerializerFactory.getInstance().getSerializer( serializerType );
 	}
 	
 	/**
@@ -18,12 +18,14 @@ package org.microtitan.diffusive.diffuser.restful.request;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 
 import org.microtitan.diffusive.Constants;
 import org.microtitan.diffusive.containers.Pair;
+import org.microtitan.diffusive.diffuser.Deadline;
 import org.microtitan.diffusive.diffuser.serializer.Serializer;
 import org.microtitan.diffusive.diffuser.serializer.SerializerFactory;
 import org.microtitan.diffusive.utils.ReflectionUtils;
@@ -37,6 +39,9 @@ import org.microtitan.diffusive.utils.ReflectionUtils;
  */
 @XmlRootElement
 public class ExecuteDiffuserRequest {
+	
+	public static final long NO_DEADLINE = -1;
+	public static final int DEFAULT_PRIORITY = 0;
 
 	private String returnType;
 	
@@ -52,6 +57,12 @@ public class ExecuteDiffuserRequest {
 	private byte[] serializedObject;
 	private String serializerType;
 	
+	// the time remaining, in milliseconds, until the caller's deadline, when the request was sent
+	private long timeBudget;
+	
+	// the priority of the request; the server runs waiting requests with greater priorities first
+	private int priority;
+	
 	private final String requestId;
 	
 	/**
@@ -62,6 +73,8 @@ public class ExecuteDiffuserRequest {
 		this.returnType = void.class.getName();
 		this.argumentTypes = new ArrayList< String >();
 		this.argumentValues =  new ArrayList< byte[] >();
+		this.timeBudget = NO_DEADLINE;
+		this.priority = DEFAULT_PRIORITY;
 		this.requestId = UUID.randomUUID().toString();
 	}
 
@@ -245,7 +258,68 @@ public class ExecuteDiffuserRequest {
 	 */
 	public Serializer getSerializer()
 	{
-		return SerializerFactory.getInstance().createSerializer( serializerType );
+		return SerializerFactory.getInstance().getSerializer( serializerType );
+	}
+	
+	/**
+	 * Sets the time remaining until the caller's deadline, after which the caller no longer needs the result.
+	 * The deadline is sent as the remaining time, rather than as a point in time, so that it doesn't depend on
+	 * the clocks of the client and the server being synchronized.
+	 * @param timeBudget The time remaining, in milliseconds, until the deadline; or {@link #NO_DEADLINE}
+	 * @return this object for chaining
+	 * @see Deadline
+	 */
+	public ExecuteDiffuserRequest setTimeBudget( final long timeBudget )
+	{
+		this.timeBudget = timeBudget < 0 ? NO_DEADLINE : timeBudget;
+		return this;
+	}
+	
+	/**
+	 * @return the time remaining, in milliseconds, until the caller's deadline, when the request was sent; 
+	 * or {@link #NO_DEADLINE} if the caller has no deadline
+	 */
+	public long getTimeBudget()
+	{
+		return timeBudget;
+	}
+	
+	/**
+	 * @return true if the caller has set a deadline for the request; false otherwise
+	 */
+	public boolean hasDeadline()
+	{
+		return timeBudget != NO_DEADLINE;
+	}
+	
+	/**
+	 * @return the deadline for the request, measured from the time this method is called; or null if 
+	 * the caller has no deadline
+	 */
+	public Deadline createDeadline()
+	{
+		return hasDeadline() ? Deadline.after( timeBudget, TimeUnit.MILLISECONDS ) : null;
+	}
+	
+	/**
+	 * Sets the priority of the request. The server runs the waiting requests with greater priorities first, 
+	 * and amongst requests of the same priority, the requests with the earliest deadlines first.
+	 * @param priority The priority of the request
+	 * @return this object for chaining
+	 * @see org.microtitan.diffusive.annotations.Diffusive#priority()
+	 */
+	public ExecuteDiffuserRequest setPriority( final int priority )
+	{
+		this.priority = priority;
+		return this;
+	}
+	
+	/**
+	 * @return the priority of the request; {@link #DEFAULT_PRIORITY} unless it was set
+	 */
+	public int getPriority()
+	{
+		return priority;
 	}
 	
 	/**
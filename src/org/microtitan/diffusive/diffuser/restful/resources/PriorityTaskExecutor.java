@@ -0,0 +1,515 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.resources;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.annotations.Diffusive;
+import org.microtitan.diffusive.diffuser.Deadline;
+
+/**
+ * Fixed thread pool that runs the waiting tasks in the order of their priority and deadline, rather than
+ * in the order in which they were submitted, so that interactive calls don't wait behind long sweeps of 
+ * batch calls. The tasks are ordered by their virtual deadline: the caller's deadline, or for tasks without
+ * a deadline, the submission time plus the default time budget, moved earlier by one aging interval for each 
+ * level of priority. Amongst tasks of the same priority, the task with the earliest deadline runs first (and 
+ * tasks without deadlines run in the order they were submitted).
+ * 
+ * Because the virtual deadline of a task is fixed when it is submitted, and the virtual deadlines of the tasks
+ * submitted later are later, a task waiting in the queue ages: after waiting for one aging interval for each
+ * level of priority by which it trails the newly submitted tasks, it runs ahead of them. In this way, the low
+ * priority tasks aren't starved.
+ * 
+ * The queue holds, at most, the specified number of tasks waiting for a thread, after which tasks are rejected.
+ * The executor keeps the number of tasks waiting, submitted, started, cancelled, and rejected, and the time 
+ * the tasks waited, for each priority (see {@link #getPriorityStats()}).
+ * 
+ * Use the {@link #prioritize(Callable, int, Deadline)} method to set the priority and deadline of a task. 
+ * Tasks submitted without a priority have the {@link #DEFAULT_PRIORITY} and no deadline.
+ * 
+ * @author Robert Philipp
+ */
+public class PriorityTaskExecutor extends ThreadPoolExecutor {
+	
+	private static final Logger LOGGER = Logger.getLogger( PriorityTaskExecutor.class );
+
+	public static final int DEFAULT_PRIORITY = 0;
+	
+	// the range of the priorities, so that the virtual deadlines don't overflow
+	public static final int MIN_PRIORITY = -1000;
+	public static final int MAX_PRIORITY = 1000;
+	
+	// the default time (ms) a task waits before it gains one level of priority, and the default time budget (ms) 
+	// of tasks without a deadline, with which they are ordered against the tasks that have deadlines
+	public static final long AGING_INTERVAL = 1000;
+	public static final long TIME_BUDGET = 60000;
+	
+	// the initial size of the priority queue
+	private static final int INITIAL_QUEUE_CAPACITY = 64;
+	
+	private final long agingInterval;
+	private final long timeBudget;
+	
+	// breaks ties between tasks with the same virtual deadline, in the order they were submitted
+	private final AtomicLong sequence = new AtomicLong( 0 );
+	
+	// the statistics for each priority, which are created when the first task with that priority is submitted
+	private final ConcurrentMap< Integer, PriorityStats > stats = new ConcurrentHashMap<>();
+	
+	/**
+	 * Constructs the executor with the default aging interval and time budget
+	 * @param numThreads The number of threads (must be greater than 0)
+	 * @param maxQueuedTasks The maximum number of tasks waiting for a thread (must be greater than 0)
+	 */
+	public PriorityTaskExecutor( final int numThreads, final int maxQueuedTasks )
+	{
+		this( numThreads, maxQueuedTasks, AGING_INTERVAL, TIME_BUDGET );
+	}
+	
+	/**
+	 * Constructs the executor
+	 * @param numThreads The number of threads (must be greater than 0)
+	 * @param maxQueuedTasks The maximum number of tasks waiting for a thread (must be greater than 0)
+	 * @param agingInterval The time, in milliseconds, that a task waits before it gains one level of priority 
+	 * over the tasks submitted after it (must be greater than 0)
+	 * @param timeBudget The time, in milliseconds, after their submission, used as the deadline of the tasks 
+	 * that don't have a deadline, when ordering them against the tasks that have deadlines (must be non-negative)
+	 */
+	public PriorityTaskExecutor( final int numThreads, final int maxQueuedTasks, final long agingInterval, final long timeBudget )
+	{
+		super( numThreads, numThreads, 0, TimeUnit.MILLISECONDS, new BoundedPriorityQueue( maxQueuedTasks ) );
+		if( agingInterval <= 0 || timeBudget < 0 )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The aging interval must be greater than 0, and the time budget must be non-negative" + Constants.NEW_LINE );
+			message.append( "  Aging Interval (ms): " + agingInterval + Constants.NEW_LINE );
+			message.append( "  Time Budget (ms): " + timeBudget );
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		this.agingInterval = TimeUnit.MILLISECONDS.toNanos( agingInterval );
+		this.timeBudget = TimeUnit.MILLISECONDS.toNanos( timeBudget );
+	}
+	
+	/**
+	 * Sets the priority and deadline of the task, with which the {@link PriorityTaskExecutor} orders the 
+	 * task against the other waiting tasks. Other executors run the task as they would any other task.
+	 * @param task The task
+	 * @param priority The priority of the task; tasks with a greater priority run first (see {@link Diffusive#priority()})
+	 * @param deadline The deadline of the task; or null if the task has no deadline
+	 * @return The task with its priority and deadline
+	 */
+	public static < T > Callable< T > prioritize( final Callable< T > task, final int priority, final Deadline deadline )
+	{
+		return new PrioritizedCallable< T >( task, priority, deadline );
+	}
+	
+	/**
+	 * @return The time, in milliseconds, that a task waits before it gains one level of priority
+	 */
+	public long getAgingInterval()
+	{
+		return TimeUnit.NANOSECONDS.toMillis( agingInterval );
+	}
+	
+	/**
+	 * @return The time, in milliseconds, after their submission, used as the deadline of the tasks that don't
+	 * have a deadline
+	 */
+	public long getTimeBudget()
+	{
+		return TimeUnit.NANOSECONDS.toMillis( timeBudget );
+	}
+	
+	/**
+	 * @return A snapshot of the statistics for each of the priorities of the tasks submitted to the executor,
+	 * ordered by priority
+	 */
+	public SortedMap< Integer, PriorityStats > getPriorityStats()
+	{
+		return Collections.unmodifiableSortedMap( new TreeMap<>( stats ) );
+	}
+	
+	/**
+	 * Returns the statistics for the priority, creating them if needed
+	 * @param priority The priority
+	 * @return The statistics for the priority
+	 */
+	private PriorityStats getStats( final int priority )
+	{
+		PriorityStats priorityStats = stats.get( priority );
+		if( priorityStats == null )
+		{
+			final PriorityStats newStats = new PriorityStats( priority );
+			priorityStats = stats.putIfAbsent( priority, newStats );
+			if( priorityStats == null )
+			{
+				priorityStats = newStats;
+			}
+		}
+		return priorityStats;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.concurrent.AbstractExecutorService#newTaskFor(java.util.concurrent.Callable)
+	 */
+	@Override
+	protected < T > RunnableFuture< T > newTaskFor( final Callable< T > callable )
+	{
+		if( callable instanceof PrioritizedCallable )
+		{
+			final PrioritizedCallable< T > task = (PrioritizedCallable< T >)callable;
+			return new PrioritizedTask< T >( callable, task.priority, task.deadline );
+		}
+		return new PrioritizedTask< T >( callable, DEFAULT_PRIORITY, null );
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.concurrent.AbstractExecutorService#newTaskFor(java.lang.Runnable, java.lang.Object)
+	 */
+	@Override
+	protected < T > RunnableFuture< T > newTaskFor( final Runnable runnable, final T value )
+	{
+		return new PrioritizedTask< T >( runnable, value );
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.concurrent.ThreadPoolExecutor#execute(java.lang.Runnable)
+	 */
+	@Override
+	public void execute( final Runnable command )
+	{
+		// the queue only holds prioritized tasks
+		final PrioritizedTask< ? > task = ( command instanceof PrioritizedTask ? (PrioritizedTask< ? >)command : new PrioritizedTask< Object >( command, null ) );
+		final PriorityStats priorityStats = getStats( task.priority );
+		priorityStats.queued.incrementAndGet();
+		priorityStats.submitted.incrementAndGet();
+		try
+		{
+			super.execute( task );
+		}
+		catch( RejectedExecutionException e )
+		{
+			task.leaveQueue();
+			priorityStats.queued.decrementAndGet();
+			priorityStats.submitted.decrementAndGet();
+			priorityStats.rejected.incrementAndGet();
+			throw e;
+		}
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.concurrent.ThreadPoolExecutor#beforeExecute(java.lang.Thread, java.lang.Runnable)
+	 */
+	@Override
+	protected void beforeExecute( final Thread thread, final Runnable runnable )
+	{
+		super.beforeExecute( thread, runnable );
+		if( runnable instanceof PrioritizedTask )
+		{
+			final PrioritizedTask< ? > task = (PrioritizedTask< ? >)runnable;
+			if( task.leaveQueue() )
+			{
+				final PriorityStats priorityStats = getStats( task.priority );
+				priorityStats.queued.decrementAndGet();
+				priorityStats.started.incrementAndGet();
+				priorityStats.totalWait.addAndGet( System.nanoTime() - task.submitTime );
+			}
+		}
+	}
+	
+	/**
+	 * The {@link Callable} that holds the priority and deadline of the task
+	 * @param <T> The type of the result of the task
+	 */
+	private static final class PrioritizedCallable< T > implements Callable< T > {
+		
+		private final Callable< T > task;
+		private final int priority;
+		private final Deadline deadline;
+		
+		/**
+		 * @param task The task
+		 * @param priority The priority of the task
+		 * @param deadline The deadline of the task; or null if the task has no deadline
+		 */
+		public PrioritizedCallable( final Callable< T > task, final int priority, final Deadline deadline )
+		{
+			this.task = task;
+			this.priority = priority;
+			this.deadline = deadline;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		@Override
+		public T call() throws Exception
+		{
+			return task.call();
+		}
+	}
+	
+	/**
+	 * The task held in the executor's queue, which is ordered by its virtual deadline
+	 * @param <T> The type of the result of the task
+	 */
+	private final class PrioritizedTask< T > extends FutureTask< T > {
+		
+		private final int priority;
+		private final long submitTime;
+		private final long virtualDeadline;
+		private final long order;
+		
+		// set once the task leaves the queue, either to run, or because it was cancelled
+		private final AtomicBoolean isDequeued = new AtomicBoolean( false );
+		
+		/**
+		 * @param callable The task
+		 * @param priority The priority of the task
+		 * @param deadline The deadline of the task; or null if the task has no deadline
+		 */
+		public PrioritizedTask( final Callable< T > callable, final int priority, final Deadline deadline )
+		{
+			super( callable );
+			this.priority = Math.max( MIN_PRIORITY, Math.min( MAX_PRIORITY, priority ) );
+			this.submitTime = System.nanoTime();
+			final long dueTime = ( deadline == null ? submitTime + timeBudget : submitTime + deadline.getRemaining( TimeUnit.NANOSECONDS ) );
+			this.virtualDeadline = dueTime - this.priority * agingInterval;
+			this.order = sequence.getAndIncrement();
+		}
+		
+		/**
+		 * Creates a task with the default priority and no deadline
+		 * @param runnable The task
+		 * @param value The result of the task
+		 */
+		public PrioritizedTask( final Runnable runnable, final T value )
+		{
+			this( Executors.callable( runnable, value ), DEFAULT_PRIORITY, null );
+		}
+		
+		/**
+		 * @return true the first time the task leaves the queue; false otherwise
+		 */
+		public boolean leaveQueue()
+		{
+			return isDequeued.compareAndSet( false, true );
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.FutureTask#done()
+		 */
+		@Override
+		protected void done()
+		{
+			// a task cancelled while waiting (for example, when its deadline expired) is purged from the queue
+			if( isCancelled() && leaveQueue() )
+			{
+				final PriorityStats priorityStats = getStats( priority );
+				priorityStats.queued.decrementAndGet();
+				priorityStats.cancelled.incrementAndGet();
+			}
+		}
+	}
+	
+	/**
+	 * Orders the tasks by their virtual deadlines, and then by the order in which they were submitted. The 
+	 * virtual deadlines are measured by {@link System#nanoTime()}, and so are compared by their difference.
+	 */
+	private static final class VirtualDeadlineComparator implements Comparator< Runnable > {
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+		 */
+		@Override
+		public int compare( final Runnable first, final Runnable second )
+		{
+			final PrioritizedTask< ? > firstTask = (PrioritizedTask< ? >)first;
+			final PrioritizedTask< ? > secondTask = (PrioritizedTask< ? >)second;
+			final long difference = firstTask.virtualDeadline - secondTask.virtualDeadline;
+			if( difference != 0 )
+			{
+				return difference < 0 ? -1 : 1;
+			}
+			return Long.compare( firstTask.order, secondTask.order );
+		}
+	}
+	
+	/**
+	 * The priority queue that holds, at most, the specified number of tasks. Offers to a full queue fail,
+	 * and so the executor rejects the task.
+	 */
+	private static final class BoundedPriorityQueue extends PriorityBlockingQueue< Runnable > {
+		
+		private static final long serialVersionUID = -3046245721384315727L;
+		
+		private final int capacity;
+		
+		/**
+		 * @param capacity The maximum number of tasks in the queue (must be greater than 0)
+		 */
+		public BoundedPriorityQueue( final int capacity )
+		{
+			super( Math.min( capacity, INITIAL_QUEUE_CAPACITY ), new VirtualDeadlineComparator() );
+			this.capacity = capacity;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.PriorityBlockingQueue#offer(java.lang.Object)
+		 */
+		@Override
+		public synchronized boolean offer( final Runnable task )
+		{
+			// only the offers add tasks to the queue, so the queue can't grow past its capacity 
+			return size() < capacity && super.offer( task );
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.PriorityBlockingQueue#remainingCapacity()
+		 */
+		@Override
+		public int remainingCapacity()
+		{
+			return Math.max( capacity - size(), 0 );
+		}
+	}
+	
+	/**
+	 * The number of tasks waiting, submitted, started, cancelled while waiting, and rejected, and the time
+	 * the tasks waited to start, for one priority.
+	 */
+	public static final class PriorityStats {
+		
+		private final int priority;
+		private final AtomicInteger queued = new AtomicInteger( 0 );
+		private final AtomicLong submitted = new AtomicLong( 0 );
+		private final AtomicLong started = new AtomicLong( 0 );
+		private final AtomicLong cancelled = new AtomicLong( 0 );
+		private final AtomicLong rejected = new AtomicLong( 0 );
+		private final AtomicLong totalWait = new AtomicLong( 0 );
+		
+		/**
+		 * @param priority The priority of the tasks
+		 */
+		private PriorityStats( final int priority )
+		{
+			this.priority = priority;
+		}
+		
+		/**
+		 * @return The priority of the tasks
+		 */
+		public int getPriority()
+		{
+			return priority;
+		}
+		
+		/**
+		 * @return The number of tasks waiting for a thread
+		 */
+		public int getQueued()
+		{
+			return queued.get();
+		}
+		
+		/**
+		 * @return The number of tasks accepted by the executor
+		 */
+		public long getSubmitted()
+		{
+			return submitted.get();
+		}
+		
+		/**
+		 * @return The number of tasks that have started running
+		 */
+		public long getStarted()
+		{
+			return started.get();
+		}
+		
+		/**
+		 * @return The number of tasks cancelled before they started running
+		 */
+		public long getCancelled()
+		{
+			return cancelled.get();
+		}
+		
+		/**
+		 * @return The number of tasks rejected because the queue was full
+		 */
+		public long getRejected()
+		{
+			return rejected.get();
+		}
+		
+		/**
+		 * @return The average time, in milliseconds, that the started tasks waited for a thread
+		 */
+		public double getAverageWait()
+		{
+			final long numStarted = started.get();
+			return numStarted == 0 ? 0 : (double)totalWait.get() / numStarted / TimeUnit.MILLISECONDS.toNanos( 1 );
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString()
+		{
+			final StringBuffer buffer = new StringBuffer();
+			buffer.append( "Priority: " + priority + "; " );
+			buffer.append( "Queued: " + getQueued() + "; " );
+			buffer.append( "Submitted: " + getSubmitted() + "; " );
+			buffer.append( "Started: " + getStarted() + "; " );
+			buffer.append( "Cancelled: " + getCancelled() + "; " );
+			buffer.append( "Rejected: " + getRejected() + "; " );
+			buffer.append( "Average Wait (ms): " + String.format( "%.3f", getAverageWait() ) );
+			return buffer.toString();
+		}
+	}
+}
@@ -16,9 +16,9 @@
 package org.microtitan.diffusive.diffuser.restful.resources;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -26,19 +26,37 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.HEAD;
 import javax.ws.rs.POST;
@@ -46,10 +64,13 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 
@@ -63,6 +84,7 @@ import org.microtitan.diffusive.annotations.DiffusiveServerConfiguration;
 import org.microtitan.diffusive.classloaders.RestfulClassLoader;
 import org.microtitan.diffusive.classloaders.RestfulDiffuserClassLoader;
 import org.microtitan.diffusive.classloaders.factories.ClassLoaderFactory;
+import org.microtitan.diffusive.diffuser.Deadline;
 import org.microtitan.diffusive.diffuser.Diffuser;
 import org.microtitan.diffusive.diffuser.KeyedDiffuserRepository;
 import org.microtitan.diffusive.diffuser.restful.DiffuserSignature;
@@ -70,11 +92,18 @@ import org.microtitan.diffusive.diffuser.restful.RestfulDiffuser;
 import org.microtitan.diffusive.diffuser.restful.RestfulDiffuserInfo;
 import org.microtitan.diffusive.diffuser.restful.atom.Atom;
 import org.microtitan.diffusive.diffuser.restful.client.RestfulDiffuserManagerClient;
+import org.microtitan.diffusive.diffuser.restful.frames.DiffuserFrames;
+import org.microtitan.diffusive.diffuser.restful.request.BatchExecuteDiffuserRequest;
+import org.microtitan.diffusive.diffuser.restful.request.BulkResultRequest;
 import org.microtitan.diffusive.diffuser.restful.request.CreateDiffuserRequest;
 import org.microtitan.diffusive.diffuser.restful.request.ExecuteDiffuserRequest;
+import org.microtitan.diffusive.diffuser.restful.resources.cache.ConcurrentResultsCache;
 import org.microtitan.diffusive.diffuser.restful.resources.cache.FifoResultsCache;
+import org.microtitan.diffusive.diffuser.restful.resources.cache.MappedResultStore;
 import org.microtitan.diffusive.diffuser.restful.resources.cache.ResultCacheEntry;
 import org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache;
+import org.microtitan.diffusive.diffuser.restful.resources.cache.SerializedResult;
+import org.microtitan.diffusive.diffuser.restful.server.CompressionContainerFilter.SizedStreamingOutput;
 import org.microtitan.diffusive.diffuser.restful.server.KeyedDiffusiveStrategyRepository;
 import org.microtitan.diffusive.diffuser.restful.server.RestfulDiffuserServer;
 import org.microtitan.diffusive.diffuser.serializer.Serializer;
@@ -83,6 +112,7 @@ import org.microtitan.diffusive.diffuser.strategy.DiffuserStrategy;
 import org.microtitan.diffusive.diffuser.strategy.load.DiffuserLoadCalc;
 import org.microtitan.diffusive.diffuser.strategy.load.TaskCpuLoadCalc;
 import org.microtitan.diffusive.launcher.DiffusiveLauncher;
+import org.microtitan.diffusive.utils.ByteBufferInputStream;
 import org.microtitan.diffusive.utils.ReflectionUtils;
 
 /**
@@ -100,6 +130,7 @@ public class RestfulDiffuserManagerResource {
 	public static final String DIFFUSER_PATH = "/diffusers";
 	public static final String END_POINTS_PATH = "/endpoints";
 	public static final String SERIALIZERS_PATH = "/serializers";
+	public static final String SCHEDULER_PATH = "/scheduler";
 	public static final String END_POINT_PATH = "endpoint";
 	
 	// parameters for creating a diffuser
@@ -116,8 +147,37 @@ public class RestfulDiffuserManagerResource {
 	// parameters for retrieving results of an execute
 	public static final String RESULT_ID = "result_id";
 	public static final String REQUEST_ID = "request_id";
+	public static final String TIMEOUT = "timeout";
+	public static final String BATCH_PATH = "/batch";
+	public static final String RESULTS_PATH = "/results";
 	
-	private final Map< String, DiffuserEntry > diffusers;
+	// the status returned when an execute request arrives after the caller's deadline has expired
+	public static final int DEADLINE_EXPIRED_STATUS = 504;
+	
+	// the status, and the header holding the time (in seconds) after which to try again, returned when an 
+	// execute request is rejected because the executor's task queue is full
+	public static final int OVERLOADED_STATUS = 503;
+	public static final String RETRY_AFTER_HEADER = "Retry-After";
+	public static final int RETRY_AFTER = 1;
+	
+	// the default maximum number of tasks waiting in the executor's queue for a thread
+	public static final int MAX_QUEUED_TASKS = 1000;
+	
+	// the time, in seconds, that an idle deadline-timer thread is kept alive
+	private static final long DEADLINE_TIMER_KEEP_ALIVE = 60;
+	
+	// the time, in seconds, that a failure to resolve a class is remembered before attempting to load it again
+	private static final long CLASS_FAILURE_CACHE_TIME = 30;
+	
+	// the longest time, in milliseconds, that a bulk result request waits before checking its results again. tasks 
+	// signal their completion just before their futures complete, and so the waiting request may miss the signal
+	private static final long COMPLETION_CHECK_INTERVAL = 100;
+	
+	// status of each result in the bulk result response (held in the entry's summary)
+	public static final String RESULT_STATUS_COMPLETED = "completed";
+	public static final String RESULT_STATUS_FAILED = "failed";
+	
+	private final ConcurrentMap< String, DiffuserEntry > diffusers;
 	
 	// fields to manage the resultsCache cache
 	private final ResultsCache resultsCache;
@@ -125,6 +185,16 @@ public class RestfulDiffuserManagerResource {
 	// the executor service holds the thread pool for managing concurrent diffusions
 	private final ExecutorService executor;
 	
+	// results are serialized once, when their tasks complete; when true, the result objects are
+	// kept along with their serialized form, otherwise only the serialized results are cached
+	private volatile boolean isKeepingResultObjects;
+	
+	// cancels the tasks whose deadlines expire, so that they are dropped from the executor's queue
+	private final ScheduledThreadPoolExecutor deadlineTimer;
+	
+	// signalled whenever a task completes or is cancelled, to wake the bulk result requests waiting on results
+	private final Object completions = new Object();
+	
 	// the strategy that is applied to diffusers created by this resource.
 	// recall that the strategy determines the order and number of times an
 	// end-point is called.
@@ -182,6 +252,7 @@ public class RestfulDiffuserManagerResource {
 										   final List< URL > classPaths )
 	{
 		this.executor = executor;
+		this.deadlineTimer = createDeadlineTimer();
 		
 		this.diffusers = new ConcurrentHashMap<>();
 		this.resultsCache = resultsCache;
@@ -202,6 +273,41 @@ public class RestfulDiffuserManagerResource {
 		urlClassLoader = new URLClassLoader( urls, this.getClass().getClassLoader() );
 	}
 	
+	/**
+	 * Results are serialized once, by the thread running the task, when the task completes, and the
+	 * serialized result is written to each request for the result. By default, the result object is
+	 * then dropped so that the result is held only once in the cache.
+	 * @param isKeepingResultObjects When true, the result objects are kept in the results cache along 
+	 * with their serialized form; otherwise only the serialized results are kept
+	 */
+	public void setKeepingResultObjects( final boolean isKeepingResultObjects )
+	{
+		this.isKeepingResultObjects = isKeepingResultObjects;
+	}
+	
+	/**
+	 * Creates the timer that cancels the tasks whose deadlines expire. The thread is a daemon thread, 
+	 * because the resource has no life-cycle with which to shut it down, and it is released when idle.
+	 * @return The timer that cancels the tasks whose deadlines expire
+	 */
+	private static ScheduledThreadPoolExecutor createDeadlineTimer()
+	{
+		final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor( 1, new ThreadFactory() {
+
+			@Override
+			public Thread newThread( final Runnable runnable )
+			{
+				final Thread thread = new Thread( runnable, "restful-diffuser-manager-deadline-timer" );
+				thread.setDaemon( true );
+				return thread;
+			}
+		} );
+		timer.setKeepAliveTime( DEADLINE_TIMER_KEEP_ALIVE, TimeUnit.SECONDS );
+		timer.allowCoreThreadTimeOut( true );
+		timer.setRemoveOnCancelPolicy( true );
+		return timer;
+	}
+	
 	/**
 	 * Creates a default {@link ExecutorService} (fixed thread pool) with the specified number
 	 * of threads. The number of threads must be greater than 0.
@@ -214,15 +320,67 @@ public class RestfulDiffuserManagerResource {
 	}
 	
 	/**
-	 * Creates a default {@link ResultsCache} (a {@link FifoResultsCache}) with the specified
+	 * Creates a fixed thread pool {@link ExecutorService} with the specified number of threads, whose
+	 * queue holds, at most, the specified number of tasks waiting for a thread. When the queue is full,
+	 * execute requests are rejected with an {@link #OVERLOADED_STATUS} status, so that the clients send 
+	 * them elsewhere, rather than the tasks piling up in memory and their latency growing without limit.
+	 * The waiting tasks are run in the order of their priority and deadline (see {@link PriorityTaskExecutor}).
+	 * @param numThreads The number of threads (must be greater than 0)
+	 * @param maxQueuedTasks The maximum number of tasks waiting for a thread (must be greater than 0)
+	 * @return The newly create fixed thread pool {@link ExecutorService}.
+	 */
+	public static final ExecutorService createExecutorService( final int numThreads, final int maxQueuedTasks )
+	{
+		return new PriorityTaskExecutor( numThreads, maxQueuedTasks );
+	}
+	
+	/**
+	 * Creates a fixed thread pool {@link ExecutorService} with the specified number of threads, whose queue
+	 * holds, at most, the specified number of tasks waiting for a thread, and which runs the waiting tasks in 
+	 * the order of their priority and deadline (see {@link PriorityTaskExecutor}).
+	 * @param numThreads The number of threads (must be greater than 0)
+	 * @param maxQueuedTasks The maximum number of tasks waiting for a thread (must be greater than 0)
+	 * @param agingInterval The time, in milliseconds, that a task waits before it gains one level of priority
+	 * @return The newly create fixed thread pool {@link ExecutorService}.
+	 */
+	public static final ExecutorService createExecutorService( final int numThreads, final int maxQueuedTasks, final long agingInterval )
+	{
+		return new PriorityTaskExecutor( numThreads, maxQueuedTasks, agingInterval, PriorityTaskExecutor.TIME_BUDGET );
+	}
+	
+	/**
+	 * Creates a default {@link ResultsCache} (a {@link ConcurrentResultsCache}) with the specified
 	 * maximum number of cached items.
 	 * @param maxResultsCached The maximum number of cached items.
-	 * @return a newly created {@link FifoResultsCache}
+	 * @return a newly created {@link ConcurrentResultsCache}
+	 * @see ConcurrentResultsCache
 	 * @see FifoResultsCache
 	 */
 	public static final ResultsCache createResultsCache( final int maxResultsCached )
 	{
-		return new FifoResultsCache( maxResultsCached );
+		return new ConcurrentResultsCache( maxResultsCached );
+	}
+	
+	/**
+	 * Creates a default {@link ResultsCache} (a {@link ConcurrentResultsCache}) with the specified limits.
+	 * Results whose tasks are still running are never evicted.
+	 * @param maxResultsCached The maximum number of cached items.
+	 * @param maxBytesCached The maximum number of bytes of serialized results held by the cache; 0 for no limit
+	 * @param timeToLive The time, in milliseconds, after which a completed result that hasn't been retrieved
+	 * is dropped; 0 to keep the results until they are evicted
+	 * @param isRemovingRetrieved When true, results are removed from the cache once they have been retrieved
+	 * @param spillStore The {@link MappedResultStore} to which the completed results are spilled when the cache 
+	 * exceeds its byte budget; null to drop them instead
+	 * @return a newly created {@link ConcurrentResultsCache}
+	 * @see ConcurrentResultsCache
+	 */
+	public static final ResultsCache createResultsCache( final int maxResultsCached, 
+														 final long maxBytesCached, 
+														 final long timeToLive, 
+														 final boolean isRemovingRetrieved,
+														 final MappedResultStore spillStore )
+	{
+		return new ConcurrentResultsCache( maxResultsCached, maxBytesCached, timeToLive, isRemovingRetrieved, spillStore );
 	}
 	
 	/**
@@ -402,14 +560,20 @@ public class RestfulDiffuserManagerResource {
 			// create the diffuser
 			final RestfulDiffuser diffuser = new RestfulDiffuser( serializer, strategy, classPaths, loadThreshold );
 			
-			// add the diffuser to the map of diffusers
+			// add the diffuser to the map of diffusers. concurrent create requests for the same signature
+			// may both get here, and so only the diffuser that wins the race is added, and the other is shut down
 			final ClassLoader classLoader = classLoaderFactory.create( RestfulDiffuserManagerResource.class.getClassLoader(), signature, classPaths );
-			diffusers.put( signature, new DiffuserEntry( diffuser, classLoader ) );
-			
-			// add the diffuser to the keyed diffuser repository, along with its signature.
-			// this is needed for nested diffusion where Javassist method interceptor uses
-			// the repository to point the method calls to the diffuser's runObject(...) method
-			KeyedDiffuserRepository.getInstance().putDiffuser( signature, diffuser );
+			if( diffusers.putIfAbsent( signature, new DiffuserEntry( diffuser, classLoader ) ) == null )
+			{
+				// add the diffuser to the keyed diffuser repository, along with its signature.
+				// this is needed for nested diffusion where Javassist method interceptor uses
+				// the repository to point the method calls to the diffuser's runObject(...) method
+				KeyedDiffuserRepository.getInstance().putDiffuser( signature, diffuser );
+			}
+			else
+			{
+				diffuser.shutdown();
+			}
 		}
 		return signature;
 	}
@@ -471,7 +635,7 @@ public class RestfulDiffuserManagerResource {
 	 * </ul>
 	 * This is a non-blocking method. A reference to the result is placed in the results cache, and the status
 	 * of the execution can be monitored with the {@link #isRunning(String, String)} method. The results can be
-	 * obtained from the blocking {@link #getResult(UriInfo, String, String)} method.
+	 * obtained from the blocking {@link #getResult(UriInfo, String, String, long)} method.
 	 * 
 	 * @param uriInfo Information about the request URI and the JAX-RS application.
 	 * @param signature The signature of the {@link RestfulDiffuser} corresponding to a specific method.
@@ -479,9 +643,10 @@ public class RestfulDiffuserManagerResource {
 	 * @param request The {@link ExecuteDiffuserRequest} holding the serialized object and method parameters,
 	 * the type information, and the {@link Serializer} name. 
 	 * @return A {@link Response} containing a string version of an Atom feed that holds the result ID and
-	 * a link to the URI representing the result.
+	 * a link to the URI representing the result. If no diffuser with the specified signature exists, then
+	 * returns a "not found" status so that the client knows to create the diffuser.
 	 * @see #isRunning(String, String)
-	 * @see #getResult(UriInfo, String, String)
+	 * @see #getResult(UriInfo, String, String, long)
 	 */
 	@POST @Path( "{" + SIGNATURE + "}" )
 	@Consumes( MediaType.APPLICATION_XML )
@@ -490,6 +655,259 @@ public class RestfulDiffuserManagerResource {
 							 @PathParam( SIGNATURE ) final String signature,
 							 final ExecuteDiffuserRequest request )
 	{
+		// grab the diffuser with the matching signature. if the diffuser doesn't exist, then the client
+		// must create it before executing the method, so we let the client know with a "not found"
+		final DiffuserEntry diffuserEntry = diffusers.get( signature );
+		if( diffuserEntry == null )
+		{
+			return createDiffuserNotFoundResponse( uriInfo, signature );
+		}
+		final RestfulDiffuser diffuser = diffuserEntry.getDiffuser();
+		
+		// validate the request, and submit the task to run the diffused method
+		final ResultId resultId = submit( signature, diffuser, request );
+		final String requestId = resultId.getRequestId();
+		
+		//
+		// create the response
+		//
+		// create the Atom link to the response
+		final URI resultUri = uriInfo.getAbsolutePathBuilder().path( requestId ).build();
+
+		// grab the date for time stamp
+		final Date date = new Date();
+		
+		// create the atom feed and add an entry that holds the result ID and the request ID
+		final Feed feed = Atom.createFeed( resultUri, resultId.getResultId(), date, uriInfo.getBaseUri() );
+		
+		final Entry resultIdEntry = Atom.createEntry( resultUri, RESULT_ID, date );
+		resultIdEntry.setContent( resultId.getResultId() );
+		feed.addEntry( resultIdEntry );
+		
+		final Entry requestIdEntry = Atom.createEntry( resultUri, REQUEST_ID, date );
+		requestIdEntry.setContent( requestId );
+		feed.addEntry( requestIdEntry );
+
+		// create the response
+		final Response response = Response.created( resultUri )
+				  .status( Status.OK )
+				  .location( resultUri )
+				  .entity( feed.toString() )
+				  .type( MediaType.APPLICATION_ATOM_XML )
+				  .build();
+		
+		return response;
+	}
+	
+	/**
+	 * Executes the diffuser associated with the specified signature using the information in the execute
+	 * request, which is sent in the compact binary frame format (see {@link DiffuserFrames}) rather than
+	 * as XML. Otherwise behaves exactly as the {@link #execute(UriInfo, String, ExecuteDiffuserRequest)} method.
+	 * @param uriInfo Information about the request URI and the JAX-RS application.
+	 * @param signature The signature of the {@link RestfulDiffuser} corresponding to a specific method.
+	 * The signatures are created using the {@link DiffuserSignature} class.
+	 * @param input The input stream holding the encoded {@link ExecuteDiffuserRequest}
+	 * @return A {@link Response} containing the encoded signature, request ID, and URI of the result. If no 
+	 * diffuser with the specified signature exists, then returns a "not found" status so that the client 
+	 * knows to create the diffuser.
+	 * @see #execute(UriInfo, String, ExecuteDiffuserRequest)
+	 */
+	@POST @Path( "{" + SIGNATURE + "}" )
+	@Consumes( DiffuserFrames.APPLICATION_DIFFUSIVE_FRAMES )
+	@Produces( DiffuserFrames.APPLICATION_DIFFUSIVE_FRAMES )
+	public Response executeFrames( @Context final UriInfo uriInfo, 
+								   @PathParam( SIGNATURE ) final String signature,
+								   final InputStream input )
+	{
+		final DiffuserEntry diffuserEntry = diffusers.get( signature );
+		if( diffuserEntry == null )
+		{
+			return createDiffuserNotFoundResponse( uriInfo, signature );
+		}
+		
+		// decode the request, validate it, and submit the task to run the diffused method
+		final ExecuteDiffuserRequest request;
+		try
+		{
+			request = DiffuserFrames.decodeExecuteRequest( input );
+		}
+		catch( IOException e )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Failed to decode the execute request from the binary frames." + Constants.NEW_LINE );
+			message.append( "  Signature: " + signature );
+			LOGGER.error( message.toString(), e );
+			throw new IllegalArgumentException( message.toString(), e );
+		}
+		final ResultId resultId = submit( signature, diffuserEntry.getDiffuser(), request );
+		final URI resultUri = uriInfo.getAbsolutePathBuilder().path( resultId.getRequestId() ).build();
+		
+		return Response.ok()
+					   .location( resultUri )
+					   .entity( DiffuserFrames.encodeExecuteResponse( resultId, resultUri ) )
+					   .type( DiffuserFrames.APPLICATION_DIFFUSIVE_FRAMES )
+					   .build();
+	}
+	
+	/**
+	 * Executes the method associated with the diffuser of the specified signature once for each of the 
+	 * argument tuples (invocations) in the specified {@link BatchExecuteDiffuserRequest}. The object containing 
+	 * the method is sent once for the whole batch. Each invocation is handled exactly as though it had been 
+	 * sent to the {@link #execute(UriInfo, String, ExecuteDiffuserRequest)} method, and so each invocation 
+	 * receives its own request ID, and its result is obtained in the same way as the result of a single 
+	 * execute request. This cuts the HTTP and XML overhead for fine-grained work.
+	 * 
+	 * @param uriInfo Information about the request URI and the JAX-RS application.
+	 * @param signature The signature of the {@link RestfulDiffuser} corresponding to a specific method.
+	 * The signatures are created using the {@link DiffuserSignature} class.
+	 * @param request The {@link BatchExecuteDiffuserRequest} holding the serialized object, the serialized 
+	 * method parameters for each invocation, the type information, and the {@link Serializer} name. 
+	 * @return A {@link Response} containing a string version of an Atom feed that holds one entry for each 
+	 * invocation, in the order of the invocations in the request. Each entry holds the result ID and a link 
+	 * to the URI representing the result. If no diffuser with the specified signature exists, then returns 
+	 * a "not found" status so that the client knows to create the diffuser.
+	 * @see #execute(UriInfo, String, ExecuteDiffuserRequest)
+	 */
+	@POST @Path( "{" + SIGNATURE + "}" + BATCH_PATH )
+	@Consumes( MediaType.APPLICATION_XML )
+	@Produces( MediaType.APPLICATION_ATOM_XML )
+	public Response executeBatch( @Context final UriInfo uriInfo, 
+								  @PathParam( SIGNATURE ) final String signature,
+								  final BatchExecuteDiffuserRequest request )
+	{
+		// grab the diffuser with the matching signature. if the diffuser doesn't exist, then the client
+		// must create it before executing the method, so we let the client know with a "not found"
+		final DiffuserEntry diffuserEntry = diffusers.get( signature );
+		if( diffuserEntry == null )
+		{
+			return createDiffuserNotFoundResponse( uriInfo, signature );
+		}
+		final RestfulDiffuser diffuser = diffuserEntry.getDiffuser();
+		
+		// the URI of the batch resource and the base of the URIs to the results
+		final URI batchUri = uriInfo.getAbsolutePathBuilder().build();
+		final UriBuilder diffuserUriBuilder = uriInfo.getBaseUriBuilder().path( DIFFUSER_PATH ).path( signature );
+		final Date date = new Date();
+		final Feed feed = Atom.createFeed( batchUri, "batch-execute-diffuser", date, uriInfo.getBaseUri() );
+
+		// validate and submit each of the invocations, adding an entry for each invocation to the feed
+		final List< ResultId > submitted = new ArrayList<>();
+		try
+		{
+			for( ExecuteDiffuserRequest executeRequest : request.createExecuteRequests() )
+			{
+				final ResultId resultId = submit( signature, diffuser, executeRequest );
+				submitted.add( resultId );
+				final URI resultUri = diffuserUriBuilder.clone().path( resultId.getRequestId() ).build();
+				
+				final Entry entry = Atom.createEntry( resultUri, resultId.getRequestId(), date );
+				entry.setContent( resultId.getResultId() );
+				feed.addEntry( entry );
+			}
+		}
+		catch( WebApplicationException e )
+		{
+			// the batch was rejected part way through (for example, the task queue filled up), and the client
+			// will send the whole batch again, so drop the invocations that were already submitted
+			for( ResultId resultId : submitted )
+			{
+				final String cacheKey = createResultsCacheId( resultId );
+				final ResultCacheEntry< Object > result = resultsCache.get( cacheKey );
+				if( result != null )
+				{
+					result.cancel();
+					resultsCache.remove( cacheKey );
+				}
+			}
+			throw e;
+		}
+		
+		if( LOGGER.isDebugEnabled() )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Submitted batch of invocations." + Constants.NEW_LINE );
+			message.append( "  Signature: " + signature + Constants.NEW_LINE );
+			message.append( "  Number of Invocations: " + request.getInvocationCount() );
+			LOGGER.debug( message.toString() );
+		}
+
+		return Response.ok()
+					   .location( batchUri )
+					   .entity( feed.toString() )
+					   .type( MediaType.APPLICATION_ATOM_XML )
+					   .build();
+	}
+	
+	/**
+	 * Creates the "not found" response returned when an execute request is issued for a diffuser that
+	 * doesn't exist. The client must then create the diffuser before executing the method.
+	 * @param uriInfo Information about the request URI and the JAX-RS application.
+	 * @param signature The signature of the {@link RestfulDiffuser} that could not be found
+	 * @return A {@link Response} with a "not found" status, containing an Atom feed with the error message 
+	 */
+	private Response createDiffuserNotFoundResponse( final UriInfo uriInfo, final String signature )
+	{
+		final StringBuffer message = new StringBuffer();
+		message.append( "Could not find a RESTful diffuser with the specified key." + Constants.NEW_LINE );
+		message.append( "  Signature (Key): " + signature + Constants.NEW_LINE );
+		message.append( "  Available diffusers:" + Constants.NEW_LINE );
+		for( String key : diffusers.keySet() )
+		{
+			message.append( "  " + key + Constants.NEW_LINE );
+		}
+		LOGGER.warn( message.toString() );
+		
+		// create the atom feed with an entry holding the error message
+		final URI diffuserUri = uriInfo.getAbsolutePathBuilder().build();
+		final Feed feed = Atom.createFeed( diffuserUri, "error-execute-diffuser", new Date(), uriInfo.getBaseUri() );
+		final Entry entry = Atom.createEntry();
+		entry.setId( signature );
+		entry.setContent( message.toString(), MediaType.TEXT_PLAIN );
+		feed.addEntry( entry );
+		
+		return Response.status( Status.NOT_FOUND )
+					   .location( diffuserUri )
+					   .entity( feed.toString() )
+					   .type( MediaType.APPLICATION_ATOM_XML )
+					   .build();
+	}
+	
+	/**
+	 * Validates the specified execute request against the signature of the diffuser, deserializes the
+	 * object and the arguments, and submits the task that calls the diffused method to the executor. The
+	 * future result is placed into the results cache.
+	 * @param signature The signature of the {@link RestfulDiffuser} corresponding to a specific method.
+	 * @param diffuser The {@link RestfulDiffuser} with the specified signature
+	 * @param request The {@link ExecuteDiffuserRequest} holding the serialized object and method parameters,
+	 * the type information, and the {@link Serializer} name.
+	 * @return The {@link ResultId} with which to retrieve the result
+	 * @throws WebApplicationException with a {@link #DEADLINE_EXPIRED_STATUS} status when the caller's deadline
+	 * had expired before the request arrived, or with an {@link #OVERLOADED_STATUS} status when the executor's
+	 * task queue is full
+	 */
+	private ResultId submit( final String signature, final RestfulDiffuser diffuser, final ExecuteDiffuserRequest request )
+	{
+		// don't bother deserializing the request when the task queue is already full
+		if( executor instanceof ThreadPoolExecutor && ( (ThreadPoolExecutor)executor ).getQueue().remainingCapacity() == 0 )
+		{
+			throw createOverloadedException( signature );
+		}
+		
+		// the caller no longer needs the result, so don't bother deserializing or running the task. the
+		// deadline is measured from the time the request arrived, from the time remaining sent by the caller
+		final Deadline deadline = request.createDeadline();
+		if( deadline != null && deadline.isExpired() )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The caller's deadline expired before the execute request arrived; the request was rejected." + Constants.NEW_LINE );
+			message.append( "  Signature: " + signature );
+			LOGGER.warn( message.toString() );
+			throw new WebApplicationException( Response.status( DEADLINE_EXPIRED_STATUS )
+													   .entity( message.toString() )
+													   .type( MediaType.TEXT_PLAIN )
+													   .build() );
+		}
+		
 		// parse the signature into its parts so that we can call the diffuser
 		final DiffuserSignature diffuserId = DiffuserSignature.parse( signature );
 		final List< String > argumentTypes = diffuserId.getArgumentTypeNames();
@@ -574,22 +992,6 @@ public class RestfulDiffuserManagerResource {
 		//
 		// call the diffused method using the diffuser with the matching signature
 		//
-		final DiffuserEntry diffuserEntry = diffusers.get( signature );
-		if( diffuserEntry == null )
-		{
-			final StringBuffer message = new StringBuffer();
-			message.append( "Could not find a RESTful diffuser with the specified key." + Constants.NEW_LINE );
-			message.append( "  Signature (Key): " + signature + Constants.NEW_LINE );
-			message.append( "  Available diffusers:" + Constants.NEW_LINE );
-			for( String key : diffusers.keySet() )
-			{
-				message.append( "  " + key + Constants.NEW_LINE );
-			}
-			LOGGER.error( message.toString() );
-			throw new IllegalArgumentException( message.toString() );
-		}
-		final RestfulDiffuser diffuser = diffuserEntry.getDiffuser();
-
 		// grab the requstId and use it to create the result ID
 		final String requestId = request.getRequestId();
 		final ResultId resultId = new ResultId( signature, requestId );
@@ -604,76 +1006,207 @@ public class RestfulDiffuserManagerResource {
 													returnType,
 													deserializedObject, 
 													diffuser,
-													loadCalc );
+													loadCalc,
+													deadline,
+													resultsCache );
 		
-		// submit the task to the executor service to run on a different thread,
-		// and put the future result into the results cache with the signature/id as the key
+		// submit the task to the executor service to run on a different thread, serializing the result
+		// with the request's serializer once the task completes, and put the future serialized result into 
+		// the results cache with the signature/id as the key
 		final String resultsId = createResultsCacheId( resultId );
-		resultsCache.add( resultsId, new ResultCacheEntry< Object >( executor.submit( task ), serializer ) );
-		
-		//
-		// create the response
-		//
-		// create the Atom link to the response
-		final URI resultUri = uriInfo.getAbsolutePathBuilder().path( requestId ).build();
-
-		// grab the date for time stamp
-		final Date date = new Date();
+		final String serializerType = SerializerFactory.getSerializerName( serializer.getClass() );
+		final Future< SerializedResult > future;
+		final ExpiringTask< SerializedResult > expiring;
+		try
+		{
+			final Callable< SerializedResult > serializing = counting( SerializedResult.serializing( task, serializerType, isKeepingResultObjects ), resultsId );
+			expiring = deadline == null ? null : new ExpiringTask<>( serializing );
+			future = executor.submit( PriorityTaskExecutor.prioritize( expiring == null ? serializing : expiring, request.getPriority(), deadline ) );
+		}
+		catch( RejectedExecutionException e )
+		{
+			throw createOverloadedException( signature );
+		}
+		resultsCache.add( resultsId, ResultCacheEntry.< Object >createSerialized( future, serializerType ) );
 		
-		// create the atom feed and add an entry that holds the result ID and the request ID
-		final Feed feed = Atom.createFeed( resultUri, resultId.getResultId(), date, uriInfo.getBaseUri() );
+		// the task may have completed before its entry was added to the cache, in which case its size wasn't counted
+		if( future.isDone() && !future.isCancelled() )
+		{
+			try
+			{
+				resultsCache.resultCompleted( resultsId, future.get().getSize() );
+			}
+			catch( ExecutionException e )
+			{
+				// the task failed, and so there is no result to count
+			}
+			catch( InterruptedException e )
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
 		
-		final Entry resultIdEntry = Atom.createEntry( resultUri, RESULT_ID, date );
-		resultIdEntry.setContent( resultId.getResultId() );
-		feed.addEntry( resultIdEntry );
+		// cancel the task when the deadline expires, and drop it from the executor's queue if it hasn't started.
+		// the expiry timer is cancelled when the task completes, so that it doesn't hold the task until the deadline
+		if( expiring != null )
+		{
+			expiring.setExpiry( scheduleExpiry( future, deadline, resultId ) );
+		}
 		
-		final Entry requestIdEntry = Atom.createEntry( resultUri, REQUEST_ID, date );
-		requestIdEntry.setContent( requestId );
-		feed.addEntry( requestIdEntry );
+		return resultId;
+	}
+	
+	/**
+	 * Wraps the task so that the size of its serialized result is counted against the results cache's byte
+	 * budget as soon as the task completes, rather than when a client retrieves the result, so that results
+	 * that are never retrieved still count against the budget.
+	 * @param task The task that computes and serializes the result
+	 * @param resultsId The key of the task's result in the results cache
+	 * @return The task that computes and serializes the result, and then counts its size
+	 */
+	private Callable< SerializedResult > counting( final Callable< SerializedResult > task, final String resultsId )
+	{
+		return new Callable< SerializedResult >() {
 
-		// create the response
-		final Response response = Response.created( resultUri )
-				  .status( Status.OK )
-				  .location( resultUri )
-				  .entity( feed.toString() )
-				  .type( MediaType.APPLICATION_ATOM_XML )
-				  .build();
-		
-		return response;
+			@Override
+			public SerializedResult call() throws Exception
+			{
+				try
+				{
+					final SerializedResult result = task.call();
+					resultsCache.resultCompleted( resultsId, result.getSize() );
+					return result;
+				}
+				finally
+				{
+					signalCompletion();
+				}
+			}
+		};
 	}
 	
 	/**
-	 * Returns the {@link Class} for the specified name. The signature comes along for the ride, in case
-	 * there is a problem loading the {@link Class} of the specified name.
-	 * @param classname The name of the class to load
-	 * @param signature The signature of the diffusive method in case the {@link Class} of the specified
-	 * name can't be loaded
-	 * @return The {@link Class} associated with the specified class name.
-	 * @throws IllegalArgumentException if the class of the specified name can't be found
+	 * Wakes the bulk result requests that are waiting on results (see {@link #getResults(UriInfo, BulkResultRequest)})
 	 */
-	private synchronized Class< ? > getClass( final String classname, final String signature )
+	private void signalCompletion()
 	{
-//		// if the specified class name represents a primitive, then return that, otherwise begin the search for the 
-//		// class through the various class loaders
-//		Class< ? > clazz = ReflectionUtils.getPrimitive( classname );
-//		if( clazz != null )
-//		{
-//			return clazz;
-//		}
-		Class< ? > clazz = null;
-		// attempt to get the class for the specified class name, and if that fails, create and use
-		// a URL class loader with the diffuser's specific class paths, and whose parent class loader
-		// is the same class loader as loaded this class.
-        try
-        {
-        	clazz = ReflectionUtils.getClazz( classname, false );
-        }
-        catch( IllegalArgumentException e )
+		synchronized( completions )
 		{
-			// log the fact that we couldn't load the class from the system class path,
-			// and that we're going to use the URL class loader to attempt to load the class
-			if( LOGGER.isInfoEnabled() )
-			{
+			completions.notifyAll();
+		}
+	}
+	
+	/**
+	 * Creates the exception that rejects an execute request because the executor's task queue is full. The
+	 * response holds a {@link #RETRY_AFTER_HEADER} hint, and the client should send the request to another
+	 * end-point, or try again after the hint.
+	 * @param signature The signature of the diffuser to which the execute request was sent
+	 * @return The exception holding the {@link #OVERLOADED_STATUS} response
+	 */
+	private WebApplicationException createOverloadedException( final String signature )
+	{
+		final StringBuffer message = new StringBuffer();
+		message.append( "The task queue is full; the execute request was rejected." + Constants.NEW_LINE );
+		message.append( "  Signature: " + signature + Constants.NEW_LINE );
+		message.append( "  Retry After (s): " + RETRY_AFTER );
+		LOGGER.warn( message.toString() );
+		return new WebApplicationException( Response.status( OVERLOADED_STATUS )
+													.header( RETRY_AFTER_HEADER, RETRY_AFTER )
+													.entity( message.toString() )
+													.type( MediaType.TEXT_PLAIN )
+													.build() );
+	}
+	
+	/**
+	 * Schedules the cancellation of the task when its deadline expires. A task that is still waiting in
+	 * the executor's queue is removed from the queue, and a task that is running is interrupted.
+	 * @param future The future of the task
+	 * @param deadline The deadline of the task
+	 * @param resultId The {@link ResultId} of the task's result, used for logging
+	 * @return The {@link ScheduledFuture} of the expiry, which should be cancelled when the task completes
+	 */
+	private ScheduledFuture< ? > scheduleExpiry( final Future< ? > future, final Deadline deadline, final ResultId resultId )
+	{
+		return deadlineTimer.schedule( new Runnable() {
+			
+			@Override
+			public void run()
+			{
+				if( future.cancel( true ) )
+				{
+					if( executor instanceof ThreadPoolExecutor )
+					{
+						( (ThreadPoolExecutor)executor ).purge();
+					}
+					if( LOGGER.isInfoEnabled() )
+					{
+						LOGGER.info( "Cancelled the task because its deadline expired; Result ID: " + resultId.getResultId() );
+					}
+				}
+			}
+		}, deadline.getRemaining( TimeUnit.MILLISECONDS ), TimeUnit.MILLISECONDS );
+	}
+	
+	/**
+	 * Returns the {@link Class} for the specified name. The classes are resolved once for each diffuser, 
+	 * and cached along with the failures to resolve them, so that a class isn't reloaded on each call. 
+	 * Resolution doesn't lock the resource: concurrent requests for the same class wait on a single 
+	 * load, and a slow (remote) load for one diffuser doesn't hold up the others.
+	 * @param classname The name of the class to load
+	 * @param signature The signature of the diffusive method in case the {@link Class} of the specified
+	 * name can't be loaded
+	 * @return The {@link Class} associated with the specified class name.
+	 * @throws IllegalArgumentException if the class of the specified name can't be found
+	 */
+	private Class< ? > getClass( final String classname, final String signature )
+	{
+		final DiffuserEntry entry = diffusers.get( signature );
+		if( entry == null )
+		{
+			return loadClass( classname, signature );
+		}
+		return entry.resolveClass( classname, new Callable< Class< ? > >() {
+
+			@Override
+			public Class< ? > call()
+			{
+				return loadClass( classname, signature );
+			}
+		} );
+	}
+	
+	/**
+	 * Loads the {@link Class} for the specified name. The signature comes along for the ride, in case
+	 * there is a problem loading the {@link Class} of the specified name.
+	 * @param classname The name of the class to load
+	 * @param signature The signature of the diffusive method in case the {@link Class} of the specified
+	 * name can't be loaded
+	 * @return The {@link Class} associated with the specified class name.
+	 * @throws IllegalArgumentException if the class of the specified name can't be found
+	 */
+	private Class< ? > loadClass( final String classname, final String signature )
+	{
+//		// if the specified class name represents a primitive, then return that, otherwise begin the search for the 
+//		// class through the various class loaders
+//		Class< ? > clazz = ReflectionUtils.getPrimitive( classname );
+//		if( clazz != null )
+//		{
+//			return clazz;
+//		}
+		Class< ? > clazz = null;
+		// attempt to get the class for the specified class name, and if that fails, create and use
+		// a URL class loader with the diffuser's specific class paths, and whose parent class loader
+		// is the same class loader as loaded this class.
+        try
+        {
+        	clazz = ReflectionUtils.getClazz( classname, false );
+        }
+        catch( IllegalArgumentException e )
+		{
+			// log the fact that we couldn't load the class from the system class path,
+			// and that we're going to use the URL class loader to attempt to load the class
+			if( LOGGER.isInfoEnabled() )
+			{
 				final StringBuffer message = new StringBuffer();
 				message.append( "Failed to load class from system class path, attempting to use URL class loader." + Constants.NEW_LINE );
 				message.append( "  Signature (Key): " + signature + Constants.NEW_LINE );
@@ -820,6 +1353,10 @@ public class RestfulDiffuserManagerResource {
 	 * @param signature The signature of the {@link RestfulDiffuser} corresponding to a specific method.
 	 * The signatures are created using the {@link DiffuserSignature} class.
 	 * @param requestId The result ID corresponding to the result.
+	 * @param timeout The maximum time, in milliseconds, to hold the request open waiting for the result
+	 * (long-poll). If the result isn't available before the time-out, then returns a "no content" status,
+	 * and the client should re-issue the request. A negative time-out (the default) waits until the result
+	 * is available.
 	 * @return An {@link Response} object that contains a string version of the Atom feed holding the result.
 	 * The {@code content} of the Atom feed contains the {@code byte[]} version of the serialized result object. 
 	 */
@@ -827,7 +1364,8 @@ public class RestfulDiffuserManagerResource {
 	@Produces( MediaType.APPLICATION_ATOM_XML )
 	public Response getResult( @Context final UriInfo uriInfo, 
 							   @PathParam( SIGNATURE ) final String signature,
-							   @PathParam( RESULT_ID ) final String requestId )
+							   @PathParam( RESULT_ID ) final String requestId,
+							   @QueryParam( TIMEOUT ) @DefaultValue( "-1" ) final long timeout )
 	{
 		// create the URI to the newly created diffuser
 		final URI resultUri = uriInfo.getAbsolutePathBuilder().build();
@@ -843,12 +1381,13 @@ public class RestfulDiffuserManagerResource {
 		// or it just isn't found, and we report the error
 		if( ( result = resultsCache.get( cacheKey ) ) != null )
 		{
-			try( final ByteArrayOutputStream output = new ByteArrayOutputStream() )
+			try
 			{
-				// serialize the result result to be used in the response (blocks until the result is done)
-				final Serializer serializer = SerializerFactory.getInstance().createSerializer( result.getSerializerType() );
-				final Object object = result.getResult();	// blocking call
-				serializer.serialize( object, output );
+				// serialize the result result to be used in the response (blocks until the result is done,
+				// or until the time-out, if one was specified, expires). a result that was spilled to the 
+				// mapped store is read from the mapped segment, without deserializing it.
+				final ByteBuffer serializedResult = ( timeout < 0 ? result.getSerializedResult() : result.getSerializedResult( timeout, TimeUnit.MILLISECONDS ) );
+				resultsCache.resultRetrieved( cacheKey, serializedResult.remaining() );
 				
 				// create the atom feed
 				final Feed feed = Atom.createFeed( resultUri, cacheKey, date, uriInfo.getBaseUri() );
@@ -856,31 +1395,33 @@ public class RestfulDiffuserManagerResource {
 				// create an entry for the feed and set the results as the content
 				final Entry entry = Atom.createEntry();
 				
-				final ByteArrayInputStream input = new ByteArrayInputStream( output.toByteArray() );
+				final InputStream input = new ByteBufferInputStream( serializedResult );
 				entry.setId( requestId );
 				entry.setContent( input, MediaType.APPLICATION_OCTET_STREAM );
 				feed.addEntry( entry );
 				
-				// create the response
+				// create the response, writing the feed straight to the response rather than to a string
+				final StreamingOutput output = new SizedStreamingOutput( serializedResult.remaining() ) {
+					
+					@Override
+					public void write( final OutputStream output ) throws IOException
+					{
+						feed.writeTo( output );
+					}
+				};
 				response = Response.ok()
 								   .location( resultUri )
-								   .entity( feed.toString() )
+								   .entity( output )
 								   .type( MediaType.APPLICATION_ATOM_XML )
 								   .build();
 			}
-			catch( IOException e )
+			// the result wasn't available before the time-out expired, the client will ask again
+			catch( TimeoutException e )
 			{
-				final StringBuffer message = new StringBuffer();
-				message.append( "Error occured while attempting to close the byte array output stream for the serialized result result." );
-				message.append( "  Signature (Key): " + signature + Constants.NEW_LINE );
-				message.append( "  Result URI: " + resultUri.toString() + Constants.NEW_LINE );
-				message.append( "  Cache Key: " + cacheKey + Constants.NEW_LINE );
-				message.append( "  Creation Date: " + date + Constants.NEW_LINE );
-				LOGGER.error( message.toString() );
-				throw new IllegalArgumentException( message.toString() );
+				response = Response.noContent().build();
 			}
 			// error grabbing the result from the future...some execution or threading error.
-			catch( ExecutionException | InterruptedException e )
+			catch( ExecutionException | InterruptedException | CancellationException e )
 			{
 				final Feed feed = Atom.createFeed( resultUri, cacheKey, date, uriInfo.getBaseUri() );
 
@@ -918,6 +1459,341 @@ public class RestfulDiffuserManagerResource {
 		return response;
 	}
 
+	/**
+	 * Returns the result of an execute request in the compact binary frame format (see {@link DiffuserFrames}),
+	 * for clients that accept that format. The status codes are the same as those of the 
+	 * {@link #getResult(UriInfo, String, String, long)} method; errors are reported as plain text.
+	 * @param signature The signature of the {@link RestfulDiffuser} corresponding to a specific method.
+	 * The signatures are created using the {@link DiffuserSignature} class.
+	 * @param requestId The result ID corresponding to the result.
+	 * @param timeout The maximum time, in milliseconds, to hold the request open waiting for the result
+	 * (long-poll). A negative time-out (the default) waits until the result is available.
+	 * @return An {@link Response} object that contains the encoded result ID and serialized result object
+	 * @see #getResult(UriInfo, String, String, long)
+	 */
+	@GET @Path( "{" + SIGNATURE + "}" + "/{" + RESULT_ID + ": [a-zA-Z0-9\\-]*}" )
+	@Produces( DiffuserFrames.APPLICATION_DIFFUSIVE_FRAMES )
+	public Response getResultFrames( @PathParam( SIGNATURE ) final String signature,
+									 @PathParam( RESULT_ID ) final String requestId,
+									 @QueryParam( TIMEOUT ) @DefaultValue( "-1" ) final long timeout )
+	{
+		final ResultId resultId = new ResultId( signature, requestId );
+		final String cacheKey = createResultsCacheId( resultId );
+		final ResultCacheEntry< Object > result = resultsCache.get( cacheKey );
+		if( result == null && resultsCache.isRunning( cacheKey ) )
+		{
+			return Response.noContent().build();
+		}
+		else if( result == null )
+		{
+			return Response.status( Status.BAD_REQUEST )
+						   .entity( "Failed to retrieve result. Result not found: " + resultId.getResultId() )
+						   .type( MediaType.TEXT_PLAIN )
+						   .build();
+		}
+		
+		try
+		{
+			// blocks until the result is done, or until the time-out, if one was specified, expires
+			final ByteBuffer serializedResult = ( timeout < 0 ? result.getSerializedResult() : result.getSerializedResult( timeout, TimeUnit.MILLISECONDS ) );
+			resultsCache.resultRetrieved( cacheKey, serializedResult.remaining() );
+			
+			// the serialized result is written straight to the response, from the mapped segment when it was spilled
+			final StreamingOutput frames = new SizedStreamingOutput( serializedResult.remaining() ) {
+				
+				@Override
+				public void write( final OutputStream output ) throws IOException
+				{
+					DiffuserFrames.writeResult( resultId, serializedResult, output );
+				}
+			};
+			return Response.ok()
+						   .entity( frames )
+						   .type( DiffuserFrames.APPLICATION_DIFFUSIVE_FRAMES )
+						   .build();
+		}
+		// the result wasn't available before the time-out expired, the client will ask again
+		catch( TimeoutException e )
+		{
+			return Response.noContent().build();
+		}
+		catch( ExecutionException | InterruptedException | CancellationException e )
+		{
+			return Response.status( Status.INTERNAL_SERVER_ERROR )
+						   .entity( "Failed to retrieve result." + Constants.NEW_LINE + e.getMessage() )
+						   .type( MediaType.TEXT_PLAIN )
+						   .build();
+		}
+	}
+
+	/**
+	 * Returns the serialized result of an execute request as the raw body of the response, for clients that 
+	 * accept an octet stream. The result, serialized once when its task completed, is written straight from the
+	 * results cache to the response's output stream, and the client deserializes the result straight from the 
+	 * response's input stream, so that a large result isn't copied into an Atom feed, encoded, and then 
+	 * decoded. The status codes are the same as those of the {@link #getResult(UriInfo, String, String, long)} 
+	 * method; errors are reported as plain text.
+	 * @param signature The signature of the {@link RestfulDiffuser} corresponding to a specific method.
+	 * The signatures are created using the {@link DiffuserSignature} class.
+	 * @param requestId The result ID corresponding to the result.
+	 * @param timeout The maximum time, in milliseconds, to hold the request open waiting for the result
+	 * (long-poll). A negative time-out (the default) waits until the result is available.
+	 * @return An {@link Response} object that streams the serialized result object
+	 * @see #getResult(UriInfo, String, String, long)
+	 */
+	@GET @Path( "{" + SIGNATURE + "}" + "/{" + RESULT_ID + ": [a-zA-Z0-9\\-]*}" )
+	@Produces( MediaType.APPLICATION_OCTET_STREAM )
+	public Response getResultStream( @PathParam( SIGNATURE ) final String signature,
+									 @PathParam( RESULT_ID ) final String requestId,
+									 @QueryParam( TIMEOUT ) @DefaultValue( "-1" ) final long timeout )
+	{
+		final String cacheKey = createResultsCacheId( signature, requestId );
+		final ResultCacheEntry< Object > result = resultsCache.get( cacheKey );
+		if( result == null && resultsCache.isRunning( cacheKey ) )
+		{
+			return Response.noContent().build();
+		}
+		else if( result == null )
+		{
+			return Response.status( Status.BAD_REQUEST )
+						   .entity( "Failed to retrieve result. Result not found: " + cacheKey )
+						   .type( MediaType.TEXT_PLAIN )
+						   .build();
+		}
+		
+		try
+		{
+			// blocks until the result is done, or until the time-out, if one was specified, expires
+			final ByteBuffer serializedResult = ( timeout < 0 ? result.getSerializedResult() : result.getSerializedResult( timeout, TimeUnit.MILLISECONDS ) );
+			resultsCache.resultRetrieved( cacheKey, serializedResult.remaining() );
+			
+			final StreamingOutput output = new SizedStreamingOutput( serializedResult.remaining() ) {
+				
+				@Override
+				public void write( final OutputStream output ) throws IOException
+				{
+					final WritableByteChannel channel = Channels.newChannel( output );
+					final ByteBuffer buffer = serializedResult.duplicate();
+					while( buffer.hasRemaining() )
+					{
+						channel.write( buffer );
+					}
+					output.flush();
+				}
+			};
+			return Response.ok()
+						   .entity( output )
+						   .type( MediaType.APPLICATION_OCTET_STREAM )
+						   .build();
+		}
+		// the result wasn't available before the time-out expired, the client will ask again
+		catch( TimeoutException e )
+		{
+			return Response.noContent().build();
+		}
+		catch( ExecutionException | InterruptedException | CancellationException e )
+		{
+			return Response.status( Status.INTERNAL_SERVER_ERROR )
+						   .entity( "Failed to retrieve result." + Constants.NEW_LINE + e.getMessage() )
+						   .type( MediaType.TEXT_PLAIN )
+						   .build();
+		}
+	}
+
+	/**
+	 * Returns the results for a number of result IDs in one round trip. The result IDs may belong to
+	 * different diffusers. The method waits, at most, for the time-out specified in the request, until any
+	 * of the results has completed, and then returns all the results that have completed, in the order in 
+	 * which they were found to have completed. A slow result therefore doesn't hold back the results that
+	 * complete after it. The time-out is shared by all the results in the request, rather than applied to 
+	 * each result.
+	 * @param uriInfo Information about the request URI and the JAX-RS application.
+	 * @param request The {@link BulkResultRequest} holding the result IDs and the time-out
+	 * @return An {@link Response} object that contains a string version of the Atom feed holding one entry
+	 * for each completed result. The entry's ID is the result ID, and its summary is the status of the result
+	 * ({@link #RESULT_STATUS_COMPLETED} or {@link #RESULT_STATUS_FAILED}). Completed results hold the
+	 * {@code byte[]} version of the serialized result object as content; failed results hold the reason for
+	 * the failure. Results that are still running are not in the feed, and the client should ask again.
+	 */
+	@POST @Path( RESULTS_PATH )
+	@Consumes( MediaType.APPLICATION_XML )
+	@Produces( MediaType.APPLICATION_ATOM_XML )
+	public Response getResults( @Context final UriInfo uriInfo, final BulkResultRequest request )
+	{
+		final URI resultsUri = uriInfo.getAbsolutePathBuilder().build();
+		final UriBuilder diffusersUriBuilder = uriInfo.getBaseUriBuilder().path( DIFFUSER_PATH );
+		final Date date = new Date();
+		final Feed feed = Atom.createFeed( resultsUri, "get-results", date, uriInfo.getBaseUri() );
+		
+		// the results that can't be found are reported right away, and the remaining ones are waited on
+		final Map< ResultId, ResultCacheEntry< Object > > pending = new LinkedHashMap<>();
+		for( String id : request.getResultIds() )
+		{
+			final ResultId resultId = ResultId.parse( id );
+			final ResultCacheEntry< Object > result = resultsCache.get( createResultsCacheId( resultId ) );
+			if( result == null )
+			{
+				final URI resultUri = diffusersUriBuilder.clone().path( resultId.getSignature() ).path( resultId.getRequestId() ).build();
+				final Entry entry = Atom.createEntry( resultUri, resultId.getResultId(), date );
+				entry.setSummary( RESULT_STATUS_FAILED );
+				entry.setContent( "Failed to retrieve result. Result not found.", MediaType.TEXT_PLAIN );
+				feed.addEntry( entry );
+			}
+			else
+			{
+				pending.put( resultId, result );
+			}
+		}
+		
+		// the time-out is shared by all the results. the results are collected in the order in which they
+		// complete, and the request returns once any of them has completed, or the time-out has expired
+		final long deadline = System.currentTimeMillis() + Math.max( request.getTimeout(), 0 );
+		while( !pending.isEmpty() )
+		{
+			final Iterator< Map.Entry< ResultId, ResultCacheEntry< Object > > > iterator = pending.entrySet().iterator();
+			while( iterator.hasNext() )
+			{
+				final Map.Entry< ResultId, ResultCacheEntry< Object > > completed = iterator.next();
+				if( completed.getValue().isDone() )
+				{
+					final ResultId resultId = completed.getKey();
+					final URI resultUri = diffusersUriBuilder.clone().path( resultId.getSignature() ).path( resultId.getRequestId() ).build();
+					feed.addEntry( createResultEntry( resultId, resultUri, completed.getValue(), date ) );
+					iterator.remove();
+				}
+			}
+			
+			final long remaining = deadline - System.currentTimeMillis();
+			if( !feed.getEntries().isEmpty() || remaining <= 0 )
+			{
+				break;
+			}
+			
+			// still running, so wait for the next task to complete
+			try
+			{
+				synchronized( completions )
+				{
+					completions.wait( Math.min( remaining, COMPLETION_CHECK_INTERVAL ) );
+				}
+			}
+			catch( InterruptedException e )
+			{
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		
+		if( LOGGER.isDebugEnabled() )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Retrieved bulk results." + Constants.NEW_LINE );
+			message.append( "  Number of Requested Results: " + request.getResultIds().size() + Constants.NEW_LINE );
+			message.append( "  Number of Completed Results: " + feed.getEntries().size() );
+			LOGGER.debug( message.toString() );
+		}
+		
+		return Response.ok()
+					   .location( resultsUri )
+					   .entity( feed.toString() )
+					   .type( MediaType.APPLICATION_ATOM_XML )
+					   .build();
+	}
+
+	/**
+	 * Creates the entry, for the bulk result response, holding the completed result, or the reason the result failed
+	 * @param resultId The {@link ResultId} of the result
+	 * @param resultUri The URI of the result
+	 * @param result The cache entry holding the completed result
+	 * @param date The time stamp of the response
+	 * @return The entry holding the serialized result, or the reason it failed
+	 */
+	private Entry createResultEntry( final ResultId resultId, final URI resultUri, final ResultCacheEntry< Object > result, final Date date )
+	{
+		final Entry entry = Atom.createEntry( resultUri, resultId.getResultId(), date );
+		try
+		{
+			final ByteBuffer serializedResult = result.getSerializedResult();
+			resultsCache.resultRetrieved( createResultsCacheId( resultId ), serializedResult.remaining() );
+			
+			entry.setSummary( RESULT_STATUS_COMPLETED );
+			entry.setContent( new ByteBufferInputStream( serializedResult ), MediaType.APPLICATION_OCTET_STREAM );
+		}
+		catch( ExecutionException | InterruptedException | CancellationException e )
+		{
+			entry.setSummary( RESULT_STATUS_FAILED );
+			entry.setContent( "Failed to retrieve result." + Constants.NEW_LINE + e.getMessage(), MediaType.TEXT_PLAIN );
+		}
+		return entry;
+	}
+
+	/**
+	 * Cancels the execution of the task associated with the specified signature and request ID, and 
+	 * removes its result from the results cache. If the task is running, then the thread running the
+	 * {@link DiffuserTask} is interrupted. Clients use this to cancel redundant executions whose results 
+	 * are no longer needed because another end-point returned the result first.
+	 * @param uriInfo Information about the request URI and the JAX-RS application.
+	 * @param signature The signature of the {@link RestfulDiffuser} corresponding to a specific method.
+	 * The signatures are created using the {@link DiffuserSignature} class.
+	 * @param requestId The request ID corresponding to the result.
+	 * @return A {@link Response} with an "ok" status if the result was found and cancelled; a "bad request"
+	 * status if no result exists for the specified signature and request ID
+	 */
+	@DELETE @Path( "{" + SIGNATURE + "}" + "/{" + RESULT_ID + ": [a-zA-Z0-9\\-]*}" )
+	@Produces( MediaType.APPLICATION_ATOM_XML )
+	public Response cancel( @Context final UriInfo uriInfo, 
+							@PathParam( SIGNATURE ) final String signature,
+							@PathParam( RESULT_ID ) final String requestId )
+	{
+		// create the URI to the result
+		final URI resultUri = uriInfo.getAbsolutePathBuilder().build();
+
+		// grab the date for time stamp
+		final Date date = new Date();
+
+		Response response = null;
+		final String cacheKey = createResultsCacheId( signature, requestId );
+		final ResultCacheEntry< Object > result = resultsCache.get( cacheKey );
+		if( result != null )
+		{
+			// cancel the task (interrupting it if it is running) and remove it from the cache
+			final boolean isCancelled = result.cancel();
+			resultsCache.remove( cacheKey );
+			signalCompletion();
+			
+			if( LOGGER.isDebugEnabled() )
+			{
+				final StringBuffer message = new StringBuffer();
+				message.append( "Cancelled diffused task" + Constants.NEW_LINE );
+				message.append( "  Signature (Key): " + signature + Constants.NEW_LINE );
+				message.append( "  Request ID: " + requestId + Constants.NEW_LINE );
+				message.append( "  Task Completed Before Cancel: " + !isCancelled );
+				LOGGER.debug( message.toString() );
+			}
+			
+			// create the atom feed
+			final Feed feed = Atom.createFeed( resultUri, "cancel-result", date );
+			
+			// create the response
+			response = Response.ok()
+							   .location( resultUri )
+							   .entity( feed.toString() )
+							   .type( MediaType.APPLICATION_ATOM_XML )
+							   .build();
+		}
+		else
+		{
+			// create the atom feed
+			final Feed feed = Atom.createFeed( resultUri, "error-cancel-result", date );
+
+			// create the error response
+			response = Response.status( Status.BAD_REQUEST )
+							   .entity( feed.toString() )
+							   .build();
+		}
+		return response;
+	}
+
 	/**
 	 * Returns an Atom feed as a string, whose entries each represent a registered diffuser
 	 * @param uriInfo Information about the request URI and the JAX-RS application.
@@ -1111,6 +1987,56 @@ public class RestfulDiffuserManagerResource {
 		return response;
 	}
 
+	/**
+	 * Returns the statistics of the scheduler for each of the priorities of the submitted tasks: the number of 
+	 * tasks waiting, submitted, started, cancelled while waiting, and rejected, and the average time the tasks 
+	 * waited for a thread. The feed has no entries when the executor doesn't schedule by priority.
+	 * @param uriInfo Information about the request URI and the JAX-RS application.
+	 * @return An Atom feed with an entry for each priority
+	 * @see PriorityTaskExecutor
+	 */
+	@GET @Path( SCHEDULER_PATH )
+	@Produces( MediaType.APPLICATION_ATOM_XML )
+	public Response getSchedulerStats( @Context final UriInfo uriInfo )
+	{
+		// grab the base URI builder for absolute paths and build the base URI
+		final UriBuilder baseUriBuilder = uriInfo.getAbsolutePathBuilder();
+		final URI baseUri = baseUriBuilder.build();
+
+		// grab the date for time stamp
+		final Date date = new Date();
+		
+		// create the atom feed
+		final Feed feed = Atom.createFeed( baseUri, "get-scheduler-stats", date, baseUri );
+
+		// add an entry for each priority
+		if( executor instanceof PriorityTaskExecutor )
+		{
+			for( PriorityTaskExecutor.PriorityStats stats : ( (PriorityTaskExecutor)executor ).getPriorityStats().values() )
+			{
+				final Entry feedEntry = Atom.createEntry( baseUri, Integer.toString( stats.getPriority() ), date );
+				feedEntry.setSummaryAsHtml( "<p>Priority: " + stats.getPriority() + "</p>" +
+											"<p>Queued: " + stats.getQueued() + "</p>" +
+											"<p>Submitted: " + stats.getSubmitted() + "</p>" +
+											"<p>Started: " + stats.getStarted() + "</p>" +
+											"<p>Cancelled: " + stats.getCancelled() + "</p>" +
+											"<p>Rejected: " + stats.getRejected() + "</p>" +
+											"<p>Average Wait (ms): " + String.format( "%.3f", stats.getAverageWait() ) + "</p>" );
+				feedEntry.setContent( stats.toString() );
+				feed.addEntry( feedEntry );
+			}
+		}
+		
+		final Response response = Response.created( baseUri )
+				  .status( Status.OK )
+				  .location( baseUri )
+				  .entity( feed.toString() )
+				  .type( MediaType.APPLICATION_ATOM_XML )
+				  .build();
+		
+		return response;
+	}
+
 	/**
 	 * Creates the results cache ID used as the key into the {@link #resultsCache}.
 	 * @param signature The signature of the method that was executed
@@ -1202,6 +2128,9 @@ public class RestfulDiffuserManagerResource {
 		
 		private final RestfulDiffuser diffuser;
 		private final ClassLoader classLoader;
+		
+		// the classes resolved for the diffuser, and the failures to resolve them
+		private final ConcurrentMap< String, ClassResolution > classes;
 
 		/**
 		 * Constructs an entry containing the {@link Diffuser} and the list of class path end-points
@@ -1212,6 +2141,7 @@ public class RestfulDiffuserManagerResource {
 		{
 			this.diffuser = diffuser;
 			this.classLoader = classLoader;
+			this.classes = new ConcurrentHashMap<>();
 		}
 		
 		/**
@@ -1229,10 +2159,176 @@ public class RestfulDiffuserManagerResource {
 		{
 			return classLoader;
 		}
+		
+		/**
+		 * Returns the cached {@link Class} of the specified name, loading it with the specified loader
+		 * when it hasn't been resolved, or when the remembered failure to resolve it has expired. 
+		 * Concurrent requests for the same class wait on a single load.
+		 * @param classname The name of the class
+		 * @param loader Loads the class
+		 * @return The {@link Class} of the specified name
+		 * @throws IllegalArgumentException if the class of the specified name can't be found
+		 */
+		public Class< ? > resolveClass( final String classname, final Callable< Class< ? > > loader )
+		{
+			while( true )
+			{
+				final ClassResolution current = classes.get( classname );
+				if( current != null && !current.isExpired() )
+				{
+					return current.getClazz();
+				}
+				
+				// only the thread that installs the resolution loads the class
+				final ClassResolution resolution = new ClassResolution( loader );
+				if( current == null ? classes.putIfAbsent( classname, resolution ) == null : classes.replace( classname, current, resolution ) )
+				{
+					resolution.run();
+					return resolution.getClazz();
+				}
+			}
+		}
 	}
 	
 	/**
-	 * {@link Callable} task that can be submitted to the {@link ExecutorService} to run.
+	 * The resolution of a class, which holds the {@link Class} once it has been loaded, or the failure 
+	 * to load it. The failure expires after {@link RestfulDiffuserManagerResource#CLASS_FAILURE_CACHE_TIME},
+	 * so that a class that becomes available (for example, when a remote class server comes up) is 
+	 * eventually loaded.
+	 * 
+	 * @author Robert Philipp
+	 */
+	private static class ClassResolution extends FutureTask< Class< ? > > {
+		
+		private volatile long failedAt;
+		private volatile boolean isFailed;
+		
+		/**
+		 * Constructs the resolution of the class
+		 * @param loader Loads the class
+		 */
+		public ClassResolution( final Callable< Class< ? > > loader )
+		{
+			super( loader );
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.FutureTask#setException(java.lang.Throwable)
+		 */
+		@Override
+		protected void setException( final Throwable throwable )
+		{
+			failedAt = System.nanoTime();
+			isFailed = true;
+			super.setException( throwable );
+		}
+		
+		/**
+		 * @return true if the class failed to load, and the failure is older than the failure cache time; 
+		 * false otherwise
+		 */
+		public boolean isExpired()
+		{
+			return isFailed && System.nanoTime() - failedAt > TimeUnit.SECONDS.toNanos( CLASS_FAILURE_CACHE_TIME );
+		}
+		
+		/**
+		 * Blocks until the class has been resolved, and returns it
+		 * @return The resolved {@link Class}
+		 * @throws IllegalArgumentException if the class of the specified name can't be found
+		 */
+		public Class< ? > getClazz()
+		{
+			try
+			{
+				return get();
+			}
+			catch( InterruptedException e )
+			{
+				Thread.currentThread().interrupt();
+				final String message = "Interrupted while waiting for the class to be resolved.";
+				LOGGER.error( message, e );
+				throw new IllegalStateException( message, e );
+			}
+			catch( ExecutionException e )
+			{
+				// report the original failure, which was logged when it occurred
+				final Throwable cause = e.getCause();
+				if( cause instanceof IllegalArgumentException )
+				{
+					throw new IllegalArgumentException( cause.getMessage(), cause );
+				}
+				throw new IllegalStateException( cause.getMessage(), cause );
+			}
+		}
+	}
+	
+	/**
+	 * {@link Callable} that wraps a task that has a deadline, and that cancels the task's expiry timer once
+	 * the task completes. The deadline timer removes cancelled expiries from its queue, and so a completed
+	 * task isn't held by the timer until its deadline.
+	 * 
+	 * @param <T> The type returned by the task
+	 * 
+	 * @author Robert Philipp
+	 */
+	private static class ExpiringTask< T > implements Callable< T > {
+		
+		// marks the task as completed, so that an expiry that is set afterwards is cancelled right away
+		private static final Object COMPLETED = new Object();
+		
+		private final Callable< T > task;
+		private final AtomicReference< Object > expiry;
+		
+		/**
+		 * Wraps the specified task
+		 * @param task The task to run
+		 */
+		public ExpiringTask( final Callable< T > task )
+		{
+			this.task = task;
+			this.expiry = new AtomicReference<>();
+		}
+		
+		/**
+		 * Sets the expiry timer of the task. If the task has already completed, then the timer is cancelled.
+		 * @param timer The {@link ScheduledFuture} of the task's expiry
+		 */
+		public void setExpiry( final ScheduledFuture< ? > timer )
+		{
+			if( !expiry.compareAndSet( null, timer ) )
+			{
+				timer.cancel( false );
+			}
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Callable#call()
+		 */
+		@Override
+		public T call() throws Exception
+		{
+			try
+			{
+				return task.call();
+			}
+			finally
+			{
+				final Object timer = expiry.getAndSet( COMPLETED );
+				if( timer instanceof ScheduledFuture )
+				{
+					( (ScheduledFuture< ? >)timer ).cancel( false );
+				}
+			}
+		}
+	}
+	
+	/**
+	 * {@link Callable} task that can be submitted to the {@link ExecutorService} to run. The task runs
+	 * with its deadline set as the current {@link Deadline} of the thread, so that a nested diffusion
+	 * forwards the time remaining to the next diffuser.
 	 * 
 	 * @author Robert Philipp
 	 */
@@ -1245,6 +2341,8 @@ public class RestfulDiffuserManagerResource {
 		private final Object[] arguments;
 		private final Class< ? >[] argumentTypes;
 		private final DiffuserLoadCalc loadCalc;
+		private final Deadline deadline;
+		private final ResultsCache resultsCache;
 		
 		/**
 		 * Constructs a {@link Callable} task for the {@link ExecutorService}
@@ -1255,6 +2353,8 @@ public class RestfulDiffuserManagerResource {
 		 * @param diffuser The diffuser that is used to run/diffuser the method call
 		 * @param loadCalc The {@link DiffuserLoadCalc} that is used to determine the load which
 		 * allows the diffuser to determine whether to compute locally, or diffuser forward.
+		 * @param deadline The caller's deadline; or null if the caller has no deadline
+		 * @param resultsCache The {@link ResultsCache} that counts the running tasks
 		 */
 		public DiffuserTask( final String methodName,
 							 final List< ? super Object > arguments,
@@ -1262,7 +2362,9 @@ public class RestfulDiffuserManagerResource {
 							 final Class< ? > returnType,
 							 final Object deserializedObject,
 							 final Diffuser diffuser,
-							 final DiffuserLoadCalc loadCalc )
+							 final DiffuserLoadCalc loadCalc,
+							 final Deadline deadline,
+							 final ResultsCache resultsCache )
 		{
 			this.returnType = returnType;
 			this.deserializedObject = deserializedObject;
@@ -1271,6 +2373,8 @@ public class RestfulDiffuserManagerResource {
 			this.arguments = arguments.toArray( new Object[ 0 ] );
 			this.loadCalc = loadCalc;
 			this.argumentTypes = argumentTypes.toArray( new Class< ? >[0] );
+			this.deadline = deadline;
+			this.resultsCache = resultsCache;
 		}
 
 		/*
@@ -1280,8 +2384,24 @@ public class RestfulDiffuserManagerResource {
 		@Override
 		public Object call()
 		{
+			// the task waited in the queue until after the deadline expired, so the caller no longer needs the result
+			if( deadline != null && deadline.isExpired() )
+			{
+				throw new IllegalStateException( "The caller's deadline expired before the task started; Method Name: " + methodName );
+			}
+			
 //			return diffuser.runObject( loadCalc.getLoad(), returnType, deserializedObject, methodName, arguments );
-			return diffuser.runObject( loadCalc.getLoad(), returnType, deserializedObject, methodName, argumentTypes, arguments );
+			final Deadline previous = Deadline.setCurrent( deadline );
+			resultsCache.taskStarted();
+			try
+			{
+				return diffuser.runObject( loadCalc.getLoad(), returnType, deserializedObject, methodName, argumentTypes, arguments );
+			}
+			finally
+			{
+				resultsCache.taskFinished();
+				Deadline.setCurrent( previous );
+			}
 		}
 	}
 	
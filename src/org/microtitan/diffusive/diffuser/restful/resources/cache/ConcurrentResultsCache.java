@@ -0,0 +1,585 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.resources.cache;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+
+/**
+ * Results cache that can be used by many threads without contending on a lock. The entries are held in 
+ * a {@link ConcurrentHashMap}, and the order in which they were added in a lock-free queue.
+ * 
+ * When the cache holds more than the maximum number of results, or when the serialized results that it
+ * holds exceed the byte budget, the least recently used of the completed results is dropped. Results
+ * whose tasks are still running are never dropped, because the client would then be told that a result
+ * the server is still computing doesn't exist. The least recently used result is found by giving each
+ * result that was retrieved since it was queued a second chance at the back of the queue. Completed results 
+ * that haven't been retrieved within the time-to-live are dropped as well. And optionally, results are
+ * removed as soon as they have been retrieved, so that the cache holds only the results that the clients
+ * still need.
+ * 
+ * When the cache has a {@link MappedResultStore}, the completed results that would be dropped to stay within
+ * the byte budget are spilled to the store instead: the hot results stay on the heap, up to the byte budget, and
+ * the colder ones are served from the memory-mapped segments. The spilled results still count towards the 
+ * maximum number of results, and they are dropped when they expire, or when the store is full.
+ * 
+ * The number of running tasks is an atomic counter that the tasks update as they start and finish (see
+ * {@link #taskStarted()} and {@link #taskFinished()}), rather than a scan of the entries, so that the load 
+ * calculators (for example, the {@link org.microtitan.diffusive.diffuser.strategy.load.TaskCpuLoadCalc}) can 
+ * call {@link #getNumRunning()} for every task at a constant cost.
+ * 
+ * @author Robert Philipp
+ */
+public class ConcurrentResultsCache implements ResultsCache {
+
+	private static final Logger LOGGER = Logger.getLogger( ConcurrentResultsCache.class );
+	
+	private static final int MAX_RESULTS = 100;
+	
+	// the size of an entry that has been removed from the cache, so that its size is no longer counted
+	private static final long REMOVED = -1;
+	
+	private final ConcurrentMap< String, Holder > cache;
+	private final int maxCachedItems;
+	private final long maxCachedBytes;
+	private final long timeToLive;
+	private final boolean isRemovingRetrieved;
+	private final MappedResultStore spillStore;
+	
+	// the entries in the order they were added (or given a second chance). removing an entry from the cache
+	// leaves its (stale) node in the queue, which is skipped when evicting, and dropped when the queue is compacted.
+	private final Queue< Node > order;
+	private final AtomicInteger numQueued;
+	private final AtomicInteger numCached;
+	private final AtomicLong numCachedBytes;
+	private final AtomicBoolean isCompacting;
+	
+	private final AtomicLong numRunning;
+	
+	/**
+	 * Constructs a concurrent cache that holds the specified number of entries, and whose entries hold at most 
+	 * the specified number of bytes of serialized results. When an item is added, and that causes the cache to
+	 * exceed either of its limits, the least recently used of the completed items are dropped.
+	 * @param maxResults The maximum number of cache entries allowed.
+	 * @param maxBytes The maximum number of bytes of serialized results held by the entries; 0 for no limit
+	 * @param timeToLive The time, in milliseconds, after which a completed entry that hasn't been retrieved
+	 * is dropped; 0 to keep the entries until they are evicted
+	 * @param isRemovingRetrieved When true, an entry is removed as soon as its result has been retrieved
+	 * @param spillStore The store to which completed results are spilled when the cache exceeds its byte 
+	 * budget; null to drop the results instead
+	 */
+	public ConcurrentResultsCache( final int maxResults, 
+								   final long maxBytes, 
+								   final long timeToLive, 
+								   final boolean isRemovingRetrieved,
+								   final MappedResultStore spillStore )
+	{
+		this.cache = new ConcurrentHashMap<>();
+		this.maxCachedItems = maxResults;
+		this.maxCachedBytes = maxBytes;
+		this.timeToLive = TimeUnit.MILLISECONDS.toNanos( timeToLive );
+		this.isRemovingRetrieved = isRemovingRetrieved;
+		this.spillStore = spillStore;
+		this.order = new ConcurrentLinkedQueue<>();
+		this.numQueued = new AtomicInteger( 0 );
+		this.numCached = new AtomicInteger( 0 );
+		this.numCachedBytes = new AtomicLong( 0 );
+		this.isCompacting = new AtomicBoolean( false );
+		this.numRunning = new AtomicLong( 0 );
+	}
+	
+	/**
+	 * Constructs a concurrent cache that holds the specified number of entries, and whose entries hold at most 
+	 * the specified number of bytes of serialized results. When an item is added, and that causes the cache to
+	 * exceed either of its limits, the least recently used of the completed items are dropped.
+	 * @param maxResults The maximum number of cache entries allowed.
+	 * @param maxBytes The maximum number of bytes of serialized results held by the entries; 0 for no limit
+	 * @param timeToLive The time, in milliseconds, after which a completed entry that hasn't been retrieved
+	 * is dropped; 0 to keep the entries until they are evicted
+	 * @param isRemovingRetrieved When true, an entry is removed as soon as its result has been retrieved
+	 */
+	public ConcurrentResultsCache( final int maxResults, final long maxBytes, final long timeToLive, final boolean isRemovingRetrieved )
+	{
+		this( maxResults, maxBytes, timeToLive, isRemovingRetrieved, null );
+	}
+	
+	/**
+	 * Constructs a concurrent cache that holds the specified number of entries. When an item is added, and
+	 * that causes the number of items to exceed the maximum number of items, the least recently used of the
+	 * completed items is dropped.
+	 * @param maxResults The maximum number of cache entries allowed.
+	 */
+	public ConcurrentResultsCache( final int maxResults )
+	{
+		this( maxResults, 0, 0, false );
+	}
+	
+	/**
+	 * Constructs a concurrent cache that holds the default number of entries. When an item is added, and
+	 * that causes the number of items to exceed the maximum number of items, the least recently used of the
+	 * completed items is dropped.
+	 * 
+	 * The maximum number of cached items ({@link #MAX_RESULTS}) defaults to a value of {@value #MAX_RESULTS}.
+	 */
+	public ConcurrentResultsCache()
+	{
+		this( MAX_RESULTS );
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.cache.Cache#add(java.lang.Object, java.lang.Object)
+	 */
+	@Override
+	public ResultCacheEntry< Object > add( final String key, final ResultCacheEntry< Object > cacheEntry )
+	{
+		final Holder holder = new Holder( cacheEntry );
+		final Holder previous = cache.put( key, holder );
+		if( LOGGER.isInfoEnabled() )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Cached result" + Constants.NEW_LINE );
+			message.append( "  Cache Key: " + key + Constants.NEW_LINE );
+			message.append( "  Cache Entry: " + Constants.NEW_LINE );
+			message.append( cacheEntry.toString() );
+			LOGGER.info( message.toString() );
+		}
+		
+		// a replaced entry moves to the back of the queue, and its old node becomes stale
+		if( previous == null )
+		{
+			numCached.incrementAndGet();
+		}
+		else
+		{
+			uncount( previous );
+		}
+		enqueue( key, holder );
+		evict();
+		
+		// the queue holds more stale nodes than entries, so drop them
+		if( numQueued.get() > 2 * Math.max( maxCachedItems, numCached.get() ) )
+		{
+			compact();
+		}
+		return previous == null ? null : previous.entry;
+	}
+	
+	/**
+	 * Adds a node for the entry to the back of the queue
+	 * @param key The key of the entry
+	 * @param holder The holder of the entry
+	 */
+	private void enqueue( final String key, final Holder holder )
+	{
+		order.offer( new Node( key, holder ) );
+		numQueued.incrementAndGet();
+	}
+	
+	/**
+	 * @return true if the cache holds more entries, or more bytes, than it is allowed
+	 */
+	private boolean isOverLimit()
+	{
+		return numCached.get() > maxCachedItems || ( maxCachedBytes > 0 && numCachedBytes.get() > maxCachedBytes );
+	}
+	
+	/**
+	 * @param node A node in the queue
+	 * @return true if the node's entry has since been removed or replaced
+	 */
+	private boolean isStale( final Node node )
+	{
+		return cache.get( node.key ) != node.holder;
+	}
+	
+	/**
+	 * @param holder The holder of an entry
+	 * @return true if the entry's result is complete, and it hasn't been retrieved within the time-to-live
+	 */
+	private boolean isExpired( final Holder holder )
+	{
+		return timeToLive > 0 && holder.entry.isDone() && System.nanoTime() - holder.lastAccess > timeToLive;
+	}
+	
+	/**
+	 * Drops entries from the front of the queue while the cache is over its limits, or while the entry at the
+	 * front of the queue has expired. Running entries are pinned, and entries that have been retrieved since 
+	 * they were queued get a second chance, so both go to the back of the queue. When only the byte budget is
+	 * exceeded, the entries are spilled to the mapped store, if there is one, rather than dropped. Each node is 
+	 * visited at most once, so when all the entries are running, the cache holds more entries than its limit 
+	 * until they complete.
+	 */
+	private void evict()
+	{
+		int numToVisit = numQueued.get();
+		Node head;
+		while( numToVisit-- > 0 && ( head = order.peek() ) != null && ( isOverLimit() || isStale( head ) || isExpired( head.holder ) ) )
+		{
+			final Node node = order.poll();
+			if( node == null )
+			{
+				return;
+			}
+			numQueued.decrementAndGet();
+			if( isStale( node ) )
+			{
+				continue;
+			}
+			
+			final boolean isRunning = !node.holder.entry.isDone();
+			if( isRunning || ( !isExpired( node.holder ) && node.holder.lastAccess - node.queuedAt > 0 ) )
+			{
+				enqueue( node.key, node.holder );
+			}
+			// only the byte budget is exceeded, and the spilled entries don't count against it
+			else if( !isExpired( node.holder ) && numCached.get() <= maxCachedItems && node.holder.entry.isSpilled() )
+			{
+				enqueue( node.key, node.holder );
+			}
+			else if( !isExpired( node.holder ) && numCached.get() <= maxCachedItems && spill( node.key, node.holder ) )
+			{
+				if( LOGGER.isDebugEnabled() )
+				{
+					LOGGER.debug( "Spilled result from the cache to the mapped store; Cache Key: " + node.key );
+				}
+			}
+			else if( remove( node.key, node.holder ) && LOGGER.isDebugEnabled() )
+			{
+				LOGGER.debug( "Evicted result from the cache; Cache Key: " + node.key );
+			}
+		}
+	}
+	
+	/**
+	 * Replaces the entry with one whose serialized result is held in the mapped store
+	 * @param key The key of the entry
+	 * @param holder The holder of the entry
+	 * @return true if the entry was spilled; false if there is no store, the entry couldn't be spilled, 
+	 * or the entry has since been removed or replaced
+	 */
+	private boolean spill( final String key, final Holder holder )
+	{
+		if( spillStore == null )
+		{
+			return false;
+		}
+		final ResultCacheEntry< Object > spilled = holder.entry.spill( spillStore );
+		if( spilled == null )
+		{
+			return false;
+		}
+		final Holder spilledHolder = new Holder( spilled );
+		if( !cache.replace( key, holder, spilledHolder ) )
+		{
+			spilled.release();
+			return false;
+		}
+		uncount( holder );
+		enqueue( key, spilledHolder );
+		return true;
+	}
+	
+	/**
+	 * Drops the stale nodes from the queue. Only one thread compacts the queue at a time, and the other
+	 * threads carry on without waiting for it.
+	 */
+	private void compact()
+	{
+		if( !isCompacting.compareAndSet( false, true ) )
+		{
+			return;
+		}
+		try
+		{
+			final Iterator< Node > nodes = order.iterator();
+			while( nodes.hasNext() )
+			{
+				if( isStale( nodes.next() ) )
+				{
+					nodes.remove();
+					numQueued.decrementAndGet();
+				}
+			}
+		}
+		finally
+		{
+			isCompacting.set( false );
+		}
+	}
+	
+	/**
+	 * Removes the entry from the cache, unless the entry has since been removed, or replaced
+	 * @param key The key of the entry
+	 * @param holder The holder of the entry
+	 * @return true if the entry was removed; false otherwise
+	 */
+	private boolean remove( final String key, final Holder holder )
+	{
+		if( cache.remove( key, holder ) )
+		{
+			numCached.decrementAndGet();
+			uncount( holder );
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Stops counting the size of the removed (or replaced) entry against the byte budget, and releases 
+	 * its spilled result
+	 * @param holder The holder of the entry that was removed
+	 */
+	private void uncount( final Holder holder )
+	{
+		holder.entry.release();
+		final long size = holder.size.getAndSet( REMOVED );
+		if( size > 0 )
+		{
+			numCachedBytes.addAndGet( -size );
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.cache.Cache#get(java.lang.Object)
+	 */
+	@Override
+	public ResultCacheEntry< Object > get( final String key )
+	{
+		final Holder holder = cache.get( key );
+		if( holder == null )
+		{
+			return null;
+		}
+		if( isExpired( holder ) )
+		{
+			remove( key, holder );
+			return null;
+		}
+		holder.lastAccess = System.nanoTime();
+		return holder.entry;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.cache.Cache#isCached(java.lang.Object)
+	 */
+	@Override
+	public boolean isCached( final String key )
+	{
+		final Holder holder = cache.get( key );
+		return holder != null && !isExpired( holder );
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.cache.Cache#remove(java.lang.Object)
+	 */
+	@Override
+	public void remove( final String key )
+	{
+		final Holder holder = cache.remove( key );
+		if( holder != null )
+		{
+			numCached.decrementAndGet();
+			uncount( holder );
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.cache.Cache#getKeys()
+	 */
+	@Override
+	public Set< String > getKeys()
+	{
+		return Collections.unmodifiableSet( cache.keySet() );
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache#isRunning(java.lang.String)
+	 */
+	@Override
+	public boolean isRunning( final String key )
+	{
+		final Holder holder = cache.get( key );
+		return holder != null && !holder.entry.isDone();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache#getNumRunning()
+	 */
+	@Override
+	public long getNumRunning()
+	{
+		return numRunning.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache#taskStarted()
+	 */
+	@Override
+	public void taskStarted()
+	{
+		numRunning.incrementAndGet();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache#taskFinished()
+	 */
+	@Override
+	public void taskFinished()
+	{
+		numRunning.decrementAndGet();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache#resultCompleted(java.lang.String, long)
+	 */
+	@Override
+	public void resultCompleted( final String key, final long numBytes )
+	{
+		final Holder holder = cache.get( key );
+		if( holder != null )
+		{
+			count( holder, numBytes );
+		}
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache#resultRetrieved(java.lang.String, long)
+	 */
+	@Override
+	public void resultRetrieved( final String key, final long numBytes )
+	{
+		final Holder holder = cache.get( key );
+		if( holder == null )
+		{
+			return;
+		}
+		if( isRemovingRetrieved )
+		{
+			remove( key, holder );
+			return;
+		}
+		
+		// the size is normally counted when the task completes (see #resultCompleted(String, long))
+		count( holder, numBytes );
+	}
+	
+	/**
+	 * Counts the size of the entry's serialized result against the byte budget, and when the cache exceeds
+	 * its byte budget, drops (or spills) the least recently used results. The size is counted once, and only 
+	 * while the entry is in the cache.
+	 * @param holder The holder of the entry
+	 * @param numBytes The size, in bytes, of the serialized result
+	 */
+	private void count( final Holder holder, final long numBytes )
+	{
+		if( numBytes > 0 && holder.size.compareAndSet( 0, numBytes ) )
+		{
+			numCachedBytes.addAndGet( numBytes );
+			if( maxCachedBytes > 0 && numCachedBytes.get() > maxCachedBytes )
+			{
+				evict();
+			}
+		}
+	}
+	
+	/**
+	 * @return The number of bytes of serialized results counted against the byte budget
+	 */
+	public long getNumCachedBytes()
+	{
+		return numCachedBytes.get();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		final StringBuffer buffer = new StringBuffer();
+		buffer.append( "Cached Results: " + numCached.get() + " of " + maxCachedItems + Constants.NEW_LINE );
+		buffer.append( "Cached Bytes: " + numCachedBytes.get() + " of " + ( maxCachedBytes > 0 ? maxCachedBytes : "[unlimited]" ) + Constants.NEW_LINE );
+		buffer.append( "Time-to-Live (ms): " + ( timeToLive > 0 ? TimeUnit.NANOSECONDS.toMillis( timeToLive ) : "[none]" ) + Constants.NEW_LINE );
+		buffer.append( "Removing Retrieved Results: " + isRemovingRetrieved + Constants.NEW_LINE );
+		if( spillStore != null )
+		{
+			buffer.append( "Spill Store: " + Constants.NEW_LINE + spillStore.toString() + Constants.NEW_LINE );
+		}
+		buffer.append( "Running Tasks: " + numRunning.get() );
+		return buffer.toString();
+	}
+	
+	/**
+	 * Holds the entry along with the time it was last retrieved and the size of its serialized result
+	 */
+	private static final class Holder {
+		
+		private final ResultCacheEntry< Object > entry;
+		private volatile long lastAccess;
+		private final AtomicLong size;
+		
+		public Holder( final ResultCacheEntry< Object > entry )
+		{
+			this.entry = entry;
+			this.lastAccess = System.nanoTime();
+			
+			// spilled results are held off the heap, so they don't count against the byte budget
+			this.size = new AtomicLong( entry.isSpilled() ? REMOVED : 0 );
+		}
+	}
+	
+	/**
+	 * Holds the key and the holder that was queued with it, so that evicting the node removes the entry
+	 * only if it hasn't since been replaced, along with the time it was queued
+	 */
+	private static final class Node {
+		
+		private final String key;
+		private final Holder holder;
+		private final long queuedAt;
+		
+		public Node( final String key, final Holder holder )
+		{
+			this.key = key;
+			this.holder = holder;
+			this.queuedAt = System.nanoTime();
+		}
+	}
+}
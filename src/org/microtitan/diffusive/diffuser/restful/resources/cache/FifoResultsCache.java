@@ -85,4 +85,32 @@ public class FifoResultsCache extends FifoCache< String, ResultCacheEntry< Objec
 		}
 		return numRunning;
 	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache#taskStarted()
+	 */
+	@Override
+	public void taskStarted() {}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache#taskFinished()
+	 */
+	@Override
+	public void taskFinished() {}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache#resultCompleted(java.lang.String, long)
+	 */
+	@Override
+	public void resultCompleted( final String key, final long numBytes ) {}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache#resultRetrieved(java.lang.String, long)
+	 */
+	@Override
+	public void resultRetrieved( final String key, final long numBytes ) {}
 }
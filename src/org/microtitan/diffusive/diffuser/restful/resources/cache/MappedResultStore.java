@@ -0,0 +1,308 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.resources.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+
+/**
+ * Holds serialized results in memory-mapped segment files, off the heap, so that a server can hold many
+ * more (and larger) results than fit on its heap. The results are appended to the current segment, and
+ * each result is returned as a read-only {@link Region} of the mapped segment, from which the result can be 
+ * served without first copying it onto the heap.
+ * 
+ * Each segment file is deleted as soon as it is mapped, so the operating system reclaims its space once the 
+ * mapping is released, which happens when all the regions in the segment have been released, and the segment
+ * has been garbage collected. The store never maps more than its maximum number of bytes.
+ * 
+ * @author Robert Philipp
+ */
+public class MappedResultStore {
+	
+	private static final Logger LOGGER = Logger.getLogger( MappedResultStore.class );
+	
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+	
+	private static final String SEGMENT_PREFIX = "diffusive-results-";
+	private static final String SEGMENT_SUFFIX = ".seg";
+
+	private final File directory;
+	private final int segmentSize;
+	private final long maxBytes;
+	
+	// the number of bytes held by the mapped segments that haven't yet been released
+	private final AtomicLong numMappedBytes;
+	
+	// the segment to which results are appended (guarded by this)
+	private Segment current;
+	
+	/**
+	 * Constructs a store that maps segment files in the specified directory
+	 * @param directory The directory in which to create the segment files
+	 * @param segmentSize The size, in bytes, of each segment. Results larger than the segment size get
+	 * their own segment.
+	 * @param maxBytes The maximum number of bytes of mapped segments; 0 for no limit
+	 */
+	public MappedResultStore( final File directory, final int segmentSize, final long maxBytes )
+	{
+		if( !directory.isDirectory() && !directory.mkdirs() )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Unable to create the directory for the mapped results segment files." + Constants.NEW_LINE );
+			message.append( "  Directory: " + directory.getAbsolutePath() );
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.maxBytes = maxBytes;
+		this.numMappedBytes = new AtomicLong( 0 );
+	}
+	
+	/**
+	 * Constructs a store that maps segment files, of the default size ({@value #DEFAULT_SEGMENT_SIZE} bytes), in 
+	 * the specified directory
+	 * @param directory The directory in which to create the segment files
+	 * @param maxBytes The maximum number of bytes of mapped segments; 0 for no limit
+	 */
+	public MappedResultStore( final File directory, final long maxBytes )
+	{
+		this( directory, DEFAULT_SEGMENT_SIZE, maxBytes );
+	}
+	
+	/**
+	 * Writes the serialized result into the current segment, mapping a new segment when the current one
+	 * is full
+	 * @param serializedResult The serialized result
+	 * @return The {@link Region} holding the result; or null if the store is full, or the segment could not
+	 * be mapped
+	 */
+	public Region write( final ByteBuffer serializedResult )
+	{
+		final int size = serializedResult.remaining();
+		final Region region;
+		synchronized( this )
+		{
+			if( current == null || current.remaining() < size )
+			{
+				final Segment segment = map( Math.max( size, segmentSize ) );
+				if( segment == null )
+				{
+					return null;
+				}
+				if( current != null )
+				{
+					current.seal();
+				}
+				current = segment;
+			}
+			region = current.allocate( size );
+		}
+		
+		// each region is written through its own view of the mapped buffer, so the copy needn't hold the lock
+		region.buffer.duplicate().put( serializedResult.duplicate() );
+		return region;
+	}
+	
+	/**
+	 * Creates and maps a new segment file, unless that would exceed the maximum number of mapped bytes
+	 * @param size The size of the segment
+	 * @return The segment; or null if the segment would exceed the maximum number of bytes, or could not be mapped
+	 */
+	private Segment map( final int size )
+	{
+		if( maxBytes > 0 && numMappedBytes.get() + size > maxBytes )
+		{
+			if( LOGGER.isDebugEnabled() )
+			{
+				LOGGER.debug( "The mapped results store is full; Mapped Bytes: " + numMappedBytes.get() + "; Maximum Bytes: " + maxBytes );
+			}
+			return null;
+		}
+		
+		File file = null;
+		try
+		{
+			file = File.createTempFile( SEGMENT_PREFIX, SEGMENT_SUFFIX, directory );
+			final MappedByteBuffer buffer;
+			try( final RandomAccessFile segmentFile = new RandomAccessFile( file, "rw" );
+				 final FileChannel channel = segmentFile.getChannel() )
+			{
+				buffer = channel.map( FileChannel.MapMode.READ_WRITE, 0, size );
+			}
+			
+			// the mapping outlives the file (on systems that don't allow deleting a mapped file, it is deleted on exit)
+			if( !file.delete() )
+			{
+				file.deleteOnExit();
+			}
+			numMappedBytes.addAndGet( size );
+			return new Segment( buffer );
+		}
+		catch( IOException e )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Unable to map the segment file for the results." + Constants.NEW_LINE );
+			message.append( "  Segment File: " + ( file == null ? "[not created]" : file.getAbsolutePath() ) + Constants.NEW_LINE );
+			message.append( "  Segment Size: " + size );
+			LOGGER.warn( message.toString(), e );
+			if( file != null )
+			{
+				file.delete();
+			}
+			return null;
+		}
+	}
+	
+	/**
+	 * @return The number of bytes of mapped segments that haven't yet been released
+	 */
+	public long getNumMappedBytes()
+	{
+		return numMappedBytes.get();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		final StringBuffer buffer = new StringBuffer();
+		buffer.append( "Directory: " + directory.getAbsolutePath() + Constants.NEW_LINE );
+		buffer.append( "Segment Size: " + segmentSize + Constants.NEW_LINE );
+		buffer.append( "Mapped Bytes: " + numMappedBytes.get() + " of " + ( maxBytes > 0 ? maxBytes : "[unlimited]" ) );
+		return buffer.toString();
+	}
+	
+	/**
+	 * A mapped segment file, to which results are appended. The segment is released once it has been 
+	 * sealed (no more results will be appended) and all its regions have been released.
+	 */
+	private final class Segment {
+		
+		private final MappedByteBuffer buffer;
+		private int position;
+		
+		// the number of regions that haven't been released, plus one while the segment isn't sealed
+		private final AtomicLong numLive;
+		
+		public Segment( final MappedByteBuffer buffer )
+		{
+			this.buffer = buffer;
+			this.position = 0;
+			this.numLive = new AtomicLong( 1 );
+		}
+		
+		/**
+		 * @return the number of bytes that remain in the segment; called while holding the store's lock
+		 */
+		public int remaining()
+		{
+			return buffer.capacity() - position;
+		}
+		
+		/**
+		 * Allocates a region from the segment; called while holding the store's lock
+		 * @param size The size of the region
+		 * @return The region
+		 */
+		public Region allocate( final int size )
+		{
+			final ByteBuffer view = buffer.duplicate();
+			view.position( position );
+			view.limit( position + size );
+			position += size;
+			numLive.incrementAndGet();
+			return new Region( this, view.slice() );
+		}
+		
+		/**
+		 * Marks that no more results will be appended to the segment
+		 */
+		public void seal()
+		{
+			release();
+		}
+		
+		/**
+		 * Releases a region, or the seal, and releases the segment once nothing refers to it
+		 */
+		public void release()
+		{
+			if( numLive.decrementAndGet() == 0 )
+			{
+				numMappedBytes.addAndGet( -buffer.capacity() );
+			}
+		}
+	}
+	
+	/**
+	 * A serialized result held in a mapped segment
+	 */
+	public static final class Region {
+		
+		private final Segment segment;
+		private final ByteBuffer buffer;
+		private final AtomicBoolean isReleased;
+		
+		private Region( final Segment segment, final ByteBuffer buffer )
+		{
+			this.segment = segment;
+			this.buffer = buffer;
+			this.isReleased = new AtomicBoolean( false );
+		}
+		
+		/**
+		 * @return A read-only view of the serialized result in the mapped segment
+		 */
+		public ByteBuffer getBuffer()
+		{
+			return buffer.asReadOnlyBuffer();
+		}
+		
+		/**
+		 * @return The size, in bytes, of the serialized result
+		 */
+		public int getSize()
+		{
+			return buffer.capacity();
+		}
+		
+		/**
+		 * Releases the region, so that its segment can be released once all of its regions have been released.
+		 * A reader that still holds the region's buffer can finish reading it, because the mapping is only
+		 * released once nothing refers to it.
+		 */
+		public void release()
+		{
+			if( isReleased.compareAndSet( false, true ) )
+			{
+				segment.release();
+			}
+		}
+	}
+}
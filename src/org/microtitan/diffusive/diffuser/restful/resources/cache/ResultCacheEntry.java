@@ -15,16 +15,25 @@
  */
 package org.microtitan.diffusive.diffuser.restful.resources.cache;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.microtitan.diffusive.diffuser.serializer.Serializer;
 import org.microtitan.diffusive.diffuser.serializer.SerializerFactory;
+import org.microtitan.diffusive.utils.ByteBufferInputStream;
 
 /**
  * The entry into the results cache. Each entry holds the results object and the
- * serializer name used for serializing and deserializing the result object.
+ * serializer name used for serializing and deserializing the result object. An entry
+ * created with {@link #createSerialized(Future, String)} holds the result serialized once, when 
+ * its task completed (see {@link SerializedResult}), and an entry whose result has been spilled 
+ * to a {@link MappedResultStore} holds the serialized result in the mapped store. In both cases,
+ * the serialized result is served without serializing it again (see {@link #getSerializedResult()}).
  * 
  * @see ResultsCache
  * 
@@ -34,6 +43,17 @@ public class ResultCacheEntry< T > {
 
 	private final Future< T > result;
 	private final String serializerType;
+	
+	// the result serialized by the task's thread, when the task completed
+	private final Future< SerializedResult > serializedResult;
+	
+	// the serialized result and its class, when the result has been spilled to a mapped store
+	private final MappedResultStore.Region region;
+	private final Class< ? extends T > resultClass;
+	
+	// the result object serialized on the first request for the serialized result, so that
+	// subsequent requests don't need to serialize it again
+	private volatile ByteBuffer serialized;
 
 	/**
 	 * Constructs the entry for the {@link ResultsCache}
@@ -44,10 +64,9 @@ public class ResultCacheEntry< T > {
 	 */
 	public ResultCacheEntry( final Future< T > result, final String serializerType )
 	{
-		this.result = result;
-		this.serializerType = serializerType;
+		this( result, null, null, null, serializerType );
 	}
-
+	
 	/**
 	 * Constructs the entry for the {@link ResultsCache}
 	 * @param result The {@link Future} that can be queried for the result.
@@ -60,6 +79,40 @@ public class ResultCacheEntry< T > {
 		this( result, SerializerFactory.getSerializerName( serializer.getClass() ) );
 	}
 
+	/**
+	 * Constructs the entry for the {@link ResultsCache}. Only one of the result, the serialized result, 
+	 * or the region, may be non-null.
+	 * @param result The {@link Future} that can be queried for the result object
+	 * @param serializedResult The {@link Future} that can be queried for the serialized result
+	 * @param region The region of the mapped store holding the serialized result
+	 * @param resultClass The {@link Class} of the spilled result, with which to deserialize it
+	 * @param serializerType The name of the serializer used to serialize/deserialize the result object
+	 */
+	private ResultCacheEntry( final Future< T > result, 
+							  final Future< SerializedResult > serializedResult, 
+							  final MappedResultStore.Region region, 
+							  final Class< ? extends T > resultClass, 
+							  final String serializerType )
+	{
+		this.result = result;
+		this.serializedResult = serializedResult;
+		this.region = region;
+		this.resultClass = resultClass;
+		this.serializerType = serializerType;
+	}
+	
+	/**
+	 * Creates the entry for a result that is serialized by the thread running the task, as soon as
+	 * the task completes (see {@link SerializedResult#serializing(java.util.concurrent.Callable, String, boolean)}).
+	 * @param serializedResult The {@link Future} that can be queried for the serialized result
+	 * @param serializerType The name of the serializer with which the result is serialized
+	 * @return The entry for the {@link ResultsCache}
+	 */
+	public static < T > ResultCacheEntry< T > createSerialized( final Future< SerializedResult > serializedResult, final String serializerType )
+	{
+		return new ResultCacheEntry< T >( null, serializedResult, null, null, serializerType );
+	}
+
 	/**
 	 * @return The name of the serializer used serialize/deserialize the result object
 	 */
@@ -78,7 +131,203 @@ public class ResultCacheEntry< T > {
 	 */
 	public T getResult() throws InterruptedException, ExecutionException
 	{
-		return result.get();
+		if( result != null )
+		{
+			return result.get();
+		}
+		return serializedResult != null ? deserialize( serializedResult.get() ) : deserialize( region.getBuffer(), resultClass );
+	}
+
+	/**
+	 * This is a blocking call to request the result object, which waits at most the specified 
+	 * amount of time for the result to become available
+	 * @param timeout The maximum time to wait for the result
+	 * @param unit The {@link TimeUnit} of the time-out
+	 * @return The result object
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 * @throws TimeoutException if the result didn't become available within the time-out
+	 * @see Future
+	 * @see ExecutorService
+	 */
+	public T getResult( final long timeout, final TimeUnit unit ) throws InterruptedException, ExecutionException, TimeoutException
+	{
+		if( result != null )
+		{
+			return result.get( timeout, unit );
+		}
+		return serializedResult != null ? deserialize( serializedResult.get( timeout, unit ) ) : deserialize( region.getBuffer(), resultClass );
+	}
+	
+	/**
+	 * @param serialized The result serialized when its task completed
+	 * @return The result object, if it was kept, or otherwise the result deserialized
+	 */
+	@SuppressWarnings( "unchecked" )
+	private T deserialize( final SerializedResult serialized )
+	{
+		if( serialized.hasObject() || serialized.getResultClass() == null )
+		{
+			return (T)serialized.getObject();
+		}
+		return deserialize( serialized.getBytes(), (Class< ? extends T >)serialized.getResultClass() );
+	}
+	
+	/**
+	 * @param buffer The serialized result
+	 * @param clazz The {@link Class} of the result object
+	 * @return The result, deserialized with the entry's serializer
+	 */
+	private T deserialize( final ByteBuffer buffer, final Class< ? extends T > clazz )
+	{
+		final Serializer serializer = SerializerFactory.getInstance().getSerializer( serializerType );
+		return serializer.deserialize( new ByteBufferInputStream( buffer ), clazz );
+	}
+	
+	/**
+	 * This is a blocking call to request the serialized result. When the result was serialized when 
+	 * its task completed, or has been spilled to a mapped store, returns a read-only view of the serialized
+	 * result without serializing or copying it.
+	 * @return The serialized result
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 */
+	public ByteBuffer getSerializedResult() throws InterruptedException, ExecutionException
+	{
+		if( result != null )
+		{
+			return serialize( result.get() );
+		}
+		return serializedResult != null ? serializedResult.get().getBytes() : region.getBuffer();
+	}
+	
+	/**
+	 * This is a blocking call to request the serialized result, which waits at most the specified amount 
+	 * of time for the result to become available. When the result was serialized when its task completed, 
+	 * or has been spilled to a mapped store, returns a read-only view of the serialized result without
+	 * serializing or copying it.
+	 * @param timeout The maximum time to wait for the result
+	 * @param unit The {@link TimeUnit} of the time-out
+	 * @return The serialized result
+	 * @throws InterruptedException
+	 * @throws ExecutionException
+	 * @throws TimeoutException if the result didn't become available within the time-out
+	 */
+	public ByteBuffer getSerializedResult( final long timeout, final TimeUnit unit ) throws InterruptedException, ExecutionException, TimeoutException
+	{
+		if( result != null )
+		{
+			return serialize( result.get( timeout, unit ) );
+		}
+		return serializedResult != null ? serializedResult.get( timeout, unit ).getBytes() : region.getBuffer();
+	}
+	
+	/**
+	 * Serializes the result object the first time it is called, and returns the serialized result
+	 * held from the first call on subsequent calls
+	 * @param object The result object
+	 * @return A read-only view of the result, serialized with the entry's serializer
+	 */
+	private ByteBuffer serialize( final T object )
+	{
+		ByteBuffer buffer = serialized;
+		if( buffer == null )
+		{
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			SerializerFactory.getInstance().getSerializer( serializerType ).serialize( object, output );
+			buffer = ByteBuffer.wrap( output.toByteArray() );
+			serialized = buffer;
+		}
+		return buffer.asReadOnlyBuffer();
+	}
+	
+	/**
+	 * Writes the completed result to the mapped store, and returns an entry that holds the serialized
+	 * result instead of the result object
+	 * @param store The mapped store to which to write the serialized result
+	 * @return The entry holding the spilled result; or null if the result isn't complete, the task failed, 
+	 * or the store is full
+	 */
+	@SuppressWarnings( "unchecked" )
+	public ResultCacheEntry< T > spill( final MappedResultStore store )
+	{
+		final Future< ? > future = ( result != null ? result : serializedResult );
+		if( region != null || !future.isDone() || future.isCancelled() )
+		{
+			return null;
+		}
+		try
+		{
+			final ByteBuffer buffer;
+			final Class< ? extends T > clazz;
+			if( result != null )
+			{
+				final T object = result.get();
+				buffer = ( object == null ? null : serialize( object ) );
+				clazz = ( object == null ? null : (Class< ? extends T >)object.getClass() );
+			}
+			else
+			{
+				final SerializedResult serialized = serializedResult.get();
+				buffer = serialized.getBytes();
+				clazz = (Class< ? extends T >)serialized.getResultClass();
+			}
+			if( clazz == null )
+			{
+				return null;
+			}
+			final MappedResultStore.Region spilled = store.write( buffer );
+			if( spilled == null )
+			{
+				return null;
+			}
+			return new ResultCacheEntry< T >( null, null, spilled, clazz, serializerType );
+		}
+		catch( InterruptedException e )
+		{
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		catch( ExecutionException e )
+		{
+			return null;
+		}
+	}
+	
+	/**
+	 * @return true if the result has been spilled to a mapped store; false otherwise
+	 */
+	public boolean isSpilled()
+	{
+		return region != null;
+	}
+	
+	/**
+	 * Releases the region of the mapped store that holds the spilled result. Call this once the entry has 
+	 * been removed from the cache.
+	 */
+	public void release()
+	{
+		if( region != null )
+		{
+			region.release();
+		}
+	}
+
+	/**
+	 * Attempts to cancel the task that computes the result, interrupting the thread running the task
+	 * if the task has already started.
+	 * @return false if the task could not be cancelled, typically because it has already completed; 
+	 * true otherwise
+	 * @see Future#cancel(boolean)
+	 */
+	public boolean cancel()
+	{
+		if( result != null )
+		{
+			return result.cancel( true );
+		}
+		return serializedResult != null && serializedResult.cancel( true );
 	}
 
 	/**
@@ -86,6 +335,10 @@ public class ResultCacheEntry< T > {
 	 */
 	public boolean isDone()
 	{
-		return result.isDone();
+		if( result != null )
+		{
+			return result.isDone();
+		}
+		return serializedResult == null || serializedResult.isDone();
 	}
 }
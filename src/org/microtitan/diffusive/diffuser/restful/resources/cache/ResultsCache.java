@@ -37,4 +37,33 @@ public interface ResultsCache extends Cache< String, ResultCacheEntry< Object >
 	 * @return The number of tasks in this cache that are currently running.
 	 */
 	long getNumRunning();
+	
+	/**
+	 * Called by the thread running a task, just before the task starts, so that caches that count the
+	 * running tasks as they start and finish can do so without scanning their entries
+	 */
+	void taskStarted();
+	
+	/**
+	 * Called by the thread running a task, just after the task finishes (whether or not it succeeded)
+	 * @see #taskStarted()
+	 */
+	void taskFinished();
+	
+	/**
+	 * Called by the thread running a task, once the task's result has been serialized, so that caches can
+	 * count the size of the result against their byte budget whether or not a client ever retrieves it
+	 * @param key The key for the cache
+	 * @param numBytes The size, in bytes, of the serialized result
+	 */
+	void resultCompleted( final String key, final long numBytes );
+	
+	/**
+	 * Called after the result has been retrieved by a client, so that caches can count the size of the 
+	 * result against their byte budget, if it hasn't already been counted, or drop results that are no 
+	 * longer needed
+	 * @param key The key for the cache
+	 * @param numBytes The size, in bytes, of the serialized result
+	 */
+	void resultRetrieved( final String key, final long numBytes );
 }
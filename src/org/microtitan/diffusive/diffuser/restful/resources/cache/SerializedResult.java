@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.resources.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+
+import org.microtitan.diffusive.diffuser.serializer.Serializer;
+import org.microtitan.diffusive.diffuser.serializer.SerializerFactory;
+
+/**
+ * A result that was serialized once, by the thread that computed it, so that the result can be sent to
+ * any number of clients without serializing it again. The result object may be kept along with its
+ * serialized form, or dropped so that the result is held only once in memory.
+ * 
+ * @author Robert Philipp
+ */
+public final class SerializedResult {
+
+	private final ByteBuffer bytes;
+	private final Class< ? > resultClass;
+	private final Object object;
+	
+	/**
+	 * Constructs the serialized result
+	 * @param bytes The serialized result
+	 * @param resultClass The {@link Class} of the result object; null if the result is null
+	 * @param object The result object; or null if the result object was dropped
+	 */
+	private SerializedResult( final ByteBuffer bytes, final Class< ? > resultClass, final Object object )
+	{
+		this.bytes = bytes;
+		this.resultClass = resultClass;
+		this.object = object;
+	}
+	
+	/**
+	 * Serializes the result object
+	 * @param object The result object
+	 * @param serializerType The name of the serializer with which to serialize the result
+	 * @param isKeepingObject When true, the result object is kept along with its serialized form
+	 * @return The serialized result
+	 */
+	public static SerializedResult create( final Object object, final String serializerType, final boolean isKeepingObject )
+	{
+		final Serializer serializer = SerializerFactory.getInstance().getSerializer( serializerType );
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		serializer.serialize( object, output );
+		return new SerializedResult( ByteBuffer.wrap( output.toByteArray() ), 
+									 object == null ? null : object.getClass(), 
+									 isKeepingObject ? object : null );
+	}
+	
+	/**
+	 * Wraps the task so that its result is serialized, by the thread running the task, as soon as the task completes
+	 * @param task The task that computes the result
+	 * @param serializerType The name of the serializer with which to serialize the result
+	 * @param isKeepingObject When true, the result object is kept along with its serialized form
+	 * @return The task that computes and then serializes the result
+	 */
+	public static < T > Callable< SerializedResult > serializing( final Callable< T > task, final String serializerType, final boolean isKeepingObject )
+	{
+		return new Callable< SerializedResult >() {
+
+			@Override
+			public SerializedResult call() throws Exception
+			{
+				return create( task.call(), serializerType, isKeepingObject );
+			}
+		};
+	}
+	
+	/**
+	 * @return A read-only view of the serialized result
+	 */
+	public ByteBuffer getBytes()
+	{
+		return bytes.asReadOnlyBuffer();
+	}
+	
+	/**
+	 * @return The size, in bytes, of the serialized result
+	 */
+	public int getSize()
+	{
+		return bytes.remaining();
+	}
+	
+	/**
+	 * @return The {@link Class} of the result object; or null if the result is null
+	 */
+	public Class< ? > getResultClass()
+	{
+		return resultClass;
+	}
+	
+	/**
+	 * @return true if the result object was kept along with its serialized form; false otherwise
+	 */
+	public boolean hasObject()
+	{
+		return object != null;
+	}
+	
+	/**
+	 * @return The result object; or null if the result object was dropped (or is null)
+	 */
+	public Object getObject()
+	{
+		return object;
+	}
+}
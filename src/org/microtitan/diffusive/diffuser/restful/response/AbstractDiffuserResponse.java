@@ -95,6 +95,23 @@ public abstract class AbstractDiffuserResponse implements DiffuserResponse {
 		parse( feed );
 	}
 	
+	/**
+	 * Constructor of the {@link DiffuserResponse} for responses that weren't sent as an Atom feed (for 
+	 * example, responses in the binary frame format). The {@link #getFeed()} method returns null.
+	 * @param id The ID of the response
+	 * @param title The title of the response
+	 * @param updated The update/create date
+	 * @param self The URI of the resource
+	 */
+	protected AbstractDiffuserResponse( final URI id, final String title, final Calendar updated, final URI self )
+	{
+		this.feed = null;
+		this.id = id;
+		this.title = title;
+		this.updated = updated;
+		this.self = self;
+	}
+	
 	/**
 	 * Parses the {@link Feed} into the appropriate fields of the {@link DiffuserResponse}
 	 * @param feed
@@ -166,7 +183,7 @@ public abstract class AbstractDiffuserResponse implements DiffuserResponse {
 		buffer.append( "Title: " + title.toString() + Constants.NEW_LINE );
 		buffer.append( "URI: " + self.toString() + Constants.NEW_LINE );
 		buffer.append( "Updated: " + new SimpleDateFormat( "yyyy-MM-dd hh:mm:ss.SSS" ).format( updated.getTime() ) + Constants.NEW_LINE );
-		buffer.append( "Feed: " + feed.toString() );
+		buffer.append( "Feed: " + ( feed == null ? "[none]" : feed.toString() ) );
 		return buffer.toString();
 	}
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.response;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.abdera.model.Entry;
+import org.apache.abdera.model.Feed;
+import org.apache.abdera.model.Link;
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.restful.resources.RestfulDiffuserManagerResource;
+import org.microtitan.diffusive.diffuser.restful.resources.ResultId;
+
+/**
+ * Holds the response from the issued batch execute request. Parses the Atom feed returned by the
+ * {@link RestfulDiffuserManagerResource#executeBatch(javax.ws.rs.core.UriInfo, String, org.microtitan.diffusive.diffuser.restful.request.BatchExecuteDiffuserRequest)}
+ * method into a useful Java class. The feed holds one entry for each invocation in the batch, in the order
+ * in which the invocations appeared in the request.
+ *
+ * @author Robert Philipp
+ */
+public class BatchExecuteDiffuserResponse extends AbstractDiffuserResponse {
+
+	private static final Logger LOGGER = Logger.getLogger( BatchExecuteDiffuserResponse.class );
+
+	private List< ResultId > resultIds;
+	private List< URI > resultUris;
+
+	/**
+	 * Constructs a {@link BatchExecuteDiffuserResponse} object by parsing the feed for the relevant entry information.
+	 * The parent class parse the containing feed information.
+	 * @param feed The Atom feed to parse for the relevant entry information
+	 */
+	public BatchExecuteDiffuserResponse( final Feed feed )
+	{
+		super( feed );
+	}
+
+	/* (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.response.AbstractDiffuserResponse#parse(org.apache.abdera.model.Feed)
+	 */
+	@Override
+	protected void parse( final Feed feed )
+	{
+		resultIds = new ArrayList<>();
+		resultUris = new ArrayList<>();
+
+		// each entry holds the result ID of one invocation, and a link to its result
+		for( Entry entry : feed.getEntries() )
+		{
+			try
+			{
+				final Link resultLink = entry.getLink( Link.REL_SELF );
+				if( resultLink == null )
+				{
+					final StringBuffer message = new StringBuffer();
+					message.append( "Batch execute response entry is missing a link to its result." + Constants.NEW_LINE );
+					message.append( "  Entry ID: " + entry.getId().toString() );
+					LOGGER.warn( message.toString() );
+					throw new IllegalArgumentException( message.toString() );
+				}
+				resultUris.add( resultLink.getHref().toURI() );
+				resultIds.add( ResultId.parse( entry.getContent() ) );
+			}
+			catch( URISyntaxException e )
+			{
+				final StringBuffer message = new StringBuffer();
+				message.append( "Error parsing the result URI for the following batch execute response entry: " + Constants.NEW_LINE );
+				message.append( "  Entry ID: " + entry.getId().toString() );
+				LOGGER.warn( message.toString() );
+				throw new IllegalArgumentException( message.toString(), e );
+			}
+		}
+	}
+
+	/**
+	 * @return the {@link ResultId}s of the invocations, in the order in which the invocations appeared in the request
+	 */
+	public List< ResultId > getResultIds()
+	{
+		return resultIds;
+	}
+
+	/**
+	 * @return the URIs to the results of the invocations, in the order in which the invocations appeared in the request
+	 */
+	public List< URI > getResultUris()
+	{
+		return resultUris;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.response.AbstractDiffuserResponse#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		final StringBuffer message = new StringBuffer();
+		message.append( super.toString() + Constants.NEW_LINE );
+		message.append( "  Number of Invocations: " + resultIds.size() );
+		for( ResultId resultId : resultIds )
+		{
+			message.append( Constants.NEW_LINE + "    " + resultId.getResultId() );
+		}
+		return message.toString();
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.response;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.abdera.model.Entry;
+import org.apache.abdera.model.Feed;
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.restful.DiffuserSignature;
+import org.microtitan.diffusive.diffuser.restful.resources.RestfulDiffuserManagerResource;
+import org.microtitan.diffusive.diffuser.restful.resources.ResultId;
+import org.microtitan.diffusive.diffuser.serializer.Serializer;
+
+/**
+ * Holds the response from the issued bulk result request. Parses the Atom feed returned by the
+ * {@link RestfulDiffuserManagerResource#getResults(javax.ws.rs.core.UriInfo, org.microtitan.diffusive.diffuser.restful.request.BulkResultRequest)}
+ * method. The feed holds one entry for each result that has completed (successfully or not). Results that
+ * are still running are not in the feed, and must be requested again.
+ * 
+ * @author Robert Philipp
+ */
+public class BulkResultResponse extends AbstractDiffuserResponse {
+
+	private static final Logger LOGGER = Logger.getLogger( BulkResultResponse.class );
+	
+	private Map< ResultId, byte[] > serializedResults;
+	private Map< ResultId, String > failures;
+	
+	/**
+	 * Constructs a {@link BulkResultResponse} object by parsing the feed for the relevant entry information.
+	 * The parent class parse the containing feed information.
+	 * @param feed The Atom feed to parse for the relevant entry information 
+	 */
+	public BulkResultResponse( final Feed feed )
+	{
+		super( feed );
+	}
+
+	/* (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.response.AbstractDiffuserResponse#parse(org.apache.abdera.model.Feed)
+	 */
+	@Override
+	protected void parse( final Feed feed )
+	{
+		serializedResults = new LinkedHashMap<>();
+		failures = new LinkedHashMap<>();
+		
+		// the entry's summary holds the status of the result, and the content holds either the
+		// serialized result, or the reason the result couldn't be retrieved
+		for( Entry entry : feed.getEntries() )
+		{
+			final ResultId resultId = ResultId.parse( entry.getId().toString() );
+			if( RestfulDiffuserManagerResource.RESULT_STATUS_COMPLETED.equals( entry.getSummary() ) )
+			{
+				try( final InputStream input = entry.getContentStream(); 
+					 final ByteArrayOutputStream output = new ByteArrayOutputStream() )
+				{
+					final byte[] buffer = new byte[ 4096 ];
+					int read;
+					while( ( read = input.read( buffer ) ) != -1 )
+					{
+						output.write( buffer, 0, read );
+					}
+					serializedResults.put( resultId, output.toByteArray() );
+				}
+				catch( IOException e )
+				{
+					final StringBuffer message = new StringBuffer();
+					message.append( "Failed to read the serialized result from the bulk result response." + Constants.NEW_LINE );
+					message.append( "  Result ID: " + resultId.getResultId() );
+					LOGGER.error( message.toString(), e );
+					throw new IllegalArgumentException( message.toString(), e );
+				}
+			}
+			else
+			{
+				failures.put( resultId, entry.getContent() );
+			}
+		}
+	}
+	
+	/**
+	 * Deserializes the results that completed successfully, using the return type from each result's signature
+	 * @param serializer The {@link Serializer} used to serialize and deserialize the results
+	 * @return A {@link Map} of the result IDs to their result objects
+	 */
+	public Map< ResultId, Object > getResults( final Serializer serializer )
+	{
+		final Map< ResultId, Object > results = new LinkedHashMap<>();
+		for( Map.Entry< ResultId, byte[] > entry : serializedResults.entrySet() )
+		{
+			final Class< ? > returnType = DiffuserSignature.parse( entry.getKey().getSignature() ).getReturnTypeClazz();
+			if( returnType.equals( void.class ) )
+			{
+				results.put( entry.getKey(), null );
+			}
+			else
+			{
+				try( final InputStream input = new ByteArrayInputStream( entry.getValue() ) )
+				{
+					results.put( entry.getKey(), serializer.deserialize( input, returnType ) );
+				}
+				catch( IOException e )
+				{
+					final StringBuffer message = new StringBuffer();
+					message.append( "Failed to deserialize the result from the bulk result response." + Constants.NEW_LINE );
+					message.append( "  Result ID: " + entry.getKey().getResultId() );
+					LOGGER.error( message.toString(), e );
+					throw new IllegalStateException( message.toString(), e );
+				}
+			}
+		}
+		return results;
+	}
+	
+	/**
+	 * @return A {@link Map} of the result IDs, of the results that failed or could not be found, to
+	 * the reason for the failure
+	 */
+	public Map< ResultId, String > getFailures()
+	{
+		return failures;
+	}
+	
+	/**
+	 * @return The number of results that are in the response, whether they succeeded or failed
+	 */
+	public int getNumCompleted()
+	{
+		return serializedResults.size() + failures.size();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.restful.response.AbstractDiffuserResponse#toString()
+	 */
+	@Override
+	public String toString()
+	{
+		final StringBuffer message = new StringBuffer();
+		message.append( super.toString() + Constants.NEW_LINE );
+		message.append( "  Number of Results: " + serializedResults.size() + Constants.NEW_LINE );
+		message.append( "  Number of Failures: " + failures.size() );
+		return message.toString();
+	}
+}
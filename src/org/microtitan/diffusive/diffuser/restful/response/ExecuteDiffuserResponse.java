@@ -25,6 +25,7 @@ import org.apache.abdera.model.Feed;
 import org.apache.abdera.model.Link;
 import org.apache.log4j.Logger;
 import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.restful.frames.DiffuserFrames;
 import org.microtitan.diffusive.diffuser.restful.resources.RestfulDiffuserManagerResource;
 import org.microtitan.diffusive.diffuser.restful.resources.ResultId;
 
@@ -55,6 +56,24 @@ public class ExecuteDiffuserResponse extends AbstractDiffuserResponse {
 		super( feed );
 	}
 
+	/**
+	 * Constructs a {@link ExecuteDiffuserResponse} object from a response that wasn't sent as an Atom feed
+	 * (see {@link DiffuserFrames#decodeExecuteResponse(java.io.InputStream)})
+	 * @param resultUri The URI from which to retrieve the result
+	 * @param resultId The result ID ({signature}/{requestID})
+	 * @param requestId The ID of the original request
+	 * @param publishedDate The date-time when the response was received
+	 */
+	public ExecuteDiffuserResponse( final URI resultUri, final String resultId, final String requestId, final Calendar publishedDate )
+	{
+		super( resultUri, resultId, publishedDate, resultUri );
+		this.resultUri = resultUri;
+		this.resultId = resultId;
+		this.requestId = requestId;
+		this.publishedDate = publishedDate;
+		this.signature = ResultId.parse( resultId ).getSignature();
+	}
+
 	/* (non-Javadoc)
 	 * @see org.microtitan.diffusive.diffuser.restful.response.AbstractDiffuserResponse#parse(org.apache.abdera.model.Feed)
 	 */
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.restful.compression.CompressionCodec;
+import org.microtitan.diffusive.diffuser.restful.compression.CompressionCodecFactory;
+
+import com.sun.jersey.spi.container.ContainerRequest;
+import com.sun.jersey.spi.container.ContainerRequestFilter;
+import com.sun.jersey.spi.container.ContainerResponse;
+import com.sun.jersey.spi.container.ContainerResponseFilter;
+
+/**
+ * Jersey container filter that negotiates the compression of the payloads with the clients. Request
+ * entities sent with a {@code Content-Encoding} of a registered codec (see {@link CompressionCodecFactory}) 
+ * are decompressed before they reach the resources. Response entities (the Atom feeds and binary frames
+ * holding the results and the class bytes) of at least the threshold size are compressed with the first
+ * registered codec listed in the request's {@code Accept-Encoding} header. Entities that are streamed to
+ * the response (see {@link StreamingOutput}), such as the results, are compressed as they are written. The
+ * results are streamed as {@link SizedStreamingOutput}s, which carry the size of their payload, and so the
+ * threshold applies to them as well; streamed entities whose size isn't known up front are compressed 
+ * whatever their size. Clients that don't send an {@code Accept-Encoding} header receive uncompressed 
+ * responses.
+ * 
+ * @author Robert Philipp
+ */
+public class CompressionContainerFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+	private static final Logger LOGGER = Logger.getLogger( CompressionContainerFilter.class );
+	
+	private static final Charset DEFAULT_CHARSET = Charset.forName( "UTF-8" );
+	
+	private final int threshold;
+	
+	/**
+	 * Constructs the filter that compresses response entities of at least the specified size
+	 * @param threshold The size, in bytes, below which the response entities are sent uncompressed
+	 */
+	public CompressionContainerFilter( final int threshold )
+	{
+		this.threshold = threshold;
+	}
+	
+	/**
+	 * Constructs the filter that compresses response entities of at least the default size
+	 * ({@link CompressionCodecFactory#DEFAULT_THRESHOLD})
+	 */
+	public CompressionContainerFilter()
+	{
+		this( CompressionCodecFactory.DEFAULT_THRESHOLD );
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.sun.jersey.spi.container.ContainerRequestFilter#filter(com.sun.jersey.spi.container.ContainerRequest)
+	 */
+	@Override
+	public ContainerRequest filter( final ContainerRequest request )
+	{
+		final String encoding = request.getHeaderValue( CompressionCodecFactory.CONTENT_ENCODING );
+		final CompressionCodec codec = CompressionCodecFactory.getCodec( encoding );
+		if( codec != null )
+		{
+			try
+			{
+				request.setEntityInputStream( codec.decompress( request.getEntityInputStream() ) );
+				request.getRequestHeaders().remove( CompressionCodecFactory.CONTENT_ENCODING );
+			}
+			catch( IOException e )
+			{
+				final StringBuffer message = new StringBuffer();
+				message.append( "Failed to decompress the request entity." + Constants.NEW_LINE );
+				message.append( "  Content Encoding: " + encoding + Constants.NEW_LINE );
+				message.append( "  Request URI: " + request.getRequestUri() );
+				LOGGER.error( message.toString(), e );
+				throw new IllegalArgumentException( message.toString(), e );
+			}
+		}
+		return request;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.sun.jersey.spi.container.ContainerResponseFilter#filter(com.sun.jersey.spi.container.ContainerRequest, com.sun.jersey.spi.container.ContainerResponse)
+	 */
+	@Override
+	public ContainerResponse filter( final ContainerRequest request, final ContainerResponse response )
+	{
+		// streamed entities are compressed as they are written to the response's output stream, unless
+		// their payload is known to be smaller than the threshold
+		final Object entity = response.getEntity();
+		if( entity instanceof StreamingOutput )
+		{
+			response.getHttpHeaders().putSingle( "Vary", CompressionCodecFactory.ACCEPT_ENCODING );
+			if( entity instanceof SizedStreamingOutput && ((SizedStreamingOutput)entity).getSize() < threshold )
+			{
+				return response;
+			}
+			final CompressionCodec codec = response.getHttpHeaders().containsKey( CompressionCodecFactory.CONTENT_ENCODING ) ? null :
+										   CompressionCodecFactory.negotiate( request.getHeaderValue( CompressionCodecFactory.ACCEPT_ENCODING ) );
+			if( codec != null )
+			{
+				response.setEntity( new CompressingStreamingOutput( (StreamingOutput)entity, codec ) );
+				response.getHttpHeaders().putSingle( CompressionCodecFactory.CONTENT_ENCODING, codec.getName() );
+			}
+			return response;
+		}
+		
+		// otherwise, only the entities whose size is known up front are candidates for compression
+		final byte[] bytes;
+		if( entity instanceof byte[] )
+		{
+			bytes = (byte[])entity;
+		}
+		else if( entity instanceof String )
+		{
+			bytes = ((String)entity).getBytes( getCharset( response.getMediaType() ) );
+		}
+		else
+		{
+			return response;
+		}
+		
+		// the response varies with the client's accepted encodings, whether or not it is compressed
+		response.getHttpHeaders().putSingle( "Vary", CompressionCodecFactory.ACCEPT_ENCODING );
+		if( bytes.length < threshold || response.getHttpHeaders().containsKey( CompressionCodecFactory.CONTENT_ENCODING ) )
+		{
+			return response;
+		}
+		
+		final CompressionCodec codec = CompressionCodecFactory.negotiate( request.getHeaderValue( CompressionCodecFactory.ACCEPT_ENCODING ) );
+		if( codec != null )
+		{
+			response.setEntity( CompressionCodecFactory.compress( codec, bytes ) );
+			response.getHttpHeaders().putSingle( CompressionCodecFactory.CONTENT_ENCODING, codec.getName() );
+		}
+		return response;
+	}
+	
+	/*
+	 * @return the character set specified in the media type, or UTF-8 if none is specified
+	 */
+	private static Charset getCharset( final MediaType mediaType )
+	{
+		final String charset = mediaType == null ? null : mediaType.getParameters().get( "charset" );
+		return charset == null ? DEFAULT_CHARSET : Charset.forName( charset );
+	}
+	
+	/**
+	 * A {@link StreamingOutput} whose payload size is known before it is written (for example, a serialized
+	 * result held in the results cache), so that the filter can leave small entities uncompressed. The size
+	 * is that of the payload, and so it is only an estimate of the size of an entity that wraps the payload
+	 * (for example, an Atom feed).
+	 */
+	public static abstract class SizedStreamingOutput implements StreamingOutput {
+		
+		private final int size;
+		
+		/**
+		 * Constructs the streaming output for a payload of the specified size
+		 * @param size The size, in bytes, of the payload
+		 */
+		public SizedStreamingOutput( final int size )
+		{
+			this.size = size;
+		}
+		
+		/**
+		 * @return The size, in bytes, of the payload
+		 */
+		public int getSize()
+		{
+			return size;
+		}
+	}
+	
+	/**
+	 * Decorates a {@link StreamingOutput} so that the entity it writes is compressed with the codec on its
+	 * way to the response's output stream. The compression is finished once the entity has been written, 
+	 * but the response's output stream is left open for the container to close.
+	 */
+	private static final class CompressingStreamingOutput implements StreamingOutput {
+		
+		private final StreamingOutput entity;
+		private final CompressionCodec codec;
+		
+		/**
+		 * Decorates the entity so that it is compressed with the specified codec
+		 * @param entity The entity to compress
+		 * @param codec The {@link CompressionCodec} with which to compress the entity
+		 */
+		public CompressingStreamingOutput( final StreamingOutput entity, final CompressionCodec codec )
+		{
+			this.entity = entity;
+			this.codec = codec;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see javax.ws.rs.core.StreamingOutput#write(java.io.OutputStream)
+		 */
+		@Override
+		public void write( final OutputStream output ) throws IOException, WebApplicationException
+		{
+			try( final OutputStream compressed = codec.compress( new CloseShieldOutputStream( output ) ) )
+			{
+				entity.write( compressed );
+			}
+			output.flush();
+		}
+	}
+}
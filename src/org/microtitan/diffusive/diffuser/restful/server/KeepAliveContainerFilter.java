@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.restful.server;
+
+import com.sun.jersey.spi.container.ContainerRequest;
+import com.sun.jersey.spi.container.ContainerResponse;
+import com.sun.jersey.spi.container.ContainerResponseFilter;
+
+/**
+ * Jersey container filter that advertises, in the {@code Keep-Alive} header of each response, how long the 
+ * server keeps an idle connection open. The JDK's {@code HttpURLConnection} (on Java 7 and 8) evicts an idle
+ * connection from its keep-alive pool after the time-out advertised by the server (or after 5 seconds when 
+ * the server doesn't advertise one), and so with this header, the clients close their idle connections before
+ * the server does, rather than reusing a connection that the server has already closed.
+ * 
+ * @author Robert Philipp
+ */
+public class KeepAliveContainerFilter implements ContainerResponseFilter {
+
+	public static final String KEEP_ALIVE_HEADER = "Keep-Alive";
+	
+	private final String keepAlive;
+	
+	/**
+	 * Constructs the filter that advertises the specified idle time-out
+	 * @param idleTimeout The time, in seconds, that the server keeps an idle connection open
+	 */
+	public KeepAliveContainerFilter( final int idleTimeout )
+	{
+		this.keepAlive = "timeout=" + idleTimeout;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see com.sun.jersey.spi.container.ContainerResponseFilter#filter(com.sun.jersey.spi.container.ContainerRequest, com.sun.jersey.spi.container.ContainerResponse)
+	 */
+	@Override
+	public ContainerResponse filter( final ContainerRequest request, final ContainerResponse response )
+	{
+		response.getHttpHeaders().putSingle( KEEP_ALIVE_HEADER, keepAlive );
+		return response;
+	}
+}
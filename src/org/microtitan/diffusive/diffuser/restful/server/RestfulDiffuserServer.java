@@ -15,15 +15,16 @@
  */
 package org.microtitan.diffusive.diffuser.restful.server;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-
-import javax.ws.rs.ext.RuntimeDelegate;
+import java.util.concurrent.TimeUnit;
 
 import joptsimple.OptionException;
 import joptsimple.OptionParser;
@@ -35,19 +36,26 @@ import org.apache.log4j.Logger;
 import org.apache.log4j.xml.DOMConfigurator;
 import org.glassfish.grizzly.http.server.HttpHandler;
 import org.glassfish.grizzly.http.server.HttpServer;
+import org.glassfish.grizzly.http.server.NetworkListener;
 import org.glassfish.grizzly.http.server.StaticHttpHandler;
 import org.microtitan.diffusive.Constants;
 import org.microtitan.diffusive.classloaders.factories.RestfulDiffuserClassLoaderFactory;
 import org.microtitan.diffusive.diffuser.restful.RestfulDiffuserApplication;
+import org.microtitan.diffusive.diffuser.restful.client.RestfulClientFactory;
+import org.microtitan.diffusive.diffuser.restful.compression.CompressionCodecFactory;
+import org.microtitan.diffusive.diffuser.restful.resources.PriorityTaskExecutor;
 import org.microtitan.diffusive.diffuser.restful.resources.RestfulClassPathResource;
 import org.microtitan.diffusive.diffuser.restful.resources.RestfulDiffuserManagerResource;
+import org.microtitan.diffusive.diffuser.restful.resources.cache.MappedResultStore;
 import org.microtitan.diffusive.diffuser.restful.resources.cache.ResultsCache;
 import org.microtitan.diffusive.diffuser.restful.server.config.RestfulDiffuserServerConfig;
 import org.microtitan.diffusive.diffuser.restful.server.config.ServerMode;
 import org.microtitan.diffusive.diffuser.strategy.load.DiffuserLoadCalc;
 import org.microtitan.diffusive.utils.NetworkUtils;
 
-import com.sun.jersey.api.container.grizzly2.GrizzlyServerFactory;
+import com.sun.jersey.api.container.ContainerFactory;
+import com.sun.jersey.api.core.ApplicationAdapter;
+import com.sun.jersey.api.core.ResourceConfig;
 
 /**
  * The RESTful diffuser server that listens to the specified URI and uses the resources and information
@@ -99,7 +107,45 @@ public class RestfulDiffuserServer {
 								  final String diffuserManagerResource,
 								  final String diffuserManagerContentPath )
 	{
-		this.server = createHttpServer( serverUri, application );
+		this( serverUri, application, diffuserManagerResource, diffuserManagerContentPath, CompressionCodecFactory.DEFAULT_THRESHOLD );
+	}
+	
+	/**
+	 * Creates and starts the RESTful diffuser server listening at the specified server URI and using the 
+	 * specified JAX-RS application.
+	 * @param serverUri The URI for this RESTful diffuser (i.e. the URI at which others would call this diffuser)
+	 * @param application The JAX-RS application that contains information about the resources that contain the JAX-RS bindings
+	 * @param compressionThreshold The size, in bytes, below which responses are sent uncompressed, even when
+	 * the client accepts compressed responses
+	 */
+	public RestfulDiffuserServer( final URI serverUri, 
+								  final RestfulDiffuserApplication application,
+								  final String diffuserManagerResource,
+								  final String diffuserManagerContentPath,
+								  final int compressionThreshold )
+	{
+		this( serverUri, application, diffuserManagerResource, diffuserManagerContentPath, compressionThreshold, 0 );
+	}
+	
+	/**
+	 * Creates and starts the RESTful diffuser server listening at the specified server URI and using the 
+	 * specified JAX-RS application.
+	 * @param serverUri The URI for this RESTful diffuser (i.e. the URI at which others would call this diffuser)
+	 * @param application The JAX-RS application that contains information about the resources that contain the JAX-RS bindings
+	 * @param compressionThreshold The size, in bytes, below which responses are sent uncompressed, even when
+	 * the client accepts compressed responses
+	 * @param idleConnectionTimeout The time, in milliseconds, after which the server closes idle connections,
+	 * and which it advertises to the clients (see {@link KeepAliveContainerFilter}) so that they evict the idle
+	 * connections from their keep-alive pools; 0 for the Grizzly default, which isn't advertised
+	 */
+	public RestfulDiffuserServer( final URI serverUri, 
+								  final RestfulDiffuserApplication application,
+								  final String diffuserManagerResource,
+								  final String diffuserManagerContentPath,
+								  final int compressionThreshold,
+								  final int idleConnectionTimeout )
+	{
+		this.server = createHttpServer( serverUri, application, compressionThreshold, idleConnectionTimeout );
 		
 		setStaticContentLocation( server, diffuserManagerResource, diffuserManagerContentPath );
 	}
@@ -109,18 +155,49 @@ public class RestfulDiffuserServer {
 	 * packages listed to search for JAX-RS bindings.
 	 * @param serverUri The URI for this RESTful diffuser (i.e. the URI at which others would call this diffuser)
 	 * @param resourcePackages The packages that contain the resources that contain the JAX-RS bindings
+	 * @param compressionThreshold The size, in bytes, below which responses are sent uncompressed
+	 * @param idleConnectionTimeout The time, in milliseconds, after which the server closes idle connections; 
+	 * 0 for the Grizzly default
 	 * @return a Grizzly HTTP server that is running, or null if it fails to start
 	 */
-	private static HttpServer createHttpServer( final URI serverUri, final RestfulDiffuserApplication application )
+	private static HttpServer createHttpServer( final URI serverUri, 
+												final RestfulDiffuserApplication application, 
+												final int compressionThreshold,
+												final int idleConnectionTimeout )
 	{
-		HttpServer server = null;
+		final HttpServer server = new HttpServer();
 		try
 		{
+			// add the filter that negotiates the compression of the request and response entities (the filters
+			// are set as properties, because the ResourceConfig only hands out its filter lists as raw types)
+			final ResourceConfig config = new ApplicationAdapter( application );
+			final CompressionContainerFilter compressionFilter = new CompressionContainerFilter( compressionThreshold );
+			final List< Object > requestFilters = new ArrayList<>();
+			final List< Object > responseFilters = new ArrayList<>();
+			requestFilters.add( compressionFilter );
+			responseFilters.add( compressionFilter );
+			
+			// the idle time-out must be set on the listener before the server starts (which is why the server is
+			// created here rather than by the GrizzlyServerFactory), and is advertised to the clients
+			final NetworkListener listener = new NetworkListener( "grizzly", 
+																  serverUri.getHost() == null ? NetworkListener.DEFAULT_NETWORK_HOST : serverUri.getHost(), 
+																  serverUri.getPort() == -1 ? 80 : serverUri.getPort() );
+			if( idleConnectionTimeout > 0 )
+			{
+				final int idleSeconds = (int)Math.max( TimeUnit.MILLISECONDS.toSeconds( idleConnectionTimeout ), 1 );
+				listener.getKeepAlive().setIdleTimeoutInSeconds( idleSeconds );
+				responseFilters.add( new KeepAliveContainerFilter( idleSeconds ) );
+			}
+			server.addListener( listener );
+			config.getProperties().put( ResourceConfig.PROPERTY_CONTAINER_REQUEST_FILTERS, requestFilters );
+			config.getProperties().put( ResourceConfig.PROPERTY_CONTAINER_RESPONSE_FILTERS, responseFilters );
+			
 			// create an HTTP handler that assigns the specified application  
-			final HttpHandler handler = RuntimeDelegate.getInstance().createEndpoint( application, HttpHandler.class );
+			final HttpHandler handler = ContainerFactory.createContainer( HttpHandler.class, config );
+			server.getServerConfiguration().addHttpHandler( handler, serverUri.getPath() );
 			
 			// attempt to start the server
-			server = GrizzlyServerFactory.createHttpServer( serverUri, handler );
+			server.start();
 		}
 		catch( IOException e )
 		{
@@ -230,12 +307,36 @@ public class RestfulDiffuserServer {
 				parser.accepts( "class-path" ).withRequiredArg().ofType( String.class ).withValuesSeparatedBy( pathSeparator );
 		final OptionSpec< Integer > maxThreadsSpec = 
 				parser.accepts( "max-threads" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 100 );
+		final OptionSpec< Integer > maxQueuedTasksSpec = 
+				parser.accepts( "max-queued-tasks" ).withRequiredArg().ofType( Integer.class ).defaultsTo( RestfulDiffuserManagerResource.MAX_QUEUED_TASKS ).describedAs( "tasks (0 for no limit)" );
+		final OptionSpec< Long > priorityAgingSpec = 
+				parser.accepts( "priority-aging" ).withRequiredArg().ofType( Long.class ).defaultsTo( PriorityTaskExecutor.AGING_INTERVAL ).describedAs( "ms waited per level of priority gained" );
 		final OptionSpec< Integer > maxResultsCachedSpec = 
 				parser.accepts( "max-results-cached" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 100 );
+		final OptionSpec< Long > maxResultBytesSpec = 
+				parser.accepts( "max-result-bytes" ).withRequiredArg().ofType( Long.class ).defaultsTo( 0L ).describedAs( "bytes (0 for no limit)" );
+		final OptionSpec< Long > resultTimeToLiveSpec = 
+				parser.accepts( "result-ttl" ).withRequiredArg().ofType( Long.class ).defaultsTo( 0L ).describedAs( "ms (0 for none)" );
+		parser.accepts( "remove-retrieved-results" );
+		parser.accepts( "keep-result-objects" );
+		final OptionSpec< String > spillDirSpec = 
+				parser.accepts( "spill-dir" ).withRequiredArg().ofType( String.class ).describedAs( "directory for the memory-mapped results" );
+		final OptionSpec< Long > maxSpillBytesSpec = 
+				parser.accepts( "max-spill-bytes" ).withRequiredArg().ofType( Long.class ).defaultsTo( 0L ).describedAs( "bytes (0 for no limit)" );
 		final OptionSpec< String > diffuserManagerContentPathSpec =
 				parser.accepts( "manager-content-path" ).withRequiredArg().ofType( String.class ).defaultsTo( DIFFUSER_MANAGER_CONTENT_PATH );
 		final OptionSpec< String > diffuserManagerResourceSpec = 
 				parser.accepts( "manager-resource" ).withRequiredArg().ofType( String.class ).defaultsTo( DIFFUSER_MANAGER_RESOURCE );
+		final OptionSpec< Integer > compressionThresholdSpec = 
+				parser.accepts( "compression-threshold" ).withRequiredArg().ofType( Integer.class ).defaultsTo( CompressionCodecFactory.DEFAULT_THRESHOLD ).describedAs( "bytes" );
+		final OptionSpec< Integer > maxConnectionsSpec = 
+				parser.accepts( "max-connections" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 0 ).describedAs( "per end-point (0 for no limit)" );
+		final OptionSpec< Integer > connectTimeoutSpec = 
+				parser.accepts( "connect-timeout" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 0 ).describedAs( "ms (0 for none)" );
+		final OptionSpec< Integer > readTimeoutSpec = 
+				parser.accepts( "read-timeout" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 0 ).describedAs( "ms (0 for none)" );
+		final OptionSpec< Integer > idleConnectionTimeoutSpec = 
+				parser.accepts( "idle-connection-timeout" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 0 ).describedAs( "ms (0 for the server default)" );
 		parser.accepts( "help" );
 		
 		// parse the command-line arguments
@@ -275,9 +376,22 @@ public class RestfulDiffuserServer {
 			classPaths = classPathSpec.values( options );
 		}
 		final int maxThreads = maxThreadsSpec.value( options );
+		final int maxQueuedTasks = maxQueuedTasksSpec.value( options );
+		final long priorityAging = priorityAgingSpec.value( options );
 		final int maxResultsCached = maxResultsCachedSpec.value( options );
+		final long maxResultBytes = maxResultBytesSpec.value( options );
+		final long resultTimeToLive = resultTimeToLiveSpec.value( options );
+		final boolean isRemovingRetrievedResults = options.has( "remove-retrieved-results" );
+		final boolean isKeepingResultObjects = options.has( "keep-result-objects" );
+		final String spillDir = options.has( spillDirSpec ) ? spillDirSpec.value( options ) : null;
+		final long maxSpillBytes = maxSpillBytesSpec.value( options );
 		final String diffuserManagerContent = diffuserManagerContentPathSpec.value( options );
 		final String diffuserManagerResource = diffuserManagerResourceSpec.value( options );
+		final int compressionThreshold = compressionThresholdSpec.value( options );
+		final int maxConnections = maxConnectionsSpec.value( options );
+		final int connectTimeout = connectTimeoutSpec.value( options );
+		final int readTimeout = readTimeoutSpec.value( options );
+		final int idleConnectionTimeout = idleConnectionTimeoutSpec.value( options );
 		
 		// report the options used
 		final StringBuffer buffer = new StringBuffer( Constants.NEW_LINE + "Configuration Items" + Constants.NEW_LINE );
@@ -292,9 +406,22 @@ public class RestfulDiffuserServer {
 			}
 		}
 		buffer.append( "  Max Threads: " + maxThreads + Constants.NEW_LINE );
+		buffer.append( "  Max Queued Tasks: " + maxQueuedTasks + Constants.NEW_LINE );
+		buffer.append( "  Priority Aging (ms): " + priorityAging + Constants.NEW_LINE );
 		buffer.append( "  Max Results Cached: " + maxResultsCached + Constants.NEW_LINE );
+		buffer.append( "  Max Result Bytes: " + maxResultBytes + Constants.NEW_LINE );
+		buffer.append( "  Result Time-to-Live (ms): " + resultTimeToLive + Constants.NEW_LINE );
+		buffer.append( "  Remove Retrieved Results: " + isRemovingRetrievedResults + Constants.NEW_LINE );
+		buffer.append( "  Keep Result Objects: " + isKeepingResultObjects + Constants.NEW_LINE );
+		buffer.append( "  Spill Directory: " + ( spillDir == null ? "[none]" : spillDir ) + Constants.NEW_LINE );
+		buffer.append( "  Max Spill Bytes: " + maxSpillBytes + Constants.NEW_LINE );
 		buffer.append( "  Diffuser Manager Resource: " + diffuserManagerResource + Constants.NEW_LINE );
 		buffer.append( "  Diffuser Manager Content Path: " + diffuserManagerContent + Constants.NEW_LINE );
+		buffer.append( "  Compression Threshold (bytes): " + compressionThreshold + Constants.NEW_LINE );
+		buffer.append( "  Max Connections per End-Point: " + maxConnections + Constants.NEW_LINE );
+		buffer.append( "  Connect Time-Out (ms): " + connectTimeout + Constants.NEW_LINE );
+		buffer.append( "  Read Time-Out (ms): " + readTimeout + Constants.NEW_LINE );
+		buffer.append( "  Idle Connection Time-Out (ms): " + idleConnectionTimeout + Constants.NEW_LINE );
 		LOGGER.info( buffer.toString() );
 		System.out.println( buffer.toString() );
 
@@ -302,11 +429,21 @@ public class RestfulDiffuserServer {
 		configClasses.put( configClassName, new Object[] { configFileName } );
 		// TODO add the address of the mapping file as a URI (http:// or file://) or should this be a resolver object
 
+		// set up the connections used by the diffusers to send tasks on to other end-points (the settings in the 
+		// configuration file, if it has any, replace these when the diffuser manager resource loads it)
+		RestfulClientFactory.configure( maxConnections, connectTimeout, readTimeout );
+		
 		// create and set up the executor service that is used to distribute tasks amongst threads in its thread-pool
-		final ExecutorService executor = RestfulDiffuserManagerResource.createExecutorService( maxThreads );
+		// (when the queue of tasks waiting for a thread is full, execute requests are rejected so that clients send them elsewhere).
+		// the waiting tasks are run in the order of their priority and deadline, and gain priority as they wait
+		final ExecutorService executor = RestfulDiffuserManagerResource.createExecutorService( maxThreads, 
+																								 ( maxQueuedTasks > 0 ? maxQueuedTasks : Integer.MAX_VALUE ), 
+																								 priorityAging );
 		
 		// create and set up the cache that holds the results of executed methods so that they can be retrieved
-		final ResultsCache cache = RestfulDiffuserManagerResource.createResultsCache( maxResultsCached );
+		// (the completed results that don't fit in the byte budget are spilled to memory-mapped files, if a spill directory was specified)
+		final MappedResultStore spillStore = ( spillDir == null ? null : new MappedResultStore( new File( spillDir ), maxSpillBytes ) );
+		final ResultsCache cache = RestfulDiffuserManagerResource.createResultsCache( maxResultsCached, maxResultBytes, resultTimeToLive, isRemovingRetrievedResults, spillStore );
 		
 		// create and set up the load calculator that is used to determine if the task should be run on this
 		// server, or should be diffused to one of (if any exist) end-points attached to this server.
@@ -317,6 +454,7 @@ public class RestfulDiffuserServer {
 		
 		// create the manager resource and the web application needed by the web server
 		final RestfulDiffuserManagerResource resource = new RestfulDiffuserManagerResource( executor, cache, loadCalc, configClasses, RestfulDiffuserClassLoaderFactory.getInstance(), jarUrl );
+		resource.setKeepingResultObjects( isKeepingResultObjects );
 		final RestfulClassPathResource classPathResource = new RestfulClassPathResource( jarUrl );
 		final RestfulDiffuserApplication application = new RestfulDiffuserApplication();
 		application.addSingletonResource( resource );
@@ -324,7 +462,7 @@ public class RestfulDiffuserServer {
 
 		// create the web server that serves up the web application and the static content used to manage
 		// the diffuser server and the diffusers
-		final RestfulDiffuserServer server = new RestfulDiffuserServer( serverUri, application, diffuserManagerResource, diffuserManagerContent );
+		final RestfulDiffuserServer server = new RestfulDiffuserServer( serverUri, application, diffuserManagerResource, diffuserManagerContent, compressionThreshold, idleConnectionTimeout );
 		
 		System.out.println( String.format( "Jersy app started with WADL available at %s/application.wadl", serverUri ) );
 		System.out.println( String.format( "Try out %s.", serverUri ) );
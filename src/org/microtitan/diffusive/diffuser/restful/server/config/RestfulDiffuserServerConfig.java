@@ -20,6 +20,7 @@ import org.freezedry.persistence.XmlPersistence;
 import org.microtitan.diffusive.Constants;
 import org.microtitan.diffusive.annotations.DiffusiveServerConfiguration;
 import org.microtitan.diffusive.diffuser.restful.RestfulDiffuser;
+import org.microtitan.diffusive.diffuser.restful.client.RestfulClientFactory;
 import org.microtitan.diffusive.diffuser.restful.resources.RestfulDiffuserManagerResource;
 import org.microtitan.diffusive.diffuser.restful.server.KeyedDiffusiveStrategyRepository;
 import org.microtitan.diffusive.diffuser.restful.server.config.xml.RestfulDiffuserServerConfigXml;
@@ -58,6 +59,13 @@ public class RestfulDiffuserServerConfig {
 		
 		// set up the strategy and the strategy repository
 		KeyedDiffusiveStrategyRepository.getInstance().setValues( strategy, loadThreshold );
+		
+		// set up the connections used by the diffusers to send tasks on to other end-points, unless
+		// the configuration file leaves them to the server's command-line options
+		if( config.getMaxConnectionsPerEndpoint() > 0 || config.getConnectTimeout() > 0 || config.getReadTimeout() > 0 )
+		{
+			RestfulClientFactory.configure( config.getMaxConnectionsPerEndpoint(), config.getConnectTimeout(), config.getReadTimeout() );
+		}
 	}
 	
 	/**
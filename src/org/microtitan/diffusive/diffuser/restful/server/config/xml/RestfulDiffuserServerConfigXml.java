@@ -77,6 +77,26 @@ public class RestfulDiffuserServerConfigXml {
 	 */
 	private String strategyConfigFile;
 	
+	/**
+	 * The maximum number of concurrent requests, other than the requests for results, that the diffusers
+	 * created through calls to the server send to each end-point. This is optional, and when not specified 
+	 * (or not positive), the number of concurrent requests isn't limited.
+	 */
+	private int maxConnectionsPerEndpoint;
+	
+	/**
+	 * The time-out, in milliseconds, for establishing a connection to an end-point. This is optional, and
+	 * when not specified (or not positive), there is no time-out.
+	 */
+	private int connectTimeout;
+	
+	/**
+	 * The time-out, in milliseconds, for reading a response from an end-point. This is optional, and when not
+	 * specified (or not positive), there is no time-out. Must be longer than the time the end-points hold 
+	 * the requests for results.
+	 */
+	private int readTimeout;
+	
 	/**
 	 * @return the threshold above which load the diffuser is to diffuse any tasks to
 	 * a remote diffuser.
@@ -154,6 +174,58 @@ public class RestfulDiffuserServerConfigXml {
 		this.strategyConfigFile = strategyConfigFile;
 	}
 	
+	/**
+	 * @return The maximum number of concurrent requests, other than the requests for results, to each 
+	 * end-point; 0 when not limited
+	 */
+	public int getMaxConnectionsPerEndpoint()
+	{
+		return maxConnectionsPerEndpoint > 0 ? maxConnectionsPerEndpoint : 0;
+	}
+	
+	/**
+	 * Sets the maximum number of concurrent requests, other than the requests for results, to each end-point
+	 * @param maxConnectionsPerEndpoint The maximum number of connections; 0 for no limit
+	 */
+	public void setMaxConnectionsPerEndpoint( final int maxConnectionsPerEndpoint )
+	{
+		this.maxConnectionsPerEndpoint = maxConnectionsPerEndpoint;
+	}
+	
+	/**
+	 * @return The time-out, in milliseconds, for establishing a connection; 0 for no time-out
+	 */
+	public int getConnectTimeout()
+	{
+		return connectTimeout > 0 ? connectTimeout : 0;
+	}
+	
+	/**
+	 * Sets the time-out, in milliseconds, for establishing a connection
+	 * @param connectTimeout The time-out in milliseconds; 0 for no time-out
+	 */
+	public void setConnectTimeout( final int connectTimeout )
+	{
+		this.connectTimeout = connectTimeout;
+	}
+	
+	/**
+	 * @return The time-out, in milliseconds, for reading a response; 0 for no time-out
+	 */
+	public int getReadTimeout()
+	{
+		return readTimeout > 0 ? readTimeout : 0;
+	}
+	
+	/**
+	 * Sets the time-out, in milliseconds, for reading a response
+	 * @param readTimeout The time-out in milliseconds; 0 for no time-out
+	 */
+	public void setReadTimeout( final int readTimeout )
+	{
+		this.readTimeout = readTimeout;
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
@@ -166,6 +238,9 @@ public class RestfulDiffuserServerConfigXml {
 		buffer.append( "  Load Threshold: " + loadThreshold + Constants.NEW_LINE );
 		buffer.append( "  Strategy Config File: " + strategyConfigFile + Constants.NEW_LINE );
 		buffer.append( "  Strategy Config Class: " + strategyConfigClassName + Constants.NEW_LINE );
+		buffer.append( "  Max Connections per End-Point: " + getMaxConnectionsPerEndpoint() + Constants.NEW_LINE );
+		buffer.append( "  Connect Time-Out (ms): " + getConnectTimeout() + Constants.NEW_LINE );
+		buffer.append( "  Read Time-Out (ms): " + getReadTimeout() + Constants.NEW_LINE );
 		return buffer.toString();
 	}
 	
@@ -297,6 +372,12 @@ public class RestfulDiffuserServerConfigXml {
 				parser.accepts( "strategy-seed" ).withRequiredArg().ofType( Long.class ).defaultsTo( 3141592653l );
 		final OptionSpec< Double > thresholdSpec = 
 				parser.accepts( "load-threshold" ).withRequiredArg().ofType( Double.class ).defaultsTo( 0.75 ).describedAs( "[0,1]" );
+		final OptionSpec< Integer > maxConnectionsSpec = 
+				parser.accepts( "max-connections" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 0 ).describedAs( "per end-point" );
+		final OptionSpec< Integer > connectTimeoutSpec = 
+				parser.accepts( "connect-timeout" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 0 ).describedAs( "ms" );
+		final OptionSpec< Integer > readTimeoutSpec = 
+				parser.accepts( "read-timeout" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 0 ).describedAs( "ms" );
 		parser.accepts( "help" );
 		
 		// parse the command-line arguments
@@ -346,6 +427,9 @@ public class RestfulDiffuserServerConfigXml {
 		
 		final double loadThreshold = thresholdSpec.value( options );
 		final long randomSeed = strategySeedSpec.value( options );
+		final int maxConnections = maxConnectionsSpec.value( options );
+		final int connectTimeout = connectTimeoutSpec.value( options );
+		final int readTimeout = readTimeoutSpec.value( options );
 		
 		// report back on the settings
 		final StringBuffer message = new StringBuffer();
@@ -367,6 +451,9 @@ public class RestfulDiffuserServerConfigXml {
 			xmlConfig.setLaodThreshold( loadThreshold );
 			xmlConfig.setDiffuserStrategyConfigClassName( strategyConfigClassName );
 			xmlConfig.setDiffuserStrategyConfigFile( strategyConfigFile );
+			xmlConfig.setMaxConnectionsPerEndpoint( maxConnections );
+			xmlConfig.setConnectTimeout( connectTimeout );
+			xmlConfig.setReadTimeout( readTimeout );
 
 			// write the main configuration file
 			new XmlPersistence().write( xmlConfig, configFile );
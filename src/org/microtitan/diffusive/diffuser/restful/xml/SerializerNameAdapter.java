@@ -29,7 +29,7 @@ public class SerializerNameAdapter extends XmlAdapter< String, Serializer > {
 	@Override
 	public Serializer unmarshal( final String serializerName ) throws Exception
 	{
-		return SerializerFactory.getInstance().createSerializer( serializerName );
+		return SerializerFactory.getInstance().getSerializer( serializerName );
 	}
 
 	/*
@@ -31,7 +31,7 @@ public class JsonPersistenceSerializer extends PersistenceSerializer {
 	 */
 	public JsonPersistenceSerializer()
 	{
-		super( new JsonPersistence() );
+		super( JsonPersistence.class );
 	}
 	
 }
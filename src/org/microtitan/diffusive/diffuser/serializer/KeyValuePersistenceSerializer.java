@@ -31,7 +31,7 @@ public class KeyValuePersistenceSerializer extends PersistenceSerializer {
 	 */
 	public KeyValuePersistenceSerializer()
 	{
-		super( new KeyValuePersistence() );
+		super( KeyValuePersistence.class );
 	}
 	
 }
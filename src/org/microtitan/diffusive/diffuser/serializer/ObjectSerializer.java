@@ -25,7 +25,8 @@ import org.apache.log4j.Logger;
 import org.freezedry.persistence.utils.Constants;
 
 /**
- * Serializes objects into Java serializes form and deserializes them back into objects.
+ * Serializes objects into Java serializes form and deserializes them back into objects. The serializer
+ * holds no state, and so a single instance can be used by any number of threads concurrently.
  * 
  * @author Robert Philipp
  */
@@ -38,7 +39,7 @@ public class ObjectSerializer implements Serializer {
 	 * @see org.microtitan.diffusive.diffuser.serializer.Serializer#serialize(java.lang.Object, java.io.OutputStream)
 	 */
 	@Override
-	public synchronized void serialize( final Object object, final OutputStream output )
+	public void serialize( final Object object, final OutputStream output )
 	{
 		try( final ObjectOutputStream out = new ObjectOutputStream( output ) )
 		{
@@ -61,7 +62,7 @@ public class ObjectSerializer implements Serializer {
 	 * @see org.microtitan.diffusive.diffuser.serializer.Serializer#deserialize(java.io.InputStream)
 	 */
 	@Override
-	public synchronized < T > T deserialize( final InputStream input, final Class< T > clazz ) 
+	public < T > T deserialize( final InputStream input, final Class< T > clazz ) 
 	{
 		// read the input stream into an object. we use the the (apache commons-io) ClassLoaderObjectInputStream
 		// to read the object because we need to be able to use the same class loader that loaded the class in
@@ -20,6 +20,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.lang.reflect.InvocationTargetException;
 
 import org.apache.log4j.Logger;
 import org.freezedry.persistence.Persistence;
@@ -28,6 +29,9 @@ import org.freezedry.persistence.utils.Constants;
 /**
  * Serializes objects into a serializes for specified by the {@link Persistence} engine, and deserializes
  * that form back into objects using the same {@link Persistence} engine.
+ * <p>The {@link Persistence} engines aren't thread safe. A serializer constructed with the {@link Class} of
+ * the engine gives each thread its own engine, so that threads serialize concurrently. A serializer 
+ * constructed with an engine instance shares that engine, and so serializes one object at a time.
  * 
  * @author Robert Philipp
  */
@@ -35,16 +39,78 @@ public class PersistenceSerializer implements Serializer {
 	
 	private static final Logger LOGGER = Logger.getLogger( PersistenceSerializer.class );
 
-	private Persistence persistence;
+	// the engine shared by all threads (guarded by itself), or null when each thread has its own engine
+	private final Persistence persistence;
+	private final ThreadLocal< Persistence > threadPersistence;
 	
 	/**
 	 * Constructs an object serializer that uses the FreezeDry persistence framework to 
-	 * serialize the objects
+	 * serialize the objects. Because the engine is shared, objects are serialized one at
+	 * a time.
 	 * @param persistence The {@link Persistence} used to serialize and deserialize objects
 	 */
 	public PersistenceSerializer( final Persistence persistence )
 	{
 		this.persistence = persistence;
+		this.threadPersistence = null;
+	}
+	
+	/**
+	 * Constructs an object serializer that uses the FreezeDry persistence framework to 
+	 * serialize the objects. Each thread using the serializer gets its own instance of the
+	 * engine, so that objects are serialized concurrently.
+	 * @param persistenceClass The {@link Class} of the {@link Persistence} used to serialize 
+	 * and deserialize objects, which must have a no-arg constructor
+	 */
+	public PersistenceSerializer( final Class< ? extends Persistence > persistenceClass )
+	{
+		this.persistence = null;
+		this.threadPersistence = new ThreadLocal< Persistence >() {
+
+			@Override
+			protected Persistence initialValue()
+			{
+				return createPersistence( persistenceClass );
+			}
+		};
+	}
+	
+	/**
+	 * Creates the {@link Persistence} engine of the specified {@link Class}
+	 * @param persistenceClass The {@link Class} of the {@link Persistence} engine
+	 * @return The newly created {@link Persistence} engine
+	 */
+	private static Persistence createPersistence( final Class< ? extends Persistence > persistenceClass )
+	{
+		try
+		{
+			return persistenceClass.getDeclaredConstructor().newInstance();
+		}
+		catch( InvocationTargetException e )
+		{
+			// the engine's constructor threw, and so its exception is reported rather than the wrapper
+			final StringBuffer message = new StringBuffer();
+			message.append( "The persistence engine's constructor failed:" + Constants.NEW_LINE );
+			message.append( "  Persistence Type: " + persistenceClass.getName() + Constants.NEW_LINE );
+			LOGGER.error( message.toString(), e.getCause() );
+			throw new IllegalStateException( message.toString(), e.getCause() );
+		}
+		catch( NoSuchMethodException e )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "The persistence engine must have a no-argument constructor:" + Constants.NEW_LINE );
+			message.append( "  Persistence Type: " + persistenceClass.getName() + Constants.NEW_LINE );
+			LOGGER.error( message.toString(), e );
+			throw new IllegalArgumentException( message.toString(), e );
+		}
+		catch( InstantiationException | IllegalAccessException e )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Unable to create the persistence engine:" + Constants.NEW_LINE );
+			message.append( "  Persistence Type: " + persistenceClass.getName() + Constants.NEW_LINE );
+			LOGGER.error( message.toString(), e );
+			throw new IllegalStateException( message.toString(), e );
+		}
 	}
 
 	/*
@@ -52,15 +118,22 @@ public class PersistenceSerializer implements Serializer {
 	 * @see org.microtitan.diffusive.diffuser.serializer.Serializer#serialize(java.lang.Object, java.io.OutputStream)
 	 */
 	@Override
-	public synchronized void serialize( final Object object, final OutputStream output )
+	public void serialize( final Object object, final OutputStream output )
 	{
 		// convert the OutputStream to a Writer
 		try( final OutputStreamWriter out = new OutputStreamWriter( output ) )
 		{
 			// have the Persistence write the object to the output stream
-			if( object != null )
+			if( object != null && persistence != null )
+			{
+				synchronized( persistence )
+				{
+					persistence.write( object, out );
+				}
+			}
+			else if( object != null )
 			{
-				persistence.write( object, out );
+				threadPersistence.get().write( object, out );
 			}
 		
 			out.close();
@@ -82,14 +155,24 @@ public class PersistenceSerializer implements Serializer {
 	 * @see org.microtitan.diffusive.diffuser.serializer.Serializer#deserialize(java.io.InputStream, java.lang.Class)
 	 */
 	@Override
-	public synchronized < T > T deserialize( final InputStream input, final Class< T > clazz )
+	public < T > T deserialize( final InputStream input, final Class< T > clazz )
 	{
 		T object = null;
 		// convert the InputStream to a Reader
 		try( final InputStreamReader in = new InputStreamReader( input ) )
 		{
 			// create the object from the input stream
-			object = persistence.read( clazz, in );
+			if( persistence != null )
+			{
+				synchronized( persistence )
+				{
+					object = persistence.read( clazz, in );
+				}
+			}
+			else
+			{
+				object = threadPersistence.get().read( clazz, in );
+			}
 		}
 		catch( IOException e )
 		{
@@ -15,13 +15,24 @@
  */
 package org.microtitan.diffusive.diffuser.serializer;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.log4j.Logger;
 import org.microtitan.diffusive.Constants;
 
+/**
+ * Registry of the {@link Serializer}s, by name. Because {@link Serializer}s are thread safe, the factory
+ * hands out a single, shared instance of each {@link Serializer} (see {@link #getSerializer(String)}).
+ * Lookups don't lock: the name-to-class mapping is replaced as a whole when a {@link Serializer} is 
+ * added, and the shared instances are held in a concurrent map.
+ * 
+ * @author Robert Philipp
+ */
 public class SerializerFactory {
 
 	private static final Logger LOGGER = Logger.getLogger( SerializerFactory.class );
@@ -44,14 +55,19 @@ public class SerializerFactory {
 		return SerializerFactoryHolder.INSTANCE;
 	}
 
-	private Map< String, Class< ? extends Serializer > > serializerClasses;
+	// unmodifiable mapping, replaced on each put, so that it can be read without locking
+	private volatile Map< String, Class< ? extends Serializer > > serializerClasses;
+	
+	// the shared serializer instances
+	private final ConcurrentMap< Class< ? extends Serializer >, Serializer > serializers;
 	
 	/**
 	 * Private constructor prevents instantiation from other classes
 	 */
 	private SerializerFactory() 
 	{
-		serializerClasses = createDefaultSerializerClassMap();
+		serializerClasses = Collections.unmodifiableMap( createDefaultSerializerClassMap() );
+		serializers = new ConcurrentHashMap<>();
 	}
 	
 	/**
@@ -74,7 +90,7 @@ public class SerializerFactory {
 	 * @return the {@link Class} of the {@link Serializer} associated with the serializer name
 	 * @see SerializerType
 	 */
-	public synchronized static final Class< ? extends Serializer > getSerializerClass( final String name )
+	public static final Class< ? extends Serializer > getSerializerClass( final String name )
 	{
 		return getInstance().serializerClasses.get( name );
 	}
@@ -84,7 +100,7 @@ public class SerializerFactory {
 	 * @param clazz The {@link Class} of the {@link Serializer} for which to return the name
 	 * @return the serializer name associated with the {@link Serializer} {@link Class}
 	 */
-	public synchronized static final String getSerializerName( final Class< ? extends Serializer > clazz )
+	public static final String getSerializerName( final Class< ? extends Serializer > clazz )
 	{
 		String name = null;
 		for( Map.Entry< String, Class< ? extends Serializer > > entry : getInstance().serializerClasses.entrySet() )
@@ -101,7 +117,7 @@ public class SerializerFactory {
 	/**
 	 * @return The names of the {@link Serializer}s as represented by this factory
 	 */
-	public synchronized static final Set< String > getSerializerNames()
+	public static final Set< String > getSerializerNames()
 	{
 		return getInstance().serializerClasses.keySet();
 	}
@@ -116,16 +132,56 @@ public class SerializerFactory {
 	 */
 	public synchronized Class< ? extends Serializer > putSerializer( final String name, final Class< ? extends Serializer > clazz )
 	{
-		return serializerClasses.put( name, clazz );
+		// only writers lock, and the readers see the new mapping once it is replaced
+		final Map< String, Class< ? extends Serializer > > classes = new LinkedHashMap<>( serializerClasses );
+		final Class< ? extends Serializer > previous = classes.put( name, clazz );
+		serializerClasses = Collections.unmodifiableMap( classes );
+		return previous;
+	}
+	
+	/**
+	 * Returns the shared {@link Serializer} whose {@link Class} is associated with the specified name,
+	 * creating it on the first request. {@link Serializer}s are thread safe, and so the returned instance
+	 * can be used by any number of threads concurrently.
+	 * @param name The name of the {@link Serializer}
+	 * @return The shared {@link Serializer} whose {@link Class} is associated with the specified name
+	 */
+	public Serializer getSerializer( final String name )
+	{
+		final Class< ? extends Serializer > clazz = getSerializerClass( name, serializerClasses );
+		Serializer serializer = serializers.get( clazz );
+		if( serializer == null )
+		{
+			final Serializer created = createSerializer( name, clazz );
+			serializer = serializers.putIfAbsent( clazz, created );
+			if( serializer == null )
+			{
+				serializer = created;
+			}
+		}
+		return serializer;
 	}
 	
 	/**
-	 * Creates the {@link Serializer} whose {@link Class} is associated with the specified name
+	 * Creates the {@link Serializer} whose {@link Class} is associated with the specified name. Unless
+	 * a separate instance is needed, use the shared instance returned by {@link #getSerializer(String)}.
 	 * @param name The name of the {@link Serializer} to create
 	 * @return The newly created {@link Serializer} whose {@link Class} is associated with the 
 	 * specified name
 	 */
-	public synchronized Serializer createSerializer( final String name )
+	public Serializer createSerializer( final String name )
+	{
+		return createSerializer( name, getSerializerClass( name, serializerClasses ) );
+	}
+	
+	/**
+	 * Returns the {@link Class} of the {@link Serializer} associated with the specified name
+	 * @param name The name of the {@link Serializer}
+	 * @param serializerClasses The mapping between the serializer names and their classes
+	 * @return The {@link Class} of the {@link Serializer} associated with the specified name
+	 * @throws IllegalArgumentException if no {@link Class} is associated with the name
+	 */
+	private static Class< ? extends Serializer > getSerializerClass( final String name, final Map< String, Class< ? extends Serializer > > serializerClasses )
 	{
 		// grab the class from the mapping
 		final Class< ? extends Serializer > clazz = serializerClasses.get( name );
@@ -142,7 +198,17 @@ public class SerializerFactory {
 			LOGGER.error( message.toString() );
 			throw new IllegalArgumentException( message.toString() );
 		}
-		
+		return clazz;
+	}
+	
+	/**
+	 * Creates the {@link Serializer} of the specified {@link Class}
+	 * @param name The name of the {@link Serializer}, used for error reporting
+	 * @param clazz The {@link Class} of the {@link Serializer} to create
+	 * @return The newly created {@link Serializer}
+	 */
+	private static Serializer createSerializer( final String name, final Class< ? extends Serializer > clazz )
+	{
 		// create the new instance of the class
 		Serializer serializer = null;
 		try
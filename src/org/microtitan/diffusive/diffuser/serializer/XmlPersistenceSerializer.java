@@ -31,7 +31,7 @@ public class XmlPersistenceSerializer extends PersistenceSerializer {
 	 */
 	public XmlPersistenceSerializer()
 	{
-		super( new XmlPersistence() );
+		super( XmlPersistence.class );
 	}
 	
 }
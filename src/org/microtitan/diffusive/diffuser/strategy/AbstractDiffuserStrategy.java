@@ -17,8 +17,12 @@ package org.microtitan.diffusive.diffuser.strategy;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.microtitan.diffusive.Constants;
 
@@ -27,6 +31,11 @@ import org.microtitan.diffusive.Constants;
  * Abstract class that deals with the {@link List} of end-point {@link URI}. Implementing classes
  * need to implement the {@link #getEndpoints()} method from the {@link DiffuserStrategy} interface.
  * 
+ * Each end-point has a {@link CircuitBreaker} that tracks the recent failures of the calls to that
+ * end-point, so that the diffusers can steer calls away from end-points that are unreachable or failing,
+ * and fail calls over to end-points that are healthy. An end-point that rejects calls because it is
+ * overloaded isn't called until its retry-after time has passed, without counting the rejections as failures.
+ * 
  * @author Robert Philipp
  */
 public abstract class AbstractDiffuserStrategy implements DiffuserStrategy {
@@ -35,6 +44,20 @@ public abstract class AbstractDiffuserStrategy implements DiffuserStrategy {
 	private List< Double > weights;
 	private Double weightSum = Double.NaN;
 	
+	// the circuit breakers for the end-points, which are created when the end-point is first used
+	private final ConcurrentMap< URI, CircuitBreaker > breakers = new ConcurrentHashMap<>();
+	private int breakerWindowSize = CircuitBreaker.WINDOW_SIZE;
+	private double breakerFailureRate = CircuitBreaker.FAILURE_RATE_THRESHOLD;
+	private long breakerSlowCallThreshold = 0;
+	private long breakerOpenDuration = CircuitBreaker.OPEN_DURATION;
+	
+	// the offset into the end-point list at which the search for a fail-over end-point starts, so
+	// that the calls that fail over are spread across the healthy end-points
+	private final AtomicInteger failoverOffset = new AtomicInteger( 0 );
+	
+	// the time (ms since epoch) until which the overloaded end-points aren't called
+	private final ConcurrentMap< URI, Long > overloadedUntil = new ConcurrentHashMap<>();
+	
 	/**
 	 * Constructs a {@link DiffuserStrategy} that holds the specified list of end-points
 	 * with all the weights set to 1.0
@@ -78,6 +101,10 @@ public abstract class AbstractDiffuserStrategy implements DiffuserStrategy {
 		this.endpoints = new ArrayList<>( strategy.endpoints );
 		this.weights = new ArrayList<>( strategy.weights );
 		this.weightSum = Double.NaN;
+		this.breakerWindowSize = strategy.breakerWindowSize;
+		this.breakerFailureRate = strategy.breakerFailureRate;
+		this.breakerSlowCallThreshold = strategy.breakerSlowCallThreshold;
+		this.breakerOpenDuration = strategy.breakerOpenDuration;
 	}
 
 	
@@ -253,6 +280,143 @@ public abstract class AbstractDiffuserStrategy implements DiffuserStrategy {
 		return ( endpoints == null || endpoints.isEmpty() );
 	}
 	
+	/**
+	 * Sets the settings for the circuit breakers of the end-points, and resets the circuit breakers
+	 * @param windowSize The number of the most recent calls from which the failure rate is calculated
+	 * @param failureRate The fraction of failed calls, in the interval {@code (0, 1]}, at which the breaker opens
+	 * @param slowCallThreshold The time, in milliseconds, after which a successful call is counted as 
+	 * a failure; 0 when the latency of a call doesn't matter
+	 * @param openDuration The time, in milliseconds, that a breaker stays open before letting a probe call through
+	 * @see CircuitBreaker
+	 */
+	public final void setCircuitBreakers( final int windowSize, 
+										  final double failureRate, 
+										  final long slowCallThreshold, 
+										  final long openDuration )
+	{
+		// validates the settings
+		new CircuitBreaker( "validation", windowSize, failureRate, slowCallThreshold, openDuration );
+		
+		this.breakerWindowSize = windowSize;
+		this.breakerFailureRate = failureRate;
+		this.breakerSlowCallThreshold = slowCallThreshold;
+		this.breakerOpenDuration = openDuration;
+		breakers.clear();
+	}
+	
+	/**
+	 * Returns the circuit breaker for the end-point, creating it if needed
+	 * @param endpoint The end-point
+	 * @return The circuit breaker for the end-point
+	 */
+	public final CircuitBreaker getCircuitBreaker( final URI endpoint )
+	{
+		CircuitBreaker breaker = breakers.get( endpoint );
+		if( breaker == null )
+		{
+			final CircuitBreaker newBreaker = new CircuitBreaker( endpoint.toString(), 
+																  breakerWindowSize, 
+																  breakerFailureRate, 
+																  breakerSlowCallThreshold, 
+																  breakerOpenDuration );
+			breaker = breakers.putIfAbsent( endpoint, newBreaker );
+			if( breaker == null )
+			{
+				breaker = newBreaker;
+			}
+		}
+		return breaker;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.strategy.DiffuserStrategy#allowRequest(java.net.URI)
+	 */
+	@Override
+	public boolean allowRequest( final URI endpoint )
+	{
+		return !isOverloaded( endpoint ) && getCircuitBreaker( endpoint ).allowRequest();
+	}
+	
+	/**
+	 * Returns whether the end-point has rejected a call because it is overloaded, and its retry-after
+	 * time hasn't passed
+	 * @param endpoint The end-point
+	 * @return true if the end-point is overloaded; false otherwise
+	 */
+	public final boolean isOverloaded( final URI endpoint )
+	{
+		final Long until = overloadedUntil.get( endpoint );
+		if( until == null )
+		{
+			return false;
+		}
+		if( until > System.currentTimeMillis() )
+		{
+			return true;
+		}
+		overloadedUntil.remove( endpoint, until );
+		return false;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.strategy.DiffuserStrategy#getFailoverEndpoint(java.util.Collection)
+	 */
+	@Override
+	public URI getFailoverEndpoint( final Collection< URI > excluded )
+	{
+		final List< URI > candidates = new ArrayList<>( endpoints );
+		final int numCandidates = candidates.size();
+		if( numCandidates == 0 )
+		{
+			return null;
+		}
+		
+		// start the search at a different end-point each time, and find the first end-point that
+		// isn't excluded, and whose circuit breaker lets the call through
+		final int offset = Math.abs( failoverOffset.getAndIncrement() % numCandidates );
+		for( int i = 0; i < numCandidates; ++i )
+		{
+			final URI endpoint = candidates.get( (offset + i) % numCandidates );
+			if( !excluded.contains( endpoint ) && allowRequest( endpoint ) )
+			{
+				return endpoint;
+			}
+		}
+		return null;
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.strategy.DiffuserStrategy#recordSuccess(java.net.URI, long)
+	 */
+	@Override
+	public void recordSuccess( final URI endpoint, final long latency )
+	{
+		getCircuitBreaker( endpoint ).recordSuccess( latency );
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.strategy.DiffuserStrategy#recordFailure(java.net.URI)
+	 */
+	@Override
+	public void recordFailure( final URI endpoint )
+	{
+		getCircuitBreaker( endpoint ).recordFailure();
+	}
+	
+	/*
+	 * (non-Javadoc)
+	 * @see org.microtitan.diffusive.diffuser.strategy.DiffuserStrategy#recordOverload(java.net.URI, long)
+	 */
+	@Override
+	public void recordOverload( final URI endpoint, final long retryAfter )
+	{
+		overloadedUntil.put( endpoint, System.currentTimeMillis() + retryAfter );
+	}
+	
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
@@ -273,6 +437,14 @@ public abstract class AbstractDiffuserStrategy implements DiffuserStrategy {
 			buffer.append( Constants.NEW_LINE );
 		}
 		buffer.append( "Sum of Weights: " + weightSum + Constants.NEW_LINE );
+		if( !breakers.isEmpty() )
+		{
+			buffer.append( "Circuit Breakers: " + Constants.NEW_LINE );
+			for( CircuitBreaker breaker : breakers.values() )
+			{
+				buffer.append( "  " + breaker.toString() + Constants.NEW_LINE );
+			}
+		}
 		return buffer.toString();
 	}
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.diffuser.strategy;
+
+import org.apache.log4j.Logger;
+import org.microtitan.diffusive.Constants;
+
+/**
+ * Circuit breaker for one end-point. The breaker keeps the outcomes of the most recent calls to the
+ * end-point in a sliding window, and when the fraction of failed calls in the window reaches the failure 
+ * rate threshold, the breaker opens, and the end-point isn't called until the open duration has elapsed. 
+ * Once the open duration has elapsed, the breaker is half-open, and lets one probe call through: when 
+ * the probe succeeds, the breaker closes; when it fails, the breaker opens again.
+ * 
+ * Calls that succeed, but take longer than the slow-call threshold, are counted as failures, so that
+ * an end-point that is overloaded is treated like one that is failing.
+ * 
+ * @author Robert Philipp
+ */
+public class CircuitBreaker {
+	
+	private static final Logger LOGGER = Logger.getLogger( CircuitBreaker.class );
+	
+	public static final int WINDOW_SIZE = 20;
+	public static final int MINIMUM_CALLS = 5;
+	public static final double FAILURE_RATE_THRESHOLD = 0.5;
+	public static final long OPEN_DURATION = 30_000;
+
+	/**
+	 * The state of the circuit breaker
+	 */
+	public enum State { CLOSED, OPEN, HALF_OPEN };
+	
+	private final String name;
+	private final int windowSize;
+	private final double failureRateThreshold;
+	private final long slowCallThreshold;
+	private final long openDuration;
+	
+	// the ring buffer holding the outcomes (true for failure) of the most recent calls
+	private final boolean[] outcomes;
+	private int numOutcomes;
+	private int nextOutcome;
+	private int numFailures;
+	
+	private State state;
+	private long openedAt;
+	private long probeStartedAt;
+	private boolean isProbing;
+	
+	/**
+	 * Constructs a closed circuit breaker
+	 * @param name The name of the circuit breaker (for example, the end-point), used in the log messages
+	 * @param windowSize The number of the most recent calls from which the failure rate is calculated
+	 * @param failureRateThreshold The fraction of failed calls, in the interval {@code (0, 1]}, at which the breaker opens
+	 * @param slowCallThreshold The time, in milliseconds, after which a successful call is counted as 
+	 * a failure; 0 when the latency of a call doesn't matter
+	 * @param openDuration The time, in milliseconds, that the breaker stays open before letting a probe call through
+	 */
+	public CircuitBreaker( final String name, 
+						   final int windowSize, 
+						   final double failureRateThreshold, 
+						   final long slowCallThreshold, 
+						   final long openDuration )
+	{
+		if( windowSize < 1 || failureRateThreshold <= 0 || failureRateThreshold > 1 || slowCallThreshold < 0 || openDuration < 0 )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Invalid circuit breaker settings." + Constants.NEW_LINE );
+			message.append( "  Window Size (must be positive): " + windowSize + Constants.NEW_LINE );
+			message.append( "  Failure Rate Threshold (must be in (0, 1]): " + failureRateThreshold + Constants.NEW_LINE );
+			message.append( "  Slow-Call Threshold (ms; must be non-negative): " + slowCallThreshold + Constants.NEW_LINE );
+			message.append( "  Open Duration (ms; must be non-negative): " + openDuration );
+			LOGGER.error( message.toString() );
+			throw new IllegalArgumentException( message.toString() );
+		}
+		
+		this.name = name;
+		this.windowSize = windowSize;
+		this.failureRateThreshold = failureRateThreshold;
+		this.slowCallThreshold = slowCallThreshold;
+		this.openDuration = openDuration;
+		this.outcomes = new boolean[ windowSize ];
+		this.state = State.CLOSED;
+	}
+	
+	/**
+	 * Constructs a closed circuit breaker with the default settings, which doesn't count slow calls as failures
+	 * @param name The name of the circuit breaker (for example, the end-point), used in the log messages
+	 */
+	public CircuitBreaker( final String name )
+	{
+		this( name, WINDOW_SIZE, FAILURE_RATE_THRESHOLD, 0, OPEN_DURATION );
+	}
+	
+	/**
+	 * Returns whether a call may be made. When the breaker is open, and the open duration has elapsed,
+	 * then the breaker becomes half-open, and this call claims the probe. While the probe is outstanding,
+	 * other calls aren't allowed, unless the probe hasn't reported back within the open duration (for 
+	 * example, because it was cancelled), in which case another probe is allowed.
+	 * @return true if the call may be made; false if the breaker is open
+	 */
+	public synchronized boolean allowRequest()
+	{
+		final long now = System.currentTimeMillis();
+		switch( state )
+		{
+			case CLOSED:
+				return true;
+				
+			case OPEN:
+				if( now - openedAt < openDuration )
+				{
+					return false;
+				}
+				state = State.HALF_OPEN;
+				if( LOGGER.isInfoEnabled() )
+				{
+					LOGGER.info( "Circuit breaker is half-open; sending a probe call: " + name );
+				}
+				return claimProbe( now );
+				
+			case HALF_OPEN:
+			default:
+				return claimProbe( now );
+		}
+	}
+	
+	/*
+	 * Claims the probe of the half-open breaker, unless another probe is outstanding and hasn't yet 
+	 * been outstanding for the open duration. Must be called while holding the breaker's lock.
+	 * @param now The current time, in milliseconds
+	 * @return true if the probe was claimed; false otherwise
+	 */
+	private boolean claimProbe( final long now )
+	{
+		if( isProbing && now - probeStartedAt < openDuration )
+		{
+			return false;
+		}
+		isProbing = true;
+		probeStartedAt = now;
+		return true;
+	}
+	
+	/**
+	 * @return true if the breaker is closed, or if it is ready to let a probe call through; false otherwise.
+	 * Unlike {@link #allowRequest()}, this method doesn't change the state of the breaker.
+	 */
+	public synchronized boolean isAvailable()
+	{
+		final long now = System.currentTimeMillis();
+		switch( state )
+		{
+			case CLOSED:
+				return true;
+			case OPEN:
+				return now - openedAt >= openDuration;
+			case HALF_OPEN:
+			default:
+				return !isProbing || now - probeStartedAt >= openDuration;
+		}
+	}
+	
+	/**
+	 * Records a call that returned its result
+	 * @param latency The time, in milliseconds, the call took to return its result
+	 */
+	public void recordSuccess( final long latency )
+	{
+		final boolean isSlow = slowCallThreshold > 0 && latency > slowCallThreshold;
+		record( isSlow );
+	}
+	
+	/**
+	 * Records a call that failed
+	 */
+	public void recordFailure()
+	{
+		record( true );
+	}
+	
+	/**
+	 * Records the outcome of a call, and updates the state of the breaker
+	 * @param isFailure true if the call failed (or was slow); false otherwise
+	 */
+	private synchronized void record( final boolean isFailure )
+	{
+		if( state == State.HALF_OPEN )
+		{
+			// the probe decides the state of the breaker
+			isProbing = false;
+			if( isFailure )
+			{
+				open();
+			}
+			else
+			{
+				close();
+			}
+			return;
+		}
+		
+		// add the outcome to the window, replacing the oldest one when the window is full
+		if( numOutcomes == windowSize )
+		{
+			if( outcomes[ nextOutcome ] )
+			{
+				--numFailures;
+			}
+		}
+		else
+		{
+			++numOutcomes;
+		}
+		outcomes[ nextOutcome ] = isFailure;
+		nextOutcome = (nextOutcome + 1) % windowSize;
+		if( isFailure )
+		{
+			++numFailures;
+		}
+		
+		if( state == State.CLOSED && 
+			numOutcomes >= Math.min( MINIMUM_CALLS, windowSize ) && 
+			(double)numFailures / numOutcomes >= failureRateThreshold )
+		{
+			open();
+		}
+	}
+	
+	/*
+	 * Opens the breaker
+	 */
+	private void open()
+	{
+		state = State.OPEN;
+		openedAt = System.currentTimeMillis();
+		if( LOGGER.isInfoEnabled() )
+		{
+			final StringBuffer message = new StringBuffer();
+			message.append( "Circuit breaker opened." + Constants.NEW_LINE );
+			message.append( "  Name: " + name + Constants.NEW_LINE );
+			message.append( "  Failed Calls: " + numFailures + " of " + numOutcomes + Constants.NEW_LINE );
+			message.append( "  Open Duration (ms): " + openDuration );
+			LOGGER.info( message.toString() );
+		}
+	}
+	
+	/*
+	 * Closes the breaker, and clears the window of outcomes
+	 */
+	private void close()
+	{
+		state = State.CLOSED;
+		numOutcomes = 0;
+		nextOutcome = 0;
+		numFailures = 0;
+		if( LOGGER.isInfoEnabled() )
+		{
+			LOGGER.info( "Circuit breaker closed: " + name );
+		}
+	}
+	
+	/**
+	 * @return The current state of the breaker
+	 */
+	public synchronized State getState()
+	{
+		return state;
+	}
+	
+	/**
+	 * @return The fraction of the calls in the window that failed
+	 */
+	public synchronized double getFailureRate()
+	{
+		return numOutcomes == 0 ? 0 : (double)numFailures / numOutcomes;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public synchronized String toString()
+	{
+		return name + ": " + state + String.format( " (failure rate: %6.4f)", getFailureRate() );
+	}
+}
@@ -16,6 +16,7 @@
 package org.microtitan.diffusive.diffuser.strategy;
 
 import java.net.URI;
+import java.util.Collection;
 import java.util.List;
 
 import org.freezedry.persistence.copyable.Copyable;
@@ -54,4 +55,43 @@ public interface DiffuserStrategy extends Copyable< DiffuserStrategy >{
 	 * @return true if the strategy has no end points
 	 */
 	boolean isEmpty();
+	
+	/**
+	 * Returns whether the end-point may be called, based on the recent failures of calls to the 
+	 * end-point. An end-point that has been failing is not called until it has had time to recover, 
+	 * after which one probe call is let through.
+	 * @param endpoint The end-point
+	 * @return true if the end-point may be called; false otherwise
+	 */
+	boolean allowRequest( final URI endpoint );
+	
+	/**
+	 * Returns the next end-point, that isn't in the list of excluded end-points, and that may be called, 
+	 * to which to fail over a call that failed. 
+	 * @param excluded The end-points that have already been tried, or that are otherwise excluded
+	 * @return The end-point to which to fail over the call; or null if there are no end-points that may be called
+	 */
+	URI getFailoverEndpoint( final Collection< URI > excluded );
+	
+	/**
+	 * Records a call to the end-point that returned its result
+	 * @param endpoint The end-point
+	 * @param latency The time, in milliseconds, the call took to return its result
+	 */
+	void recordSuccess( final URI endpoint, final long latency );
+	
+	/**
+	 * Records a call to the end-point that failed
+	 * @param endpoint The end-point
+	 */
+	void recordFailure( final URI endpoint );
+	
+	/**
+	 * Records a call that the end-point rejected because it is overloaded. The end-point is healthy, and 
+	 * so the rejection doesn't count as a failure, but the end-point isn't called until the retry-after 
+	 * time has passed.
+	 * @param endpoint The end-point
+	 * @param retryAfter The time, in milliseconds, after which the end-point may be called again
+	 */
+	void recordOverload( final URI endpoint, final long retryAfter );
 }
@@ -22,11 +22,12 @@ import org.apache.log4j.Logger;
 import org.freezedry.persistence.XmlPersistence;
 import org.microtitan.diffusive.Constants;
 import org.microtitan.diffusive.annotations.DiffusiveConfiguration;
-import org.microtitan.diffusive.diffuser.Diffuser;
 import org.microtitan.diffusive.diffuser.KeyedDiffuserRepository;
 import org.microtitan.diffusive.diffuser.restful.RestfulDiffuser;
+import org.microtitan.diffusive.diffuser.restful.client.RestfulClientFactory;
 import org.microtitan.diffusive.diffuser.serializer.Serializer;
 import org.microtitan.diffusive.diffuser.serializer.SerializerFactory;
+import org.microtitan.diffusive.diffuser.strategy.AbstractDiffuserStrategy;
 import org.microtitan.diffusive.diffuser.strategy.DiffuserStrategy;
 import org.microtitan.diffusive.diffuser.strategy.DiffuserStrategyConfigXml;
 import org.microtitan.diffusive.launcher.DiffusiveLauncher;
@@ -66,12 +67,27 @@ public class RestfulDiffuserConfig {
 		// now read the diffuser strategy configuration file into the strategy configuration object.
 		// recall that the strategy configuration can create the strategy object
 		final DiffuserStrategy strategy = loadStrategy( config.getDiffuserStrategyConfigFile(), config.getDiffuserStrategyConfigClass() );
+		if( strategy instanceof AbstractDiffuserStrategy )
+		{
+			( (AbstractDiffuserStrategy)strategy ).setCircuitBreakers( config.getBreakerWindowSize(), 
+																		config.getBreakerFailureRate(), 
+																		config.getBreakerSlowCallThreshold(), 
+																		config.getBreakerOpenDuration() );
+		}
 		
 		// create a default diffuser, load the diffuser repository, and set the default diffuser
 		// into the repository (needed by the Javassist diffuser method replacement)
-		final Serializer serializer = SerializerFactory.getInstance().createSerializer( config.getSerializerName() );
+		final Serializer serializer = SerializerFactory.getInstance().getSerializer( config.getSerializerName() );
 		final List< URI > classPaths = config.getClassPathsAsUri();
-		final Diffuser diffuser = new RestfulDiffuser( serializer, strategy, classPaths, config.getLaodThreshold() );
+		final RestfulDiffuser diffuser = new RestfulDiffuser( serializer, strategy, classPaths, config.getLaodThreshold(), config.getMaxRedundancy() );
+		diffuser.setBatching( config.getMaxBatchSize(), config.getBatchWindow() );
+		diffuser.setUsingFrames( config.isUsingFrames() );
+		diffuser.setHedging( config.getHedgePercentile() );
+		diffuser.setFailover( config.getRetryBudget(), config.isFallingBackToLocal() );
+		RestfulClientFactory.setRequestCompression( config.getCompressionCodec(), config.getCompressionThreshold() );
+		RestfulClientFactory.configure( config.getMaxConnectionsPerEndpoint(), 
+										config.getConnectTimeout(), 
+										config.getReadTimeout() );
 		KeyedDiffuserRepository.getInstance().setDiffuser( diffuser );
 	}
 	
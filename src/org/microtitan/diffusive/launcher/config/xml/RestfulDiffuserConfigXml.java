@@ -35,10 +35,15 @@ import org.freezedry.persistence.XmlPersistence;
 import org.freezedry.persistence.annotations.Persist;
 import org.freezedry.persistence.annotations.PersistCollection;
 import org.microtitan.diffusive.Constants;
+import org.microtitan.diffusive.diffuser.restful.RestfulDiffuser;
+import org.microtitan.diffusive.diffuser.restful.compression.CompressionCodecFactory;
+import org.microtitan.diffusive.diffuser.restful.compression.DeflateCompressionCodec;
+import org.microtitan.diffusive.diffuser.restful.compression.GzipCompressionCodec;
 import org.microtitan.diffusive.diffuser.restful.resources.RestfulDiffuserManagerResource;
 import org.microtitan.diffusive.diffuser.restful.server.config.StrategyType;
 import org.microtitan.diffusive.diffuser.serializer.SerializerFactory;
 import org.microtitan.diffusive.diffuser.serializer.SerializerFactory.SerializerType;
+import org.microtitan.diffusive.diffuser.strategy.CircuitBreaker;
 import org.microtitan.diffusive.diffuser.strategy.DiffuserStrategy;
 import org.microtitan.diffusive.diffuser.strategy.DiffuserStrategyConfigXml;
 import org.microtitan.diffusive.diffuser.strategy.RandomDiffuserStrategyConfigXml;
@@ -101,6 +106,110 @@ public class RestfulDiffuserConfigXml {
 	 */
 	private String serializerName;
 	
+	/**
+	 * The number of threads in the shared thread pool the diffuser uses to dispatch (redundant) calls
+	 * to the remote diffusers. This is optional, and when not specified (or not positive), the diffuser's
+	 * default ({@link RestfulDiffuser#MAX_REDUNDANCY}) is used.
+	 */
+	private int maxRedundancy;
+	
+	/**
+	 * The maximum number of execute requests (for the same method, on the same object, to the same
+	 * end-point) that the diffuser coalesces into one batch. This is optional, and when not specified 
+	 * (or not greater than 1), batching is disabled.
+	 */
+	private int maxBatchSize;
+	
+	/**
+	 * The time, in milliseconds, after the first execute request is added to a batch, that the batch 
+	 * is sent, whether or not it is full. This is optional, and when not specified (or not positive), 
+	 * the diffuser's default ({@link RestfulDiffuser#BATCH_WINDOW}) is used.
+	 */
+	private long batchWindow;
+	
+	/**
+	 * When true, the execute requests and results are sent in the compact binary frame format rather 
+	 * than as XML and Atom feeds. This is optional, and when not specified, XML and Atom feeds are used.
+	 */
+	private boolean useFrames;
+	
+	/**
+	 * The latency percentile, as a fraction in the interval (0, 1), after which a hedged copy of a call is
+	 * sent to the next end-point. This is optional, and when not specified (or 0), the calls are sent to
+	 * all the end-points up front.
+	 */
+	private double hedgePercentile;
+	
+	/**
+	 * The maximum number of times a failed call is failed over to another end-point. This is optional, and
+	 * when not specified, the diffuser's default ({@link RestfulDiffuser#RETRY_BUDGET}) is used.
+	 */
+	private Integer retryBudget;
+	
+	/**
+	 * When true, a call fails when all the calls to the remote diffusers have failed. This is optional, and 
+	 * when not specified, the method is run locally when all the calls to the remote diffusers have failed.
+	 */
+	private boolean disableLocalFallback;
+	
+	/**
+	 * The number of the most recent calls to an end-point from which its circuit breaker calculates the 
+	 * failure rate. This is optional, and when not specified (or not positive), the default 
+	 * ({@link CircuitBreaker#WINDOW_SIZE}) is used.
+	 */
+	private int breakerWindowSize;
+	
+	/**
+	 * The fraction of failed calls to an end-point, in the interval (0, 1], at which its circuit breaker opens. 
+	 * This is optional, and when not specified, the default ({@link CircuitBreaker#FAILURE_RATE_THRESHOLD}) is used.
+	 */
+	private double breakerFailureRate;
+	
+	/**
+	 * The time, in milliseconds, after which a call to an end-point is counted as a failure by its circuit breaker.
+	 * This is optional, and when not specified (or not positive), the latency of the calls doesn't matter.
+	 */
+	private long breakerSlowCallThreshold;
+	
+	/**
+	 * The time, in milliseconds, that an open circuit breaker waits before letting a probe call through to its 
+	 * end-point. This is optional, and when not specified (or not positive), the default 
+	 * ({@link CircuitBreaker#OPEN_DURATION}) is used.
+	 */
+	private long breakerOpenDuration;
+	
+	/**
+	 * The name of the codec (for example, "gzip" or "deflate") used to compress the execute requests. This
+	 * is optional, and when not specified, the execute requests are sent uncompressed. The responses are
+	 * compressed whenever the server and client support a common codec.
+	 */
+	private String compressionCodec;
+	
+	/**
+	 * The size, in bytes, below which the execute requests are sent uncompressed. This is optional, and when
+	 * not specified (or not positive), the default ({@link CompressionCodecFactory#DEFAULT_THRESHOLD}) is used.
+	 */
+	private int compressionThreshold;
+	
+	/**
+	 * The maximum number of concurrent requests, other than the requests for results, to each server. This 
+	 * is optional, and when not specified (or not positive), the number of concurrent requests isn't limited.
+	 */
+	private int maxConnectionsPerEndpoint;
+	
+	/**
+	 * The time-out, in milliseconds, for establishing a connection to a server. This is optional, and
+	 * when not specified (or not positive), there is no time-out.
+	 */
+	private int connectTimeout;
+	
+	/**
+	 * The time-out, in milliseconds, for reading a response from a server. This is optional, and when not
+	 * specified (or not positive), there is no time-out. Must be longer than the time the servers hold 
+	 * the requests for results.
+	 */
+	private int readTimeout;
+	
 	/**
 	 * The name of the strategy class. This gets persisted, and is passed to the persistence reader
 	 * to load the strategey from the strategy file
@@ -192,6 +301,306 @@ public class RestfulDiffuserConfigXml {
 		this.serializerName = serializerName;
 	}
 	
+	/**
+	 * @return The number of threads in the shared thread pool the diffuser uses to dispatch calls to 
+	 * the remote diffusers. If the value wasn't specified (or isn't positive), then returns the 
+	 * default value {@link RestfulDiffuser#MAX_REDUNDANCY}.
+	 */
+	public int getMaxRedundancy()
+	{
+		return maxRedundancy > 0 ? maxRedundancy : RestfulDiffuser.MAX_REDUNDANCY;
+	}
+
+	/**
+	 * Sets the number of threads in the shared thread pool the diffuser uses to dispatch calls to 
+	 * the remote diffusers.
+	 * @param maxRedundancy The number of dispatch threads; must be greater than 0
+	 */
+	public void setMaxRedundancy( final int maxRedundancy )
+	{
+		if( maxRedundancy > 0 )
+		{
+			this.maxRedundancy = maxRedundancy;
+		}
+	}
+	
+	/**
+	 * @return The maximum number of execute requests the diffuser coalesces into one batch. If the 
+	 * value wasn't specified (or isn't greater than 1), then returns 1, which disables batching.
+	 */
+	public int getMaxBatchSize()
+	{
+		return maxBatchSize > 1 ? maxBatchSize : 1;
+	}
+
+	/**
+	 * Sets the maximum number of execute requests the diffuser coalesces into one batch.
+	 * @param maxBatchSize The maximum batch size; a value of 1 disables batching
+	 */
+	public void setMaxBatchSize( final int maxBatchSize )
+	{
+		if( maxBatchSize > 0 )
+		{
+			this.maxBatchSize = maxBatchSize;
+		}
+	}
+	
+	/**
+	 * @return The time, in milliseconds, after the first execute request is added to a batch, that the
+	 * batch is sent. If the value wasn't specified (or isn't positive), then returns the default value
+	 * {@link RestfulDiffuser#BATCH_WINDOW}.
+	 */
+	public long getBatchWindow()
+	{
+		return batchWindow > 0 ? batchWindow : RestfulDiffuser.BATCH_WINDOW;
+	}
+
+	/**
+	 * Sets the time, in milliseconds, after the first execute request is added to a batch, that the
+	 * batch is sent.
+	 * @param batchWindow The batch window in milliseconds; must be greater than 0
+	 */
+	public void setBatchWindow( final long batchWindow )
+	{
+		if( batchWindow > 0 )
+		{
+			this.batchWindow = batchWindow;
+		}
+	}
+	
+	/**
+	 * @return true if the execute requests and results are sent in the compact binary frame format;
+	 * false if they are sent as XML and Atom feeds
+	 */
+	public boolean isUsingFrames()
+	{
+		return useFrames;
+	}
+	
+	/**
+	 * Sets whether the execute requests and results are sent in the compact binary frame format
+	 * @param useFrames true to use the binary frame format; false to use XML and Atom feeds
+	 */
+	public void setUsingFrames( final boolean useFrames )
+	{
+		this.useFrames = useFrames;
+	}
+	
+	/**
+	 * @return The latency percentile after which a hedged copy of a call is sent; 0 when hedging is disabled
+	 */
+	public double getHedgePercentile()
+	{
+		return hedgePercentile > 0 && hedgePercentile < 1 ? hedgePercentile : 0;
+	}
+	
+	/**
+	 * Sets the latency percentile after which a hedged copy of a call is sent to the next end-point
+	 * @param hedgePercentile The percentile, as a fraction in the interval (0, 1); 0 disables hedging
+	 */
+	public void setHedgePercentile( final double hedgePercentile )
+	{
+		this.hedgePercentile = hedgePercentile;
+	}
+	
+	/**
+	 * @return The maximum number of times a failed call is failed over to another end-point
+	 */
+	public int getRetryBudget()
+	{
+		return retryBudget != null && retryBudget >= 0 ? retryBudget : RestfulDiffuser.RETRY_BUDGET;
+	}
+	
+	/**
+	 * Sets the maximum number of times a failed call is failed over to another end-point
+	 * @param retryBudget The retry budget; 0 to never fail over
+	 */
+	public void setRetryBudget( final int retryBudget )
+	{
+		this.retryBudget = retryBudget;
+	}
+	
+	/**
+	 * @return true if the method is run locally when all the calls to the remote diffusers have failed; false
+	 * if the call fails
+	 */
+	public boolean isFallingBackToLocal()
+	{
+		return !disableLocalFallback;
+	}
+	
+	/**
+	 * Sets whether the method is run locally when all the calls to the remote diffusers have failed
+	 * @param isFallingBackToLocal true to run the method locally; false to fail the call
+	 */
+	public void setFallingBackToLocal( final boolean isFallingBackToLocal )
+	{
+		this.disableLocalFallback = !isFallingBackToLocal;
+	}
+	
+	/**
+	 * @return The number of the most recent calls to an end-point from which its circuit breaker calculates the 
+	 * failure rate
+	 */
+	public int getBreakerWindowSize()
+	{
+		return breakerWindowSize > 0 ? breakerWindowSize : CircuitBreaker.WINDOW_SIZE;
+	}
+	
+	/**
+	 * Sets the number of the most recent calls to an end-point from which its circuit breaker calculates the 
+	 * failure rate
+	 * @param breakerWindowSize The window size; must be greater than 0
+	 */
+	public void setBreakerWindowSize( final int breakerWindowSize )
+	{
+		this.breakerWindowSize = breakerWindowSize;
+	}
+	
+	/**
+	 * @return The fraction of failed calls to an end-point at which its circuit breaker opens
+	 */
+	public double getBreakerFailureRate()
+	{
+		return breakerFailureRate > 0 && breakerFailureRate <= 1 ? breakerFailureRate : CircuitBreaker.FAILURE_RATE_THRESHOLD;
+	}
+	
+	/**
+	 * Sets the fraction of failed calls to an end-point at which its circuit breaker opens
+	 * @param breakerFailureRate The failure rate threshold, in the interval (0, 1]
+	 */
+	public void setBreakerFailureRate( final double breakerFailureRate )
+	{
+		this.breakerFailureRate = breakerFailureRate;
+	}
+	
+	/**
+	 * @return The time, in milliseconds, after which a call is counted as a failure by the circuit breakers; 
+	 * 0 when the latency of the calls doesn't matter
+	 */
+	public long getBreakerSlowCallThreshold()
+	{
+		return breakerSlowCallThreshold > 0 ? breakerSlowCallThreshold : 0;
+	}
+	
+	/**
+	 * Sets the time, in milliseconds, after which a call is counted as a failure by the circuit breakers
+	 * @param breakerSlowCallThreshold The slow-call threshold in milliseconds; 0 when the latency doesn't matter
+	 */
+	public void setBreakerSlowCallThreshold( final long breakerSlowCallThreshold )
+	{
+		this.breakerSlowCallThreshold = breakerSlowCallThreshold;
+	}
+	
+	/**
+	 * @return The time, in milliseconds, that an open circuit breaker waits before letting a probe call through
+	 */
+	public long getBreakerOpenDuration()
+	{
+		return breakerOpenDuration > 0 ? breakerOpenDuration : CircuitBreaker.OPEN_DURATION;
+	}
+	
+	/**
+	 * Sets the time, in milliseconds, that an open circuit breaker waits before letting a probe call through
+	 * @param breakerOpenDuration The open duration in milliseconds
+	 */
+	public void setBreakerOpenDuration( final long breakerOpenDuration )
+	{
+		this.breakerOpenDuration = breakerOpenDuration;
+	}
+	
+	/**
+	 * @return The name of the codec used to compress the execute requests; or null if the execute requests
+	 * are sent uncompressed
+	 */
+	public String getCompressionCodec()
+	{
+		return compressionCodec;
+	}
+	
+	/**
+	 * Sets the name of the codec used to compress the execute requests
+	 * @param compressionCodec The name of the codec (see {@link CompressionCodecFactory}); or null to send 
+	 * the execute requests uncompressed
+	 */
+	public void setCompressionCodec( final String compressionCodec )
+	{
+		this.compressionCodec = compressionCodec;
+	}
+	
+	/**
+	 * @return The size, in bytes, below which the execute requests are sent uncompressed. If the value wasn't
+	 * specified (or isn't positive), then returns the default value ({@link CompressionCodecFactory#DEFAULT_THRESHOLD})
+	 */
+	public int getCompressionThreshold()
+	{
+		return compressionThreshold > 0 ? compressionThreshold : CompressionCodecFactory.DEFAULT_THRESHOLD;
+	}
+	
+	/**
+	 * Sets the size, in bytes, below which the execute requests are sent uncompressed
+	 * @param compressionThreshold The compression threshold in bytes; must be greater than 0
+	 */
+	public void setCompressionThreshold( final int compressionThreshold )
+	{
+		if( compressionThreshold > 0 )
+		{
+			this.compressionThreshold = compressionThreshold;
+		}
+	}
+	
+	/**
+	 * @return The maximum number of concurrent requests, other than the requests for results, to each 
+	 * server; 0 when not limited
+	 */
+	public int getMaxConnectionsPerEndpoint()
+	{
+		return maxConnectionsPerEndpoint > 0 ? maxConnectionsPerEndpoint : 0;
+	}
+	
+	/**
+	 * Sets the maximum number of concurrent requests, other than the requests for results, to each server
+	 * @param maxConnectionsPerEndpoint The maximum number of connections; 0 for no limit
+	 */
+	public void setMaxConnectionsPerEndpoint( final int maxConnectionsPerEndpoint )
+	{
+		this.maxConnectionsPerEndpoint = maxConnectionsPerEndpoint;
+	}
+	
+	/**
+	 * @return The time-out, in milliseconds, for establishing a connection; 0 for no time-out
+	 */
+	public int getConnectTimeout()
+	{
+		return connectTimeout > 0 ? connectTimeout : 0;
+	}
+	
+	/**
+	 * Sets the time-out, in milliseconds, for establishing a connection
+	 * @param connectTimeout The time-out in milliseconds; 0 for no time-out
+	 */
+	public void setConnectTimeout( final int connectTimeout )
+	{
+		this.connectTimeout = connectTimeout;
+	}
+	
+	/**
+	 * @return The time-out, in milliseconds, for reading a response; 0 for no time-out
+	 */
+	public int getReadTimeout()
+	{
+		return readTimeout > 0 ? readTimeout : 0;
+	}
+	
+	/**
+	 * Sets the time-out, in milliseconds, for reading a response
+	 * @param readTimeout The time-out in milliseconds; 0 for no time-out
+	 */
+	public void setReadTimeout( final int readTimeout )
+	{
+		this.readTimeout = readTimeout;
+	}
+	
 	/**
 	 * @return The fully qualified class name of the {@link Class} implementing the diffuser strategy
 	 */
@@ -262,6 +671,22 @@ public class RestfulDiffuserConfigXml {
 		}
 		rep.append( "Load Threshold: " + loadThreshold + Constants.NEW_LINE );
 		rep.append( "Serializer Name: " + serializerName + Constants.NEW_LINE );
+		rep.append( "Max Redundancy: " + getMaxRedundancy() + Constants.NEW_LINE );
+		rep.append( "Max Batch Size: " + getMaxBatchSize() + Constants.NEW_LINE );
+		rep.append( "Batch Window (ms): " + getBatchWindow() + Constants.NEW_LINE );
+		rep.append( "Binary Frames: " + isUsingFrames() + Constants.NEW_LINE );
+		rep.append( "Hedge Percentile: " + getHedgePercentile() + Constants.NEW_LINE );
+		rep.append( "Retry Budget: " + getRetryBudget() + Constants.NEW_LINE );
+		rep.append( "Local Fall-Back: " + isFallingBackToLocal() + Constants.NEW_LINE );
+		rep.append( "Circuit Breaker Window Size: " + getBreakerWindowSize() + Constants.NEW_LINE );
+		rep.append( "Circuit Breaker Failure Rate: " + getBreakerFailureRate() + Constants.NEW_LINE );
+		rep.append( "Circuit Breaker Slow-Call Threshold (ms): " + getBreakerSlowCallThreshold() + Constants.NEW_LINE );
+		rep.append( "Circuit Breaker Open Duration (ms): " + getBreakerOpenDuration() + Constants.NEW_LINE );
+		rep.append( "Compression Codec: " + ( compressionCodec == null ? "[none]" : compressionCodec ) + Constants.NEW_LINE );
+		rep.append( "Compression Threshold (bytes): " + getCompressionThreshold() + Constants.NEW_LINE );
+		rep.append( "Max Connections per Server: " + getMaxConnectionsPerEndpoint() + Constants.NEW_LINE );
+		rep.append( "Connect Time-Out (ms): " + getConnectTimeout() + Constants.NEW_LINE );
+		rep.append( "Read Time-Out (ms): " + getReadTimeout() + Constants.NEW_LINE );
 		
 		return rep.toString();
 	}
@@ -398,6 +823,36 @@ public class RestfulDiffuserConfigXml {
 				parser.accepts( "strategy-seed" ).withRequiredArg().ofType( Long.class ).defaultsTo( 3141592653l );
 		final OptionSpec< Double > thresholdSpec = 
 				parser.accepts( "load-threshold" ).withRequiredArg().ofType( Double.class ).defaultsTo( 0.75 ).describedAs( "[0,1]" );
+		final OptionSpec< Integer > maxRedundancySpec = 
+				parser.accepts( "max-redundancy" ).withRequiredArg().ofType( Integer.class ).defaultsTo( RestfulDiffuser.MAX_REDUNDANCY );
+		final OptionSpec< Integer > maxBatchSizeSpec = 
+				parser.accepts( "max-batch-size" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 1 );
+		final OptionSpec< Long > batchWindowSpec = 
+				parser.accepts( "batch-window" ).withRequiredArg().ofType( Long.class ).defaultsTo( RestfulDiffuser.BATCH_WINDOW ).describedAs( "ms" );
+		parser.accepts( "binary-frames" );
+		final OptionSpec< Double > hedgePercentileSpec = 
+				parser.accepts( "hedge-percentile" ).withRequiredArg().ofType( Double.class ).defaultsTo( 0.0 ).describedAs( "[0,1)" );
+		final OptionSpec< Integer > retryBudgetSpec = 
+				parser.accepts( "retry-budget" ).withRequiredArg().ofType( Integer.class ).defaultsTo( RestfulDiffuser.RETRY_BUDGET );
+		parser.accepts( "no-local-fallback" );
+		final OptionSpec< Integer > breakerWindowSizeSpec = 
+				parser.accepts( "breaker-window-size" ).withRequiredArg().ofType( Integer.class ).defaultsTo( CircuitBreaker.WINDOW_SIZE );
+		final OptionSpec< Double > breakerFailureRateSpec = 
+				parser.accepts( "breaker-failure-rate" ).withRequiredArg().ofType( Double.class ).defaultsTo( CircuitBreaker.FAILURE_RATE_THRESHOLD ).describedAs( "(0,1]" );
+		final OptionSpec< Long > breakerSlowCallSpec = 
+				parser.accepts( "breaker-slow-call-threshold" ).withRequiredArg().ofType( Long.class ).defaultsTo( 0L ).describedAs( "ms" );
+		final OptionSpec< Long > breakerOpenDurationSpec = 
+				parser.accepts( "breaker-open-duration" ).withRequiredArg().ofType( Long.class ).defaultsTo( CircuitBreaker.OPEN_DURATION ).describedAs( "ms" );
+		final OptionSpec< String > compressionCodecSpec = 
+				parser.accepts( "compression-codec" ).withRequiredArg().ofType( String.class ).describedAs( GzipCompressionCodec.NAME + "|" + DeflateCompressionCodec.NAME );
+		final OptionSpec< Integer > compressionThresholdSpec = 
+				parser.accepts( "compression-threshold" ).withRequiredArg().ofType( Integer.class ).defaultsTo( CompressionCodecFactory.DEFAULT_THRESHOLD ).describedAs( "bytes" );
+		final OptionSpec< Integer > maxConnectionsSpec = 
+				parser.accepts( "max-connections" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 0 ).describedAs( "per server" );
+		final OptionSpec< Integer > connectTimeoutSpec = 
+				parser.accepts( "connect-timeout" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 0 ).describedAs( "ms" );
+		final OptionSpec< Integer > readTimeoutSpec = 
+				parser.accepts( "read-timeout" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 0 ).describedAs( "ms" );
 		parser.accepts( "help" );
 		
 		// parse the command-line arguments
@@ -448,6 +903,22 @@ public class RestfulDiffuserConfigXml {
 		
 		final double loadThreshold = thresholdSpec.value( options );
 		final long randomSeed = strategySeedSpec.value( options );
+		final int maxRedundancy = maxRedundancySpec.value( options );
+		final int maxBatchSize = maxBatchSizeSpec.value( options );
+		final long batchWindow = batchWindowSpec.value( options );
+		final boolean useFrames = options.has( "binary-frames" );
+		final double hedgePercentile = hedgePercentileSpec.value( options );
+		final int retryBudget = retryBudgetSpec.value( options );
+		final boolean isFallingBackToLocal = !options.has( "no-local-fallback" );
+		final int breakerWindowSize = breakerWindowSizeSpec.value( options );
+		final double breakerFailureRate = breakerFailureRateSpec.value( options );
+		final long breakerSlowCallThreshold = breakerSlowCallSpec.value( options );
+		final long breakerOpenDuration = breakerOpenDurationSpec.value( options );
+		final String compressionCodec = options.has( compressionCodecSpec ) ? compressionCodecSpec.value( options ) : null;
+		final int compressionThreshold = compressionThresholdSpec.value( options );
+		final int maxConnections = maxConnectionsSpec.value( options );
+		final int connectTimeout = connectTimeoutSpec.value( options );
+		final int readTimeout = readTimeoutSpec.value( options );
 
 		// 
 		if( usageMode == UsageMode.GENERATE )
@@ -458,6 +929,22 @@ public class RestfulDiffuserConfigXml {
 			xmlConfig.setDiffuserStrategyConfigFile( strategyConfigFile );
 			xmlConfig.setDiffuserStrategyConfigClassName( strategyConfigClassName );
 			xmlConfig.setLoadThreshold( loadThreshold );
+			xmlConfig.setMaxRedundancy( maxRedundancy );
+			xmlConfig.setMaxBatchSize( maxBatchSize );
+			xmlConfig.setBatchWindow( batchWindow );
+			xmlConfig.setUsingFrames( useFrames );
+			xmlConfig.setHedgePercentile( hedgePercentile );
+			xmlConfig.setRetryBudget( retryBudget );
+			xmlConfig.setFallingBackToLocal( isFallingBackToLocal );
+			xmlConfig.setBreakerWindowSize( breakerWindowSize );
+			xmlConfig.setBreakerFailureRate( breakerFailureRate );
+			xmlConfig.setBreakerSlowCallThreshold( breakerSlowCallThreshold );
+			xmlConfig.setBreakerOpenDuration( breakerOpenDuration );
+			xmlConfig.setCompressionCodec( compressionCodec );
+			xmlConfig.setCompressionThreshold( compressionThreshold );
+			xmlConfig.setMaxConnectionsPerEndpoint( maxConnections );
+			xmlConfig.setConnectTimeout( connectTimeout );
+			xmlConfig.setReadTimeout( readTimeout );
 
 			// write out the diffuser configuration file file
 			new XmlPersistence().write( xmlConfig, configFile );
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.diffusive.utils;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link InputStream} that reads the remaining bytes of a {@link ByteBuffer} (for example, a region of a 
+ * memory-mapped file) without first copying them onto the heap. The stream reads from its own view of the
+ * buffer, and so it doesn't change the position of the buffer it was created from.
+ * 
+ * @author Robert Philipp
+ */
+public class ByteBufferInputStream extends InputStream {
+
+	private final ByteBuffer buffer;
+	
+	/**
+	 * Constructs a stream that reads the bytes between the buffer's position and its limit
+	 * @param buffer The buffer from which to read
+	 */
+	public ByteBufferInputStream( final ByteBuffer buffer )
+	{
+		this.buffer = buffer.duplicate();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#read()
+	 */
+	@Override
+	public int read()
+	{
+		return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#read(byte[], int, int)
+	 */
+	@Override
+	public int read( final byte[] bytes, final int offset, final int length )
+	{
+		if( length == 0 )
+		{
+			return 0;
+		}
+		if( !buffer.hasRemaining() )
+		{
+			return -1;
+		}
+		final int numRead = Math.min( length, buffer.remaining() );
+		buffer.get( bytes, offset, numRead );
+		return numRead;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#skip(long)
+	 */
+	@Override
+	public long skip( final long numBytes )
+	{
+		final int numSkipped = (int)Math.max( Math.min( numBytes, buffer.remaining() ), 0 );
+		buffer.position( buffer.position() + numSkipped );
+		return numSkipped;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.InputStream#available()
+	 */
+	@Override
+	public int available()
+	{
+		return buffer.remaining();
+	}
+}
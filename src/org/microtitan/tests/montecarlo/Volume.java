@@ -0,0 +1,33 @@
+/*
+ * Copyright 2013 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.tests.montecarlo;
+
+import org.microtitan.diffusive.annotations.Diffusive;
+
+/**
+ * The volume of a shape calculated by the {@link VolumeCalc}. The result of a diffusive method can only be
+ * deferred when its return type is an interface (see {@link Diffusive#deferred()}), and so the deferred
+ * volume calculations return their volume through this interface.
+ * 
+ * @author Robert Philipp
+ */
+public interface Volume {
+
+	/**
+	 * @return The volume
+	 */
+	double getValue();
+}
@@ -15,6 +15,7 @@
  */
 package org.microtitan.tests.montecarlo;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -56,6 +57,32 @@ public class VolumeCalc {
 	 */
 	@Diffusive
 	public double calcVolume( final long seed, final long maxIterations )
+	{
+		return simulate( seed, maxIterations );
+	}
+	
+	/**
+	 * Calculates the volume of the {@link #cube} using Monte Carlo. The result is deferred, and so the call
+	 * returns a placeholder right away, and the caller only waits for the volume when it first reads it.
+	 * Only interfaces can be replaced by a placeholder (see {@link Diffusive#deferred()}), and so the volume
+	 * is returned as a {@link Volume} rather than as a {@code double}.
+	 * @param seed The seed for the random number generator
+	 * @param maxIterations The maximum number of iterations
+	 * @return The volume of the {@link #cube} from the simulation
+	 */
+	@Diffusive( deferred = true )
+	public Volume estimateVolume( final long seed, final long maxIterations )
+	{
+		return new MonteCarloVolume( simulate( seed, maxIterations ) );
+	}
+	
+	/**
+	 * Runs the Monte Carlo simulation of the volume of the {@link #cube}
+	 * @param seed The seed for the random number generator
+	 * @param maxIterations The maximum number of iterations
+	 * @return The volume of the {@link #cube} from the simulation
+	 */
+	private double simulate( final long seed, final long maxIterations )
 	{
 		final long start = System.currentTimeMillis();
 
@@ -99,10 +126,18 @@ public class VolumeCalc {
 	 */
 	public List< Double > calcVolumes( final int numSimulations, final long maxIterations )
 	{
-		final List< Double > volumes = new ArrayList<>();
+		// the results are deferred, and so all the simulations are issued (and run concurrently) before
+		// waiting on the first of the volumes
+		final List< Volume > estimates = new ArrayList<>();
 		for( int i = 0; i < numSimulations; ++i )
 		{
-			volumes.add( calcVolume( (long)i, maxIterations ) );
+			estimates.add( estimateVolume( (long)i, maxIterations ) );
+		}
+		
+		final List< Double > volumes = new ArrayList<>();
+		for( Volume estimate : estimates )
+		{
+			volumes.add( estimate.getValue() );
 		}
 		return volumes;
 	}
@@ -157,4 +192,31 @@ public class VolumeCalc {
 		System.out.println( "Volume: " + mean( volumes ) + " +- " + variance( volumes ) + " (" + elapsedTime + " s)" );
 	}
 	
+	/**
+	 * The volume calculated by the Monte Carlo simulation
+	 */
+	public static class MonteCarloVolume implements Volume, Serializable {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final double value;
+		
+		/**
+		 * @param value The volume
+		 */
+		public MonteCarloVolume( final double value )
+		{
+			this.value = value;
+		}
+		
+		/*
+		 * (non-Javadoc)
+		 * @see org.microtitan.tests.montecarlo.Volume#getValue()
+		 */
+		@Override
+		public double getValue()
+		{
+			return value;
+		}
+	}
 }
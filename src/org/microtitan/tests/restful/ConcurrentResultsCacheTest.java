@@ -0,0 +1,197 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.tests.restful;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.microtitan.diffusive.diffuser.restful.resources.cache.ConcurrentResultsCache;
+import org.microtitan.diffusive.diffuser.restful.resources.cache.MappedResultStore;
+import org.microtitan.diffusive.diffuser.restful.resources.cache.ResultCacheEntry;
+import org.microtitan.diffusive.diffuser.restful.resources.cache.SerializedResult;
+
+/**
+ * Tests that the {@link ConcurrentResultsCache} counts the size of each result against its byte budget
+ * once, evicts the completed results when it exceeds its limits, keeps the running results, and spills
+ * the results to the mapped store rather than dropping them.
+ * 
+ * @author Robert Philipp
+ */
+public class ConcurrentResultsCacheTest {
+
+	private static final String SERIALIZER = "object_serialization";
+	
+	private File spillDirectory;
+	
+	@Before
+	public void setUp()
+	{
+		spillDirectory = new File( System.getProperty( "java.io.tmpdir" ), "results-cache-test-" + System.nanoTime() );
+	}
+	
+	@After
+	public void tearDown()
+	{
+		final File[] files = spillDirectory.listFiles();
+		if( files != null )
+		{
+			for( File file : files )
+			{
+				file.delete();
+			}
+		}
+		spillDirectory.delete();
+	}
+	
+	@Test
+	public void testBytesCountedOnce()
+	{
+		final ConcurrentResultsCache cache = new ConcurrentResultsCache( 10, 0, 0, false );
+		cache.add( "a", createEntry( "a" ) );
+		assertEquals( 0, cache.getNumCachedBytes() );
+		
+		cache.resultCompleted( "a", 100 );
+		cache.resultCompleted( "a", 100 );
+		cache.resultRetrieved( "a", 100 );
+		assertEquals( 100, cache.getNumCachedBytes() );
+		
+		// a result for an entry that isn't cached isn't counted
+		cache.resultCompleted( "b", 100 );
+		assertEquals( 100, cache.getNumCachedBytes() );
+		
+		cache.remove( "a" );
+		assertEquals( 0, cache.getNumCachedBytes() );
+	}
+	
+	@Test
+	public void testReplacedEntryUncounted()
+	{
+		final ConcurrentResultsCache cache = new ConcurrentResultsCache( 10, 0, 0, false );
+		cache.add( "a", createEntry( "a" ) );
+		cache.resultCompleted( "a", 100 );
+		cache.add( "a", createEntry( "a" ) );
+		assertEquals( 0, cache.getNumCachedBytes() );
+		
+		cache.resultCompleted( "a", 50 );
+		assertEquals( 50, cache.getNumCachedBytes() );
+	}
+	
+	@Test
+	public void testEvictsOldestOverByteBudget()
+	{
+		final ConcurrentResultsCache cache = new ConcurrentResultsCache( 10, 250, 0, false );
+		for( String key : new String[] { "a", "b", "c" } )
+		{
+			cache.add( key, createEntry( key ) );
+			cache.resultCompleted( key, 100 );
+		}
+		
+		assertFalse( cache.isCached( "a" ) );
+		assertTrue( cache.isCached( "b" ) );
+		assertTrue( cache.isCached( "c" ) );
+		assertEquals( 200, cache.getNumCachedBytes() );
+	}
+	
+	@Test
+	public void testRunningEntriesPinned()
+	{
+		final ConcurrentResultsCache cache = new ConcurrentResultsCache( 2, 0, 0, false );
+		final FutureTask< SerializedResult > running = createTask( "running" );
+		cache.add( "running", ResultCacheEntry.< Object >createSerialized( running, SERIALIZER ) );
+		cache.add( "a", createEntry( "a" ) );
+		cache.add( "b", createEntry( "b" ) );
+		
+		assertTrue( cache.isCached( "running" ) );
+		assertFalse( cache.isCached( "a" ) );
+		assertTrue( cache.isCached( "b" ) );
+		running.cancel( true );
+	}
+	
+	@Test
+	public void testSpillOverByteBudget() throws InterruptedException, ExecutionException
+	{
+		final MappedResultStore store = new MappedResultStore( spillDirectory, 64 * 1024, 1024 * 1024 );
+		final int size = SerializedResult.create( "a", SERIALIZER, false ).getSize();
+		final ConcurrentResultsCache cache = new ConcurrentResultsCache( 10, size, 0, false, store );
+		
+		cache.add( "a", createEntry( "a" ) );
+		cache.resultCompleted( "a", size );
+		assertEquals( size, cache.getNumCachedBytes() );
+		
+		cache.add( "b", createEntry( "b" ) );
+		cache.resultCompleted( "b", size );
+		
+		// the older result is spilled, rather than dropped, and no longer counts against the budget
+		assertTrue( cache.isCached( "a" ) );
+		assertTrue( cache.get( "a" ).isSpilled() );
+		assertEquals( "a", cache.get( "a" ).getResult() );
+		assertFalse( cache.get( "b" ).isSpilled() );
+		assertEquals( size, cache.getNumCachedBytes() );
+		assertTrue( store.getNumMappedBytes() > 0 );
+		
+		cache.remove( "a" );
+		cache.remove( "b" );
+		assertEquals( 0, cache.getNumCachedBytes() );
+	}
+	
+	@Test
+	public void testDropsWithoutSpillStore()
+	{
+		final int size = SerializedResult.create( "a", SERIALIZER, false ).getSize();
+		final ConcurrentResultsCache cache = new ConcurrentResultsCache( 10, size, 0, false );
+		cache.add( "a", createEntry( "a" ) );
+		cache.resultCompleted( "a", size );
+		cache.add( "b", createEntry( "b" ) );
+		cache.resultCompleted( "b", size );
+		
+		assertFalse( cache.isCached( "a" ) );
+		assertTrue( cache.isCached( "b" ) );
+	}
+	
+	/*
+	 * Creates a task that serializes the specified value, which hasn't been run
+	 */
+	private static FutureTask< SerializedResult > createTask( final String value )
+	{
+		return new FutureTask<>( new Callable< SerializedResult >() {
+			
+			@Override
+			public SerializedResult call()
+			{
+				return SerializedResult.create( value, SERIALIZER, false );
+			}
+		} );
+	}
+	
+	/*
+	 * Creates a cache entry whose task has completed with the serialized value
+	 */
+	private static ResultCacheEntry< Object > createEntry( final String value )
+	{
+		final FutureTask< SerializedResult > task = createTask( value );
+		task.run();
+		return ResultCacheEntry.< Object >createSerialized( task, SERIALIZER );
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.tests.restful;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+import org.microtitan.diffusive.diffuser.restful.frames.DiffuserFrames;
+import org.microtitan.diffusive.diffuser.restful.request.ExecuteDiffuserRequest;
+import org.microtitan.diffusive.diffuser.restful.resources.ResultId;
+
+/**
+ * Tests that the execute requests and results survive the round trip through the frames, and that 
+ * frames of another version, or with invalid lengths, are rejected.
+ * 
+ * @author Robert Philipp
+ */
+public class DiffuserFramesTest {
+
+	private static final String SERIALIZER = "object_serialization";
+	
+	@Test
+	public void testExecuteRequestRoundTrip() throws IOException
+	{
+		final ExecuteDiffuserRequest request = ExecuteDiffuserRequest.create( Integer.class.getName(), String.class.getName(), new byte[] { 1, 2, 3 }, SERIALIZER );
+		request.addArgument( Double.class.getName(), new byte[] { 4, 5 } );
+		request.addArgument( String.class.getName(), null );
+		request.setTimeBudget( 1500 );
+		request.setPriority( -7 );
+		
+		final byte[] frames = DiffuserFrames.encodeExecuteRequest( request );
+		final ExecuteDiffuserRequest decoded = DiffuserFrames.decodeExecuteRequest( new ByteArrayInputStream( frames ) );
+		
+		assertEquals( request.getReturnType(), decoded.getReturnType() );
+		assertEquals( request.getObjectType(), decoded.getObjectType() );
+		assertArrayEquals( request.getObject(), decoded.getObject() );
+		assertEquals( SERIALIZER, decoded.getSerializerType() );
+		assertEquals( request.getArgumentTypes(), decoded.getArgumentTypes() );
+		assertArrayEquals( new byte[] { 4, 5 }, decoded.getArgumentValues().get( 0 ) );
+		assertNull( decoded.getArgumentValues().get( 1 ) );
+		assertEquals( 1500, decoded.getTimeBudget() );
+		assertEquals( -7, decoded.getPriority() );
+	}
+	
+	@Test
+	public void testExecuteRequestWithoutDeadline() throws IOException
+	{
+		final ExecuteDiffuserRequest request = ExecuteDiffuserRequest.create( Integer.class.getName(), String.class.getName(), new byte[] { 1 }, SERIALIZER );
+		final ExecuteDiffuserRequest decoded = DiffuserFrames.decodeExecuteRequest( new ByteArrayInputStream( DiffuserFrames.encodeExecuteRequest( request ) ) );
+		assertEquals( ExecuteDiffuserRequest.NO_DEADLINE, decoded.getTimeBudget() );
+		assertEquals( ExecuteDiffuserRequest.DEFAULT_PRIORITY, decoded.getPriority() );
+	}
+	
+	@Test
+	public void testResultRoundTrip() throws IOException
+	{
+		final ResultId resultId = new ResultId( "signature", "request-1" );
+		final byte[] result = new byte[ 200 * 1024 ];
+		for( int i = 0; i < result.length; ++i )
+		{
+			result[ i ] = (byte)i;
+		}
+		
+		final byte[] frames = DiffuserFrames.encodeResult( resultId, result );
+		assertArrayEquals( result, DiffuserFrames.decodeResult( new ByteArrayInputStream( frames ), resultId ) );
+		
+		// the frames written from a buffer are the same as the encoded ones, and can be read as a stream
+		final ByteArrayOutputStream written = new ByteArrayOutputStream();
+		DiffuserFrames.writeResult( resultId, ByteBuffer.wrap( result ), written );
+		assertArrayEquals( frames, written.toByteArray() );
+		
+		final InputStream stream = DiffuserFrames.openResult( new ByteArrayInputStream( frames ), resultId );
+		final ByteArrayOutputStream read = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[ 4096 ];
+		int numRead;
+		while( ( numRead = stream.read( buffer ) ) != -1 )
+		{
+			read.write( buffer, 0, numRead );
+		}
+		assertArrayEquals( result, read.toByteArray() );
+	}
+	
+	@Test( expected = IllegalArgumentException.class )
+	public void testResultIdMismatch() throws IOException
+	{
+		final byte[] frames = DiffuserFrames.encodeResult( new ResultId( "signature", "request-1" ), new byte[] { 1 } );
+		DiffuserFrames.decodeResult( new ByteArrayInputStream( frames ), new ResultId( "signature", "request-2" ) );
+	}
+	
+	@Test
+	public void testVersionMismatch() throws IOException
+	{
+		final ExecuteDiffuserRequest request = ExecuteDiffuserRequest.create( Integer.class.getName(), String.class.getName(), new byte[] { 1 }, SERIALIZER );
+		final byte[] frames = DiffuserFrames.encodeExecuteRequest( request );
+		frames[ 0 ] = (byte)( DiffuserFrames.VERSION - 1 );
+		try
+		{
+			DiffuserFrames.decodeExecuteRequest( new ByteArrayInputStream( frames ) );
+			fail( "Frames of an unsupported version should be rejected" );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( e.getMessage().startsWith( "Unsupported frame version." ) );
+		}
+	}
+	
+	@Test( expected = IllegalArgumentException.class )
+	public void testNegativeLength() throws IOException
+	{
+		final ResultId resultId = new ResultId( "signature", "request-1" );
+		final byte[] frames = DiffuserFrames.encodeResult( resultId, new byte[ 0 ] );
+		
+		// the length of the result is the last frame before the (empty) result
+		frames[ frames.length - 4 ] = (byte)0x80;
+		DiffuserFrames.decodeResult( new ByteArrayInputStream( frames ), resultId );
+	}
+	
+	@Test( expected = EOFException.class )
+	public void testTruncatedResult() throws IOException
+	{
+		final ResultId resultId = new ResultId( "signature", "request-1" );
+		final byte[] frames = DiffuserFrames.encodeResult( resultId, new byte[ 100 * 1024 ] );
+		
+		// claims a result far larger than the bytes that follow
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream output = new DataOutputStream( bytes );
+		output.write( frames, 0, frames.length - 100 * 1024 - 4 );
+		output.writeInt( Integer.MAX_VALUE );
+		output.write( new byte[ 100 * 1024 ] );
+		output.flush();
+		DiffuserFrames.decodeResult( new ByteArrayInputStream( bytes.toByteArray() ), resultId );
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.tests.restful;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.microtitan.diffusive.diffuser.restful.resources.PriorityTaskExecutor;
+import org.microtitan.diffusive.diffuser.restful.resources.PriorityTaskExecutor.PriorityStats;
+
+/**
+ * Tests that the {@link PriorityTaskExecutor} runs the waiting tasks in the order of their priority, 
+ * and that a low priority task that has waited long enough runs ahead of the higher priority tasks 
+ * submitted after it.
+ * 
+ * @author Robert Philipp
+ */
+public class PriorityTaskExecutorTest {
+
+	private static final long AGING_INTERVAL = 10;
+	
+	private PriorityTaskExecutor executor;
+	private CountDownLatch release;
+	private List< String > runOrder;
+	
+	@Before
+	public void setUp() throws InterruptedException
+	{
+		// a single thread, which is held by the first task, so that the other tasks wait in the queue
+		executor = new PriorityTaskExecutor( 1, 100, AGING_INTERVAL, 0 );
+		release = new CountDownLatch( 1 );
+		runOrder = Collections.synchronizedList( new ArrayList< String >() );
+		
+		final CountDownLatch started = new CountDownLatch( 1 );
+		executor.submit( new Callable< Void >() {
+			
+			@Override
+			public Void call() throws InterruptedException
+			{
+				started.countDown();
+				release.await();
+				return null;
+			}
+		} );
+		started.await();
+	}
+	
+	@After
+	public void tearDown()
+	{
+		release.countDown();
+		executor.shutdownNow();
+	}
+	
+	@Test
+	public void testRunsInPriorityOrder() throws Exception
+	{
+		final List< Future< String > > futures = new ArrayList<>();
+		futures.add( submit( "low", -1 ) );
+		futures.add( submit( "default", 0 ) );
+		futures.add( submit( "high", 5 ) );
+		futures.add( submit( "medium", 2 ) );
+		futures.add( submit( "default-later", 0 ) );
+		
+		release.countDown();
+		waitFor( futures );
+		assertEquals( Arrays.asList( "high", "medium", "default", "default-later", "low" ), runOrder );
+	}
+	
+	@Test
+	public void testWaitingTaskAges() throws Exception
+	{
+		final List< Future< String > > futures = new ArrayList<>();
+		futures.add( submit( "aged", 0 ) );
+		
+		// waits for more than the two aging intervals by which the aged task trails the next one
+		Thread.sleep( 10 * AGING_INTERVAL );
+		futures.add( submit( "high", 2 ) );
+		
+		release.countDown();
+		waitFor( futures );
+		assertEquals( Arrays.asList( "aged", "high" ), runOrder );
+	}
+	
+	@Test
+	public void testPriorityStats() throws Exception
+	{
+		final List< Future< String > > futures = new ArrayList<>();
+		futures.add( submit( "high", 3 ) );
+		futures.add( submit( "low", -3 ) );
+		final Future< String > cancelled = submit( "cancelled", -3 );
+		
+		SortedMap< Integer, PriorityStats > stats = executor.getPriorityStats();
+		assertEquals( 2, stats.get( -3 ).getQueued() );
+		assertEquals( 1, stats.get( 3 ).getQueued() );
+		
+		cancelled.cancel( false );
+		release.countDown();
+		waitFor( futures );
+		
+		stats = executor.getPriorityStats();
+		assertEquals( Arrays.asList( -3, 0, 3 ), new ArrayList<>( stats.keySet() ) );
+		assertEquals( 0, stats.get( -3 ).getQueued() );
+		assertEquals( 2, stats.get( -3 ).getSubmitted() );
+		assertEquals( 1, stats.get( -3 ).getStarted() );
+		assertEquals( 1, stats.get( -3 ).getCancelled() );
+		assertEquals( 1, stats.get( 3 ).getStarted() );
+		assertEquals( Arrays.asList( "high", "low" ), runOrder );
+	}
+	
+	/*
+	 * Submits a task, with the specified priority, that records its name when it runs
+	 */
+	private Future< String > submit( final String name, final int priority )
+	{
+		return executor.submit( PriorityTaskExecutor.prioritize( new Callable< String >() {
+			
+			@Override
+			public String call()
+			{
+				runOrder.add( name );
+				return name;
+			}
+		}, priority, null ) );
+	}
+	
+	private static void waitFor( final List< Future< String > > futures ) throws Exception
+	{
+		for( Future< String > future : futures )
+		{
+			future.get( 5, TimeUnit.SECONDS );
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012 Robert Philipp
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.microtitan.tests.restful;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.Serializable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.microtitan.diffusive.diffuser.Deadline;
+import org.microtitan.diffusive.diffuser.restful.RestfulDiffuser;
+import org.microtitan.diffusive.diffuser.serializer.SerializerFactory;
+import org.microtitan.diffusive.diffuser.strategy.RandomDiffuserStrategy;
+
+/**
+ * Tests that the blocking and the asynchronous calls fail, without calling the remote diffusers or 
+ * running the method locally, when the caller's deadline has already expired.
+ * 
+ * @author Robert Philipp
+ */
+public class RestfulDiffuserDeadlineTest {
+
+	private static final double LOAD_THRESHOLD = 0.5;
+	
+	private RestfulDiffuser diffuser;
+	private Adder adder;
+	
+	@Before
+	public void setUp()
+	{
+		// the end-point is never called, and even when falling back to the local diffuser, the expired call fails
+		final RandomDiffuserStrategy strategy = new RandomDiffuserStrategy( Arrays.asList( URI.create( "http://localhost:1/diffuser" ) ) );
+		diffuser = new RestfulDiffuser( SerializerFactory.getInstance().createSerializer( "object_serialization" ), strategy, new ArrayList< URI >(), LOAD_THRESHOLD, 1 );
+		diffuser.setFailover( 0, true );
+		adder = new Adder();
+		Deadline.setCurrent( Deadline.after( -1, TimeUnit.SECONDS ) );
+	}
+	
+	@After
+	public void tearDown()
+	{
+		Deadline.setCurrent( null );
+		diffuser.shutdown();
+	}
+	
+	@Test
+	public void testBlockingCallExpired()
+	{
+		try
+		{
+			diffuser.runObject( 1.0, Integer.class, adder, "add", new Class< ? >[] { Integer.class, Integer.class }, 1, 2 );
+			fail( "The call should fail once its deadline has expired" );
+		}
+		catch( IllegalStateException e )
+		{
+			assertTrue( e.getMessage().startsWith( "The deadline expired" ) );
+		}
+		assertFalse( adder.isCalled() );
+	}
+	
+	@Test
+	public void testAsyncCallExpired() throws InterruptedException
+	{
+		final CompletableFuture< Object > result = diffuser.runObjectAsync( 1.0, Integer.class, adder, "add", new Class< ? >[] { Integer.class, Integer.class }, 1, 2 );
+		try
+		{
+			result.get( 5, TimeUnit.SECONDS );
+			fail( "The call should fail once its deadline has expired" );
+		}
+		catch( ExecutionException e )
+		{
+			assertTrue( e.getCause() instanceof IllegalStateException );
+		}
+		catch( TimeoutException e )
+		{
+			fail( "The expired call should fail without waiting on the remote diffusers" );
+		}
+		assertFalse( adder.isCalled() );
+	}
+	
+	/**
+	 * The class whose method is diffused
+	 */
+	public static class Adder implements Serializable {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private static volatile boolean isCalled = false;
+		
+		public Adder()
+		{
+			isCalled = false;
+		}
+		
+		public Integer add( final Integer first, final Integer second )
+		{
+			isCalled = true;
+			return first + second;
+		}
+		
+		public boolean isCalled()
+		{
+			return isCalled;
+		}
+	}
+}